@@ -1,64 +1,103 @@
 import React, { useState, useEffect } from 'react';
 import axios from 'axios';
-import LoadingSpinner from './LoadingSpinner';
 
+// Matches shown per query; the search endpoint caps it as well
+const RESULT_LIMIT = 20;
+
+// Typeahead over /api/v1/players/search: the server ranks the matches, so the full player list is
+// never downloaded. Keystrokes are coalesced, and an answer to an outdated query is dropped.
 function PlayerDropdown({ selectedPlayerId, onChange, disabled, style }) {
+  const [query, setQuery] = useState('');
   const [players, setPlayers] = useState([]);
-  const [loading, setLoading] = useState(true);
+  const [loading, setLoading] = useState(false);
   const [error, setError] = useState(null);
 
   useEffect(() => {
-    const fetchPlayers = async () => {
-      setLoading(true);
+    const q = query.trim();
+    if (q === '') {
+      setPlayers([]);
+      setLoading(false);
       setError(null);
+      return undefined;
+    }
+    let stale = false;
+    setLoading(true);
+    const timer = setTimeout(async () => {
       try {
-        const response = await axios.get('/api/v1/players');
-        setPlayers(response.data || []);
+        const response = await axios.get('/api/v1/players/search', { params: { q, limit: RESULT_LIMIT } });
+        if (!stale) {
+          setPlayers(response.data || []);
+          setError(null);
+        }
       } catch (err) {
-        console.error("Error fetching players:", err);
-        setError('Failed to load players. Please refresh or try again later.');
+        console.error("Error searching players:", err);
+        if (!stale) {
+          setPlayers([]);
+          setError('Failed to search players. Please try again.');
+        }
       } finally {
-        setLoading(false);
+        if (!stale) {
+          setLoading(false);
+        }
       }
+    }, 250);
+    return () => {
+      stale = true;
+      clearTimeout(timer);
     };
-    fetchPlayers();
-  }, []);
+  }, [query]);
 
-  if (loading) {
-    // Using a simpler text message for dropdowns to avoid large spinner in form
-    return <select disabled style={style}><option>Loading players...</option></select>;
-  }
+  const handleQueryChange = (e) => {
+    setQuery(e.target.value);
+    if (selectedPlayerId) {
+      onChange(''); // A new search drops the previous pick
+    }
+  };
 
-  if (error) {
-    // Display error message within the select area or as a separate text
-    return (
-      <div>
-        <select disabled style={style}><option>Error loading players</option></select>
-        <p className="error-message" style={{fontSize: '0.8rem', padding: '5px', marginTop: '5px'}}>{error}</p>
-      </div>
-    );
-  }
+  const handleSelect = (e) => onChange(e.target.value);
 
-  if (players.length === 0) {
-    return <select disabled style={style}><option>No players available</option></select>;
+  let placeholder;
+  if (query.trim() === '') {
+    placeholder = 'Type to search players';
+  } else if (loading) {
+    placeholder = 'Searching...';
+  } else if (error) {
+    placeholder = 'Search failed';
+  } else if (players.length === 0) {
+    placeholder = 'No matching players';
+  } else {
+    placeholder = 'Select Player';
   }
 
   return (
-    <select
-      id="player"
-      value={selectedPlayerId}
-      onChange={(e) => onChange(e.target.value)}
-      disabled={disabled} // Removed players.length === 0 from here as it's handled above
-      required
-      style={style} // Uses inputStyle from NewTransferPage
-    >
-      <option value="">Select Player</option>
-      {players.map(player => (
-        <option key={player.id} value={player.id}>
-          {player.name} (Current Club: {player.club?.name || 'N/A'})
-        </option>
-      ))}
-    </select>
+    <div>
+      <input
+        id="player"
+        type="search"
+        value={query}
+        onChange={handleQueryChange}
+        placeholder="Search by name"
+        autoComplete="off"
+        disabled={disabled}
+        style={style} // Uses inputStyle from NewTransferPage
+      />
+      <select
+        aria-label="Matching players"
+        value={selectedPlayerId}
+        onChange={handleSelect}
+        disabled={disabled || loading || players.length === 0}
+        required
+        style={style}
+      >
+        <option value="">{placeholder}</option>
+        {players.map(player => (
+          <option key={player.id} value={player.id}>
+            {player.name}
+          </option>
+        ))}
+      </select>
+      {error && <p className="error-message" style={{fontSize: '0.8rem', padding: '5px', marginTop: '5px'}}>{error}</p>}
+    </div>
   );
 }
 
@@ -50,6 +50,25 @@ function TransferDetailsPage() {
     }
   }, [transferId]);
 
+  // Refresh when this transfer changes elsewhere, e.g. another user approving it
+  useEffect(() => {
+    if (!transferId) {
+      return undefined;
+    }
+    const source = new EventSource(`/api/v1/transfers/stream?transferId=${transferId}`);
+    const refresh = async () => {
+      try {
+        const response = await axios.get(`/api/v1/transfers/${transferId}`);
+        setTransfer(response.data);
+      } catch (err) {
+        console.error("Error refreshing transfer details:", err);
+      }
+    };
+    source.addEventListener('transfer', refresh);
+    source.addEventListener('reset', refresh);
+    return () => source.close();
+  }, [transferId]);
+
   const handleWorkflowAction = async (actionPath) => {
     setIsSubmittingAction(true);
     // setActionError(null); // Replaced by toast
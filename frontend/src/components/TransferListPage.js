@@ -1,14 +1,23 @@
-import React, { useState, useEffect } from 'react';
+import React, { useState, useEffect, useRef } from 'react';
 import { Link } from 'react-router-dom';
 import axios from 'axios';
 import LoadingSpinner from './LoadingSpinner';
 
-// No specific transfers to display yet, so no loading state is strictly needed for now.
-// If we were fetching a list of transfers, we'd have loading/error states.
+// Rows fetched per request; the list is keyset-paginated, so further pages are requested with
+// the cursor the server returns in X-Next-Cursor
+const PAGE_SIZE = 100;
+
+const fetchTransferPage = async (cursor) => {
+  const response = await axios.get('/api/v1/transfers', { params: { size: PAGE_SIZE, cursor } });
+  // 204 when there are no transfers at all
+  return { rows: response.data || [], nextCursor: response.headers['x-next-cursor'] || null };
+};
 
 function TransferListPage() {
   const [transfers, setTransfers] = useState([]);
+  const [nextCursor, setNextCursor] = useState(null);
   const [isLoading, setIsLoading] = useState(true);
+  const [isLoadingMore, setIsLoadingMore] = useState(false);
   const [error, setError] = useState(null);
   const [statusFilter, setStatusFilter] = useState('');
   const [clubFilter, setClubFilter] = useState('');
@@ -22,8 +31,9 @@ function TransferListPage() {
     const fetchTransfers = async () => {
       setIsLoading(true);
       try {
-        const response = await axios.get('/api/v1/transfers');
-        setTransfers(response.data || []); // Ensure transfers is always an array
+        const page = await fetchTransferPage(null);
+        setTransfers(page.rows);
+        setNextCursor(page.nextCursor);
         setError(null); // Clear any previous errors
       } catch (err) {
         setError(err.response?.data?.message || err.message || 'Failed to fetch transfers.');
@@ -37,6 +47,62 @@ function TransferListPage() {
     fetchTransfers();
   }, []); // Empty dependency array means this effect runs once on mount
 
+  // Ids of the rows loaded so far, for the stream handler below
+  const loadedIds = useRef(new Set());
+  useEffect(() => {
+    loadedIds.current = new Set(transfers.map(transfer => transfer.id));
+  }, [transfers]);
+
+  // Apply each committed change to its row instead of polling the list. Only a change to a
+  // transfer the page has not loaded (e.g. a new one) or missed changes reload the first page;
+  // bursts of those are coalesced into one reload.
+  useEffect(() => {
+    const source = new EventSource('/api/v1/transfers/stream');
+    let reloadTimer = null;
+    const scheduleReload = () => {
+      clearTimeout(reloadTimer);
+      reloadTimer = setTimeout(async () => {
+        try {
+          const page = await fetchTransferPage(null);
+          setTransfers(page.rows);
+          setNextCursor(page.nextCursor);
+        } catch (err) {
+          console.error("Error refreshing transfers:", err);
+        }
+      }, 500);
+    };
+    const applyChange = (event) => {
+      const change = JSON.parse(event.data);
+      if (!loadedIds.current.has(change.transferId)) {
+        scheduleReload();
+        return;
+      }
+      setTransfers(prev => prev.map(transfer =>
+        transfer.id === change.transferId ? { ...transfer, status: change.status } : transfer));
+    };
+    source.addEventListener('transfer', applyChange);
+    source.addEventListener('reset', scheduleReload); // Changes were missed while disconnected
+    return () => {
+      clearTimeout(reloadTimer);
+      source.close();
+    };
+  }, []);
+
+  // Appends the next server page; filters and sorting apply to everything loaded so far
+  const loadMore = async () => {
+    setIsLoadingMore(true);
+    try {
+      const page = await fetchTransferPage(nextCursor);
+      setTransfers(prev => [...prev, ...page.rows]);
+      setNextCursor(page.nextCursor);
+    } catch (err) {
+      setError(err.response?.data?.message || err.message || 'Failed to fetch more transfers.');
+      console.error("Error fetching more transfers:", err);
+    } finally {
+      setIsLoadingMore(false);
+    }
+  };
+
   const handleFilterChange = (e) => {
     const { name, value } = e.target;
     if (name === 'statusFilter') {
@@ -214,6 +280,13 @@ function TransferListPage() {
               </ul>
             </nav>
           )}
+          {nextCursor && (
+            <div className="d-flex justify-content-center mt-2">
+              <button className="button-link button-secondary" onClick={loadMore} disabled={isLoadingMore}>
+                {isLoadingMore ? 'Loading...' : `Load ${PAGE_SIZE} more transfers`}
+              </button>
+            </div>
+          )}
           {/* Items per page selector */}
           <div className="d-flex justify-content-center mt-2">
             <label htmlFor="itemsPerPage" className="me-2 col-form-label">Items per page:</label>
@@ -0,0 +1,86 @@
+package com.transfersystem.service;
+
+import com.transfersystem.dto.PlayerDTO;
+import com.transfersystem.dto.TransferView;
+import com.transfersystem.model.Club;
+import com.transfersystem.model.Player;
+import com.transfersystem.model.Transfer;
+import com.transfersystem.model.TransferStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity-to-DTO mapping for one list page (100 rows), as done by the list and export endpoints.
+ * Clubs are left out: their DTOs are projected by the query, since the budget is computed there.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DtoMappingBenchmark {
+
+    private static final int ROWS = 100;
+
+    private final PlayerService playerService = new PlayerService(null, null, null, null, null);
+    private final List<Club> clubs = new ArrayList<>();
+    private final List<Player> players = new ArrayList<>();
+    private final List<Transfer> transfers = new ArrayList<>();
+
+    @Setup
+    public void setUp() {
+        for (int i = 0; i < ROWS; i++) {
+            Club club = new Club();
+            club.setId((long) i);
+            club.setName("Club " + i);
+            club.setVersion(3L);
+            clubs.add(club);
+
+            Player player = new Player();
+            player.setId((long) i);
+            player.setName("Player " + i);
+            // Every tenth player has no valuation or club yet
+            player.setCurrentMarketValue(i % 10 == 0 ? null : BigDecimal.valueOf(5_000_000L + i));
+            player.setCurrentClub(i % 10 == 0 ? null : club);
+            player.setVersion(1L);
+            players.add(player);
+
+            Transfer transfer = new Transfer();
+            transfer.setId(UUID.randomUUID());
+            transfer.setStatus(TransferStatus.NEGOTIATION);
+            transfer.setInitiationTimestamp(LocalDateTime.of(2024, 7, 1, 12, 0).plusMinutes(i));
+            transfer.setVersion(2L);
+            transfer.setAgreedFee(BigDecimal.valueOf(7_500_000L));
+            transfer.setPlayer(player);
+            transfer.setFromClub(club);
+            transfer.setToClub(clubs.get(0));
+            transfers.add(transfer);
+        }
+    }
+
+    @Benchmark
+    public List<PlayerDTO> players() {
+        return players.stream().map(playerService::convertToDTO).toList();
+    }
+
+    @Benchmark
+    public List<TransferView> transferViews() {
+        return transfers.stream().map(TransferView::from).toList();
+    }
+}
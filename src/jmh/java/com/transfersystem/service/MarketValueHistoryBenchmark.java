@@ -0,0 +1,178 @@
+package com.transfersystem.service;
+
+import com.transfersystem.dto.MarketValueBucket;
+import com.transfersystem.dto.MarketValuePoint;
+import com.transfersystem.model.MarketValueChunk;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Market-value history of 1M points: ten years of daily values for 274 players, in chunks of
+ * {@code chunkPoints}. {@code changeEvery=20} is a typical valuation that moves every few weeks
+ * in round amounts; {@code changeEvery=1} a model value that changes to the cent every day.
+ *
+ * <p>Setup prints the encoded size, in bytes per point and per million points, with and without
+ * the per-chunk overhead of the array headers and the row's other columns. The benchmarks time
+ * encoding and decoding all of it, and the query logic of MarketValueHistory over one player's
+ * chunks already loaded: a year of points, ten years in weekly buckets, and one as-of lookup.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MarketValueHistoryBenchmark {
+
+    private static final long DAY = 86_400;
+    private static final long START = 1_420_070_400L; // 2015-01-01
+    private static final int DAYS = 3650;
+    private static final int PLAYERS = 274;
+    // Array header, length and the id, player, timestamp, count and version columns of the row
+    private static final int CHUNK_OVERHEAD_BYTES = 16 + 8 + 8 + 8 + 8 + 4 + 8;
+
+    @Param({"256"})
+    public int chunkPoints;
+
+    @Param({"20", "1"})
+    public int changeEvery;
+
+    private long[][] timestamps;
+    private long[][] cents;
+    private List<List<MarketValueChunk>> chunks;
+    private List<MarketValueChunk> player;
+    private int queriedPlayer;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        timestamps = new long[PLAYERS][DAYS];
+        cents = new long[PLAYERS][DAYS];
+        for (int p = 0; p < PLAYERS; p++) {
+            long value = 100_000_000L * (1 + random.nextInt(500));
+            for (int day = 0; day < DAYS; day++) {
+                // Valuations are taken at some time of day, not always on the stroke of midnight
+                timestamps[p][day] = START + day * DAY + (day % 90 == 0 ? random.nextInt(3600) : 0);
+                if (random.nextInt(changeEvery) == 0) {
+                    long change = changeEvery == 1
+                            ? (long) (value * random.nextGaussian() * 0.01)
+                            : (value / 10_000_000 * (random.nextInt(41) - 20) / 100) * 10_000_000;
+                    value = Math.max(1_000_000, value + change);
+                }
+                cents[p][day] = value;
+            }
+        }
+        chunks = encodeAll();
+
+        long points = (long) PLAYERS * DAYS;
+        long dataBytes = 0;
+        long chunkCount = 0;
+        for (List<MarketValueChunk> playerChunks : chunks) {
+            for (MarketValueChunk chunk : playerChunks) {
+                dataBytes += chunk.getData().length;
+                chunkCount++;
+            }
+        }
+        long totalBytes = dataBytes + chunkCount * CHUNK_OVERHEAD_BYTES;
+        System.out.printf("%n%,d points in %,d chunks: %,d bytes encoded (%.2f bytes/point, %,d per million); "
+                        + "%,d bytes with chunk overhead (%.2f bytes/point, %,d per million); 16 bytes/point uncompressed%n",
+                points, chunkCount, dataBytes, (double) dataBytes / points, dataBytes * 1_000_000 / points,
+                totalBytes, (double) totalBytes / points, totalBytes * 1_000_000 / points);
+
+        queriedPlayer = PLAYERS / 2;
+        player = chunks.get(queriedPlayer);
+    }
+
+    @Benchmark
+    public List<List<MarketValueChunk>> encodeMillion() {
+        return encodeAll();
+    }
+
+    @Benchmark
+    public long decodeMillion() {
+        long sum = 0;
+        for (List<MarketValueChunk> playerChunks : chunks) {
+            for (MarketValueChunk chunk : playerChunks) {
+                MarketValueChunkCodec.Reader reader = new MarketValueChunkCodec.Reader(chunk.getData(), chunk.getPointCount());
+                while (reader.next()) {
+                    sum += reader.cents();
+                }
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public List<MarketValuePoint> rangeOneYear() {
+        long from = START + 5 * 365 * DAY;
+        long to = from + 365 * DAY;
+        return MarketValueHistory.pointsBetween(overlapping(from, to), from, to, Integer.MAX_VALUE);
+    }
+
+    @Benchmark
+    public List<MarketValueBucket> downsampleWeeklyTenYears() {
+        return MarketValueHistory.buckets(player, Long.MIN_VALUE, Long.MAX_VALUE, 7 * DAY, Integer.MAX_VALUE);
+    }
+
+    @Benchmark
+    public MarketValuePoint asOf() {
+        long at = START + 2000 * DAY + DAY / 2;
+        // What the index lookup does: the last chunk starting no later than at
+        MarketValueChunk found = player.get(0);
+        for (MarketValueChunk chunk : player) {
+            if (chunk.getFirstTimestamp() <= at) {
+                found = chunk;
+            }
+        }
+        return MarketValueHistory.lastAtOrBefore(found, at);
+    }
+
+    // What the range query does: the chunks overlapping [from, to]
+    private List<MarketValueChunk> overlapping(long from, long to) {
+        List<MarketValueChunk> overlapping = new ArrayList<>();
+        for (MarketValueChunk chunk : player) {
+            if (chunk.getFirstTimestamp() <= to && chunk.getLastTimestamp() >= from) {
+                overlapping.add(chunk);
+            }
+        }
+        return overlapping;
+    }
+
+    private List<List<MarketValueChunk>> encodeAll() {
+        List<List<MarketValueChunk>> encoded = new ArrayList<>(PLAYERS);
+        for (int p = 0; p < PLAYERS; p++) {
+            List<MarketValueChunk> playerChunks = new ArrayList<>();
+            MarketValueChunkCodec.Writer writer = new MarketValueChunkCodec.Writer();
+            for (int day = 0; day < DAYS; day++) {
+                if (writer.count() == chunkPoints || !writer.append(timestamps[p][day], cents[p][day])) {
+                    playerChunks.add(chunk(p, writer));
+                    writer = new MarketValueChunkCodec.Writer();
+                    writer.append(timestamps[p][day], cents[p][day]);
+                }
+            }
+            playerChunks.add(chunk(p, writer));
+            encoded.add(playerChunks);
+        }
+        return encoded;
+    }
+
+    private static MarketValueChunk chunk(long playerId, MarketValueChunkCodec.Writer writer) {
+        MarketValueChunk chunk = new MarketValueChunk(playerId);
+        chunk.setPoints(writer.toByteArray(), writer.count(), writer.firstTimestamp(), writer.lastTimestamp());
+        return chunk;
+    }
+}
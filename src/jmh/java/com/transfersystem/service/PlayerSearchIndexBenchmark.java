@@ -0,0 +1,69 @@
+package com.transfersystem.service;
+
+import com.transfersystem.dto.PlayerSearchHit;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One typeahead search against an index of 100k players, by kind of query: the first letters of
+ * a name, a full name, a name with swapped letters, and a single letter (the widest prefix scan).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PlayerSearchIndexBenchmark {
+
+    private static final String[] FIRST_NAMES = {
+            "Vinícius", "Rodrygo", "Jude", "Kylian", "Erling", "Martin", "Bukayo", "Florian", "Jamal", "Pedri",
+            "Gavi", "Rafael", "Bruno", "Bernardo", "João", "Rúben", "Luka", "Toni", "Joshua", "Kevin",
+            "Mohamed", "Virgil", "Alisson", "Marc-André", "Thibaut", "Ousmane", "Antoine", "Aurélien", "Eduardo", "Dani"
+    };
+    private static final String[] SYLLABLES = {
+            "ma", "ri", "son", "ez", "ov", "ić", "ber", "gaard", "lo", "ta", "ne", "kö", "ut", "sa", "dro", "ñe", "ka", "vić"
+    };
+
+    @Param({"100000"})
+    public int players;
+
+    @Param({"vin", "vinicius ju", "vinicuis", "m"})
+    public String query;
+
+    private PlayerSearchIndex index;
+
+    @Setup
+    public void setUp() {
+        index = new PlayerSearchIndex(null, new SimpleMeterRegistry());
+        Random random = new Random(42);
+        for (long id = 1; id <= players; id++) {
+            StringBuilder surname = new StringBuilder();
+            int syllables = 2 + random.nextInt(3);
+            for (int s = 0; s < syllables; s++) {
+                surname.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+            }
+            surname.setCharAt(0, Character.toUpperCase(surname.charAt(0)));
+            index.put(id, FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " " + surname, 0L);
+        }
+    }
+
+    @Benchmark
+    public List<PlayerSearchHit> search() {
+        return index.search(query, 10);
+    }
+}
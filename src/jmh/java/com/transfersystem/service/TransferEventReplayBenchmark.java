@@ -0,0 +1,101 @@
+package com.transfersystem.service;
+
+import com.transfersystem.dto.ReplayedTransfer;
+import com.transfersystem.dto.TransferEventView;
+import com.transfersystem.model.TransferEventType;
+import com.transfersystem.model.TransferStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One full replay of a 10M event log into TransferStateProjection, by number of partitions. The
+ * log is held in memory in replay-sized chunks, so the numbers cover splitting and folding but
+ * not reading the table; divide the event count by the score for events per second.
+ *
+ * <p>Needs about 3 GB of heap. Lower the size with {@code -p events=1000000}.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms3g", "-Xmx3g"})
+@State(Scope.Benchmark)
+public class TransferEventReplayBenchmark {
+
+    // Every transfer goes through the whole workflow
+    private static final TransferEventType[] LIFECYCLE = {
+            TransferEventType.CREATED, TransferEventType.SUBMITTED, TransferEventType.NEGOTIATION_STARTED,
+            TransferEventType.APPROVED, TransferEventType.COMPLETED
+    };
+    private static final TransferStatus[] FROM_STATUS = {
+            null, TransferStatus.DRAFT, TransferStatus.SUBMITTED, TransferStatus.NEGOTIATION, TransferStatus.APPROVED
+    };
+    // Transfers in flight at once; their events interleave in the log as concurrent requests would
+    private static final int OPEN_TRANSFERS = 10_000;
+
+    @Param({"10000000"})
+    public int events;
+
+    @Param({"10000"})
+    public int chunkSize;
+
+    @Param({"1", "2", "4", "8"})
+    public int parallelism;
+
+    private final List<List<TransferEventView>> log = new ArrayList<>();
+    private final TransferStateProjection projection = new TransferStateProjection();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        LocalDateTime occurredAt = LocalDateTime.of(2024, 1, 1, 0, 0);
+        UUID[] open = new UUID[OPEN_TRANSFERS];
+        int[] step = new int[OPEN_TRANSFERS];
+        List<TransferEventView> chunk = new ArrayList<>(chunkSize);
+        for (long id = 1; id <= events; id++) {
+            int slot = random.nextInt(OPEN_TRANSFERS);
+            if (open[slot] == null) {
+                open[slot] = new UUID(random.nextLong(), random.nextLong());
+            }
+            TransferEventType type = LIFECYCLE[step[slot]];
+            String payload = type == TransferEventType.CREATED || type == TransferEventType.COMPLETED
+                    ? "{\"agreedFee\":" + (1_000_000 + random.nextInt(100_000_000)) + ".00}"
+                    : null;
+            chunk.add(new TransferEventView(id, open[slot], step[slot], type, FROM_STATUS[step[slot]], occurredAt, "system", payload));
+            if (++step[slot] == LIFECYCLE.length) {
+                open[slot] = null;
+                step[slot] = 0;
+            }
+            if (chunk.size() == chunkSize) {
+                log.add(chunk);
+                chunk = new ArrayList<>(chunkSize);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            log.add(chunk);
+        }
+    }
+
+    @Benchmark
+    public Map<UUID, ReplayedTransfer> replayState() {
+        return TransferEventReplayer.replay(log.iterator(), projection, parallelism);
+    }
+}
@@ -0,0 +1,72 @@
+package com.transfersystem.service;
+
+import com.transfersystem.dto.ContractClauseDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fee quotes over a realistic clause mix. A market value with three decimals cannot use the
+ * long minor-units path, so that parameter measures the BigDecimal fallback.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TransferFeeCalculatorBenchmark {
+
+    @Param({"0", "1", "5", "20"})
+    int clauseCount;
+
+    @Param({"45000000", "null", "12345678.901"})
+    String marketValue;
+
+    private final TransferFeeCalculator calculator = new TransferFeeCalculator(new SimpleMeterRegistry());
+    private BigDecimal baseFee;
+    private List<ContractClauseDto> clauses;
+
+    @Setup
+    public void setUp() {
+        baseFee = "null".equals(marketValue) ? null : new BigDecimal(marketValue);
+        Random random = new Random(clauseCount);
+        clauses = new ArrayList<>(clauseCount);
+        for (int i = 0; i < clauseCount; i++) {
+            int kind = random.nextInt(10);
+            if (kind < 3) {
+                // Sell-on of 5-25%, sometimes with a fractional percentage
+                clauses.add(new ContractClauseDto("SELL_ON", BigDecimal.valueOf(500 + random.nextInt(2001), 2), null));
+            } else if (kind < 8) {
+                String type = kind < 5 ? "APPEARANCE_BONUS" : kind < 7 ? "GOAL_BONUS" : "loyalty_fee";
+                clauses.add(new ContractClauseDto(type, null, BigDecimal.valueOf(10_000L * (1 + random.nextInt(500)))));
+            } else if (kind < 9) {
+                // Custom clause types the frontend lets users type in
+                clauses.add(new ContractClauseDto("IMAGE_RIGHTS", null, random.nextBoolean() ? null : new BigDecimal("75000.50")));
+            } else {
+                // Sell-on without a percentage falls back to its amount
+                clauses.add(new ContractClauseDto("SELL_ON", null, new BigDecimal("1000000")));
+            }
+        }
+    }
+
+    @Benchmark
+    public BigDecimal calculate() {
+        return calculator.calculate(baseFee, clauses);
+    }
+}
@@ -0,0 +1,95 @@
+package com.transfersystem.service;
+
+import com.transfersystem.model.Transfer;
+import com.transfersystem.model.TransferEvent;
+import com.transfersystem.model.TransferEventType;
+import com.transfersystem.model.TransferStatus;
+import com.transfersystem.repository.TransferRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Status transitions in TransferWorkflowEngine with persistence stubbed out, so the numbers
+ * cover the engine's own checks and bookkeeping rather than the database.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TransferWorkflowEngineBenchmark {
+
+    private TransferWorkflowEngine engine;
+    private Transfer transfer;
+
+    @Setup
+    public void setUp() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        engine = new TransferWorkflowEngine(savingRepository(), unscheduledExpiry(meterRegistry), discardingEventLog(), meterRegistry);
+        transfer = new Transfer();
+        transfer.setId(UUID.randomUUID());
+    }
+
+    @Benchmark
+    public Transfer draftToCompleted() {
+        transfer.setStatus(TransferStatus.DRAFT);
+        engine.submitTransfer(transfer);
+        engine.moveToNegotiation(transfer);
+        engine.approveTransfer(transfer);
+        return engine.completeTransfer(transfer);
+    }
+
+    @Benchmark
+    public Transfer cancelDuringNegotiation() {
+        transfer.setStatus(TransferStatus.NEGOTIATION);
+        return engine.cancelTransfer(transfer);
+    }
+
+    // Every iteration re-submits the same transfer; keep the deadline queue from growing without bound
+    private static OfferExpiryService unscheduledExpiry(SimpleMeterRegistry meterRegistry) {
+        return new OfferExpiryService(null, null, null, meterRegistry, Duration.ofDays(14), 500) {
+            @Override
+            public void schedule(UUID transferId, LocalDateTime offerExpiryDate) {
+            }
+        };
+    }
+
+    // Persistence is stubbed out, and recording an event is only an insert
+    private static TransferEventLog discardingEventLog() {
+        return new TransferEventLog(null, null) {
+            @Override
+            public TransferEvent record(Transfer transfer, TransferEventType type, TransferStatus fromStatus) {
+                return null;
+            }
+        };
+    }
+
+    // save() hands the entity back, as JPA does for an already-managed entity; nothing else is called
+    private static TransferRepository savingRepository() {
+        return (TransferRepository) Proxy.newProxyInstance(
+                TransferRepository.class.getClassLoader(),
+                new Class<?>[]{TransferRepository.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("save")) {
+                        return args[0];
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
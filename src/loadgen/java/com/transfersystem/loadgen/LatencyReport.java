@@ -0,0 +1,184 @@
+package com.transfersystem.loadgen;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-endpoint HdrHistograms of
+ * <ul>
+ *   <li>response time: from the request's <em>intended</em> start under the arrival schedule to
+ *       the end of the response. Queueing inside the generator or the server counts, so
+ *       coordinated omission is corrected.</li>
+ *   <li>service time: from the actual send to the end of the response.</li>
+ * </ul>
+ * Values are recorded in microseconds and reported in milliseconds.
+ */
+final class LatencyReport {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(10);
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private static final class EndpointStats {
+        final Histogram responseTime = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+        final Histogram serviceTime = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+        final Map<Integer, LongAdder> statusCodes = new ConcurrentHashMap<>();
+        final LongAdder ioErrors = new LongAdder();
+    }
+
+    private final Map<Operation, EndpointStats> endpoints = new EnumMap<>(Operation.class);
+    private final Histogram allResponseTimes = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+
+    LatencyReport() {
+        for (Operation operation : Operation.values()) {
+            endpoints.put(operation, new EndpointStats());
+        }
+    }
+
+    void record(Operation operation, long intendedStartNanos, long sentNanos, long doneNanos, int statusCode) {
+        EndpointStats stats = endpoints.get(operation);
+        long responseMicros = clamp((doneNanos - intendedStartNanos) / 1_000);
+        stats.responseTime.recordValue(responseMicros);
+        stats.serviceTime.recordValue(clamp((doneNanos - sentNanos) / 1_000));
+        allResponseTimes.recordValue(responseMicros);
+        if (statusCode > 0) {
+            stats.statusCodes.computeIfAbsent(statusCode, code -> new LongAdder()).increment();
+        } else {
+            stats.ioErrors.increment();
+        }
+    }
+
+    Map<String, Object> toMap(LoadGeneratorConfig config, Workload workload, double measuredSeconds) {
+        Map<String, Object> root = new LinkedHashMap<>();
+        root.put("generatedAt", Instant.now().toString());
+        root.put("config", config.describe());
+        root.put("measuredSeconds", round(measuredSeconds));
+        root.put("players", workload.playerCount());
+        root.put("clubs", workload.clubCount());
+        root.put("achievedRate", round(allResponseTimes.getTotalCount() / measuredSeconds));
+        root.put("overall", summarize(allResponseTimes));
+
+        Map<String, Object> perEndpoint = new LinkedHashMap<>();
+        endpoints.forEach((operation, stats) -> {
+            if (stats.responseTime.getTotalCount() == 0) {
+                return;
+            }
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("count", stats.responseTime.getTotalCount());
+            entry.put("rate", round(stats.responseTime.getTotalCount() / measuredSeconds));
+            Map<String, Long> codes = new TreeMap<>();
+            stats.statusCodes.forEach((code, count) -> codes.put(String.valueOf(code), count.sum()));
+            entry.put("statusCodes", codes);
+            entry.put("ioErrors", stats.ioErrors.sum());
+            entry.put("responseTimeMs", summarize(stats.responseTime));
+            entry.put("serviceTimeMs", summarize(stats.serviceTime));
+            perEndpoint.put(operation.endpoint(), entry);
+        });
+        root.put("endpoints", perEndpoint);
+
+        Map<String, Long> substituted = new LinkedHashMap<>();
+        workload.substitutions().forEach((operation, count) -> {
+            if (count.sum() > 0) {
+                substituted.put(operation.key(), count.sum());
+            }
+        });
+        root.put("substitutedOperations", substituted);
+        return root;
+    }
+
+    void write(Map<String, Object> report, Path file, ObjectMapper objectMapper) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        objectMapper.writer().with(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), report);
+    }
+
+    @SuppressWarnings("unchecked")
+    static void print(Map<String, Object> report, PrintStream out) {
+        out.printf("%nAchieved %.1f req/s over %.1f s (target %s req/s)%n",
+                (Double) report.get("achievedRate"), (Double) report.get("measuredSeconds"),
+                ((Map<String, Object>) report.get("config")).get("rate"));
+        out.printf("%-40s %8s %8s %9s %9s %9s %9s %9s  %s%n",
+                "endpoint", "count", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "status codes");
+        Map<String, Map<String, Object>> endpoints = (Map<String, Map<String, Object>>) report.get("endpoints");
+        endpoints.forEach((endpoint, entry) -> printRow(out, endpoint, entry,
+                (Map<String, Object>) entry.get("responseTimeMs")));
+        Map<String, Object> overall = new LinkedHashMap<>();
+        overall.put("count", ((Map<String, Object>) report.get("overall")).get("count"));
+        overall.put("rate", report.get("achievedRate"));
+        overall.put("statusCodes", Map.of());
+        printRow(out, "ALL (response time)", overall, (Map<String, Object>) report.get("overall"));
+        Map<String, Long> substituted = (Map<String, Long>) report.get("substitutedOperations");
+        if (!substituted.isEmpty()) {
+            out.println("Drawn operations replaced by an initiate because no transfer was in the needed stage: " + substituted);
+        }
+    }
+
+    /** Prints p50/p99 response-time deltas against an earlier report written by this tool. */
+    @SuppressWarnings("unchecked")
+    static void compare(Map<String, Object> current, JsonNode baseline, PrintStream out) {
+        out.printf("%nComparison with baseline from %s (response time, ms)%n", baseline.path("generatedAt").asText("?"));
+        out.printf("%-40s %10s %10s %8s %10s %10s %8s%n", "endpoint", "p50 base", "p50 now", "change", "p99 base", "p99 now", "change");
+        Map<String, Map<String, Object>> endpoints = (Map<String, Map<String, Object>>) current.get("endpoints");
+        endpoints.forEach((endpoint, entry) -> {
+            JsonNode before = baseline.path("endpoints").path(endpoint).path("responseTimeMs");
+            if (before.isMissingNode()) {
+                return;
+            }
+            Map<String, Object> now = (Map<String, Object>) entry.get("responseTimeMs");
+            double p50Before = before.path("p50").asDouble();
+            double p99Before = before.path("p99").asDouble();
+            double p50Now = (Double) now.get("p50");
+            double p99Now = (Double) now.get("p99");
+            out.printf("%-40s %10.2f %10.2f %7.1f%% %10.2f %10.2f %7.1f%%%n", endpoint,
+                    p50Before, p50Now, change(p50Before, p50Now), p99Before, p99Now, change(p99Before, p99Now));
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void printRow(PrintStream out, String label, Map<String, Object> entry, Map<String, Object> latency) {
+        out.printf("%-40s %8d %8.1f %9.2f %9.2f %9.2f %9.2f %9.2f  %s%n", label,
+                ((Number) entry.get("count")).longValue(), ((Number) entry.get("rate")).doubleValue(),
+                latency.get("p50"), latency.get("p90"), latency.get("p99"), latency.get("p99.9"), latency.get("max"),
+                entry.get("statusCodes"));
+    }
+
+    private static Map<String, Object> summarize(Histogram histogram) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("count", histogram.getTotalCount());
+        summary.put("mean", round(histogram.getMean() / 1_000.0));
+        for (double percentile : PERCENTILES) {
+            String key = percentile == Math.rint(percentile) ? "p" + (int) percentile : "p" + percentile;
+            summary.put(key, round(histogram.getValueAtPercentile(percentile) / 1_000.0));
+        }
+        summary.put("max", round(histogram.getMaxValue() / 1_000.0));
+        return summary;
+    }
+
+    private static long clamp(long micros) {
+        return Math.max(1, Math.min(micros, HIGHEST_TRACKABLE_MICROS));
+    }
+
+    private static double change(double before, double now) {
+        return before == 0 ? 0 : (now - before) * 100.0 / before;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1_000.0) / 1_000.0;
+    }
+}
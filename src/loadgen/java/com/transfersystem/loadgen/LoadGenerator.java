@@ -0,0 +1,122 @@
+package com.transfersystem.loadgen;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load generator for the transfer API.
+ *
+ * <p>Requests are scheduled at arrival times drawn from the configured rate (Poisson or uniform)
+ * regardless of how quickly earlier requests complete, so a slow server builds a queue instead of
+ * slowing the generator down. Each request's response time is measured from its scheduled start,
+ * which keeps that queueing visible in the percentiles. Run it with
+ * {@code mvn -P loadgen test-compile exec:exec -Dloadgen.args="rate=200 duration=60"} against a
+ * running application; see {@link LoadGeneratorConfig} for the options.
+ */
+public final class LoadGenerator {
+
+    private LoadGenerator() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadGeneratorConfig config = LoadGeneratorConfig.parse(args);
+        Map<String, Object> result = run(config);
+        if (config.compareWith != null) {
+            JsonNode baseline = new ObjectMapper().readTree(config.compareWith.toFile());
+            LatencyReport.compare(result, baseline, System.out);
+        }
+    }
+
+    /** Runs one load test, prints the table and writes the JSON report; returns the report. */
+    static Map<String, Object> run(LoadGeneratorConfig config) throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        ExecutorService ioExecutor = Executors.newFixedThreadPool(config.ioThreads, runnable -> {
+            Thread thread = new Thread(runnable, "loadgen-io");
+            thread.setDaemon(true);
+            return thread;
+        });
+        HttpClient client = HttpClient.newBuilder()
+                .executor(ioExecutor)
+                .connectTimeout(Duration.ofSeconds(5))
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+
+        Workload workload = new Workload(config, objectMapper);
+        workload.bootstrap(client);
+        System.out.printf("Target %s: %d players, %d clubs. %s%n",
+                config.baseUrl, workload.playerCount(), workload.clubCount(), config.describe());
+
+        LatencyReport report = new LatencyReport();
+        Semaphore inFlight = new Semaphore(config.maxInFlight);
+        SplittableRandom random = new SplittableRandom(config.seed);
+        double meanGapNanos = TimeUnit.SECONDS.toNanos(1) / config.rate;
+
+        long start = System.nanoTime();
+        long measureFrom = start + config.warmup.toNanos();
+        long end = measureFrom + config.duration.toNanos();
+        long intendedStart = start;
+        while (intendedStart < end) {
+            long wait = intendedStart - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+                continue;
+            }
+            // Blocking here is deliberate: the time spent waiting for a slot still counts against the
+            // request because latency is measured from intendedStart, not from the send.
+            inFlight.acquire();
+            Workload.PlannedRequest planned = workload.next(random);
+            boolean measured = intendedStart >= measureFrom;
+            long scheduled = intendedStart;
+            long sent = System.nanoTime();
+            client.sendAsync(planned.request(), HttpResponse.BodyHandlers.ofString())
+                    .whenComplete((response, failure) -> {
+                        long done = System.nanoTime();
+                        try {
+                            int status = failure == null ? response.statusCode() : 0;
+                            if (measured) {
+                                report.record(planned.operation(), scheduled, sent, done, status);
+                            }
+                            if (status >= 200 && status < 300) {
+                                planned.onSuccess().accept(response);
+                            } else {
+                                planned.onFailure().run();
+                            }
+                        } finally {
+                            inFlight.release();
+                        }
+                    });
+            intendedStart += nextGapNanos(config, random, meanGapNanos);
+        }
+
+        if (!inFlight.tryAcquire(config.maxInFlight, 60, TimeUnit.SECONDS)) {
+            System.err.println("Gave up waiting for " + (config.maxInFlight - inFlight.availablePermits())
+                    + " in-flight requests");
+        }
+        double measuredSeconds = config.duration.toNanos() / 1e9;
+        Map<String, Object> result = report.toMap(config, workload, measuredSeconds);
+        LatencyReport.print(result, System.out);
+        report.write(result, config.reportFile, objectMapper);
+        System.out.println("Report written to " + config.reportFile.toAbsolutePath());
+        ioExecutor.shutdownNow();
+        return result;
+    }
+
+    private static long nextGapNanos(LoadGeneratorConfig config, SplittableRandom random, double meanGapNanos) {
+        if (!config.poissonArrivals) {
+            return Math.max(1, Math.round(meanGapNanos));
+        }
+        // Exponential inter-arrival times give a Poisson arrival process.
+        return Math.max(1, Math.round(-Math.log(1.0 - random.nextDouble()) * meanGapNanos));
+    }
+}
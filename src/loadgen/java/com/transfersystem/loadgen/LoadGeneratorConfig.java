@@ -0,0 +1,111 @@
+package com.transfersystem.loadgen;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Command-line options, given as {@code --name=value}. Every option has a default so the tool can
+ * be pointed at a local instance with no arguments at all.
+ */
+final class LoadGeneratorConfig {
+
+    // Deadline-day shape: mostly browsing, a steady stream of new offers, fewer completions
+    static final String DEFAULT_MIX = "initiate=12,submit=10,negotiate=9,approve=8,complete=6,cancel=3,"
+            + "listTransfers=25,getTransfer=10,listPlayers=9,listClubs=8";
+
+    final URI baseUrl;
+    final double rate;
+    final Duration duration;
+    final Duration warmup;
+    final boolean poissonArrivals;
+    final int maxInFlight;
+    final int ioThreads;
+    final long seed;
+    final Map<Operation, Integer> mix;
+    final Path reportFile;
+    final Path compareWith;
+
+    private LoadGeneratorConfig(Map<String, String> options) {
+        baseUrl = URI.create(stripTrailingSlash(options.getOrDefault("baseUrl", "http://localhost:8080")));
+        rate = Double.parseDouble(options.getOrDefault("rate", "50"));
+        duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "60")));
+        warmup = Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "10")));
+        String arrivals = options.getOrDefault("arrivals", "poisson");
+        if (!arrivals.equals("poisson") && !arrivals.equals("uniform")) {
+            throw new IllegalArgumentException("--arrivals must be 'poisson' or 'uniform'");
+        }
+        poissonArrivals = arrivals.equals("poisson");
+        maxInFlight = Integer.parseInt(options.getOrDefault("maxInFlight", "512"));
+        ioThreads = Integer.parseInt(options.getOrDefault("ioThreads", "16"));
+        seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        mix = parseMix(options.getOrDefault("mix", DEFAULT_MIX));
+        reportFile = Path.of(options.getOrDefault("report", "target/loadgen-report.json"));
+        compareWith = options.containsKey("compare") ? Path.of(options.get("compare")) : null;
+        if (rate <= 0) {
+            throw new IllegalArgumentException("--rate must be positive");
+        }
+    }
+
+    static LoadGeneratorConfig parse(String[] args) {
+        return from(parseOptions(args));
+    }
+
+    static LoadGeneratorConfig from(Map<String, String> options) {
+        return new LoadGeneratorConfig(options);
+    }
+
+    static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            String option = arg.startsWith("--") ? arg.substring(2) : arg;
+            int separator = option.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Expected --name=value but got '" + arg + "'");
+            }
+            options.put(option.substring(0, separator), option.substring(separator + 1));
+        }
+        return options;
+    }
+
+    private static Map<Operation, Integer> parseMix(String spec) {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        for (String entry : spec.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Bad mix entry '" + entry + "', expected operation=weight");
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Mix weights must not be negative: " + entry);
+            }
+            mix.put(Operation.fromKey(parts[0].trim()), weight);
+        }
+        if (mix.values().stream().mapToInt(Integer::intValue).sum() == 0) {
+            throw new IllegalArgumentException("Mix must have at least one positive weight");
+        }
+        return mix;
+    }
+
+    private static String stripTrailingSlash(String url) {
+        return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+
+    Map<String, Object> describe() {
+        Map<String, Object> description = new LinkedHashMap<>();
+        description.put("baseUrl", baseUrl.toString());
+        description.put("rate", rate);
+        description.put("durationSeconds", duration.toSeconds());
+        description.put("warmupSeconds", warmup.toSeconds());
+        description.put("arrivals", poissonArrivals ? "poisson" : "uniform");
+        description.put("maxInFlight", maxInFlight);
+        description.put("seed", seed);
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        mix.forEach((operation, weight) -> weights.put(operation.key(), weight));
+        description.put("mix", weights);
+        return description;
+    }
+}
@@ -0,0 +1,44 @@
+package com.transfersystem.loadgen;
+
+/**
+ * Everything the load generator can do. The endpoint label is the route template, so results for
+ * different transfers aggregate into one histogram per endpoint.
+ */
+enum Operation {
+    INITIATE("initiate", "POST /api/v1/transfers"),
+    SUBMIT("submit", "PATCH /api/v1/transfers/{id}/submit"),
+    NEGOTIATE("negotiate", "PATCH /api/v1/transfers/{id}/negotiate"),
+    APPROVE("approve", "PATCH /api/v1/transfers/{id}/approve"),
+    COMPLETE("complete", "PATCH /api/v1/transfers/{id}/complete"),
+    CANCEL("cancel", "PATCH /api/v1/transfers/{id}/cancel"),
+    LIST_TRANSFERS("listTransfers", "GET /api/v1/transfers"),
+    GET_TRANSFER("getTransfer", "GET /api/v1/transfers/{id}"),
+    LIST_PLAYERS("listPlayers", "GET /api/v1/players"),
+    LIST_CLUBS("listClubs", "GET /api/v1/clubs");
+
+    private final String key;
+    private final String endpoint;
+
+    Operation(String key, String endpoint) {
+        this.key = key;
+        this.endpoint = endpoint;
+    }
+
+    String key() {
+        return key;
+    }
+
+    String endpoint() {
+        return endpoint;
+    }
+
+    static Operation fromKey(String key) {
+        for (Operation operation : values()) {
+            if (operation.key.equalsIgnoreCase(key)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Unknown operation '" + key + "'. Known: initiate, submit, negotiate, "
+                + "approve, complete, cancel, listTransfers, getTransfer, listPlayers, listClubs");
+    }
+}
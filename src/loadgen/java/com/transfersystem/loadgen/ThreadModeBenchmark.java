@@ -0,0 +1,111 @@
+package com.transfersystem.loadgen;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs the same load test against the packaged application twice, first with platform request
+ * threads and then with {@code spring.threads.virtual.enabled=true}, and prints the virtual-thread
+ * run's p50/p99 relative to the platform-thread run. Each mode gets a fresh JVM and database.
+ *
+ * <p>Besides the load generator's own options this accepts {@code jar} (default
+ * target/football-transfer-system-0.0.1-SNAPSHOT.jar), {@code port} (default 18080) and
+ * {@code appArgs}, a space-separated list of extra application arguments such as
+ * {@code --server.tomcat.threads.max=50 --spring.datasource.hikari.maximum-pool-size=10}.
+ * Virtual threads need a Java 21 runtime; on older JDKs Spring Boot silently keeps platform
+ * threads, so both runs would measure the same thing.
+ */
+public final class ThreadModeBenchmark {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(3);
+
+    private ThreadModeBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = LoadGeneratorConfig.parseOptions(args);
+        Path jar = Path.of(options.getOrDefault("jar", "target/football-transfer-system-0.0.1-SNAPSHOT.jar"));
+        int port = Integer.parseInt(options.getOrDefault("port", "18080"));
+        String appArgs = options.getOrDefault("appArgs", "").trim();
+        if (!Files.isRegularFile(jar)) {
+            throw new IllegalArgumentException(jar + " not found; run mvn package -DskipTests first");
+        }
+        if (Runtime.version().feature() < 21) {
+            System.err.println("WARNING: running on Java " + Runtime.version().feature()
+                    + "; the application only uses virtual threads on Java 21 or later.");
+        }
+
+        Map<String, Map<String, Object>> reports = new LinkedHashMap<>();
+        for (String mode : List.of("platform", "virtual")) {
+            Map<String, String> runOptions = new LinkedHashMap<>(options);
+            runOptions.put("baseUrl", "http://localhost:" + port);
+            runOptions.put("report", "target/loadgen-" + mode + "-threads.json");
+            runOptions.remove("compare");
+            System.out.printf("%n=== %s threads ===%n", mode);
+            Process application = start(jar, port, mode.equals("virtual"), appArgs, mode);
+            try {
+                awaitReady(port, application);
+                reports.put(mode, LoadGenerator.run(LoadGeneratorConfig.from(runOptions)));
+            } finally {
+                application.destroy();
+                application.waitFor();
+            }
+        }
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        LatencyReport.compare(reports.get("virtual"),
+                objectMapper.valueToTree(reports.get("platform")), System.out);
+    }
+
+    private static Process start(Path jar, int port, boolean virtualThreads, String appArgs, String mode)
+            throws IOException {
+        List<String> command = new ArrayList<>(List.of(
+                Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "-jar", jar.toString(),
+                "--server.port=" + port,
+                "--spring.threads.virtual.enabled=" + virtualThreads));
+        if (!appArgs.isEmpty()) {
+            command.addAll(List.of(appArgs.split("\\s+")));
+        }
+        Path log = Path.of("target", "thread-mode-" + mode + ".log");
+        System.out.println("Starting " + String.join(" ", command) + " (log: " + log + ")");
+        return new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+    }
+
+    private static void awaitReady(int port, Process application) throws IOException, InterruptedException {
+        HttpClient client = HttpClient.newHttpClient();
+        HttpRequest readiness = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/actuator/health/readiness"))
+                .timeout(Duration.ofSeconds(2))
+                .build();
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!application.isAlive()) {
+                throw new IllegalStateException("Application exited with code " + application.exitValue());
+            }
+            try {
+                if (client.send(readiness, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException notListeningYet) {
+                // keep polling
+            }
+            Thread.sleep(500);
+        }
+        throw new IllegalStateException("Application did not become ready within " + STARTUP_TIMEOUT);
+    }
+}
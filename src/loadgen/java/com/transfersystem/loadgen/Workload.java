@@ -0,0 +1,269 @@
+package com.transfersystem.loadgen;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Turns the configured mix into concrete requests. Transfers created by the run are tracked per
+ * workflow stage, so each PATCH is sent to a transfer that is actually in the right state. When
+ * the stage a drawn operation needs is empty, a new transfer is initiated instead and the
+ * substitution is counted.
+ *
+ * <p>{@link #next} is only called from the scheduler thread; response callbacks run on the HTTP
+ * client's threads, hence the concurrent collections.
+ */
+final class Workload {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final int RECENT_IDS = 1024;
+    private static final int PLAYER_PICK_ATTEMPTS = 16;
+
+    private enum Stage { DRAFT, SUBMITTED, NEGOTIATION, APPROVED }
+
+    private record TrackedTransfer(String id, long playerId, long toClubId) {
+    }
+
+    record PlannedRequest(Operation drawn, Operation operation, HttpRequest request,
+                          Consumer<HttpResponse<String>> onSuccess, Runnable onFailure) {
+    }
+
+    private final URI baseUrl;
+    private final ObjectMapper objectMapper;
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+    private final List<Long> playerIds = new ArrayList<>();
+    private final List<Long> clubIds = new ArrayList<>();
+    private final Map<Long, Long> playerClubs = new ConcurrentHashMap<>();
+    private final Set<Long> busyPlayers = ConcurrentHashMap.newKeySet();
+    private final Map<Stage, ConcurrentLinkedQueue<TrackedTransfer>> stages = new EnumMap<>(Stage.class);
+    private final AtomicReferenceArray<String> recentTransferIds = new AtomicReferenceArray<>(RECENT_IDS);
+    private final AtomicLong recentCursor = new AtomicLong();
+    private final Map<Operation, LongAdder> substitutions = new EnumMap<>(Operation.class);
+
+    Workload(LoadGeneratorConfig config, ObjectMapper objectMapper) {
+        this.baseUrl = config.baseUrl;
+        this.objectMapper = objectMapper;
+        List<Operation> weighted = new ArrayList<>();
+        List<Integer> cumulative = new ArrayList<>();
+        int total = 0;
+        for (Map.Entry<Operation, Integer> entry : config.mix.entrySet()) {
+            if (entry.getValue() > 0) {
+                total += entry.getValue();
+                weighted.add(entry.getKey());
+                cumulative.add(total);
+            }
+        }
+        this.operations = weighted.toArray(new Operation[0]);
+        this.cumulativeWeights = cumulative.stream().mapToInt(Integer::intValue).toArray();
+        for (Stage stage : Stage.values()) {
+            stages.put(stage, new ConcurrentLinkedQueue<>());
+        }
+        for (Operation operation : Operation.values()) {
+            substitutions.put(operation, new LongAdder());
+        }
+    }
+
+    /** Loads the players and clubs that new transfers are drawn from. */
+    void bootstrap(HttpClient client) throws IOException, InterruptedException {
+        for (JsonNode player : getJson(client, "/api/v1/players")) {
+            long id = player.get("id").asLong();
+            playerIds.add(id);
+            if (player.hasNonNull("currentClubId")) {
+                playerClubs.put(id, player.get("currentClubId").asLong());
+            }
+        }
+        for (JsonNode club : getJson(client, "/api/v1/clubs")) {
+            clubIds.add(club.get("id").asLong());
+        }
+        if (playerIds.isEmpty() || clubIds.size() < 2) {
+            throw new IllegalStateException("Target needs at least one player and two clubs; found "
+                    + playerIds.size() + " players and " + clubIds.size() + " clubs");
+        }
+    }
+
+    int playerCount() {
+        return playerIds.size();
+    }
+
+    int clubCount() {
+        return clubIds.size();
+    }
+
+    Map<Operation, LongAdder> substitutions() {
+        return substitutions;
+    }
+
+    PlannedRequest next(SplittableRandom random) {
+        Operation drawn = draw(random);
+        PlannedRequest planned = switch (drawn) {
+            case INITIATE -> initiate(drawn, random);
+            case SUBMIT -> advance(drawn, Stage.DRAFT, Stage.SUBMITTED, random);
+            case NEGOTIATE -> advance(drawn, Stage.SUBMITTED, Stage.NEGOTIATION, random);
+            case APPROVE -> advance(drawn, Stage.NEGOTIATION, Stage.APPROVED, random);
+            case COMPLETE -> advance(drawn, Stage.APPROVED, null, random);
+            case CANCEL -> cancel(drawn, random);
+            case LIST_TRANSFERS -> read(drawn, "/api/v1/transfers?size=50");
+            case GET_TRANSFER -> getTransfer(drawn, random);
+            case LIST_PLAYERS -> read(drawn, "/api/v1/players");
+            case LIST_CLUBS -> read(drawn, "/api/v1/clubs");
+        };
+        if (planned.operation() != drawn) {
+            substitutions.get(drawn).increment();
+        }
+        return planned;
+    }
+
+    private Operation draw(SplittableRandom random) {
+        int ticket = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (ticket < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        throw new IllegalStateException("unreachable");
+    }
+
+    private PlannedRequest initiate(Operation drawn, SplittableRandom random) {
+        long playerId = pickIdlePlayer(random);
+        long fromClubId = playerClubs.getOrDefault(playerId, clubIds.get(random.nextInt(clubIds.size())));
+        long toClubId;
+        do {
+            toClubId = clubIds.get(random.nextInt(clubIds.size()));
+        } while (toClubId == fromClubId);
+        busyPlayers.add(playerId);
+
+        String body = "{\"playerId\":" + playerId + ",\"fromClubId\":" + fromClubId + ",\"toClubId\":" + toClubId
+                + ",\"clauses\":" + randomClauses(random) + "}";
+        HttpRequest request = builder("/api/v1/transfers")
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        long chosenToClub = toClubId;
+        return new PlannedRequest(drawn, Operation.INITIATE, request, response -> {
+            String id = readId(response);
+            if (id == null) {
+                busyPlayers.remove(playerId);
+                return;
+            }
+            remember(id);
+            stages.get(Stage.DRAFT).add(new TrackedTransfer(id, playerId, chosenToClub));
+        }, () -> busyPlayers.remove(playerId));
+    }
+
+    private PlannedRequest advance(Operation drawn, Stage from, Stage to, SplittableRandom random) {
+        TrackedTransfer transfer = stages.get(from).poll();
+        if (transfer == null) {
+            return initiate(drawn, random);
+        }
+        HttpRequest request = patch(transfer.id(), drawn);
+        return new PlannedRequest(drawn, drawn, request, response -> {
+            if (to != null) {
+                stages.get(to).add(transfer);
+            } else {
+                // Completed: the player now belongs to the buying club and is free for a new offer
+                playerClubs.put(transfer.playerId(), transfer.toClubId());
+                busyPlayers.remove(transfer.playerId());
+            }
+        }, () -> busyPlayers.remove(transfer.playerId()));
+    }
+
+    private PlannedRequest cancel(Operation drawn, SplittableRandom random) {
+        Stage[] all = Stage.values();
+        int offset = random.nextInt(all.length);
+        for (int i = 0; i < all.length; i++) {
+            TrackedTransfer transfer = stages.get(all[(offset + i) % all.length]).poll();
+            if (transfer != null) {
+                Runnable release = () -> busyPlayers.remove(transfer.playerId());
+                return new PlannedRequest(drawn, drawn, patch(transfer.id(), drawn), response -> release.run(), release);
+            }
+        }
+        return initiate(drawn, random);
+    }
+
+    private PlannedRequest getTransfer(Operation drawn, SplittableRandom random) {
+        long written = Math.min(recentCursor.get(), RECENT_IDS);
+        String id = written == 0 ? null : recentTransferIds.get(random.nextInt((int) written));
+        if (id == null) {
+            return read(Operation.LIST_TRANSFERS, "/api/v1/transfers?size=50", drawn);
+        }
+        return read(drawn, "/api/v1/transfers/" + id);
+    }
+
+    private PlannedRequest read(Operation operation, String path) {
+        return read(operation, path, operation);
+    }
+
+    private PlannedRequest read(Operation operation, String path, Operation drawn) {
+        HttpRequest request = builder(path).GET().build();
+        return new PlannedRequest(drawn, operation, request, response -> { }, () -> { });
+    }
+
+    private HttpRequest patch(String transferId, Operation operation) {
+        return builder("/api/v1/transfers/" + transferId + "/" + operation.key())
+                .method("PATCH", HttpRequest.BodyPublishers.noBody())
+                .build();
+    }
+
+    private long pickIdlePlayer(SplittableRandom random) {
+        long candidate = playerIds.get(random.nextInt(playerIds.size()));
+        for (int attempt = 1; attempt < PLAYER_PICK_ATTEMPTS && busyPlayers.contains(candidate); attempt++) {
+            candidate = playerIds.get(random.nextInt(playerIds.size()));
+        }
+        // With every player busy this offer will be rejected with 409, which is realistic enough
+        return candidate;
+    }
+
+    private static String randomClauses(SplittableRandom random) {
+        return switch (random.nextInt(4)) {
+            case 0 -> "[]";
+            case 1 -> "[{\"type\":\"SELL_ON\",\"percentage\":" + (5 + random.nextInt(20)) + "}]";
+            case 2 -> "[{\"type\":\"GOAL_BONUS\",\"amount\":" + 50_000 * (1 + random.nextInt(10)) + "}]";
+            default -> "[{\"type\":\"SELL_ON\",\"percentage\":10},{\"type\":\"APPEARANCE_BONUS\",\"amount\":250000}]";
+        };
+    }
+
+    private String readId(HttpResponse<String> response) {
+        try {
+            JsonNode id = objectMapper.readTree(response.body()).get("id");
+            return id == null ? null : id.asText();
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private void remember(String transferId) {
+        long slot = recentCursor.getAndIncrement();
+        recentTransferIds.set((int) (slot % RECENT_IDS), transferId);
+    }
+
+    private JsonNode getJson(HttpClient client, String path) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(builder(path).GET().build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IOException("GET " + path + " returned " + response.statusCode());
+        }
+        return objectMapper.readTree(response.body());
+    }
+
+    private HttpRequest.Builder builder(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(REQUEST_TIMEOUT);
+    }
+}
@@ -0,0 +1,31 @@
+package com.transfersystem.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Read-through caches in front of ClubService and PlayerService. Puts and evictions are
+ * deferred until the surrounding transaction commits, so a concurrent reader can never
+ * re-cache a value that is about to be rolled back or overwritten.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String CLUBS = "clubs";
+    public static final String CLUB_LIST = "clubList";
+    public static final String PLAYERS = "players";
+
+    @Bean
+    public CacheManager cacheManager(@Value("${entity-cache.spec:maximumSize=10000,expireAfterWrite=10m,recordStats}") String cacheSpec) {
+        CaffeineCacheManager caffeineCacheManager = new CaffeineCacheManager(CLUBS, CLUB_LIST, PLAYERS);
+        caffeineCacheManager.setCacheSpecification(cacheSpec);
+        caffeineCacheManager.setAllowNullValues(false);
+        return new TransactionAwareCacheManagerProxy(caffeineCacheManager);
+    }
+}
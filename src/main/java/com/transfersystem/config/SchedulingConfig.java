@@ -0,0 +1,13 @@
+package com.transfersystem.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables {@code @Scheduled} background jobs, currently the offer-expiry sweeper. They run on
+ * Boot's single-threaded task scheduler, so a job never overlaps with itself.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
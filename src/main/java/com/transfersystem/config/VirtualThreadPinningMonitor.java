@@ -0,0 +1,122 @@
+package com.transfersystem.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reports virtual threads that stay pinned to their carrier (blocking inside a synchronized block
+ * or a native frame) for longer than the configured threshold. Only active when requests run on
+ * virtual threads.
+ *
+ * <p>Each pinning is timed as {@code jvm.threads.virtual.pinned}, tagged with the code that held
+ * the carrier: {@code application}, {@code connection_pool} (HikariCP), {@code jdbc_driver} (H2)
+ * or {@code other}. The stack trace of each distinct pinning site is logged once at WARN.
+ */
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+@ConditionalOnProperty(name = "virtual-threads.pinning-monitor.enabled", havingValue = "true", matchIfMissing = true)
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+
+    static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int MAX_LOGGED_SITES = 100;
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    private final MeterRegistry meterRegistry;
+    private final Duration threshold;
+    private final Set<String> loggedSites = ConcurrentHashMap.newKeySet();
+    private volatile RecordingStream recordingStream;
+
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry,
+                                       @Value("${virtual-threads.pinning-monitor.threshold:20ms}") Duration threshold) {
+        this.meterRegistry = meterRegistry;
+        this.threshold = threshold;
+    }
+
+    @Override
+    public void start() {
+        RecordingStream stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::onPinned);
+        stream.startAsync();
+        recordingStream = stream;
+        logger.info("Serving requests on virtual threads; reporting carrier pinning longer than {}", threshold);
+    }
+
+    @Override
+    public void stop() {
+        RecordingStream stream = recordingStream;
+        recordingStream = null;
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return recordingStream != null;
+    }
+
+    private void onPinned(RecordedEvent event) {
+        List<String> frames = event.getStackTrace() == null ? List.of()
+                : event.getStackTrace().getFrames().stream().map(VirtualThreadPinningMonitor::describe).toList();
+        String source = classify(frames);
+        Timer.builder("jvm.threads.virtual.pinned")
+                .description("Virtual threads pinned to their carrier longer than the reporting threshold")
+                .tag("source", source)
+                .register(meterRegistry)
+                .record(event.getDuration());
+
+        String site = source + " " + firstApplicationFrame(frames);
+        if (loggedSites.size() < MAX_LOGGED_SITES && loggedSites.add(site)) {
+            logger.warn("Virtual thread pinned for {} ms in {} code:\n\tat {}",
+                    event.getDuration().toMillis(), source, String.join("\n\tat ", frames));
+        }
+    }
+
+    /** Attributes a pinning to the innermost frame that belongs to a known component. */
+    static String classify(List<String> frames) {
+        for (String frame : frames) {
+            if (frame.startsWith("org.h2.")) {
+                return "jdbc_driver";
+            }
+            if (frame.startsWith("com.zaxxer.hikari.")) {
+                return "connection_pool";
+            }
+            if (frame.startsWith("com.transfersystem.")) {
+                return "application";
+            }
+        }
+        return "other";
+    }
+
+    static String firstApplicationFrame(List<String> frames) {
+        for (String frame : frames) {
+            if (frame.startsWith("com.transfersystem.")) {
+                return frame;
+            }
+        }
+        return "(no application frame)";
+    }
+
+    private static String describe(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                + ":" + frame.getLineNumber();
+    }
+}
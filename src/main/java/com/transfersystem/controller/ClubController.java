@@ -1,12 +1,18 @@
 package com.transfersystem.controller;
 
+import com.transfersystem.dto.BulkResultDTO;
 import com.transfersystem.dto.ClubDTO;
+import com.transfersystem.dto.ClubFinancialsDTO;
 import com.transfersystem.service.ClubService;
+import com.transfersystem.service.BulkImportService;
+import com.transfersystem.service.ExportService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -15,10 +21,14 @@ import java.util.List;
 public class ClubController {
 
     private final ClubService clubService;
+    private final ExportService exportService;
+    private final BulkImportService bulkImportService;
 
     @Autowired
-    public ClubController(ClubService clubService) {
+    public ClubController(ClubService clubService, ExportService exportService, BulkImportService bulkImportService) {
         this.clubService = clubService;
+        this.exportService = exportService;
+        this.bulkImportService = bulkImportService;
     }
 
     @PostMapping
@@ -27,16 +37,56 @@ public class ClubController {
         return new ResponseEntity<>(createdClub, HttpStatus.CREATED);
     }
 
+    // Rows without an id are created, rows with an id are updated; rejected rows are listed
+    // in the result's errors, and a partial success is answered with 207 Multi-Status.
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkResultDTO<ClubDTO>> bulkUpsertClubs(@RequestBody List<ClubDTO> clubs) {
+        BulkResultDTO<ClubDTO> result = bulkImportService.upsertClubs(clubs);
+        HttpStatus status = result.getErrors().isEmpty() ? HttpStatus.OK : HttpStatus.MULTI_STATUS;
+        return new ResponseEntity<>(result, status);
+    }
+
     @GetMapping
-    public ResponseEntity<List<ClubDTO>> getAllClubs() {
+    public ResponseEntity<List<ClubDTO>> getAllClubs(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = ETags.forWatermark(clubService.getClubsWatermark());
+        if (ETags.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
         List<ClubDTO> clubs = clubService.getAllClubs();
-        return ResponseEntity.ok(clubs);
+        return ResponseEntity.ok().eTag(etag).body(clubs);
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportClubs() {
+        StreamingResponseBody body = exportService::exportClubs;
+        return ResponseEntity.ok().contentType(ExportService.NDJSON).body(body);
+    }
+
+    // League-wide totals; like the per-club variant below, a lookup of running totals
+    @GetMapping("/financials")
+    public ResponseEntity<ClubFinancialsDTO> getLeagueFinancials() {
+        return ResponseEntity.ok(clubService.getLeagueFinancials());
+    }
+
+    @GetMapping("/{id}/financials")
+    public ResponseEntity<ClubFinancialsDTO> getClubFinancials(@PathVariable Long id) {
+        return ResponseEntity.ok(clubService.getClubFinancials(id));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<ClubDTO> getClubById(@PathVariable Long id) {
+    public ResponseEntity<ClubDTO> getClubById(@PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        // Answer revalidations from the version column alone, without loading the club
+        if (ifNoneMatch != null) {
+            String currentEtag = ETags.forVersion(clubService.getClubVersion(id));
+            if (ETags.matches(ifNoneMatch, currentEtag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(currentEtag).build();
+            }
+        }
         ClubDTO club = clubService.getClubById(id);
-        return ResponseEntity.ok(club);
+        String etag = ETags.forVersion(club.getVersion());
+        return etag == null ? ResponseEntity.ok(club) : ResponseEntity.ok().eTag(etag).body(club);
     }
 
     @PutMapping("/{id}")
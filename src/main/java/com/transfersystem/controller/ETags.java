@@ -0,0 +1,61 @@
+package com.transfersystem.controller;
+
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Strong ETags for single entities (from their @Version), for collections (from a watermark
+ * aggregate) and for keyset pages (from the rows on the page), plus the If-None-Match
+ * comparison used to answer 304.
+ */
+final class ETags {
+
+    private ETags() {
+    }
+
+    static String forVersion(Long version) {
+        return version == null ? null : "\"" + version + "\"";
+    }
+
+    // A revision made of versions joined by '.', which is legal inside an entity-tag as it is
+    static String forRevision(String revision) {
+        return revision == null ? null : "\"" + revision + "\"";
+    }
+
+    // A keyset page is fully determined by its rows and by whether another page follows, so hash
+    // each row's id and revision. `rows` may hold the one extra row read to detect a next page.
+    static <T> String forPage(List<T> rows, int pageSize, Function<T, ?> id, Function<T, ?> revision) {
+        StringBuilder joined = new StringBuilder(rows.size() > pageSize ? "more" : "last");
+        for (T row : rows.subList(0, Math.min(rows.size(), pageSize))) {
+            joined.append('|').append(id.apply(row)).append(':').append(revision.apply(row));
+        }
+        return "\"" + DigestUtils.md5DigestAsHex(joined.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    // Watermarks can contain characters that are not legal inside an entity-tag, so hash them
+    static String forWatermark(String... parts) {
+        String joined = String.join("|", parts);
+        return "\"" + DigestUtils.md5DigestAsHex(joined.getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    // If-None-Match uses the weak comparison function (RFC 9110, 13.1.2)
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || etag == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || stripWeak(tag).equals(stripWeak(etag))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String stripWeak(String tag) {
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
+    }
+}
@@ -1,9 +1,14 @@
 package com.transfersystem.controller;
 
 import com.transfersystem.exception.InsufficientBudgetException;
+import com.transfersystem.exception.QueueFullException;
 import com.transfersystem.exception.ResourceNotFoundException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -15,14 +20,43 @@ public class GlobalExceptionHandler {
 
     private static final Logger logger = LoggerFactory.getLogger(GlobalExceptionHandler.class);
 
+    // api.errors, tagged with a fixed error kind and the status; never with messages or ids
+    private final Counter notFoundErrors;
+    private final Counter invalidArgumentErrors;
+    private final Counter invalidStateErrors;
+    private final Counter insufficientBudgetErrors;
+    private final Counter concurrentModificationErrors;
+    private final Counter queueFullErrors;
+    private final Counter unexpectedErrors;
+
+    public GlobalExceptionHandler(MeterRegistry meterRegistry) {
+        this.notFoundErrors = errorCounter(meterRegistry, "not_found", HttpStatus.NOT_FOUND);
+        this.invalidArgumentErrors = errorCounter(meterRegistry, "invalid_argument", HttpStatus.BAD_REQUEST);
+        this.invalidStateErrors = errorCounter(meterRegistry, "invalid_state", HttpStatus.CONFLICT);
+        this.insufficientBudgetErrors = errorCounter(meterRegistry, "insufficient_budget", HttpStatus.PAYMENT_REQUIRED);
+        this.concurrentModificationErrors = errorCounter(meterRegistry, "concurrent_modification", HttpStatus.CONFLICT);
+        this.queueFullErrors = errorCounter(meterRegistry, "queue_full", HttpStatus.SERVICE_UNAVAILABLE);
+        this.unexpectedErrors = errorCounter(meterRegistry, "unexpected", HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+
+    private static Counter errorCounter(MeterRegistry meterRegistry, String error, HttpStatus status) {
+        return Counter.builder("api.errors")
+                .description("Error responses produced by GlobalExceptionHandler")
+                .tag("error", error)
+                .tag("status", String.valueOf(status.value()))
+                .register(meterRegistry);
+    }
+
     @ExceptionHandler(ResourceNotFoundException.class)
     public ResponseEntity<String> handleResourceNotFoundException(ResourceNotFoundException ex, WebRequest request) {
+        notFoundErrors.increment();
         logger.error("Resource not found exception: {}", ex.getMessage(), ex);
         return new ResponseEntity<>(ex.getMessage(), HttpStatus.NOT_FOUND);
     }
 
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<String> handleIllegalArgumentException(IllegalArgumentException ex, WebRequest request) {
+        invalidArgumentErrors.increment();
         logger.error("Illegal argument exception: {}", ex.getMessage(), ex);
         return new ResponseEntity<>(ex.getMessage(), HttpStatus.BAD_REQUEST);
     }
@@ -30,19 +64,40 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(IllegalStateException.class)
     public ResponseEntity<String> handleIllegalStateException(IllegalStateException ex, WebRequest request) {
         // Using CONFLICT (409) for state-related issues, player already in transfer, or workflow violations
+        invalidStateErrors.increment();
         logger.error("Illegal state exception: {}", ex.getMessage(), ex);
         return new ResponseEntity<>(ex.getMessage(), HttpStatus.CONFLICT);
     }
 
     @ExceptionHandler(InsufficientBudgetException.class)
     public ResponseEntity<String> handleInsufficientBudgetException(InsufficientBudgetException ex, WebRequest request) {
+        insufficientBudgetErrors.increment();
         logger.error("Insufficient budget exception: {}", ex.getMessage(), ex);
         return new ResponseEntity<>(ex.getMessage(), HttpStatus.PAYMENT_REQUIRED); // HTTP 402
     }
 
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<String> handleOptimisticLockingFailureException(OptimisticLockingFailureException ex, WebRequest request) {
+        // A concurrent update won and retries (if any) were exhausted; the client may try again
+        concurrentModificationErrors.increment();
+        logger.warn("Optimistic locking failure: {}", ex.getMessage());
+        return new ResponseEntity<>("The resource was modified concurrently. Please retry.", HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(QueueFullException.class)
+    public ResponseEntity<String> handleQueueFullException(QueueFullException ex, WebRequest request) {
+        // Backpressure rather than a fault: tell the client when to come back
+        queueFullErrors.increment();
+        logger.warn("Queue full: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(ex.getMessage());
+    }
+
     // Catch-all for other exceptions (optional, good practice)
     @ExceptionHandler(Exception.class)
     public ResponseEntity<String> handleGlobalException(Exception ex, WebRequest request) {
+        unexpectedErrors.increment();
         logger.error("An unexpected error occurred: {}", ex.getMessage(), ex);
         // ex.printStackTrace();
         return new ResponseEntity<>("An unexpected error occurred. Please contact support.", HttpStatus.INTERNAL_SERVER_ERROR);
@@ -1,24 +1,62 @@
 package com.transfersystem.controller;
 
+import com.transfersystem.dto.BulkResultDTO;
+import com.transfersystem.dto.MarketValueBucket;
+import com.transfersystem.dto.MarketValuePoint;
+import com.transfersystem.dto.PlayerCursor;
 import com.transfersystem.dto.PlayerDTO;
+import com.transfersystem.dto.PlayerSearchHit;
+import com.transfersystem.exception.ResourceNotFoundException;
+import com.transfersystem.service.BulkImportService;
+import com.transfersystem.service.ExportService;
+import com.transfersystem.service.MarketValueHistory;
 import com.transfersystem.service.PlayerService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
 
 @RestController
 @RequestMapping("/api/v1/players")
 public class PlayerController {
 
+    // Sort orders accepted by the filtered listing; market value is the only sortable property
+    static final String SORT_BY_VALUE_ASC = "currentMarketValue,asc";
+    static final String SORT_BY_VALUE_DESC = "currentMarketValue,desc";
+
     private final PlayerService playerService;
+    private final ExportService exportService;
+    private final BulkImportService bulkImportService;
+    private final MarketValueHistory marketValueHistory;
+    private final int defaultSearchLimit;
+    private final int maxSearchLimit;
+    private final int defaultPageSize;
+    private final int maxPageSize;
 
     @Autowired
-    public PlayerController(PlayerService playerService) {
+    public PlayerController(PlayerService playerService, ExportService exportService, BulkImportService bulkImportService,
+                            MarketValueHistory marketValueHistory,
+                            @Value("${players.search.default-limit:10}") int defaultSearchLimit,
+                            @Value("${players.search.max-limit:50}") int maxSearchLimit,
+                            @Value("${players.page.default-size:50}") int defaultPageSize,
+                            @Value("${players.page.max-size:200}") int maxPageSize) {
         this.playerService = playerService;
+        this.exportService = exportService;
+        this.bulkImportService = bulkImportService;
+        this.marketValueHistory = marketValueHistory;
+        this.defaultSearchLimit = defaultSearchLimit;
+        this.maxSearchLimit = maxSearchLimit;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
     }
 
     @PostMapping
@@ -27,16 +65,108 @@ public class PlayerController {
         return new ResponseEntity<>(createdPlayer, HttpStatus.CREATED);
     }
 
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkResultDTO<PlayerDTO>> bulkUpsertPlayers(@RequestBody List<PlayerDTO> players) {
+        BulkResultDTO<PlayerDTO> result = bulkImportService.upsertPlayers(players);
+        HttpStatus status = result.getErrors().isEmpty() ? HttpStatus.OK : HttpStatus.MULTI_STATUS;
+        return new ResponseEntity<>(result, status);
+    }
+
+    /**
+     * Without parameters, every player. With any of the filter, sort or paging parameters, one
+     * keyset page of the players that have a market value, sorted by it (highest first unless
+     * {@code sort=currentMarketValue,asc}); the next page's cursor comes back in X-Next-Cursor.
+     */
     @GetMapping
-    public ResponseEntity<List<PlayerDTO>> getAllPlayers() {
+    public ResponseEntity<List<PlayerDTO>> getAllPlayers(@RequestParam(required = false) Long clubId,
+                                                         @RequestParam(required = false) BigDecimal minValue,
+                                                         @RequestParam(required = false) BigDecimal maxValue,
+                                                         @RequestParam(required = false) String sort,
+                                                         @RequestParam(required = false) String cursor,
+                                                         @RequestParam(required = false) Integer size,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        boolean paged = clubId != null || minValue != null || maxValue != null || sort != null
+                || cursor != null || size != null;
+        if (paged) {
+            return getPlayersByMarketValue(clubId, minValue, maxValue, sort, cursor, size, ifNoneMatch);
+        }
+        String etag = ETags.forWatermark(playerService.getPlayersWatermark());
+        if (ETags.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
         List<PlayerDTO> players = playerService.getAllPlayers();
-        return ResponseEntity.ok(players);
+        return ResponseEntity.ok().eTag(etag).body(players);
+    }
+
+    private ResponseEntity<List<PlayerDTO>> getPlayersByMarketValue(Long clubId, BigDecimal minValue, BigDecimal maxValue,
+                                                                   String sort, String cursor, Integer size,
+                                                                   String ifNoneMatch) {
+        boolean descending;
+        if (sort == null || sort.equals(SORT_BY_VALUE_DESC)) {
+            descending = true;
+        } else if (sort.equals(SORT_BY_VALUE_ASC) || sort.equals("currentMarketValue")) {
+            descending = false;
+        } else {
+            throw new IllegalArgumentException("Unsupported sort: " + sort + ". Players sort by "
+                    + SORT_BY_VALUE_DESC + " or " + SORT_BY_VALUE_ASC);
+        }
+        int pageSize = size == null ? defaultPageSize : size;
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("Page size must be at least 1. Requested: " + pageSize);
+        }
+        pageSize = Math.min(pageSize, maxPageSize);
+        PlayerCursor after = cursor == null || cursor.isBlank() ? null : PlayerCursor.decode(cursor);
+
+        // One extra row tells whether another page follows, without a count query
+        List<PlayerDTO> players = playerService.getPlayersByMarketValue(clubId, minValue, maxValue, descending,
+                after, pageSize + 1);
+        // Every column on the page changes with the player's version, so the rows just read give the
+        // ETag without an aggregate over the whole player table
+        String etag = ETags.forPage(players, pageSize, PlayerDTO::getId, PlayerDTO::getVersion);
+        if (ETags.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        if (players.size() <= pageSize) {
+            return ResponseEntity.ok().eTag(etag).body(players);
+        }
+        List<PlayerDTO> page = players.subList(0, pageSize);
+        PlayerDTO last = page.get(pageSize - 1);
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .header(TransferController.NEXT_CURSOR_HEADER, new PlayerCursor(last.getCurrentMarketValue(), last.getId()).encode())
+                .body(page);
+    }
+
+    // Typeahead: accent- and case-insensitive word prefixes, tolerating a typo or two
+    @GetMapping("/search")
+    public ResponseEntity<List<PlayerSearchHit>> searchPlayers(@RequestParam String q,
+                                                               @RequestParam(required = false) Integer limit) {
+        int resultLimit = limit == null ? defaultSearchLimit : limit;
+        if (resultLimit < 1) {
+            throw new IllegalArgumentException("Limit must be at least 1. Requested: " + resultLimit);
+        }
+        return ResponseEntity.ok(playerService.searchPlayers(q, Math.min(resultLimit, maxSearchLimit)));
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportPlayers() {
+        StreamingResponseBody body = exportService::exportPlayers;
+        return ResponseEntity.ok().contentType(ExportService.NDJSON).body(body);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<PlayerDTO> getPlayerById(@PathVariable Long id) {
+    public ResponseEntity<PlayerDTO> getPlayerById(@PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        // Answer revalidations from the version column alone, without loading the player
+        if (ifNoneMatch != null) {
+            String currentEtag = ETags.forVersion(playerService.getPlayerVersion(id));
+            if (ETags.matches(ifNoneMatch, currentEtag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(currentEtag).build();
+            }
+        }
         PlayerDTO player = playerService.getPlayerById(id);
-        return ResponseEntity.ok(player);
+        String etag = ETags.forVersion(player.getVersion());
+        return etag == null ? ResponseEntity.ok(player) : ResponseEntity.ok().eTag(etag).body(player);
     }
 
     @PutMapping("/{id}")
@@ -45,6 +175,38 @@ public class PlayerController {
         return ResponseEntity.ok(updatedPlayer);
     }
 
+    // Every recorded value from from to to (both optional and included), oldest first
+    @GetMapping("/{id}/market-values")
+    public ResponseEntity<List<MarketValuePoint>> getMarketValues(@PathVariable Long id,
+                                                                  @RequestParam(required = false) Instant from,
+                                                                  @RequestParam(required = false) Instant to) {
+        return ResponseEntity.ok(marketValueHistory.range(id, from == null ? Instant.MIN : from, to == null ? Instant.MAX : to));
+    }
+
+    // Min, max and last value per epoch-aligned bucket of the given width, e.g. width=P7D
+    @GetMapping("/{id}/market-values/buckets")
+    public ResponseEntity<List<MarketValueBucket>> getMarketValueBuckets(@PathVariable Long id,
+                                                                         @RequestParam Duration width,
+                                                                         @RequestParam(required = false) Instant from,
+                                                                         @RequestParam(required = false) Instant to) {
+        return ResponseEntity.ok(marketValueHistory.downsample(id, from == null ? Instant.MIN : from,
+                to == null ? Instant.MAX : to, width));
+    }
+
+    @GetMapping("/{id}/market-values/as-of")
+    public ResponseEntity<MarketValuePoint> getMarketValueAsOf(@PathVariable Long id, @RequestParam Instant at) {
+        MarketValuePoint point = marketValueHistory.asOf(id, at)
+                .orElseThrow(() -> new ResourceNotFoundException("No market value recorded for player " + id + " at or before " + at));
+        return ResponseEntity.ok(point);
+    }
+
+    // Imports history, e.g. from a valuation feed; points must be in time order and follow those already recorded
+    @PostMapping("/{id}/market-values")
+    public ResponseEntity<Void> appendMarketValues(@PathVariable Long id, @RequestBody List<MarketValuePoint> points) {
+        marketValueHistory.append(id, points);
+        return ResponseEntity.noContent().build();
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deletePlayer(@PathVariable Long id) {
         playerService.deletePlayer(id);
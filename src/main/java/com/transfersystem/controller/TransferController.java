@@ -1,18 +1,43 @@
 package com.transfersystem.controller;
 
+import com.transfersystem.dto.BatchTransitionItem;
+import com.transfersystem.dto.BatchTransitionResultDTO;
+import com.transfersystem.dto.CompletionStatusDTO;
+import com.transfersystem.dto.ContractClauseDto;
 import com.transfersystem.dto.InitiateTransferRequest;
+import com.transfersystem.dto.TransferCursor;
+import com.transfersystem.dto.TransferEventView;
+import com.transfersystem.dto.TransferPrecheck;
+import com.transfersystem.dto.TransferView;
 import com.transfersystem.exception.InsufficientBudgetException;
 import com.transfersystem.exception.ResourceNotFoundException;
+import com.transfersystem.model.BudgetEntryType;
 import com.transfersystem.model.Club;
+import com.transfersystem.model.ContractClause;
 import com.transfersystem.model.Player;
 import com.transfersystem.model.Transfer;
+import com.transfersystem.model.TransferEventType;
 import com.transfersystem.model.TransferStatus;
 import com.transfersystem.repository.ClubRepository;
 import com.transfersystem.repository.PlayerRepository;
 import com.transfersystem.repository.TransferRepository;
+import com.transfersystem.service.BudgetLedgerService;
+import com.transfersystem.service.ClubFinancialAggregates;
+import com.transfersystem.service.EntityCacheInvalidator;
+import com.transfersystem.service.ExportService;
+import com.transfersystem.service.OptimisticRetryExecutor;
+import com.transfersystem.service.TransferBatchService;
+import com.transfersystem.service.TransferChangeStream;
+import com.transfersystem.service.TransferCompletionQueue;
+import com.transfersystem.service.TransferEventLog;
 import com.transfersystem.service.TransferFeeCalculator;
 import com.transfersystem.service.TransferWorkflowEngine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -20,11 +45,17 @@ import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.math.BigDecimal;
-import java.util.Arrays;
+import java.net.URI;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -32,76 +63,174 @@ import java.util.UUID;
 @RequestMapping("/api/v1/transfers")
 public class TransferController {
 
+    // Response header carrying the opaque continuation token for the next page of transfers
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final TransferRepository transferRepository;
     private final PlayerRepository playerRepository;
     private final ClubRepository clubRepository;
     private final TransferWorkflowEngine transferWorkflowEngine;
     private final TransferFeeCalculator transferFeeCalculator;
-
-    // Define active statuses for transfer check
-    private static final List<TransferStatus> ACTIVE_TRANSFER_STATUSES = Arrays.asList(
-            TransferStatus.SUBMITTED, TransferStatus.NEGOTIATION, TransferStatus.APPROVED
-    );
+    private final ExportService exportService;
+    private final EntityCacheInvalidator entityCacheInvalidator;
+    private final OptimisticRetryExecutor optimisticRetryExecutor;
+    private final TransferBatchService transferBatchService;
+    private final TransferCompletionQueue transferCompletionQueue;
+    private final BudgetLedgerService budgetLedgerService;
+    private final TransferEventLog transferEventLog;
+    private final TransferChangeStream transferChangeStream;
+    private final ClubFinancialAggregates clubFinancialAggregates;
+    private final int defaultPageSize;
+    private final int maxPageSize;
 
     public TransferController(TransferRepository transferRepository,
                               PlayerRepository playerRepository,
                               ClubRepository clubRepository,
                               TransferWorkflowEngine transferWorkflowEngine,
-                              TransferFeeCalculator transferFeeCalculator) {
+                              TransferFeeCalculator transferFeeCalculator,
+                              ExportService exportService,
+                              EntityCacheInvalidator entityCacheInvalidator,
+                              OptimisticRetryExecutor optimisticRetryExecutor,
+                              TransferBatchService transferBatchService,
+                              TransferCompletionQueue transferCompletionQueue,
+                              BudgetLedgerService budgetLedgerService,
+                              TransferEventLog transferEventLog,
+                              TransferChangeStream transferChangeStream,
+                              ClubFinancialAggregates clubFinancialAggregates,
+                              @Value("${transfers.page.default-size:50}") int defaultPageSize,
+                              @Value("${transfers.page.max-size:200}") int maxPageSize) {
         this.transferRepository = transferRepository;
         this.playerRepository = playerRepository;
         this.clubRepository = clubRepository;
         this.transferWorkflowEngine = transferWorkflowEngine;
         this.transferFeeCalculator = transferFeeCalculator;
+        this.exportService = exportService;
+        this.entityCacheInvalidator = entityCacheInvalidator;
+        this.optimisticRetryExecutor = optimisticRetryExecutor;
+        this.transferBatchService = transferBatchService;
+        this.transferCompletionQueue = transferCompletionQueue;
+        this.budgetLedgerService = budgetLedgerService;
+        this.transferEventLog = transferEventLog;
+        this.transferChangeStream = transferChangeStream;
+        this.clubFinancialAggregates = clubFinancialAggregates;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
     }
 
     @GetMapping
-    public ResponseEntity<List<Transfer>> getAllTransfers() {
-        List<Transfer> transfers = transferRepository.findAllByOrderByInitiationTimestampDesc();
+    public ResponseEntity<List<TransferView>> getAllTransfers(@RequestParam(required = false) String cursor,
+                                                          @RequestParam(required = false) Integer size,
+                                                          @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        int pageSize = size == null ? defaultPageSize : size;
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("Page size must be at least 1. Requested: " + pageSize);
+        }
+        pageSize = Math.min(pageSize, maxPageSize);
+
+        // Fetch one extra row to find out whether another page follows, without a count query
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+        List<TransferView> transfers;
+        if (cursor == null || cursor.isBlank()) {
+            transfers = transferRepository.findFirstPage(limit);
+        } else {
+            TransferCursor position = TransferCursor.decode(cursor);
+            transfers = transferRepository.findPageAfter(position.getInitiationTimestamp(), position.getId(), limit);
+        }
         if (transfers.isEmpty()) {
             return ResponseEntity.noContent().build();
         }
-        return ResponseEntity.ok(transfers);
+
+        // The ETag is derived from the rows just read rather than from a table-wide aggregate, so a
+        // revalidation costs one keyset page and nothing that grows with the table
+        String etag = ETags.forPage(transfers, pageSize, TransferView::getId, TransferView::getRevision);
+        if (ETags.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        if (transfers.size() <= pageSize) {
+            return ResponseEntity.ok().eTag(etag).body(transfers);
+        }
+        List<TransferView> page = transfers.subList(0, pageSize);
+        TransferView last = page.get(pageSize - 1);
+        String nextCursor = new TransferCursor(last.getInitiationTimestamp(), last.getId()).encode();
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .header(NEXT_CURSOR_HEADER, nextCursor)
+                .body(page);
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTransfers() {
+        StreamingResponseBody body = exportService::exportTransfers;
+        return ResponseEntity.ok().contentType(ExportService.NDJSON).body(body);
+    }
+
+    // Status changes as Server-Sent Events; EventSource resends the last id it got on reconnect
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamTransferChanges(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+                                            @RequestParam(required = false) UUID transferId) {
+        return transferChangeStream.subscribe(lastEventId, transferId);
     }
 
     @PostMapping
-    public ResponseEntity<Transfer> initiateTransfer(@RequestBody InitiateTransferRequest request) {
-        // Validate Player
-        Player player = playerRepository.findById(request.getPlayerId())
+    @Transactional
+    public ResponseEntity<TransferView> initiateTransfer(@RequestBody InitiateTransferRequest request) {
+        if (request.getOfferExpiryDate() != null && !request.getOfferExpiryDate().isAfter(LocalDateTime.now())) {
+            throw new IllegalArgumentException("offerExpiryDate must be in the future. Given: " + request.getOfferExpiryDate());
+        }
+        checkClausePercentages(request.getClauses());
+        // Player, both clubs and the active-transfer check come back in one query
+        TransferPrecheck precheck = transferRepository.findPrecheck(
+                        request.getPlayerId(), request.getFromClubId(), request.getToClubId())
                 .orElseThrow(() -> new ResourceNotFoundException("Player not found with ID: " + request.getPlayerId()));
 
-        // Validate FromClub
-        Club fromClub = clubRepository.findById(request.getFromClubId())
-                .orElseThrow(() -> new ResourceNotFoundException("FromClub not found with ID: " + request.getFromClubId()));
-
-        // Validate ToClub
-        Club toClub = clubRepository.findById(request.getToClubId())
-                .orElseThrow(() -> new ResourceNotFoundException("ToClub not found with ID: " + request.getToClubId()));
+        if (precheck.getFromClubId() == null) {
+            throw new ResourceNotFoundException("FromClub not found with ID: " + request.getFromClubId());
+        }
+        if (precheck.getToClubId() == null) {
+            throw new ResourceNotFoundException("ToClub not found with ID: " + request.getToClubId());
+        }
         // Check if player is already in an active transfer
-        if (transferRepository.existsByPlayer_IdAndStatusIn(player.getId(), ACTIVE_TRANSFER_STATUSES)) {
-            throw new IllegalStateException("Player with ID " + player.getId() + " is already in an active transfer. Cannot initiate a new one.");
+        if (precheck.hasActiveTransfer()) {
+            throw new IllegalStateException("Player with ID " + precheck.getPlayerId() + " is already in an active transfer. Cannot initiate a new one.");
         }
 
         // Check ToClub's budget
-        BigDecimal estimatedFee = transferFeeCalculator.calculate(player, toClub, request.getClauses());
-        if (toClub.getBudget() == null || toClub.getBudget().compareTo(estimatedFee) < 0) {
-            throw new InsufficientBudgetException("ToClub (ID: " + toClub.getId() + ") does not have sufficient budget for this transfer. Required: " + estimatedFee + ", Available: " + (toClub.getBudget() == null ? "0" : toClub.getBudget()));
+        BigDecimal estimatedFee = transferFeeCalculator.calculate(precheck.getPlayerMarketValue(), request.getClauses());
+        BigDecimal budget = precheck.getToClubBudget();
+        if (budget == null || budget.compareTo(estimatedFee) < 0) {
+            throw new InsufficientBudgetException("ToClub (ID: " + precheck.getToClubId() + ") does not have sufficient budget for this transfer. Required: " + estimatedFee + ", Available: " + (budget == null ? "0" : budget));
         }
 
+        // References are enough for the foreign keys; they never trigger a SELECT here
         Transfer newTransfer = new Transfer();
-        newTransfer.setPlayer(player);
-        newTransfer.setFromClub(fromClub);
-        newTransfer.setToClub(toClub);
+        newTransfer.setPlayer(playerRepository.getReferenceById(precheck.getPlayerId()));
+        newTransfer.setFromClub(clubRepository.getReferenceById(precheck.getFromClubId()));
+        newTransfer.setToClub(clubRepository.getReferenceById(precheck.getToClubId()));
         newTransfer.setStatus(TransferStatus.DRAFT);
-        // Note: Clauses from request.getClauses() are used for fee calculation
-        // but not directly stored on the Transfer entity in this version.
+        // The fee is fixed here; later steps read agreedFee instead of recalculating it
+        newTransfer.setAgreedFee(estimatedFee);
+        newTransfer.setOfferExpiryDate(request.getOfferExpiryDate());
+        if (request.getClauses() != null) {
+            for (ContractClauseDto clause : request.getClauses()) {
+                newTransfer.getClauses().add(new ContractClause(clause.getType(), clause.getPercentage(), clause.getAmount()));
+            }
+        }
 
-        Transfer savedTransfer = transferRepository.save(newTransfer);
-        return new ResponseEntity<>(savedTransfer, HttpStatus.CREATED);
+        Transfer savedTransfer = transferRepository.saveAndFlush(newTransfer);
+        transferEventLog.record(savedTransfer, TransferEventType.CREATED, null);
+        // The 201 carries no ETag, so the precheck does not need to read the player and club versions
+        TransferView view = new TransferView(savedTransfer.getId(), savedTransfer.getStatus(),
+                savedTransfer.getInitiationTimestamp(), savedTransfer.getVersion(), savedTransfer.getAgreedFee(),
+                savedTransfer.getOfferExpiryDate(),
+                precheck.getPlayerId(), precheck.getPlayerName(), null,
+                precheck.getFromClubId(), precheck.getFromClubName(), null,
+                precheck.getToClubId(), precheck.getToClubName(), null);
+        return new ResponseEntity<>(view, HttpStatus.CREATED);
     }
 
     @PatchMapping("/{transferId}/submit")
-    public ResponseEntity<Transfer> submitTransfer(@PathVariable UUID transferId) {
+    @Transactional
+    public ResponseEntity<TransferView> submitTransfer(@PathVariable UUID transferId) {
         Transfer transfer = transferRepository.findById(transferId)
                 .orElseThrow(() -> new ResourceNotFoundException("Transfer not found with ID: " + transferId));
 
@@ -110,46 +239,88 @@ public class TransferController {
         // However, if submitTransfer doesn't persist, an explicit save would be needed:
         // Transfer updatedTransfer = transferRepository.save(transfer);
 
-        return ResponseEntity.ok(transfer);
+        return ResponseEntity.ok(render(transfer));
     }
 
     @PatchMapping("/{transferId}/negotiate")
-    public ResponseEntity<Transfer> negotiateTransfer(@PathVariable UUID transferId) {
+    @Transactional
+    public ResponseEntity<TransferView> negotiateTransfer(@PathVariable UUID transferId) {
         Transfer transfer = transferRepository.findById(transferId)
                 .orElseThrow(() -> new ResourceNotFoundException("Transfer not found with ID: " + transferId));
 
         transferWorkflowEngine.moveToNegotiation(transfer);
         // No need to save again, as moveToNegotiation is expected to persist the change.
 
-        return ResponseEntity.ok(transfer);
+        return ResponseEntity.ok(render(transfer));
     }
 
     @PatchMapping("/{transferId}/approve")
-    public ResponseEntity<Transfer> approveTransfer(@PathVariable UUID transferId) {
+    @Transactional
+    public ResponseEntity<TransferView> approveTransfer(@PathVariable UUID transferId) {
         Transfer transfer = transferRepository.findById(transferId)
                 .orElseThrow(() -> new ResourceNotFoundException("Transfer not found with ID: " + transferId));
 
         transferWorkflowEngine.approveTransfer(transfer);
         // No need to save again, as approveTransfer is expected to persist the change.
 
-        return ResponseEntity.ok(transfer);
+        return ResponseEntity.ok(render(transfer));
     }
 
     @PatchMapping("/{transferId}/complete")
-    @Transactional
-    public ResponseEntity<Transfer> completeTransfer(@PathVariable UUID transferId) {
-        Transfer transfer = transferRepository.findById(transferId)
+    public ResponseEntity<TransferView> completeTransfer(@PathVariable UUID transferId) {
+        // Each attempt re-reads the transfer and its player in a fresh transaction. The buying
+        // club's debit waits for the lock on its budget snapshot and checks the budget under it,
+        // so concurrent completions cannot overspend a club. A concurrent change to the transfer
+        // or player fails their @Version check, and the attempt is retried on the new state.
+        TransferView completed = optimisticRetryExecutor.execute("completeTransfer", () -> applyCompletion(transferId));
+        return ResponseEntity.ok(completed); // Return the transfer, now with COMPLETED status
+    }
+
+    // Accepts the completion and applies it later on the club lanes of TransferCompletionQueue, so
+    // concurrent completions for the same club are serialized instead of retrying against each other.
+    // Answers 202 with the status URL in Location; the transfer must already be APPROVED.
+    @PatchMapping(value = "/{transferId}/complete", params = "async=true")
+    public ResponseEntity<CompletionStatusDTO> completeTransferAsync(@PathVariable UUID transferId) {
+        TransferView transfer = transferRepository.findViewById(transferId)
                 .orElseThrow(() -> new ResourceNotFoundException("Transfer not found with ID: " + transferId));
+        if (transfer.getStatus() != TransferStatus.APPROVED) {
+            throw new IllegalStateException("Transfer must be in APPROVED status to be completed. Current status: " + transfer.getStatus());
+        }
+        // The completion runs on a lane thread, so carry the caller over for its COMPLETED event
+        String actor = transferEventLog.currentActor();
+        CompletionStatusDTO status = transferCompletionQueue.enqueue(transferId,
+                transfer.getFromClub().getId(), transfer.getToClub().getId(),
+                () -> transferEventLog.actingAs(actor,
+                        () -> optimisticRetryExecutor.execute("completeTransfer", () -> applyCompletion(transferId))));
+        URI statusUrl = ServletUriComponentsBuilder.fromCurrentContextPath()
+                .path("/api/v1/transfers/{transferId}/completion")
+                .buildAndExpand(transferId)
+                .toUri();
+        return ResponseEntity.accepted().location(statusUrl).body(status);
+    }
 
-        // Call workflow engine to update status to COMPLETED (and persist it)
-        transferWorkflowEngine.completeTransfer(transfer);
+    // Every state transition of the transfer, oldest first
+    @GetMapping("/{transferId}/events")
+    public ResponseEntity<List<TransferEventView>> getTransferEvents(@PathVariable UUID transferId) {
+        List<TransferEventView> events = transferEventLog.history(transferId);
+        if (events.isEmpty() && !transferRepository.existsById(transferId)) {
+            throw new ResourceNotFoundException("Transfer not found with ID: " + transferId);
+        }
+        return ResponseEntity.ok(events);
+    }
+
+    @GetMapping("/{transferId}/completion")
+    public ResponseEntity<CompletionStatusDTO> getCompletionStatus(@PathVariable UUID transferId) {
+        return ResponseEntity.ok(transferCompletionQueue.status(transferId)
+                .orElseThrow(() -> new ResourceNotFoundException("No asynchronous completion found for transfer ID: " + transferId)));
+    }
+
+    private TransferView applyCompletion(UUID transferId) {
+        Transfer transfer = transferRepository.findById(transferId)
+                .orElseThrow(() -> new ResourceNotFoundException("Transfer not found with ID: " + transferId));
 
-        // Retrieve entities from the transfer object, assuming they are loaded or accessible
-        // Note: If Player/Club objects within transfer are not fully loaded due to LAZY fetching
-        // and the session is closed (e.g. if this method wasn't @Transactional or transfer was detached),
-        // direct access like transfer.getPlayer().getName() could cause LazyInitializationException.
-        // However, since we are within a @Transactional method and transfer is managed,
-        // these should be accessible, or Hibernate will fetch them.
+        // Player and clubs were fetched together with the transfer by TransferRepository.findById's
+        // entity graph, so reading them here issues no further SELECTs.
         Player player = transfer.getPlayer();
         Club toClub = transfer.getToClub();
         Club fromClub = transfer.getFromClub();
@@ -165,43 +336,102 @@ public class TransferController {
             throw new ResourceNotFoundException("FromClub associated with transfer ID " + transferId + " not found or is null.");
         }
 
-        // Update player's current club
-        player.setCurrentClub(toClub);
-
-        // Calculate transfer fee (using empty list for clauses as they are not stored on Transfer)
-        BigDecimal transferFee = transferFeeCalculator.calculate(player, toClub, List.of());
+        // Call workflow engine to update status to COMPLETED (and persist it)
+        transferWorkflowEngine.completeTransfer(transfer);
 
-        // Update budgets
-        if (toClub.getBudget() != null) {
-            toClub.setBudget(toClub.getBudget().subtract(transferFee));
-        }
-        if (fromClub.getBudget() != null) {
-            fromClub.setBudget(fromClub.getBudget().add(transferFee));
+        BigDecimal transferFee = transfer.getAgreedFee();
+        if (transferFee == null) {
+            throw new IllegalStateException("Transfer with ID " + transferId + " has no agreed fee.");
         }
 
-        // Save updated entities
+        // Update player's current club
+        player.setCurrentClub(toClub);
         playerRepository.save(player);
-        clubRepository.save(toClub);
-        clubRepository.save(fromClub);
 
-        return ResponseEntity.ok(transfer); // Return the transfer object, now with COMPLETED status
+        // Book the fee on both clubs; the club rows themselves are not touched. The buyer's budget
+        // may have moved since initiation, so the debit checks it against the agreed fee again,
+        // holding the buyer's lock only from here to the commit. The seller's credit never waits.
+        budgetLedgerService.debit(toClub.getId(), transferFee, BudgetEntryType.TRANSFER_OUT, transfer.getId());
+        budgetLedgerService.append(fromClub.getId(), transferFee, BudgetEntryType.TRANSFER_IN, transfer.getId());
+        clubFinancialAggregates.transferCompleted(transfer);
+        clubFinancialAggregates.playerSaved(player);
+        entityCacheInvalidator.evictPlayer(player.getId());
+        entityCacheInvalidator.evictClub(toClub.getId());
+        entityCacheInvalidator.evictClub(fromClub.getId());
+
+        return render(transfer);
     }
 
     @PatchMapping("/{transferId}/cancel")
-    public ResponseEntity<Transfer> cancelTransfer(@PathVariable UUID transferId) {
+    @Transactional
+    public ResponseEntity<TransferView> cancelTransfer(@PathVariable UUID transferId) {
         Transfer transfer = transferRepository.findById(transferId)
                 .orElseThrow(() -> new ResourceNotFoundException("Transfer not found with ID: " + transferId));
 
         transferWorkflowEngine.cancelTransfer(transfer);
         // No need to save again, as cancelTransfer is expected to persist the change.
 
-        return ResponseEntity.ok(transfer);
+        return ResponseEntity.ok(render(transfer));
+    }
+
+    // Applies {transferId, action} items (submit, negotiate, approve, cancel) in one transaction.
+    // Every item gets a result. Partial success in BEST_EFFORT mode is answered with 207 Multi-Status;
+    // an ALL_OR_NOTHING batch with any rejected item changes nothing and is answered with 409.
+    @PatchMapping("/batch")
+    public ResponseEntity<BatchTransitionResultDTO> batchTransition(@RequestBody List<BatchTransitionItem> items,
+                                                                    @RequestParam(name = "mode", defaultValue = "BEST_EFFORT") String modeName) {
+        TransferBatchService.Mode mode = TransferBatchService.Mode.parse(modeName);
+        BatchTransitionResultDTO result = transferBatchService.apply(items, mode);
+        HttpStatus status;
+        if (result.getRejectedCount() == 0) {
+            status = HttpStatus.OK;
+        } else if (mode == TransferBatchService.Mode.ALL_OR_NOTHING) {
+            status = HttpStatus.CONFLICT;
+        } else {
+            status = HttpStatus.MULTI_STATUS;
+        }
+        return new ResponseEntity<>(result, status);
     }
 
     @GetMapping("/{transferId}")
-    public ResponseEntity<Transfer> getTransferById(@PathVariable UUID transferId) {
-        Transfer transfer = transferRepository.findById(transferId)
+    public ResponseEntity<TransferView> getTransferById(@PathVariable UUID transferId,
+                                                        @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        // Answer revalidations from the version columns alone, without running the join projection
+        if (ifNoneMatch != null) {
+            String currentEtag = ETags.forRevision(transferRepository.findRevisionById(transferId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Transfer not found with ID: " + transferId)));
+            if (ETags.matches(ifNoneMatch, currentEtag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(currentEtag).build();
+            }
+        }
+        TransferView transfer = transferRepository.findViewById(transferId)
                 .orElseThrow(() -> new ResourceNotFoundException("Transfer not found with ID: " + transferId));
-        return ResponseEntity.ok(transfer);
+        // Clauses are fixed at initiation, so the version-based ETag covers them as well
+        transfer.setClauses(transferRepository.findClausesById(transferId));
+        String etag = ETags.forRevision(transfer.getRevision());
+        return etag == null ? ResponseEntity.ok(transfer) : ResponseEntity.ok().eTag(etag).body(transfer);
+    }
+
+    // A percentage the clause column cannot hold exactly is refused rather than rounded on insert, so
+    // the fee computed from it is the fee of the clause that is stored
+    private static void checkClausePercentages(List<ContractClauseDto> clauses) {
+        if (clauses == null) {
+            return;
+        }
+        for (ContractClauseDto clause : clauses) {
+            BigDecimal percentage = clause == null ? null : clause.getPercentage();
+            if (percentage != null && (percentage.stripTrailingZeros().scale() > ContractClause.PERCENTAGE_SCALE
+                    || percentage.abs().compareTo(ContractClause.MAX_PERCENTAGE) > 0)) {
+                throw new IllegalArgumentException("Clause percentage must have at most "
+                        + ContractClause.PERCENTAGE_SCALE + " decimal places and lie within +/-"
+                        + ContractClause.MAX_PERCENTAGE + ". Given: " + percentage.toPlainString());
+            }
+        }
+    }
+
+    // Flush the pending status change so the rendered view carries the incremented version
+    private TransferView render(Transfer transfer) {
+        transferRepository.flush();
+        return TransferView.from(transfer);
     }
 }
@@ -0,0 +1,96 @@
+package com.transfersystem.dto;
+
+import com.transfersystem.model.TransferStatus;
+
+import java.util.UUID;
+
+public class BatchItemResultDTO {
+
+    public enum Outcome {
+        APPLIED,
+        // The item itself was invalid or its transition is not allowed
+        REJECTED,
+        // The item was valid, but an all-or-nothing batch was rolled back because of another item
+        NOT_APPLIED
+    }
+
+    private int index; // Position of the item in the request list
+    private UUID transferId;
+    private String action;
+    private Outcome outcome;
+    private TransferStatus status; // Status after the batch; null when the transfer was not found
+    private Long version;
+    private String message;
+
+    // Constructors
+    public BatchItemResultDTO() {
+    }
+
+    public BatchItemResultDTO(int index, UUID transferId, String action, Outcome outcome,
+                              TransferStatus status, Long version, String message) {
+        this.index = index;
+        this.transferId = transferId;
+        this.action = action;
+        this.outcome = outcome;
+        this.status = status;
+        this.version = version;
+        this.message = message;
+    }
+
+    // Getters and Setters
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public UUID getTransferId() {
+        return transferId;
+    }
+
+    public void setTransferId(UUID transferId) {
+        this.transferId = transferId;
+    }
+
+    public String getAction() {
+        return action;
+    }
+
+    public void setAction(String action) {
+        this.action = action;
+    }
+
+    public Outcome getOutcome() {
+        return outcome;
+    }
+
+    public void setOutcome(Outcome outcome) {
+        this.outcome = outcome;
+    }
+
+    public TransferStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(TransferStatus status) {
+        this.status = status;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
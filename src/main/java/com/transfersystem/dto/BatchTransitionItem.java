@@ -0,0 +1,34 @@
+package com.transfersystem.dto;
+
+import java.util.UUID;
+
+public class BatchTransitionItem {
+    private UUID transferId;
+    private String action; // submit, negotiate, approve or cancel
+
+    // Constructors
+    public BatchTransitionItem() {
+    }
+
+    public BatchTransitionItem(UUID transferId, String action) {
+        this.transferId = transferId;
+        this.action = action;
+    }
+
+    // Getters and Setters
+    public UUID getTransferId() {
+        return transferId;
+    }
+
+    public void setTransferId(UUID transferId) {
+        this.transferId = transferId;
+    }
+
+    public String getAction() {
+        return action;
+    }
+
+    public void setAction(String action) {
+        this.action = action;
+    }
+}
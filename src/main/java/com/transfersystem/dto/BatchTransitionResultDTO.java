@@ -0,0 +1,47 @@
+package com.transfersystem.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class BatchTransitionResultDTO {
+    private String mode;
+    private List<BatchItemResultDTO> results = new ArrayList<>(); // One per request item, in request order
+
+    // Constructors
+    public BatchTransitionResultDTO() {
+    }
+
+    public BatchTransitionResultDTO(String mode, List<BatchItemResultDTO> results) {
+        this.mode = mode;
+        this.results = results;
+    }
+
+    // Getters and Setters
+    public String getMode() {
+        return mode;
+    }
+
+    public void setMode(String mode) {
+        this.mode = mode;
+    }
+
+    public List<BatchItemResultDTO> getResults() {
+        return results;
+    }
+
+    public void setResults(List<BatchItemResultDTO> results) {
+        this.results = results;
+    }
+
+    public int getAppliedCount() {
+        return count(BatchItemResultDTO.Outcome.APPLIED);
+    }
+
+    public int getRejectedCount() {
+        return count(BatchItemResultDTO.Outcome.REJECTED);
+    }
+
+    private int count(BatchItemResultDTO.Outcome outcome) {
+        return (int) results.stream().filter(result -> result.getOutcome() == outcome).count();
+    }
+}
@@ -0,0 +1,34 @@
+package com.transfersystem.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class BulkResultDTO<T> {
+    private List<T> saved = new ArrayList<>();
+    private List<BulkRowErrorDTO> errors = new ArrayList<>();
+
+    // Getters and Setters
+    public List<T> getSaved() {
+        return saved;
+    }
+
+    public void setSaved(List<T> saved) {
+        this.saved = saved;
+    }
+
+    public List<BulkRowErrorDTO> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<BulkRowErrorDTO> errors) {
+        this.errors = errors;
+    }
+
+    public int getSavedCount() {
+        return saved.size();
+    }
+
+    public int getErrorCount() {
+        return errors.size();
+    }
+}
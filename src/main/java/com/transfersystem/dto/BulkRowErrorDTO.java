@@ -0,0 +1,32 @@
+package com.transfersystem.dto;
+
+public class BulkRowErrorDTO {
+    private int index; // Position of the rejected row in the request list
+    private String message;
+
+    // Constructors
+    public BulkRowErrorDTO() {
+    }
+
+    public BulkRowErrorDTO(int index, String message) {
+        this.index = index;
+        this.message = message;
+    }
+
+    // Getters and Setters
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
@@ -6,6 +6,7 @@ public class ClubDTO {
     private Long id;
     private String name;
     private BigDecimal budget;
+    private Long version;
 
     // Constructors
     public ClubDTO() {
@@ -17,6 +18,11 @@ public class ClubDTO {
         this.budget = budget;
     }
 
+    public ClubDTO(Long id, String name, BigDecimal budget, Long version) {
+        this(id, name, budget);
+        this.version = version;
+    }
+
     // Getters and Setters
     public Long getId() {
         return id;
@@ -41,4 +47,12 @@ public class ClubDTO {
     public void setBudget(BigDecimal budget) {
         this.budget = budget;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
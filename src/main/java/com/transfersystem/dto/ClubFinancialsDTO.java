@@ -0,0 +1,66 @@
+package com.transfersystem.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Transfer spending and squad value of one club, or of the whole league when {@code clubId} is
+ * null. Served by GET /api/v1/clubs/{id}/financials and GET /api/v1/clubs/financials from
+ * ClubFinancialAggregates; fees count once their transfer is COMPLETED.
+ */
+public class ClubFinancialsDTO {
+
+    private final Long clubId;
+    private final BigDecimal totalSpent;
+    private final BigDecimal totalReceived;
+    private final BigDecimal squadValue;
+    private final long squadSize;
+    private final long transfersIn;
+    private final long transfersOut;
+
+    public ClubFinancialsDTO(Long clubId, BigDecimal totalSpent, BigDecimal totalReceived, BigDecimal squadValue,
+                             long squadSize, long transfersIn, long transfersOut) {
+        this.clubId = clubId;
+        this.totalSpent = totalSpent;
+        this.totalReceived = totalReceived;
+        this.squadValue = squadValue;
+        this.squadSize = squadSize;
+        this.transfersIn = transfersIn;
+        this.transfersOut = transfersOut;
+    }
+
+    public Long getClubId() {
+        return clubId;
+    }
+
+    // Fees paid for incoming players
+    public BigDecimal getTotalSpent() {
+        return totalSpent;
+    }
+
+    // Fees received for outgoing players
+    public BigDecimal getTotalReceived() {
+        return totalReceived;
+    }
+
+    // Spent minus received; always zero league-wide, where every fee is both
+    public BigDecimal getNetSpend() {
+        return totalSpent.subtract(totalReceived);
+    }
+
+    // Summed market value of the current squad; players without a value count as zero
+    public BigDecimal getSquadValue() {
+        return squadValue;
+    }
+
+    public long getSquadSize() {
+        return squadSize;
+    }
+
+    public long getTransfersIn() {
+        return transfersIn;
+    }
+
+    public long getTransfersOut() {
+        return transfersOut;
+    }
+}
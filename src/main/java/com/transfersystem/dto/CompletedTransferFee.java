@@ -0,0 +1,33 @@
+package com.transfersystem.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * The clubs and agreed fee of a COMPLETED transfer; what ClubFinancialAggregates needs of each
+ * transfer when it rebuilds.
+ */
+public class CompletedTransferFee {
+
+    private final Long fromClubId;
+    private final Long toClubId;
+    private final BigDecimal agreedFee;
+
+    // Used by the JPQL constructor expression in TransferRepository.streamCompletedFees
+    public CompletedTransferFee(Long fromClubId, Long toClubId, BigDecimal agreedFee) {
+        this.fromClubId = fromClubId;
+        this.toClubId = toClubId;
+        this.agreedFee = agreedFee;
+    }
+
+    public Long getFromClubId() {
+        return fromClubId;
+    }
+
+    public Long getToClubId() {
+        return toClubId;
+    }
+
+    public BigDecimal getAgreedFee() {
+        return agreedFee;
+    }
+}
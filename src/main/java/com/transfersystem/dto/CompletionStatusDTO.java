@@ -0,0 +1,109 @@
+package com.transfersystem.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Progress of an asynchronous transfer completion, as returned by
+ * {@code PATCH /api/v1/transfers/{id}/complete?async=true} and polled at
+ * {@code GET /api/v1/transfers/{id}/completion}.
+ */
+public class CompletionStatusDTO {
+
+    public enum State {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    private UUID transferId;
+    private State state;
+    private LocalDateTime queuedAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private TransferView transfer; // Set once COMPLETED
+    private Integer errorStatus;   // HTTP status the synchronous endpoint would have answered with; set when FAILED
+    private String error;
+
+    // Constructors
+    public CompletionStatusDTO() {
+    }
+
+    public CompletionStatusDTO(UUID transferId, State state, LocalDateTime queuedAt, LocalDateTime startedAt,
+                               LocalDateTime finishedAt, TransferView transfer, Integer errorStatus, String error) {
+        this.transferId = transferId;
+        this.state = state;
+        this.queuedAt = queuedAt;
+        this.startedAt = startedAt;
+        this.finishedAt = finishedAt;
+        this.transfer = transfer;
+        this.errorStatus = errorStatus;
+        this.error = error;
+    }
+
+    // Getters and Setters
+    public UUID getTransferId() {
+        return transferId;
+    }
+
+    public void setTransferId(UUID transferId) {
+        this.transferId = transferId;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public void setState(State state) {
+        this.state = state;
+    }
+
+    public LocalDateTime getQueuedAt() {
+        return queuedAt;
+    }
+
+    public void setQueuedAt(LocalDateTime queuedAt) {
+        this.queuedAt = queuedAt;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(LocalDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public TransferView getTransfer() {
+        return transfer;
+    }
+
+    public void setTransfer(TransferView transfer) {
+        this.transfer = transfer;
+    }
+
+    public Integer getErrorStatus() {
+        return errorStatus;
+    }
+
+    public void setErrorStatus(Integer errorStatus) {
+        this.errorStatus = errorStatus;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
@@ -1,5 +1,6 @@
 package com.transfersystem.dto;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public class InitiateTransferRequest {
@@ -8,6 +9,8 @@ public class InitiateTransferRequest {
     private Long fromClubId;
     private Long toClubId;
     private List<ContractClauseDto> clauses;
+    // Optional; when absent the offer gets transfers.offer.default-ttl from the time it is submitted
+    private LocalDateTime offerExpiryDate;
 
     public Long getPlayerId() {
         return playerId;
@@ -40,4 +43,12 @@ public class InitiateTransferRequest {
     public void setClauses(List<ContractClauseDto> clauses) {
         this.clauses = clauses;
     }
+
+    public LocalDateTime getOfferExpiryDate() {
+        return offerExpiryDate;
+    }
+
+    public void setOfferExpiryDate(LocalDateTime offerExpiryDate) {
+        this.offerExpiryDate = offerExpiryDate;
+    }
 }
@@ -0,0 +1,33 @@
+package com.transfersystem.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Sum and extent of a club's ledger entries after its snapshot; see
+ * BudgetLedgerRepository#findTail.
+ */
+public class LedgerTail {
+
+    private final BigDecimal amount;
+    private final long entryCount;
+    private final LocalDateTime lastCreatedAt;
+
+    public LedgerTail(BigDecimal amount, Long entryCount, LocalDateTime lastCreatedAt) {
+        this.amount = amount == null ? BigDecimal.ZERO : amount;
+        this.entryCount = entryCount == null ? 0 : entryCount;
+        this.lastCreatedAt = lastCreatedAt;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public long getEntryCount() {
+        return entryCount;
+    }
+
+    public LocalDateTime getLastCreatedAt() {
+        return lastCreatedAt;
+    }
+}
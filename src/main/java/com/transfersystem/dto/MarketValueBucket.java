@@ -0,0 +1,39 @@
+package com.transfersystem.dto;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * The market values recorded in one bucket of a downsampled history: the lowest, the highest and
+ * the last. Buckets are aligned to the epoch, and those without any point are left out.
+ */
+public class MarketValueBucket {
+
+    private final Instant start;
+    private final BigDecimal min;
+    private final BigDecimal max;
+    private final BigDecimal last;
+
+    public MarketValueBucket(Instant start, BigDecimal min, BigDecimal max, BigDecimal last) {
+        this.start = start;
+        this.min = min;
+        this.max = max;
+        this.last = last;
+    }
+
+    public Instant getStart() {
+        return start;
+    }
+
+    public BigDecimal getMin() {
+        return min;
+    }
+
+    public BigDecimal getMax() {
+        return max;
+    }
+
+    public BigDecimal getLast() {
+        return last;
+    }
+}
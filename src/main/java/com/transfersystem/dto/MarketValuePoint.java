@@ -0,0 +1,38 @@
+package com.transfersystem.dto;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * A player's market value at one moment, as kept by MarketValueHistory. Timestamps are stored to
+ * the second and values to the cent.
+ */
+public class MarketValuePoint {
+
+    private Instant timestamp;
+    private BigDecimal value;
+
+    public MarketValuePoint() {
+    }
+
+    public MarketValuePoint(Instant timestamp, BigDecimal value) {
+        this.timestamp = timestamp;
+        this.value = value;
+    }
+
+    public Instant getTimestamp() {
+        return timestamp;
+    }
+
+    public void setTimestamp(Instant timestamp) {
+        this.timestamp = timestamp;
+    }
+
+    public BigDecimal getValue() {
+        return value;
+    }
+
+    public void setValue(BigDecimal value) {
+        this.value = value;
+    }
+}
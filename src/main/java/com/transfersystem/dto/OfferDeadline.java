@@ -0,0 +1,37 @@
+package com.transfersystem.dto;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.UUID;
+
+/**
+ * An open offer and the time it expires; the element type of OfferExpiryService's deadline
+ * queue. Ordered by expiry, then id, so equal deadlines still have a stable order.
+ */
+public class OfferDeadline implements Comparable<OfferDeadline> {
+
+    private static final Comparator<OfferDeadline> ORDER =
+            Comparator.comparing(OfferDeadline::getOfferExpiryDate).thenComparing(OfferDeadline::getTransferId);
+
+    private final UUID transferId;
+    private final LocalDateTime offerExpiryDate;
+
+    // Used by the JPQL constructor expression in TransferRepository.streamOpenOfferDeadlines
+    public OfferDeadline(UUID transferId, LocalDateTime offerExpiryDate) {
+        this.transferId = transferId;
+        this.offerExpiryDate = offerExpiryDate;
+    }
+
+    public UUID getTransferId() {
+        return transferId;
+    }
+
+    public LocalDateTime getOfferExpiryDate() {
+        return offerExpiryDate;
+    }
+
+    @Override
+    public int compareTo(OfferDeadline other) {
+        return ORDER.compare(this, other);
+    }
+}
@@ -0,0 +1,48 @@
+package com.transfersystem.dto;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Keyset position in the market-value listing of players, i.e. the (currentMarketValue, id) pair
+ * of the last player on a page. Clients only ever see the opaque token produced by {@link #encode()}.
+ */
+public class PlayerCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private final BigDecimal marketValue;
+    private final Long id;
+
+    public PlayerCursor(BigDecimal marketValue, Long id) {
+        this.marketValue = marketValue;
+        this.id = id;
+    }
+
+    public BigDecimal getMarketValue() {
+        return marketValue;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String encode() {
+        String raw = marketValue.toPlainString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static PlayerCursor decode(String token) {
+        // Base64 and number parsing both report bad input as IllegalArgumentException
+        String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        int separatorIndex = raw.indexOf(SEPARATOR);
+        if (separatorIndex < 0) {
+            throw new IllegalArgumentException("Invalid cursor: " + token);
+        }
+        return new PlayerCursor(
+                new BigDecimal(raw.substring(0, separatorIndex)),
+                Long.valueOf(raw.substring(separatorIndex + 1))
+        );
+    }
+}
@@ -7,6 +7,7 @@ public class PlayerDTO {
     private String name;
     private BigDecimal currentMarketValue;
     private Long currentClubId; // To link to Club by ID
+    private Long version;
 
     // Constructors
     public PlayerDTO() {
@@ -19,6 +20,11 @@ public class PlayerDTO {
         this.currentClubId = currentClubId;
     }
 
+    public PlayerDTO(Long id, String name, BigDecimal currentMarketValue, Long currentClubId, Long version) {
+        this(id, name, currentMarketValue, currentClubId);
+        this.version = version;
+    }
+
     // Getters and Setters
     public Long getId() {
         return id;
@@ -51,4 +57,12 @@ public class PlayerDTO {
     public void setCurrentClubId(Long currentClubId) {
         this.currentClubId = currentClubId;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
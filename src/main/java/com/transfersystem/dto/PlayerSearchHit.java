@@ -0,0 +1,24 @@
+package com.transfersystem.dto;
+
+/**
+ * A player matched by GET /api/v1/players/search, best match first. Served from
+ * PlayerSearchIndex, so it only carries what the index holds.
+ */
+public class PlayerSearchHit {
+
+    private final Long id;
+    private final String name;
+
+    public PlayerSearchHit(Long id, String name) {
+        this.id = id;
+        this.name = name;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+}
@@ -0,0 +1,60 @@
+package com.transfersystem.dto;
+
+import com.transfersystem.model.TransferStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A transfer's state as rebuilt from its events by TransferStateProjection. Mutable while the
+ * projection folds, then handed out as the result.
+ */
+public class ReplayedTransfer {
+
+    private final UUID transferId;
+    private TransferStatus status;
+    private BigDecimal agreedFee;
+    private LocalDateTime lastEventAt;
+    private long eventCount;
+
+    public ReplayedTransfer(UUID transferId) {
+        this.transferId = transferId;
+    }
+
+    public UUID getTransferId() {
+        return transferId;
+    }
+
+    public TransferStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(TransferStatus status) {
+        this.status = status;
+    }
+
+    public BigDecimal getAgreedFee() {
+        return agreedFee;
+    }
+
+    public void setAgreedFee(BigDecimal agreedFee) {
+        this.agreedFee = agreedFee;
+    }
+
+    public LocalDateTime getLastEventAt() {
+        return lastEventAt;
+    }
+
+    public void setLastEventAt(LocalDateTime lastEventAt) {
+        this.lastEventAt = lastEventAt;
+    }
+
+    public long getEventCount() {
+        return eventCount;
+    }
+
+    public void incrementEventCount() {
+        eventCount++;
+    }
+}
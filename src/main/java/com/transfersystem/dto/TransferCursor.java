@@ -0,0 +1,53 @@
+package com.transfersystem.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Keyset position in the transfer listing, i.e. the (initiationTimestamp, id) pair of the last
+ * transfer on a page. Clients only ever see the opaque token produced by {@link #encode()}.
+ */
+public class TransferCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private final LocalDateTime initiationTimestamp;
+    private final UUID id;
+
+    public TransferCursor(LocalDateTime initiationTimestamp, UUID id) {
+        this.initiationTimestamp = initiationTimestamp;
+        this.id = id;
+    }
+
+    public LocalDateTime getInitiationTimestamp() {
+        return initiationTimestamp;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public String encode() {
+        String raw = initiationTimestamp + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TransferCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separatorIndex = raw.indexOf(SEPARATOR);
+            if (separatorIndex < 0) {
+                throw new IllegalArgumentException("Invalid cursor: " + token);
+            }
+            return new TransferCursor(
+                    LocalDateTime.parse(raw.substring(0, separatorIndex)),
+                    UUID.fromString(raw.substring(separatorIndex + 1))
+            );
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token, e);
+        }
+    }
+}
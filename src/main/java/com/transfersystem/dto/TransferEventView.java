@@ -0,0 +1,71 @@
+package com.transfersystem.dto;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.transfersystem.model.TransferEventType;
+import com.transfersystem.model.TransferStatus;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A TransferEvent as served by the history endpoint and fed to replay projections. Built by the
+ * JPQL constructor expressions in TransferEventRepository, so no entity is ever managed for it.
+ */
+public class TransferEventView {
+
+    private final Long id;
+    private final UUID transferId;
+    private final long transferVersion;
+    private final TransferEventType type;
+    private final TransferStatus fromStatus;
+    private final LocalDateTime occurredAt;
+    private final String actor;
+    private final String payload;
+
+    public TransferEventView(Long id, UUID transferId, long transferVersion, TransferEventType type,
+                             TransferStatus fromStatus, LocalDateTime occurredAt, String actor, String payload) {
+        this.id = id;
+        this.transferId = transferId;
+        this.transferVersion = transferVersion;
+        this.type = type;
+        this.fromStatus = fromStatus;
+        this.occurredAt = occurredAt;
+        this.actor = actor;
+        this.payload = payload;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public UUID getTransferId() {
+        return transferId;
+    }
+
+    // Position in the transfer's history; see TransferEvent
+    public long getTransferVersion() {
+        return transferVersion;
+    }
+
+    public TransferEventType getType() {
+        return type;
+    }
+
+    public TransferStatus getFromStatus() {
+        return fromStatus;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+
+    public String getActor() {
+        return actor;
+    }
+
+    // Already JSON; written into the response as an object rather than a quoted string
+    @JsonRawValue
+    public String getPayload() {
+        return payload;
+    }
+}
@@ -0,0 +1,71 @@
+package com.transfersystem.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Everything initiateTransfer needs to validate a request, fetched by a single query
+ * (see TransferRepository#findPrecheck). Club columns are null when the club does not exist.
+ */
+public class TransferPrecheck {
+
+    private final Long playerId;
+    private final String playerName;
+    private final BigDecimal playerMarketValue;
+    private final Long fromClubId;
+    private final String fromClubName;
+    private final Long toClubId;
+    private final String toClubName;
+    private final BigDecimal toClubBudget;
+    private final long activeTransferCount;
+
+    public TransferPrecheck(Long playerId, String playerName, BigDecimal playerMarketValue,
+                            Long fromClubId, String fromClubName,
+                            Long toClubId, String toClubName, BigDecimal toClubBudget,
+                            Long activeTransferCount) {
+        this.playerId = playerId;
+        this.playerName = playerName;
+        this.playerMarketValue = playerMarketValue;
+        this.fromClubId = fromClubId;
+        this.fromClubName = fromClubName;
+        this.toClubId = toClubId;
+        this.toClubName = toClubName;
+        this.toClubBudget = toClubBudget;
+        this.activeTransferCount = activeTransferCount == null ? 0 : activeTransferCount;
+    }
+
+    public Long getPlayerId() {
+        return playerId;
+    }
+
+    public String getPlayerName() {
+        return playerName;
+    }
+
+    public BigDecimal getPlayerMarketValue() {
+        return playerMarketValue;
+    }
+
+    public Long getFromClubId() {
+        return fromClubId;
+    }
+
+    public String getFromClubName() {
+        return fromClubName;
+    }
+
+    public Long getToClubId() {
+        return toClubId;
+    }
+
+    public String getToClubName() {
+        return toClubName;
+    }
+
+    public BigDecimal getToClubBudget() {
+        return toClubBudget;
+    }
+
+    public boolean hasActiveTransfer() {
+        return activeTransferCount > 0;
+    }
+}
@@ -0,0 +1,214 @@
+package com.transfersystem.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.transfersystem.model.Club;
+import com.transfersystem.model.Player;
+import com.transfersystem.model.Transfer;
+import com.transfersystem.model.TransferStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Read model returned by every transfer endpoint. Built either directly by a JPQL constructor
+ * expression (see TransferRepository) or from a Transfer whose associations are already loaded,
+ * so serialization never touches a lazy proxy.
+ */
+public class TransferView {
+
+    private UUID id;
+    private TransferStatus status;
+    private LocalDateTime initiationTimestamp;
+    private Long version;
+    private BigDecimal agreedFee;
+    private LocalDateTime offerExpiryDate;
+    private Summary player;
+    private Summary fromClub;
+    private Summary toClub;
+    // Only filled in by GET /api/v1/transfers/{id}; omitted from every other response
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<ContractClauseDto> clauses;
+    // Versions of the transfer, player, from club and to club, in the format of
+    // TransferRepository.findRevisionById; the names above change with the latter three
+    @JsonIgnore
+    private String revision;
+
+    public TransferView() {
+    }
+
+    // Used by the JPQL constructor expressions in TransferRepository
+    public TransferView(UUID id, TransferStatus status, LocalDateTime initiationTimestamp, Long version,
+                        BigDecimal agreedFee, LocalDateTime offerExpiryDate,
+                        Long playerId, String playerName, Long playerVersion,
+                        Long fromClubId, String fromClubName, Long fromClubVersion,
+                        Long toClubId, String toClubName, Long toClubVersion) {
+        this.id = id;
+        this.status = status;
+        this.initiationTimestamp = initiationTimestamp;
+        this.version = version;
+        this.agreedFee = agreedFee;
+        this.offerExpiryDate = offerExpiryDate;
+        this.player = new Summary(playerId, playerName);
+        this.fromClub = new Summary(fromClubId, fromClubName);
+        this.toClub = new Summary(toClubId, toClubName);
+        this.revision = revisionOf(version, playerVersion, fromClubVersion, toClubVersion);
+    }
+
+    public static TransferView from(Transfer transfer) {
+        TransferView view = new TransferView();
+        view.setId(transfer.getId());
+        view.setStatus(transfer.getStatus());
+        view.setInitiationTimestamp(transfer.getInitiationTimestamp());
+        view.setVersion(transfer.getVersion());
+        view.setAgreedFee(transfer.getAgreedFee());
+        view.setOfferExpiryDate(transfer.getOfferExpiryDate());
+        Player player = transfer.getPlayer();
+        if (player != null) {
+            view.setPlayer(new Summary(player.getId(), player.getName()));
+        }
+        Club fromClub = transfer.getFromClub();
+        if (fromClub != null) {
+            view.setFromClub(new Summary(fromClub.getId(), fromClub.getName()));
+        }
+        Club toClub = transfer.getToClub();
+        if (toClub != null) {
+            view.setToClub(new Summary(toClub.getId(), toClub.getName()));
+        }
+        view.setRevision(revisionOf(transfer.getVersion(),
+                player == null ? null : player.getVersion(),
+                fromClub == null ? null : fromClub.getVersion(),
+                toClub == null ? null : toClub.getVersion()));
+        return view;
+    }
+
+    // Null while any of the versions is unknown
+    private static String revisionOf(Long version, Long playerVersion, Long fromClubVersion, Long toClubVersion) {
+        if (version == null || playerVersion == null || fromClubVersion == null || toClubVersion == null) {
+            return null;
+        }
+        return version + "." + playerVersion + "." + fromClubVersion + "." + toClubVersion;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public TransferStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(TransferStatus status) {
+        this.status = status;
+    }
+
+    public LocalDateTime getInitiationTimestamp() {
+        return initiationTimestamp;
+    }
+
+    public void setInitiationTimestamp(LocalDateTime initiationTimestamp) {
+        this.initiationTimestamp = initiationTimestamp;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public BigDecimal getAgreedFee() {
+        return agreedFee;
+    }
+
+    public void setAgreedFee(BigDecimal agreedFee) {
+        this.agreedFee = agreedFee;
+    }
+
+    public LocalDateTime getOfferExpiryDate() {
+        return offerExpiryDate;
+    }
+
+    public void setOfferExpiryDate(LocalDateTime offerExpiryDate) {
+        this.offerExpiryDate = offerExpiryDate;
+    }
+
+    public Summary getPlayer() {
+        return player;
+    }
+
+    public void setPlayer(Summary player) {
+        this.player = player;
+    }
+
+    public Summary getFromClub() {
+        return fromClub;
+    }
+
+    public void setFromClub(Summary fromClub) {
+        this.fromClub = fromClub;
+    }
+
+    public Summary getToClub() {
+        return toClub;
+    }
+
+    public void setToClub(Summary toClub) {
+        this.toClub = toClub;
+    }
+
+    public List<ContractClauseDto> getClauses() {
+        return clauses;
+    }
+
+    public void setClauses(List<ContractClauseDto> clauses) {
+        this.clauses = clauses;
+    }
+
+    public String getRevision() {
+        return revision;
+    }
+
+    public void setRevision(String revision) {
+        this.revision = revision;
+    }
+
+    /**
+     * Id and display name of a player or club taking part in a transfer.
+     */
+    public static class Summary {
+        private Long id;
+        private String name;
+
+        public Summary() {
+        }
+
+        public Summary(Long id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+    }
+}
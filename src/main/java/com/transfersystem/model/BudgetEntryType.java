@@ -0,0 +1,12 @@
+package com.transfersystem.model;
+
+public enum BudgetEntryType {
+    // First budget of a new club
+    OPENING,
+    // Fee received by the selling club when a transfer completes
+    TRANSFER_IN,
+    // Fee paid by the buying club when a transfer completes
+    TRANSFER_OUT,
+    // Manual change through the club API or a bulk import
+    ADJUSTMENT
+}
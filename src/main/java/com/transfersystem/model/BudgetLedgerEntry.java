@@ -0,0 +1,95 @@
+package com.transfersystem.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One signed change to a club's budget. Rows are only ever inserted; a club's budget is its
+ * BudgetSnapshot plus the amounts of the entries after it (see BudgetSnapshot#CLUB_BUDGET).
+ */
+@Entity
+@Immutable
+@Table(name = "budget_ledger_entry", indexes = {
+        // Balance reads and the compactor sum a club's entries after its snapshot
+        @Index(name = "idx_budget_ledger_club_created", columnList = "club_id, created_at, id")
+})
+public class BudgetLedgerEntry {
+
+    // Pooled ids are not in commit order, so snapshots fold by creation time first and only then by id
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "budget_ledger_entry_seq")
+    @SequenceGenerator(name = "budget_ledger_entry_seq", sequenceName = "budget_ledger_entry_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "club_id", nullable = false)
+    private Club club;
+
+    @Column(nullable = false)
+    private BigDecimal amount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private BudgetEntryType type;
+
+    // The completed transfer for TRANSFER_IN/TRANSFER_OUT entries
+    @Column(name = "transfer_id")
+    private UUID transferId;
+
+    // Set when the entry is persisted. BudgetLedgerCompactor takes entries older than its settle time as committed.
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    protected BudgetLedgerEntry() {
+        // For JPA
+    }
+
+    public BudgetLedgerEntry(Club club, BigDecimal amount, BudgetEntryType type, UUID transferId) {
+        this.club = club;
+        this.amount = amount;
+        this.type = type;
+        this.transferId = transferId;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Club getClub() {
+        return club;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public BudgetEntryType getType() {
+        return type;
+    }
+
+    public UUID getTransferId() {
+        return transferId;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
@@ -0,0 +1,121 @@
+package com.transfersystem.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import org.springframework.data.domain.Persistable;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * A club's budget over the ledger entries up to ({@code lastEntryAt}, {@code lastEntryId}), in
+ * the order of their creation time and then id. BudgetLedgerCompactor rolls it forward over the
+ * entries appended since. The row is also what BudgetLedgerService locks to check a debit.
+ */
+@Entity
+@Table(name = "budget_snapshot")
+public class BudgetSnapshot implements Persistable<Long> {
+
+    // The entries after a club's snapshot s, for a query that joins BudgetLedgerEntry e. A club
+    // without a snapshot row, or with nothing folded yet, has every entry after it. The first
+    // condition is a range on idx_budget_ledger_club_created.
+    public static final String ENTRY_AFTER_SNAPSHOT =
+            "e.createdAt >= COALESCE(s.lastEntryAt, e.createdAt) "
+            + "AND (s.lastEntryAt IS NULL OR e.createdAt > s.lastEntryAt OR e.id > s.lastEntryId)";
+
+    // Budget and revision of club c, given its snapshot s left joined on s.clubId = c.id. The
+    // revision counts the club's ledger entries, so it changes with every budget change.
+    public static final String CLUB_BUDGET = "(COALESCE(s.balance, 0) + COALESCE((SELECT SUM(e.amount) "
+            + "FROM BudgetLedgerEntry e WHERE e.club.id = c.id AND " + ENTRY_AFTER_SNAPSHOT + "), 0))";
+    public static final String CLUB_BUDGET_REVISION = "(COALESCE(s.entryCount, 0) + (SELECT COUNT(e) "
+            + "FROM BudgetLedgerEntry e WHERE e.club.id = c.id AND " + ENTRY_AFTER_SNAPSHOT + "))";
+
+    @Id
+    @Column(name = "club_id")
+    private Long clubId;
+
+    @Column(nullable = false)
+    private BigDecimal balance;
+
+    @Column(name = "entry_count", nullable = false)
+    private long entryCount;
+
+    // Both null until the first entries are folded
+    @Column(name = "last_entry_at")
+    private LocalDateTime lastEntryAt;
+
+    @Column(name = "last_entry_id")
+    private Long lastEntryId;
+
+    @Column(name = "taken_at", nullable = false)
+    private LocalDateTime takenAt;
+
+    // The id is the club's, so saving a new snapshot must insert it without looking for it first
+    @Transient
+    private boolean isNew;
+
+    protected BudgetSnapshot() {
+        // For JPA
+    }
+
+    public BudgetSnapshot(Long clubId) {
+        this.clubId = clubId;
+        this.balance = BigDecimal.ZERO;
+        this.takenAt = LocalDateTime.now();
+        this.isNew = true;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+
+    @Override
+    public Long getId() {
+        return clubId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    public void rollForward(BigDecimal delta, long entries, LocalDateTime throughCreatedAt, Long throughEntryId,
+                            LocalDateTime now) {
+        this.balance = balance.add(delta);
+        this.entryCount += entries;
+        this.lastEntryAt = throughCreatedAt;
+        this.lastEntryId = throughEntryId;
+        this.takenAt = now;
+    }
+
+    public Long getClubId() {
+        return clubId;
+    }
+
+    public BigDecimal getBalance() {
+        return balance;
+    }
+
+    public long getEntryCount() {
+        return entryCount;
+    }
+
+    public LocalDateTime getLastEntryAt() {
+        return lastEntryAt;
+    }
+
+    public Long getLastEntryId() {
+        return lastEntryId;
+    }
+
+    public LocalDateTime getTakenAt() {
+        return takenAt;
+    }
+}
@@ -0,0 +1,27 @@
+package com.transfersystem.model;
+
+public enum ClauseType {
+    SELL_ON,
+    APPEARANCE_BONUS,
+    GOAL_BONUS,
+    LOYALTY_FEE,
+    SIGNING_BONUS,
+    // Any custom type entered by the user
+    OTHER;
+
+    private static final ClauseType[] VALUES = values();
+
+    /**
+     * Case-insensitive lookup that allocates nothing; unknown or missing types map to OTHER.
+     */
+    public static ClauseType of(String type) {
+        if (type != null) {
+            for (ClauseType candidate : VALUES) {
+                if (candidate.name().equalsIgnoreCase(type)) {
+                    return candidate;
+                }
+            }
+        }
+        return OTHER;
+    }
+}
@@ -4,20 +4,28 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotNull;
-import java.math.BigDecimal;
 
+// A club's budget is not a column: it is kept on the ledger (BudgetLedgerService) and computed
+// only by the queries that return it, see BudgetSnapshot#CLUB_BUDGET.
 @Entity
 public class Club {
 
+    // Sequence ids with a pooled allocation (unlike IDENTITY) let Hibernate batch inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "club_seq")
+    @SequenceGenerator(name = "club_seq", sequenceName = "club_seq", allocationSize = 50)
     private Long id;
 
     @NotNull
     private String name;
 
-    private BigDecimal budget;
+    // Bumped by Hibernate on every update of the row. Budget changes do not touch the row, so the
+    // version clients see (ClubDTO, ETag) is this plus the budget's revision.
+    @Version
+    private Long version;
 
     // Getters and setters
     public Long getId() {
@@ -36,11 +44,11 @@ public class Club {
         this.name = name;
     }
 
-    public BigDecimal getBudget() {
-        return budget;
+    public Long getVersion() {
+        return version;
     }
 
-    public void setBudget(BigDecimal budget) {
-        this.budget = budget;
+    public void setVersion(Long version) {
+        this.version = version;
     }
 }
@@ -1,13 +1,29 @@
 package com.transfersystem.model;
 
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+
 import java.math.BigDecimal;
 
+@Embeddable
 public class ContractClause {
 
+    // Largest percentage the column holds: NUMERIC(9, 4)
+    public static final int PERCENTAGE_SCALE = 4;
+    public static final BigDecimal MAX_PERCENTAGE = new BigDecimal("99999.9999");
+
+    @Column(name = "clause_type")
     private String type;
+
+    @Column(precision = 9, scale = PERCENTAGE_SCALE)
     private BigDecimal percentage;
+
     private BigDecimal amount;
 
+    protected ContractClause() {
+        // For JPA
+    }
+
     public ContractClause(String type, BigDecimal percentage, BigDecimal amount) {
         this.type = type;
         this.percentage = percentage;
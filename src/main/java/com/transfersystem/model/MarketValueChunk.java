@@ -0,0 +1,102 @@
+package com.transfersystem.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+
+/**
+ * Up to market-values.chunk-points consecutive points of one player's market-value history,
+ * encoded by MarketValueChunkCodec. Only MarketValueHistory writes these rows: points are
+ * appended to the player's latest chunk until it is full, and a new one is started after that.
+ *
+ * <p>The first and last timestamps are kept as columns, so range and as-of queries find the chunks
+ * they need from the index without decoding any. player_id is a plain column rather than an
+ * association; PlayerService removes the history when it deletes the player.
+ */
+@Entity
+@Table(name = "market_value_chunk", indexes = {
+        @Index(name = "idx_market_value_chunk_player_start", columnList = "player_id, first_timestamp, id"),
+        // Finds the latest chunk of a player
+        @Index(name = "idx_market_value_chunk_player_end", columnList = "player_id, last_timestamp, first_timestamp")
+})
+public class MarketValueChunk {
+
+    // Worst-case size of a full chunk of the largest allowed capacity; see MarketValueHistory
+    public static final int MAX_DATA_LENGTH = 8192;
+
+    // Allocated in blocks per JVM, so not in creation order across instances; the latest chunk is
+    // found by its timestamps instead
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "market_value_chunk_seq")
+    @SequenceGenerator(name = "market_value_chunk_seq", sequenceName = "market_value_chunk_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "player_id", nullable = false, updatable = false)
+    private Long playerId;
+
+    // Epoch seconds of the first and last point
+    @Column(name = "first_timestamp", nullable = false)
+    private long firstTimestamp;
+
+    @Column(name = "last_timestamp", nullable = false)
+    private long lastTimestamp;
+
+    @Column(name = "point_count", nullable = false)
+    private int pointCount;
+
+    @Column(nullable = false, length = MAX_DATA_LENGTH)
+    private byte[] data;
+
+    @Version
+    private Long version;
+
+    protected MarketValueChunk() {
+        // For JPA
+    }
+
+    public MarketValueChunk(Long playerId) {
+        this.playerId = playerId;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getPlayerId() {
+        return playerId;
+    }
+
+    public long getFirstTimestamp() {
+        return firstTimestamp;
+    }
+
+    public long getLastTimestamp() {
+        return lastTimestamp;
+    }
+
+    public int getPointCount() {
+        return pointCount;
+    }
+
+    public byte[] getData() {
+        return data;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    /** Replaces the encoded points, which span firstTimestamp to lastTimestamp. */
+    public void setPoints(byte[] data, int pointCount, long firstTimestamp, long lastTimestamp) {
+        this.data = data;
+        this.pointCount = pointCount;
+        this.firstTimestamp = firstTimestamp;
+        this.lastTimestamp = lastTimestamp;
+    }
+}
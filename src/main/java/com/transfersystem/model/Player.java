@@ -6,16 +6,30 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotNull;
 import java.math.BigDecimal;
 
 @Entity
+@Table(indexes = {
+        // Back the market-value pages in PlayerRepository: rows come out of the index already in
+        // keyset order, so a page reads only its own rows however deep it is. H2 does not scan
+        // an index backwards, hence one index per sort direction.
+        @Index(name = "idx_player_value_id", columnList = "current_market_value, id"),
+        @Index(name = "idx_player_value_id_desc", columnList = "current_market_value DESC, id DESC"),
+        @Index(name = "idx_player_club_value_id", columnList = "current_club_id, current_market_value, id"),
+        @Index(name = "idx_player_club_value_id_desc", columnList = "current_club_id, current_market_value DESC, id DESC")
+})
 public class Player {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "player_seq")
+    @SequenceGenerator(name = "player_seq", sequenceName = "player_seq", allocationSize = 50)
     private Long id;
 
     @NotNull
@@ -27,6 +41,9 @@ public class Player {
     @JoinColumn(name = "current_club_id")
     private Club currentClub;
 
+    @Version
+    private Long version;
+
     // Getters and setters
     public Long getId() {
         return id;
@@ -59,4 +76,12 @@ public class Player {
     public void setCurrentClub(Club currentClub) {
         this.currentClub = currentClub;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
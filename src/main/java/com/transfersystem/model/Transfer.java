@@ -1,5 +1,7 @@
 package com.transfersystem.model;
 
+import jakarta.persistence.CollectionTable;
+import jakarta.persistence.ElementCollection;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
@@ -7,17 +9,47 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedQuery;
+import jakarta.persistence.OrderColumn;
 import jakarta.persistence.Column;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotNull;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.GenericGenerator;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 
 @Entity
+@Table(indexes = {
+        // Backs the keyset-paginated listing in TransferRepository
+        @Index(name = "idx_transfer_initiation_ts_id", columnList = "initiation_timestamp DESC, id DESC"),
+        // Lets OfferExpiryService rebuild its deadline queue from the open offers alone
+        @Index(name = "idx_transfer_status_offer_expiry", columnList = "status, offer_expiry_date")
+})
+// Declared as a named query rather than @Query on the repository: Spring Data re-parses @Query
+// JPQL on every invocation, which costs more than the query itself on this hot path. The active
+// statuses are literals because Hibernate cannot cache the SQL for a multi-valued parameter.
+// The buying club is c and its snapshot s, as BudgetSnapshot.CLUB_BUDGET expects.
+@NamedQuery(name = "Transfer.findPrecheck", query =
+        "SELECT new com.transfersystem.dto.TransferPrecheck(" +
+        "p.id, p.name, p.currentMarketValue, fc.id, fc.name, c.id, c.name, " + BudgetSnapshot.CLUB_BUDGET + ", " +
+        "(SELECT COUNT(a) FROM Transfer a WHERE a.player = p AND a.status IN (" +
+        "com.transfersystem.model.TransferStatus.SUBMITTED, " +
+        "com.transfersystem.model.TransferStatus.NEGOTIATION, " +
+        "com.transfersystem.model.TransferStatus.APPROVED))) " +
+        "FROM Player p " +
+        "LEFT JOIN Club fc ON fc.id = :fromClubId " +
+        "LEFT JOIN Club c ON c.id = :toClubId " +
+        "LEFT JOIN BudgetSnapshot s ON s.clubId = c.id " +
+        "WHERE p.id = :playerId")
 public class Transfer {
 
     @Id
@@ -48,6 +80,22 @@ public class Transfer {
     @CreationTimestamp
     private LocalDateTime initiationTimestamp;
 
+    @Version
+    private Long version;
+
+    // Fee agreed at initiation (base fee plus clauses); completion moves exactly this amount
+    @Column(name = "agreed_fee")
+    private BigDecimal agreedFee;
+
+    // Open offers (SUBMITTED, NEGOTIATION) still pending at this time become EXPIRED
+    @Column(name = "offer_expiry_date")
+    private LocalDateTime offerExpiryDate;
+
+    @ElementCollection
+    @CollectionTable(name = "transfer_clause", joinColumns = @JoinColumn(name = "transfer_id"))
+    @OrderColumn(name = "clause_index")
+    private List<ContractClause> clauses = new ArrayList<>();
+
     // Getters and setters
     public UUID getId() {
         return id;
@@ -96,4 +144,36 @@ public class Transfer {
     public void setInitiationTimestamp(LocalDateTime initiationTimestamp) {
         this.initiationTimestamp = initiationTimestamp;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public BigDecimal getAgreedFee() {
+        return agreedFee;
+    }
+
+    public void setAgreedFee(BigDecimal agreedFee) {
+        this.agreedFee = agreedFee;
+    }
+
+    public LocalDateTime getOfferExpiryDate() {
+        return offerExpiryDate;
+    }
+
+    public void setOfferExpiryDate(LocalDateTime offerExpiryDate) {
+        this.offerExpiryDate = offerExpiryDate;
+    }
+
+    public List<ContractClause> getClauses() {
+        return clauses;
+    }
+
+    public void setClauses(List<ContractClause> clauses) {
+        this.clauses = clauses;
+    }
 }
@@ -0,0 +1,29 @@
+package com.transfersystem.model;
+
+/**
+ * Workflow actions that only change a transfer's status. Completion is not one of them: it also
+ * moves the player and both budgets (see TransferController.completeTransfer).
+ */
+public enum TransferAction {
+    SUBMIT,
+    NEGOTIATE,
+    APPROVE,
+    CANCEL;
+
+    private static final TransferAction[] VALUES = values();
+
+    /**
+     * Case-insensitive lookup by the action's path segment ("submit", "negotiate", ...);
+     * returns null for anything else.
+     */
+    public static TransferAction of(String action) {
+        if (action != null) {
+            for (TransferAction candidate : VALUES) {
+                if (candidate.name().equalsIgnoreCase(action)) {
+                    return candidate;
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,113 @@
+package com.transfersystem.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One state transition of a transfer, written by TransferEventLog in the transaction that changes
+ * the status. Rows are only ever inserted. Replaying a transfer's events in transfer version order
+ * yields its current status (see TransferEventReplayer).
+ *
+ * <p>transfer_id is a plain column rather than an association: replay reads nothing but this table.
+ */
+@Entity
+@Immutable
+@Table(name = "transfer_event", indexes = {
+        // History of one transfer, in order; unique, so a transition cannot be logged twice
+        @Index(name = "idx_transfer_event_transfer_version", columnList = "transfer_id, transfer_version", unique = true)
+})
+public class TransferEvent {
+
+    // Allocated in blocks per JVM, so ids say nothing about the order of one transfer's events
+    // when several instances write to the log; that is what transferVersion is for
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transfer_event_seq")
+    @SequenceGenerator(name = "transfer_event_seq", sequenceName = "transfer_event_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "transfer_id", nullable = false, updatable = false)
+    private UUID transferId;
+
+    // The transfer's @Version once this transition is applied: 0 for CREATED, then one more per
+    // transition. The optimistic lock on the transfer row makes it gap-free and unique per transfer.
+    @Column(name = "transfer_version", nullable = false, updatable = false)
+    private long transferVersion;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private TransferEventType type;
+
+    // Null for CREATED
+    @Enumerated(EnumType.STRING)
+    @Column(name = "from_status", length = 32)
+    private TransferStatus fromStatus;
+
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+
+    @Column(nullable = false, length = 64)
+    private String actor;
+
+    // Small JSON object with the data the transition fixed (fee, parties, deadline); null if none
+    @Column(length = 1000)
+    private String payload;
+
+    protected TransferEvent() {
+        // For JPA
+    }
+
+    public TransferEvent(UUID transferId, long transferVersion, TransferEventType type, TransferStatus fromStatus,
+                         LocalDateTime occurredAt, String actor, String payload) {
+        this.transferId = transferId;
+        this.transferVersion = transferVersion;
+        this.type = type;
+        this.fromStatus = fromStatus;
+        this.occurredAt = occurredAt;
+        this.actor = actor;
+        this.payload = payload;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public UUID getTransferId() {
+        return transferId;
+    }
+
+    public long getTransferVersion() {
+        return transferVersion;
+    }
+
+    public TransferEventType getType() {
+        return type;
+    }
+
+    public TransferStatus getFromStatus() {
+        return fromStatus;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+
+    public String getActor() {
+        return actor;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+}
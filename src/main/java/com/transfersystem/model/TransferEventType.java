@@ -0,0 +1,22 @@
+package com.transfersystem.model;
+
+public enum TransferEventType {
+    CREATED(TransferStatus.DRAFT),
+    SUBMITTED(TransferStatus.SUBMITTED),
+    NEGOTIATION_STARTED(TransferStatus.NEGOTIATION),
+    APPROVED(TransferStatus.APPROVED),
+    COMPLETED(TransferStatus.COMPLETED),
+    CANCELED(TransferStatus.CANCELED),
+    EXPIRED(TransferStatus.EXPIRED);
+
+    private final TransferStatus resultingStatus;
+
+    TransferEventType(TransferStatus resultingStatus) {
+        this.resultingStatus = resultingStatus;
+    }
+
+    // Status of the transfer after the event; replaying the types in order yields the current status
+    public TransferStatus getResultingStatus() {
+        return resultingStatus;
+    }
+}
@@ -6,5 +6,7 @@ public enum TransferStatus {
     NEGOTIATION,
     APPROVED,
     COMPLETED,
-    CANCELED
+    CANCELED,
+    // Set by OfferExpiryService when a SUBMITTED or NEGOTIATION offer passes its offerExpiryDate
+    EXPIRED
 }
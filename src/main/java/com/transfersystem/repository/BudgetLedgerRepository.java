@@ -0,0 +1,39 @@
+package com.transfersystem.repository;
+
+import com.transfersystem.dto.LedgerTail;
+import com.transfersystem.model.BudgetLedgerEntry;
+import com.transfersystem.model.BudgetSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface BudgetLedgerRepository extends JpaRepository<BudgetLedgerEntry, Long> {
+
+    List<BudgetLedgerEntry> findByClub_IdOrderById(Long clubId);
+
+    // Clubs with at least :minEntries entries created before :before and not yet folded into their snapshot
+    @Query("SELECT e.club.id FROM BudgetLedgerEntry e LEFT JOIN BudgetSnapshot s ON s.clubId = e.club.id " +
+            "WHERE e.createdAt < :before AND " + BudgetSnapshot.ENTRY_AFTER_SNAPSHOT + " " +
+            "GROUP BY e.club.id HAVING COUNT(e) >= :minEntries")
+    List<Long> findClubsToCompact(@Param("minEntries") long minEntries, @Param("before") LocalDateTime before);
+
+    // Range scan of idx_budget_ledger_club_created, from the club's snapshot up to :before
+    @Query("SELECT new com.transfersystem.dto.LedgerTail(SUM(e.amount), COUNT(e), MAX(e.createdAt)) " +
+            "FROM BudgetLedgerEntry e, BudgetSnapshot s WHERE s.clubId = :clubId AND e.club.id = :clubId " +
+            "AND e.createdAt < :before AND " + BudgetSnapshot.ENTRY_AFTER_SNAPSHOT)
+    LedgerTail findTail(@Param("clubId") Long clubId, @Param("before") LocalDateTime before);
+
+    // The last of a club's entries created at :createdAt, which ends a tail
+    @Query("SELECT MAX(e.id) FROM BudgetLedgerEntry e WHERE e.club.id = :clubId AND e.createdAt = :createdAt")
+    Long findLastIdCreatedAt(@Param("clubId") Long clubId, @Param("createdAt") LocalDateTime createdAt);
+
+    @Modifying
+    @Query("DELETE FROM BudgetLedgerEntry e WHERE e.club.id = :clubId")
+    int deleteByClubId(@Param("clubId") Long clubId);
+}
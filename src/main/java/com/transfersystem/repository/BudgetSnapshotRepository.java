@@ -0,0 +1,21 @@
+package com.transfersystem.repository;
+
+import com.transfersystem.model.BudgetSnapshot;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface BudgetSnapshotRepository extends JpaRepository<BudgetSnapshot, Long> {
+
+    // SELECT ... FOR UPDATE, in club id order so that two transactions never wait on each other
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM BudgetSnapshot s WHERE s.clubId IN :clubIds ORDER BY s.clubId")
+    List<BudgetSnapshot> findAllForUpdate(@Param("clubIds") Collection<Long> clubIds);
+}
@@ -1,11 +1,59 @@
 package com.transfersystem.repository;
 
+import com.transfersystem.dto.ClubDTO;
+import com.transfersystem.model.BudgetSnapshot;
 import com.transfersystem.model.Club;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface ClubRepository extends JpaRepository<Club, Long> {
     Optional<Club> findByName(String name);
+
+    // Clubs with their snapshot, for the budget expressions of BudgetSnapshot
+    String WITH_SNAPSHOT = "FROM Club c LEFT JOIN BudgetSnapshot s ON s.clubId = c.id ";
+
+    // The DTO version is the row version plus the budget revision, so it changes with the budget too
+    String DTO_SELECT = "SELECT new com.transfersystem.dto.ClubDTO(c.id, c.name, " + BudgetSnapshot.CLUB_BUDGET + ", "
+            + "c.version + " + BudgetSnapshot.CLUB_BUDGET_REVISION + ") " + WITH_SNAPSHOT;
+
+    // DTO rows never enter the persistence context, so streaming keeps heap use flat.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(DTO_SELECT + "ORDER BY c.id")
+    Stream<ClubDTO> streamAllForExport();
+
+    @Query(DTO_SELECT + "ORDER BY c.id")
+    List<ClubDTO> findAllDTOs();
+
+    @Query(DTO_SELECT + "WHERE c.id = :id")
+    Optional<ClubDTO> findDTOById(@Param("id") Long id);
+
+    @Query(DTO_SELECT + "WHERE c.id IN :ids ORDER BY c.id")
+    List<ClubDTO> findDTOsById(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT " + BudgetSnapshot.CLUB_BUDGET + " " + WITH_SNAPSHOT + "WHERE c.id = :id")
+    Optional<BigDecimal> findBudgetById(@Param("id") Long id);
+
+    @Query("SELECT c.version + " + BudgetSnapshot.CLUB_BUDGET_REVISION + " " + WITH_SNAPSHOT + "WHERE c.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    // Changes on every insert (count, max id), delete (count), update and budget change (the sum of
+    // the DTO versions). Each club's budget revision reads its snapshot and the entries after it
+    // through idx_budget_ledger_club_created, so the cost follows the club count, not the ledger size.
+    @Query("SELECT CONCAT(COUNT(c), ':', COALESCE(MAX(c.id), 0), ':', " +
+            "COALESCE(SUM(c.version + " + BudgetSnapshot.CLUB_BUDGET_REVISION + "), 0)) " + WITH_SNAPSHOT)
+    String findWatermark();
+
+    @Query("SELECT c.id FROM Club c WHERE c.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
 }
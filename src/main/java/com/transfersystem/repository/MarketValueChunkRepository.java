@@ -0,0 +1,35 @@
+package com.transfersystem.repository;
+
+import com.transfersystem.model.MarketValueChunk;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface MarketValueChunkRepository extends JpaRepository<MarketValueChunk, Long> {
+
+    // Range scan of idx_market_value_chunk_player_start, stopping at the first chunk starting after :to
+    @Query("SELECT c FROM MarketValueChunk c WHERE c.playerId = :playerId AND c.firstTimestamp <= :to " +
+            "AND c.lastTimestamp >= :from ORDER BY c.firstTimestamp, c.id")
+    List<MarketValueChunk> findOverlapping(@Param("playerId") Long playerId, @Param("from") long from, @Param("to") long to);
+
+    // The one chunk that can hold the value as of :at
+    Optional<MarketValueChunk> findFirstByPlayerIdAndFirstTimestampLessThanEqualOrderByFirstTimestampDescIdDesc(
+            Long playerId, long at);
+
+    // The chunk each player's next point is appended to: the one with the greatest (last timestamp,
+    // first timestamp), looked up in idx_market_value_chunk_player_end. Points never go back in
+    // time, so that is the newest chunk; two chunks tie only if they hold a single timestamp.
+    @Query("SELECT c FROM MarketValueChunk c WHERE c.playerId IN :playerIds AND NOT EXISTS " +
+            "(SELECT l FROM MarketValueChunk l WHERE l.playerId = c.playerId AND (l.lastTimestamp > c.lastTimestamp " +
+            "OR (l.lastTimestamp = c.lastTimestamp AND l.firstTimestamp > c.firstTimestamp)))")
+    List<MarketValueChunk> findLatestByPlayerIds(@Param("playerIds") Collection<Long> playerIds);
+
+    @Modifying
+    @Query("DELETE FROM MarketValueChunk c WHERE c.playerId = :playerId")
+    int deleteByPlayerId(@Param("playerId") Long playerId);
+}
@@ -1,11 +1,85 @@
 package com.transfersystem.repository;
 
+import com.transfersystem.dto.PlayerDTO;
 import com.transfersystem.model.Player;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface PlayerRepository extends JpaRepository<Player, Long> {
+
+    String DTO_SELECT = "SELECT new com.transfersystem.dto.PlayerDTO(" +
+            "p.id, p.name, p.currentMarketValue, p.currentClub.id, p.version) FROM Player p ";
+
     Optional<Player> findByName(String name);
+
+    // DTO rows never enter the persistence context, so streaming keeps heap use flat.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.transfersystem.dto.PlayerDTO(p.id, p.name, p.currentMarketValue, c.id, p.version) " +
+            "FROM Player p LEFT JOIN p.currentClub c ORDER BY p.id")
+    Stream<PlayerDTO> streamAllForExport();
+
+    // SELECT ... FOR UPDATE of the players that exist, in id order so that two writers sharing
+    // players queue up rather than deadlock; MarketValueHistory holds these locks while it appends
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p.id FROM Player p WHERE p.id IN :ids ORDER BY p.id")
+    List<Long> lockByIds(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT p.version FROM Player p WHERE p.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    // Changes on every insert (count, max id), update (version sum) and delete (count)
+    @Query("SELECT CONCAT(COUNT(p), ':', COALESCE(MAX(p.id), 0), ':', COALESCE(SUM(p.version), 0)) FROM Player p")
+    String findWatermark();
+
+    // Keyset pages over (currentMarketValue, id), served by idx_player_value_id, or by
+    // idx_player_club_value_id within one club. Each page starts strictly after (value, id) and
+    // stops at `bound`; the first page passes the lower (or upper) end of the range with an id
+    // before every other. The redundant `>=` / `<=` on the value gives the database a plain range
+    // to seek to. Players without a market value never match. The club queries also order by the
+    // (fixed) club id, without which H2 does not see that the club index is already in order.
+    @Query(DTO_SELECT +
+            "WHERE p.currentMarketValue >= :value AND (p.currentMarketValue > :value OR p.id > :id) " +
+            "AND p.currentMarketValue <= :bound " +
+            "ORDER BY p.currentMarketValue, p.id")
+    List<PlayerDTO> findValuePageAscending(@Param("value") BigDecimal value, @Param("id") Long id,
+                                           @Param("bound") BigDecimal bound, Pageable pageable);
+
+    @Query(DTO_SELECT +
+            "WHERE p.currentMarketValue <= :value AND (p.currentMarketValue < :value OR p.id < :id) " +
+            "AND p.currentMarketValue >= :bound " +
+            "ORDER BY p.currentMarketValue DESC, p.id DESC")
+    List<PlayerDTO> findValuePageDescending(@Param("value") BigDecimal value, @Param("id") Long id,
+                                            @Param("bound") BigDecimal bound, Pageable pageable);
+
+    @Query(DTO_SELECT +
+            "WHERE p.currentClub.id = :clubId " +
+            "AND p.currentMarketValue >= :value AND (p.currentMarketValue > :value OR p.id > :id) " +
+            "AND p.currentMarketValue <= :bound " +
+            "ORDER BY p.currentClub.id, p.currentMarketValue, p.id")
+    List<PlayerDTO> findClubValuePageAscending(@Param("clubId") Long clubId,
+                                               @Param("value") BigDecimal value, @Param("id") Long id,
+                                               @Param("bound") BigDecimal bound, Pageable pageable);
+
+    @Query(DTO_SELECT +
+            "WHERE p.currentClub.id = :clubId " +
+            "AND p.currentMarketValue <= :value AND (p.currentMarketValue < :value OR p.id < :id) " +
+            "AND p.currentMarketValue >= :bound " +
+            "ORDER BY p.currentClub.id, p.currentMarketValue DESC, p.id DESC")
+    List<PlayerDTO> findClubValuePageDescending(@Param("clubId") Long clubId,
+                                                @Param("value") BigDecimal value, @Param("id") Long id,
+                                                @Param("bound") BigDecimal bound, Pageable pageable);
 }
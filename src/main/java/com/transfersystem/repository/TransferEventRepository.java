@@ -0,0 +1,35 @@
+package com.transfersystem.repository;
+
+import com.transfersystem.dto.TransferEventView;
+import com.transfersystem.model.TransferEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface TransferEventRepository extends JpaRepository<TransferEvent, Long> {
+
+    String VIEW_SELECT = "SELECT new com.transfersystem.dto.TransferEventView(" +
+            "e.id, e.transferId, e.transferVersion, e.type, e.fromStatus, e.occurredAt, e.actor, e.payload) FROM TransferEvent e ";
+
+    // Range scan of idx_transfer_event_transfer_version
+    @Query(VIEW_SELECT + "WHERE e.transferId = :transferId ORDER BY e.transferVersion")
+    List<TransferEventView> findViewsByTransferId(@Param("transferId") UUID transferId);
+
+    // Keyset chunks of the log for replay over (transfer id, transfer version), served by
+    // idx_transfer_event_transfer_version however deep into the log. Each transfer's events come
+    // out together and in order, whichever instance allocated their ids.
+    @Query(VIEW_SELECT + "ORDER BY e.transferId, e.transferVersion")
+    List<TransferEventView> findFirstChunk(Pageable pageable);
+
+    @Query(VIEW_SELECT +
+            "WHERE e.transferId > :transferId " +
+            "OR (e.transferId = :transferId AND e.transferVersion > :transferVersion) " +
+            "ORDER BY e.transferId, e.transferVersion")
+    List<TransferEventView> findChunkAfter(@Param("transferId") UUID transferId,
+                                           @Param("transferVersion") long transferVersion,
+                                           Pageable pageable);
+}
@@ -1,15 +1,125 @@
 package com.transfersystem.repository;
 
+import com.transfersystem.dto.CompletedTransferFee;
+import com.transfersystem.dto.ContractClauseDto;
+import com.transfersystem.dto.OfferDeadline;
+import com.transfersystem.dto.TransferPrecheck;
+import com.transfersystem.dto.TransferView;
 import com.transfersystem.model.Transfer;
-import com.transfersystem.model.TransferStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface TransferRepository extends JpaRepository<Transfer, UUID> {
-    boolean existsByPlayer_IdAndStatusIn(Long playerId, List<TransferStatus> statuses);
-    List<Transfer> findAllByOrderByInitiationTimestampDesc();
+
+    String VIEW_SELECT = "SELECT new com.transfersystem.dto.TransferView(" +
+            "t.id, t.status, t.initiationTimestamp, t.version, t.agreedFee, t.offerExpiryDate, " +
+            "p.id, p.name, p.version, fc.id, fc.name, fc.version, tc.id, tc.name, tc.version) " +
+            "FROM Transfer t JOIN t.player p JOIN t.fromClub fc JOIN t.toClub tc ";
+
+    // One round trip for all of initiateTransfer's lookups; see the Transfer.findPrecheck named
+    // query. Empty means no player; a missing club comes back as null columns.
+    Optional<TransferPrecheck> findPrecheck(@Param("playerId") Long playerId,
+                                            @Param("fromClubId") Long fromClubId,
+                                            @Param("toClubId") Long toClubId);
+
+    // Workflow endpoints load the transfer to mutate it and then render it, so fetch the
+    // player and both clubs in the same statement instead of one lazy SELECT each.
+    @Override
+    @EntityGraph(attributePaths = {"player", "fromClub", "toClub"})
+    Optional<Transfer> findById(UUID id);
+
+    @Query("SELECT t.version FROM Transfer t WHERE t.id = :id")
+    Optional<Long> findVersionById(@Param("id") UUID id);
+
+    // TransferView.getRevision without the projection: the view also shows the player's and the
+    // clubs' names, so it is stale once any of the four rows has changed
+    @Query("SELECT CONCAT(t.version, '.', p.version, '.', fc.version, '.', tc.version) " +
+            "FROM Transfer t JOIN t.player p JOIN t.fromClub fc JOIN t.toClub tc WHERE t.id = :id")
+    Optional<String> findRevisionById(@Param("id") UUID id);
+
+    @Query(VIEW_SELECT + "WHERE t.id = :id")
+    Optional<TransferView> findViewById(@Param("id") UUID id);
+
+    // The detail view's clauses, in the order they were given; kept out of VIEW_SELECT so list
+    // pages stay one row per transfer
+    @Query("SELECT new com.transfersystem.dto.ContractClauseDto(c.type, c.percentage, c.amount) " +
+            "FROM Transfer t JOIN t.clauses c WHERE t.id = :id ORDER BY INDEX(c)")
+    List<ContractClauseDto> findClausesById(@Param("id") UUID id);
+
+    // Keyset pagination over (initiation_timestamp, id), served by idx_transfer_initiation_ts_id.
+    // Returning a List (not a Page) keeps Spring Data from issuing a count query.
+    @Query(VIEW_SELECT + "ORDER BY t.initiationTimestamp DESC, t.id DESC")
+    List<TransferView> findFirstPage(Pageable pageable);
+
+    @Query(VIEW_SELECT +
+            "WHERE t.initiationTimestamp < :timestamp " +
+            "OR (t.initiationTimestamp = :timestamp AND t.id < :id) " +
+            "ORDER BY t.initiationTimestamp DESC, t.id DESC")
+    List<TransferView> findPageAfter(@Param("timestamp") LocalDateTime timestamp,
+                                     @Param("id") UUID id,
+                                     Pageable pageable);
+
+    // Projections are not managed entities, so streaming keeps heap use flat.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(VIEW_SELECT + "ORDER BY t.initiationTimestamp DESC, t.id DESC")
+    Stream<TransferView> streamAllForExport();
+
+    // Open offers only, read through idx_transfer_status_offer_expiry; used to rebuild the
+    // in-memory deadline queue on startup without touching closed transfers.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.transfersystem.dto.OfferDeadline(t.id, t.offerExpiryDate) FROM Transfer t " +
+            "WHERE t.status IN (com.transfersystem.model.TransferStatus.SUBMITTED, " +
+            "com.transfersystem.model.TransferStatus.NEGOTIATION) " +
+            "AND t.offerExpiryDate IS NOT NULL")
+    Stream<OfferDeadline> streamOpenOfferDeadlines();
+
+    // Fees of every completed transfer, for rebuilding ClubFinancialAggregates; the ledger cannot
+    // serve this because compaction folds its transfer entries into snapshots
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.transfersystem.dto.CompletedTransferFee(t.fromClub.id, t.toClub.id, t.agreedFee) FROM Transfer t " +
+            "WHERE t.status = com.transfersystem.model.TransferStatus.COMPLETED")
+    Stream<CompletedTransferFee> streamCompletedFees();
+
+    // Which of these transfers are COMPLETED; in the transaction of streamCompletedFees, which of
+    // them it streamed
+    @Query("SELECT t.id FROM Transfer t WHERE t.id IN :ids AND t.status = com.transfersystem.model.TransferStatus.COMPLETED")
+    List<UUID> findCompletedIds(@Param("ids") Collection<UUID> ids);
+
+    // SELECT ... FOR UPDATE of the offers in the batch that are still due; they are expired with
+    // expireOffers in the same transaction
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM Transfer t WHERE t.id IN :ids " +
+            "AND t.status IN (com.transfersystem.model.TransferStatus.SUBMITTED, " +
+            "com.transfersystem.model.TransferStatus.NEGOTIATION) " +
+            "AND t.offerExpiryDate <= :now")
+    List<Transfer> findExpirableForUpdate(@Param("ids") Collection<UUID> ids, @Param("now") LocalDateTime now);
+
+    // Re-checks status and deadline in the UPDATE itself, so stale queue entries (offers that were
+    // approved, canceled or already expired) are skipped. The version bump makes any concurrent
+    // writer holding the old state fail its optimistic lock.
+    @Modifying
+    @Query("UPDATE Transfer t SET t.status = com.transfersystem.model.TransferStatus.EXPIRED, t.version = t.version + 1 " +
+            "WHERE t.id IN :ids " +
+            "AND t.status IN (com.transfersystem.model.TransferStatus.SUBMITTED, " +
+            "com.transfersystem.model.TransferStatus.NEGOTIATION) " +
+            "AND t.offerExpiryDate <= :now")
+    int expireOffers(@Param("ids") Collection<UUID> ids, @Param("now") LocalDateTime now);
 }
@@ -0,0 +1,101 @@
+package com.transfersystem.service;
+
+import com.transfersystem.dto.LedgerTail;
+import com.transfersystem.model.BudgetSnapshot;
+import com.transfersystem.repository.BudgetLedgerRepository;
+import com.transfersystem.repository.BudgetSnapshotRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Rolls each club's BudgetSnapshot forward over the ledger entries appended since, so that a
+ * budget read only has to sum a short tail. Ledger rows are left in place as the history.
+ *
+ * <p>Entries are appended without any lock, and pooled ids do not arrive in commit order, so the
+ * compactor never folds past a committed watermark: it only takes entries created more than
+ * {@code settle-time} ago, which no open transaction can still add to. The settle time must
+ * therefore exceed the longest transaction that writes the ledger, plus any clock difference
+ * between instances. Each club is compacted in its own transaction holding the lock on its
+ * snapshot row (BudgetLedgerService#lockSnapshots), so two compactors never fold the same entries.
+ */
+@Component
+public class BudgetLedgerCompactor {
+
+    private static final Logger logger = LoggerFactory.getLogger(BudgetLedgerCompactor.class);
+
+    private final BudgetLedgerService budgetLedgerService;
+    private final BudgetLedgerRepository budgetLedgerRepository;
+    private final BudgetSnapshotRepository budgetSnapshotRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final long minEntries;
+    private final Duration settleTime;
+    private final Counter compactedEntries;
+
+    public BudgetLedgerCompactor(BudgetLedgerService budgetLedgerService,
+                                 BudgetLedgerRepository budgetLedgerRepository,
+                                 BudgetSnapshotRepository budgetSnapshotRepository,
+                                 PlatformTransactionManager transactionManager,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${budget-ledger.compaction.min-entries:16}") long minEntries,
+                                 @Value("${budget-ledger.compaction.settle-time:30s}") Duration settleTime) {
+        this.budgetLedgerService = budgetLedgerService;
+        this.budgetLedgerRepository = budgetLedgerRepository;
+        this.budgetSnapshotRepository = budgetSnapshotRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.minEntries = minEntries;
+        this.settleTime = settleTime;
+        this.compactedEntries = Counter.builder("budget.ledger.compacted.entries")
+                .description("Ledger entries folded into club budget snapshots")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${budget-ledger.compaction.interval-ms:60000}")
+    public void compact() {
+        compactClubs(minEntries, LocalDateTime.now().minus(settleTime));
+    }
+
+    /**
+     * Compacts every club with at least {@code threshold} entries created before {@code before}
+     * and not yet folded, folding only those; returns the entries folded.
+     */
+    long compactClubs(long threshold, LocalDateTime before) {
+        List<Long> clubIds = transactionTemplate.execute(status -> budgetLedgerRepository.findClubsToCompact(threshold, before));
+        long folded = 0;
+        for (Long clubId : clubIds) {
+            try {
+                folded += transactionTemplate.execute(status -> compactClub(clubId, before));
+            } catch (RuntimeException e) {
+                // The club keeps its old snapshot, which is still correct; the next run retries
+                logger.warn("Compacting the budget ledger of club {} failed: {}", clubId, e.getMessage(), e);
+            }
+        }
+        if (folded > 0) {
+            logger.info("Folded {} budget ledger entries into the snapshots of {} clubs", folded, clubIds.size());
+        }
+        return folded;
+    }
+
+    private long compactClub(Long clubId, LocalDateTime before) {
+        BudgetSnapshot snapshot = budgetLedgerService.lockSnapshots(List.of(clubId)).get(0);
+        LedgerTail tail = budgetLedgerRepository.findTail(clubId, before);
+        if (tail.getEntryCount() == 0) {
+            return 0;
+        }
+        Long lastEntryId = budgetLedgerRepository.findLastIdCreatedAt(clubId, tail.getLastCreatedAt());
+        snapshot.rollForward(tail.getAmount(), tail.getEntryCount(), tail.getLastCreatedAt(), lastEntryId, LocalDateTime.now());
+        budgetSnapshotRepository.save(snapshot);
+        compactedEntries.increment(tail.getEntryCount());
+        return tail.getEntryCount();
+    }
+}
@@ -0,0 +1,131 @@
+package com.transfersystem.service;
+
+import com.transfersystem.dto.ClubDTO;
+import com.transfersystem.exception.InsufficientBudgetException;
+import com.transfersystem.exception.ResourceNotFoundException;
+import com.transfersystem.model.BudgetEntryType;
+import com.transfersystem.model.BudgetLedgerEntry;
+import com.transfersystem.model.BudgetSnapshot;
+import com.transfersystem.repository.BudgetLedgerRepository;
+import com.transfersystem.repository.BudgetSnapshotRepository;
+import com.transfersystem.repository.ClubRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * The only writer of club budgets. A budget change is an inserted BudgetLedgerEntry; club rows
+ * are never updated for it, and a credit is nothing more than that insert.
+ *
+ * <p>A change that depends on the current budget, a debit that must be covered or setting a
+ * budget, first locks the club's BudgetSnapshot row (SELECT ... FOR UPDATE) until its transaction
+ * ends. Debits of one club are therefore checked one after another by the database, across every
+ * instance of the application, while credits and other clubs' debits never wait for them.
+ */
+@Service
+public class BudgetLedgerService {
+
+    private final BudgetLedgerRepository budgetLedgerRepository;
+    private final BudgetSnapshotRepository budgetSnapshotRepository;
+    private final ClubRepository clubRepository;
+
+    public BudgetLedgerService(BudgetLedgerRepository budgetLedgerRepository,
+                               BudgetSnapshotRepository budgetSnapshotRepository,
+                               ClubRepository clubRepository) {
+        this.budgetLedgerRepository = budgetLedgerRepository;
+        this.budgetSnapshotRepository = budgetSnapshotRepository;
+        this.clubRepository = clubRepository;
+    }
+
+    /** Creates the snapshot rows of new clubs, with a budget of 0. */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void openLedgers(Collection<Long> clubIds) {
+        budgetSnapshotRepository.saveAll(clubIds.stream().map(BudgetSnapshot::new).toList());
+    }
+
+    /** Current budget, read from the database. */
+    @Transactional(readOnly = true)
+    public BigDecimal balance(Long clubId) {
+        return clubRepository.findBudgetById(clubId)
+                .orElseThrow(() -> new ResourceNotFoundException("Club not found with ID: " + clubId));
+    }
+
+    /** Books an amount unconditionally, e.g. a credit; a debit that must be covered goes through {@link #debit}. */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public BudgetLedgerEntry append(Long clubId, BigDecimal amount, BudgetEntryType type, UUID transferId) {
+        return budgetLedgerRepository.save(new BudgetLedgerEntry(clubRepository.getReferenceById(clubId), amount, type, transferId));
+    }
+
+    /**
+     * Books {@code amount} off the club's budget, or throws InsufficientBudgetException when the
+     * budget does not cover it. The club stays locked until the transaction ends, so no other
+     * debit can spend the same money in between.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public BudgetLedgerEntry debit(Long clubId, BigDecimal amount, BudgetEntryType type, UUID transferId) {
+        lockSnapshots(List.of(clubId));
+        BigDecimal available = balance(clubId);
+        if (available.compareTo(amount) < 0) {
+            throw new InsufficientBudgetException("Club (ID: " + clubId + ") does not have sufficient budget. Required: "
+                    + amount + ", Available: " + available);
+        }
+        return append(clubId, amount.negate(), type, transferId);
+    }
+
+    /**
+     * Brings each club's budget to its target by appending the difference as one entry of the
+     * given type. Clubs already at their target get no entry. Returns the appended entries by club.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Map<Long, BudgetLedgerEntry> setBalances(Map<Long, BigDecimal> targets, BudgetEntryType type) {
+        if (targets.isEmpty()) {
+            return Map.of();
+        }
+        lockSnapshots(targets.keySet());
+        Map<Long, BudgetLedgerEntry> appended = new HashMap<>();
+        for (ClubDTO current : clubRepository.findDTOsById(targets.keySet())) {
+            BigDecimal delta = targets.get(current.getId()).subtract(current.getBudget());
+            if (delta.signum() != 0) {
+                appended.put(current.getId(), budgetLedgerRepository.save(
+                        new BudgetLedgerEntry(clubRepository.getReferenceById(current.getId()), delta, type, null)));
+            }
+        }
+        return appended;
+    }
+
+    /** Removes a club's ledger and snapshot ahead of deleting the club itself. */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void deleteLedger(Long clubId) {
+        budgetLedgerRepository.deleteByClubId(clubId);
+        budgetSnapshotRepository.findById(clubId).ifPresent(budgetSnapshotRepository::delete);
+    }
+
+    /**
+     * Locks the snapshot rows of these clubs until the transaction ends, creating any that are
+     * missing for clubs not opened through {@link #openLedgers}. Returned in club id order.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    List<BudgetSnapshot> lockSnapshots(Collection<Long> clubIds) {
+        List<BudgetSnapshot> locked = new ArrayList<>(budgetSnapshotRepository.findAllForUpdate(clubIds));
+        if (locked.size() < new HashSet<>(clubIds).size()) {
+            Set<Long> found = locked.stream().map(BudgetSnapshot::getClubId).collect(Collectors.toSet());
+            // The insert holds the new row's lock; a concurrent first lock of the same club fails on the key
+            clubIds.stream().distinct().filter(id -> !found.contains(id))
+                    .forEach(id -> locked.add(budgetSnapshotRepository.saveAndFlush(new BudgetSnapshot(id))));
+            locked.sort(Comparator.comparing(BudgetSnapshot::getClubId));
+        }
+        return locked;
+    }
+}
@@ -0,0 +1,280 @@
+package com.transfersystem.service;
+
+import com.transfersystem.dto.BulkResultDTO;
+import com.transfersystem.dto.BulkRowErrorDTO;
+import com.transfersystem.dto.ClubDTO;
+import com.transfersystem.dto.PlayerDTO;
+import com.transfersystem.model.BudgetEntryType;
+import com.transfersystem.model.Club;
+import com.transfersystem.model.Player;
+import com.transfersystem.repository.ClubRepository;
+import com.transfersystem.repository.PlayerRepository;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk create/update of clubs and players. Rows are validated in one pass, then written in
+ * chunks, each in its own transaction, so Hibernate can batch the INSERT/UPDATE statements
+ * (see hibernate.jdbc.batch_size) and a failing chunk does not roll back the others.
+ * Rows without an id are created; rows with an id update the existing entity.
+ */
+@Service
+public class BulkImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkImportService.class);
+
+    private final ClubRepository clubRepository;
+    private final PlayerRepository playerRepository;
+    private final EntityCacheInvalidator entityCacheInvalidator;
+    private final BudgetLedgerService budgetLedgerService;
+    private final PlayerSearchIndex playerSearchIndex;
+    private final ClubFinancialAggregates clubFinancialAggregates;
+    private final MarketValueHistory marketValueHistory;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final int maxRows;
+
+    public BulkImportService(ClubRepository clubRepository,
+                             PlayerRepository playerRepository,
+                             EntityCacheInvalidator entityCacheInvalidator,
+                             BudgetLedgerService budgetLedgerService,
+                             PlayerSearchIndex playerSearchIndex,
+                             ClubFinancialAggregates clubFinancialAggregates,
+                             MarketValueHistory marketValueHistory,
+                             EntityManager entityManager,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${bulk.chunk-size:500}") int chunkSize,
+                             @Value("${bulk.max-rows:10000}") int maxRows) {
+        this.clubRepository = clubRepository;
+        this.playerRepository = playerRepository;
+        this.entityCacheInvalidator = entityCacheInvalidator;
+        this.budgetLedgerService = budgetLedgerService;
+        this.playerSearchIndex = playerSearchIndex;
+        this.clubFinancialAggregates = clubFinancialAggregates;
+        this.marketValueHistory = marketValueHistory;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.maxRows = maxRows;
+    }
+
+    public BulkResultDTO<ClubDTO> upsertClubs(List<ClubDTO> rows) {
+        checkSize(rows);
+        BulkResultDTO<ClubDTO> result = new BulkResultDTO<>();
+
+        List<Integer> valid = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            ClubDTO row = rows.get(i);
+            if (row == null) {
+                result.getErrors().add(new BulkRowErrorDTO(i, "Row must not be null"));
+            } else if (row.getName() == null || row.getName().isBlank()) {
+                result.getErrors().add(new BulkRowErrorDTO(i, "Club name is required"));
+            } else {
+                valid.add(i);
+            }
+        }
+
+        for (List<Integer> chunk : chunks(valid)) {
+            List<BulkRowErrorDTO> chunkErrors = new ArrayList<>();
+            try {
+                List<ClubDTO> saved = transactionTemplate.execute(status -> saveClubChunk(rows, chunk, chunkErrors));
+                result.getSaved().addAll(saved);
+                result.getErrors().addAll(chunkErrors);
+            } catch (RuntimeException e) {
+                logger.error("Bulk club chunk starting at row {} failed: {}", chunk.get(0), e.getMessage(), e);
+                reportFailedChunk(chunk, chunkErrors, e, result);
+            }
+        }
+        return result;
+    }
+
+    public BulkResultDTO<PlayerDTO> upsertPlayers(List<PlayerDTO> rows) {
+        checkSize(rows);
+        BulkResultDTO<PlayerDTO> result = new BulkResultDTO<>();
+
+        // Resolve every referenced club with a single query
+        Set<Long> clubIds = rows.stream()
+                .filter(Objects::nonNull)
+                .map(PlayerDTO::getCurrentClubId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Set<Long> existingClubIds = clubIds.isEmpty() ? Set.of() : new HashSet<>(clubRepository.findExistingIds(clubIds));
+
+        List<Integer> valid = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            PlayerDTO row = rows.get(i);
+            if (row == null) {
+                result.getErrors().add(new BulkRowErrorDTO(i, "Row must not be null"));
+            } else if (row.getName() == null || row.getName().isBlank()) {
+                result.getErrors().add(new BulkRowErrorDTO(i, "Player name is required"));
+            } else if (row.getCurrentClubId() != null && !existingClubIds.contains(row.getCurrentClubId())) {
+                result.getErrors().add(new BulkRowErrorDTO(i, "Club not found with id: " + row.getCurrentClubId() + " for player " + row.getName()));
+            } else {
+                valid.add(i);
+            }
+        }
+
+        for (List<Integer> chunk : chunks(valid)) {
+            List<BulkRowErrorDTO> chunkErrors = new ArrayList<>();
+            try {
+                List<PlayerDTO> saved = transactionTemplate.execute(status -> savePlayerChunk(rows, chunk, chunkErrors));
+                result.getSaved().addAll(saved);
+                result.getErrors().addAll(chunkErrors);
+            } catch (RuntimeException e) {
+                logger.error("Bulk player chunk starting at row {} failed: {}", chunk.get(0), e.getMessage(), e);
+                reportFailedChunk(chunk, chunkErrors, e, result);
+            }
+        }
+        return result;
+    }
+
+    private List<ClubDTO> saveClubChunk(List<ClubDTO> rows, List<Integer> chunk, List<BulkRowErrorDTO> chunkErrors) {
+        Map<Long, Club> existing = clubRepository.findAllById(idsOf(chunk, i -> rows.get(i).getId())).stream()
+                .collect(Collectors.toMap(Club::getId, Function.identity()));
+
+        List<Club> clubs = new ArrayList<>(chunk.size());
+        List<BigDecimal> budgets = new ArrayList<>(chunk.size());
+        for (Integer i : chunk) {
+            ClubDTO row = rows.get(i);
+            Club club;
+            if (row.getId() == null) {
+                club = new Club();
+            } else {
+                club = existing.get(row.getId());
+                if (club == null) {
+                    chunkErrors.add(new BulkRowErrorDTO(i, "Club not found with id: " + row.getId()));
+                    continue;
+                }
+                entityCacheInvalidator.evictClub(club.getId());
+            }
+            club.setName(row.getName());
+            clubs.add(club);
+            budgets.add(row.getBudget());
+        }
+        clubRepository.saveAll(clubs);
+
+        // Budgets are booked on the ledger: an opening entry for new clubs, an adjustment for the rest
+        List<Long> clubIds = clubs.stream().map(Club::getId).toList();
+        budgetLedgerService.openLedgers(clubIds.stream().filter(id -> !existing.containsKey(id)).toList());
+        Map<Long, BigDecimal> openings = new HashMap<>();
+        Map<Long, BigDecimal> adjustments = new HashMap<>();
+        for (int i = 0; i < clubs.size(); i++) {
+            if (budgets.get(i) != null) {
+                Long id = clubs.get(i).getId();
+                (existing.containsKey(id) ? adjustments : openings).put(id, budgets.get(i));
+            }
+        }
+        budgetLedgerService.setBalances(openings, BudgetEntryType.OPENING);
+        budgetLedgerService.setBalances(adjustments, BudgetEntryType.ADJUSTMENT);
+        entityCacheInvalidator.evictClubList();
+
+        Map<Long, ClubDTO> byId = clubRepository.findDTOsById(clubIds).stream()
+                .collect(Collectors.toMap(ClubDTO::getId, Function.identity()));
+        List<ClubDTO> saved = clubs.stream().map(club -> byId.get(club.getId())).toList();
+        // Keep the persistence context from growing across chunks
+        entityManager.clear();
+        return saved;
+    }
+
+    private List<PlayerDTO> savePlayerChunk(List<PlayerDTO> rows, List<Integer> chunk, List<BulkRowErrorDTO> chunkErrors) {
+        Map<Long, Player> existing = playerRepository.findAllById(idsOf(chunk, i -> rows.get(i).getId())).stream()
+                .collect(Collectors.toMap(Player::getId, Function.identity()));
+
+        List<Player> players = new ArrayList<>(chunk.size());
+        List<Player> revalued = new ArrayList<>();
+        for (Integer i : chunk) {
+            PlayerDTO row = rows.get(i);
+            Player player;
+            if (row.getId() == null) {
+                player = new Player();
+            } else {
+                player = existing.get(row.getId());
+                if (player == null) {
+                    chunkErrors.add(new BulkRowErrorDTO(i, "Player not found with id: " + row.getId()));
+                    continue;
+                }
+                entityCacheInvalidator.evictPlayer(player.getId());
+            }
+            if (PlayerService.isNewValue(player.getCurrentMarketValue(), row.getCurrentMarketValue())) {
+                revalued.add(player);
+            }
+            player.setName(row.getName());
+            player.setCurrentMarketValue(row.getCurrentMarketValue());
+            // Existence was checked up front, so a reference avoids a SELECT per club
+            player.setCurrentClub(row.getCurrentClubId() == null ? null : clubRepository.getReferenceById(row.getCurrentClubId()));
+            players.add(player);
+        }
+        playerRepository.saveAll(players);
+        // One point per new or changed value; the players' latest history chunks are read in one query
+        Map<Long, BigDecimal> values = new HashMap<>();
+        revalued.forEach(player -> values.put(player.getId(), player.getCurrentMarketValue()));
+        marketValueHistory.record(values, Instant.now());
+        playerRepository.flush();
+        players.forEach(player -> {
+            playerSearchIndex.put(player.getId(), player.getName(), player.getVersion());
+            clubFinancialAggregates.playerSaved(player);
+        });
+
+        List<PlayerDTO> saved = players.stream()
+                .map(player -> new PlayerDTO(
+                        player.getId(),
+                        player.getName(),
+                        player.getCurrentMarketValue(),
+                        player.getCurrentClub() != null ? player.getCurrentClub().getId() : null,
+                        player.getVersion()))
+                .toList();
+        entityManager.clear();
+        return saved;
+    }
+
+    // The chunk's transaction rolled back: keep row-level errors already found and fail the rest
+    private static void reportFailedChunk(List<Integer> chunk, List<BulkRowErrorDTO> chunkErrors,
+                                          RuntimeException cause, BulkResultDTO<?> result) {
+        Set<Integer> alreadyReported = chunkErrors.stream().map(BulkRowErrorDTO::getIndex).collect(Collectors.toSet());
+        result.getErrors().addAll(chunkErrors);
+        for (Integer i : chunk) {
+            if (!alreadyReported.contains(i)) {
+                result.getErrors().add(new BulkRowErrorDTO(i, "Could not persist row: " + cause.getMessage()));
+            }
+        }
+    }
+
+    private void checkSize(List<?> rows) {
+        if (rows == null || rows.isEmpty()) {
+            throw new IllegalArgumentException("Bulk request must contain at least one row.");
+        }
+        if (rows.size() > maxRows) {
+            throw new IllegalArgumentException("Bulk request contains " + rows.size() + " rows; the maximum is " + maxRows + ".");
+        }
+    }
+
+    private List<List<Integer>> chunks(List<Integer> indexes) {
+        List<List<Integer>> chunks = new ArrayList<>();
+        for (int start = 0; start < indexes.size(); start += chunkSize) {
+            chunks.add(indexes.subList(start, Math.min(start + chunkSize, indexes.size())));
+        }
+        return chunks;
+    }
+
+    private static List<Long> idsOf(List<Integer> chunk, Function<Integer, Long> idOfRow) {
+        return chunk.stream().map(idOfRow).filter(Objects::nonNull).toList();
+    }
+}
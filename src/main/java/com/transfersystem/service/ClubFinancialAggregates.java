@@ -0,0 +1,288 @@
+package com.transfersystem.service;
+
+import com.transfersystem.dto.ClubFinancialsDTO;
+import com.transfersystem.dto.CompletedTransferFee;
+import com.transfersystem.dto.PlayerDTO;
+import com.transfersystem.model.Player;
+import com.transfersystem.model.Transfer;
+import com.transfersystem.repository.PlayerRepository;
+import com.transfersystem.repository.TransferRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Running totals behind the club financials endpoints: per club, the fees spent and received on
+ * completed transfers and the market value of the current squad, and the same for the league.
+ *
+ * <p>Reads are one map lookup, however long the transfer history. The totals are loaded once the
+ * application is ready, from one streaming pass over the completed transfers and one over the
+ * players. After that each committed write adjusts them by its own difference:
+ * TransferController on completion, and PlayerService and BulkImportService when a player is
+ * saved or deleted. The club and value each player was last counted with are kept, so a save only
+ * has to say where the player is now.
+ *
+ * <p>Writes are serialized, and every total is an immutable value replaced as a whole, so readers
+ * take no lock and never see half of a change. A rebuild fills a fresh set of totals and swaps it
+ * in, while requests are already being served. Its streams read one REPEATABLE READ snapshot, and
+ * the changes committed meanwhile are kept and replayed onto the fresh totals, except completions
+ * the snapshot already contains. A completion that committed before the snapshot but reports only
+ * after the swap is recognized as still in flight and skipped when it does.
+ */
+@Service
+public class ClubFinancialAggregates {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClubFinancialAggregates.class);
+
+    private static final Totals ZERO = new Totals(BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, 0, 0, 0);
+
+    private final TransferRepository transferRepository;
+    private final PlayerRepository playerRepository;
+    private final Object writeLock = new Object();
+    private volatile Aggregates aggregates = new Aggregates();
+
+    // Completions called inside a transaction that has not finished yet, counted per transfer
+    private final Map<UUID, Integer> inFlight = new ConcurrentHashMap<>();
+    // The rest are only used under writeLock. While a rebuild streams, every change is also kept
+    // here for it to replay, and completions by transfer so it can tell which it streamed itself.
+    private List<Consumer<Aggregates>> pendingChanges;
+    private Map<UUID, Consumer<Aggregates>> pendingCompletions;
+    // In-flight completions the last rebuild found in its snapshot; not to be counted again
+    private final Set<UUID> countedByRebuild = new HashSet<>();
+
+    public ClubFinancialAggregates(TransferRepository transferRepository, PlayerRepository playerRepository) {
+        this.transferRepository = transferRepository;
+        this.playerRepository = playerRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    void rebuild() {
+        long start = System.nanoTime();
+        Aggregates rebuilt = new Aggregates();
+        synchronized (writeLock) {
+            pendingChanges = new ArrayList<>();
+            pendingCompletions = new HashMap<>();
+        }
+        boolean swapped = false;
+        try {
+            try (Stream<CompletedTransferFee> fees = transferRepository.streamCompletedFees()) {
+                fees.forEach(fee -> rebuilt.transfer(fee.getFromClubId(), fee.getToClubId(), fee.getAgreedFee()));
+            }
+            try (Stream<PlayerDTO> players = playerRepository.streamAllForExport()) {
+                players.forEach(player -> rebuilt.player(player.getId(), player.getCurrentClubId(),
+                        player.getCurrentMarketValue(), player.getVersion()));
+            }
+            synchronized (writeLock) {
+                Set<UUID> uncertain = new HashSet<>(pendingCompletions.keySet());
+                uncertain.addAll(inFlight.keySet());
+                // Same snapshot as the stream above, so exactly the completions it counted
+                Set<UUID> streamed = uncertain.isEmpty() ? Set.of() : new HashSet<>(transferRepository.findCompletedIds(uncertain));
+                pendingCompletions.forEach((id, completion) -> {
+                    if (!streamed.contains(id)) {
+                        completion.accept(rebuilt);
+                    }
+                });
+                // Player changes carry their version, so replaying one the stream already saw is harmless
+                pendingChanges.forEach(change -> change.accept(rebuilt));
+                inFlight.keySet().stream().filter(streamed::contains).forEach(countedByRebuild::add);
+                aggregates = rebuilt;
+                swapped = true;
+            }
+        } finally {
+            synchronized (writeLock) {
+                // After a failure the old totals stay, and already hold every change made meanwhile
+                pendingChanges = null;
+                pendingCompletions = null;
+            }
+        }
+        if (swapped) {
+            logger.info("Club financials loaded from {} completed transfers and {} players in {} ms",
+                    rebuilt.league.transfersIn(), rebuilt.players.size(), (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
+    /** The club's totals, or empty when it has neither players nor completed transfers. */
+    public Optional<ClubFinancialsDTO> club(Long clubId) {
+        return Optional.ofNullable(aggregates.clubs.get(clubId)).map(totals -> totals.toDTO(clubId));
+    }
+
+    /** Totals over every club; free agents are not part of any squad. */
+    public ClubFinancialsDTO league() {
+        return aggregates.league.toDTO(null);
+    }
+
+    /**
+     * Books the fee of a completed transfer on both clubs, once the current transaction commits.
+     * The player's move is reported separately through {@link #playerSaved(Player)}.
+     */
+    public void transferCompleted(Transfer transfer) {
+        UUID id = transfer.getId();
+        Consumer<Aggregates> completion = totals ->
+                totals.transfer(transfer.getFromClub().getId(), transfer.getToClub().getId(), transfer.getAgreedFee());
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            synchronized (writeLock) {
+                complete(id, completion);
+            }
+            return;
+        }
+        inFlight.merge(id, 1, Integer::sum);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                synchronized (writeLock) {
+                    inFlight.computeIfPresent(id, (key, count) -> count == 1 ? null : count - 1);
+                    boolean counted = countedByRebuild.remove(id);
+                    if (status == STATUS_COMMITTED && !counted) {
+                        complete(id, completion);
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Moves the player's value to its current club, once the current transaction commits. The
+     * entity is read only then, so the version is the one the commit wrote; saves older than the
+     * version already counted are ignored.
+     */
+    public void playerSaved(Player player) {
+        afterCommit(totals -> {
+            Long clubId = player.getCurrentClub() == null ? null : player.getCurrentClub().getId();
+            totals.player(player.getId(), clubId, player.getCurrentMarketValue(), player.getVersion());
+        });
+    }
+
+    /** Takes the player's value off its club, once the current transaction commits. */
+    public void playerDeleted(Long id) {
+        afterCommit(totals -> totals.removePlayer(id));
+    }
+
+    /** Forgets the club, once the current transaction commits. */
+    public void clubDeleted(Long id) {
+        afterCommit(totals -> totals.clubs.remove(id));
+    }
+
+    // Under writeLock
+    private void complete(UUID id, Consumer<Aggregates> completion) {
+        completion.accept(aggregates);
+        if (pendingCompletions != null) {
+            pendingCompletions.put(id, completion);
+        }
+    }
+
+    private void afterCommit(Consumer<Aggregates> change) {
+        Runnable apply = () -> {
+            synchronized (writeLock) {
+                change.accept(aggregates);
+                if (pendingChanges != null) {
+                    pendingChanges.add(change);
+                }
+            }
+        };
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply.run();
+            }
+        });
+    }
+
+    // One complete set of totals; only modified under writeLock, or before it is published
+    private static class Aggregates {
+
+        final Map<Long, Totals> clubs = new ConcurrentHashMap<>();
+        // Where each player's value is currently counted
+        final Map<Long, CountedPlayer> players = new ConcurrentHashMap<>();
+        volatile Totals league = ZERO;
+
+        void transfer(Long fromClubId, Long toClubId, BigDecimal fee) {
+            BigDecimal amount = fee == null ? BigDecimal.ZERO : fee;
+            clubs.merge(toClubId, ZERO.bought(amount), Totals::plus);
+            clubs.merge(fromClubId, ZERO.sold(amount), Totals::plus);
+            league = league.bought(amount).sold(amount);
+        }
+
+        void player(Long id, Long clubId, BigDecimal value, Long version) {
+            long versionValue = version == null ? 0 : version;
+            CountedPlayer previous = players.get(id);
+            if (previous != null && previous.version() > versionValue) {
+                return;
+            }
+            CountedPlayer current = new CountedPlayer(clubId, value == null ? BigDecimal.ZERO : value, versionValue);
+            if (previous != null) {
+                count(previous, -1);
+            }
+            count(current, 1);
+            players.put(id, current);
+        }
+
+        void removePlayer(Long id) {
+            CountedPlayer previous = players.remove(id);
+            if (previous != null) {
+                count(previous, -1);
+            }
+        }
+
+        // Adds (sign 1) or takes away (sign -1) one squad member and its value
+        private void count(CountedPlayer player, int sign) {
+            if (player.clubId() == null) {
+                return;
+            }
+            BigDecimal value = sign < 0 ? player.value().negate() : player.value();
+            clubs.merge(player.clubId(), ZERO.joined(value, sign), Totals::plus);
+            league = league.joined(value, sign);
+        }
+    }
+
+    private record CountedPlayer(Long clubId, BigDecimal value, long version) {
+    }
+
+    private record Totals(BigDecimal spent, BigDecimal received, BigDecimal squadValue,
+                          long squadSize, long transfersIn, long transfersOut) {
+
+        Totals bought(BigDecimal fee) {
+            return new Totals(spent.add(fee), received, squadValue, squadSize, transfersIn + 1, transfersOut);
+        }
+
+        Totals sold(BigDecimal fee) {
+            return new Totals(spent, received.add(fee), squadValue, squadSize, transfersIn, transfersOut + 1);
+        }
+
+        Totals joined(BigDecimal value, int members) {
+            return new Totals(spent, received, squadValue.add(value), squadSize + members, transfersIn, transfersOut);
+        }
+
+        Totals plus(Totals other) {
+            return new Totals(spent.add(other.spent), received.add(other.received), squadValue.add(other.squadValue),
+                    squadSize + other.squadSize, transfersIn + other.transfersIn, transfersOut + other.transfersOut);
+        }
+
+        ClubFinancialsDTO toDTO(Long clubId) {
+            return new ClubFinancialsDTO(clubId, spent, received, squadValue, squadSize, transfersIn, transfersOut);
+        }
+    }
+}
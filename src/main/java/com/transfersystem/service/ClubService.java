@@ -1,72 +1,131 @@
 package com.transfersystem.service;
 
+import com.transfersystem.config.CacheConfig;
 import com.transfersystem.dto.ClubDTO;
+import com.transfersystem.dto.ClubFinancialsDTO;
+import com.transfersystem.exception.ResourceNotFoundException;
+import com.transfersystem.model.BudgetEntryType;
 import com.transfersystem.model.Club;
 import com.transfersystem.repository.ClubRepository;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
 
 @Service
 public class ClubService {
 
     private final ClubRepository clubRepository;
+    private final BudgetLedgerService budgetLedgerService;
+    private final ClubFinancialAggregates clubFinancialAggregates;
 
     @Autowired
-    public ClubService(ClubRepository clubRepository) {
+    public ClubService(ClubRepository clubRepository, BudgetLedgerService budgetLedgerService,
+                       ClubFinancialAggregates clubFinancialAggregates) {
         this.clubRepository = clubRepository;
+        this.budgetLedgerService = budgetLedgerService;
+        this.clubFinancialAggregates = clubFinancialAggregates;
     }
 
     @Transactional
+    @Caching(
+            put = @CachePut(cacheNames = CacheConfig.CLUBS, key = "#result.id"),
+            evict = @CacheEvict(cacheNames = CacheConfig.CLUB_LIST, allEntries = true)
+    )
     public ClubDTO createClub(ClubDTO clubDTO) {
         Club club = new Club();
         club.setName(clubDTO.getName());
-        club.setBudget(clubDTO.getBudget());
         Club savedClub = clubRepository.save(club);
-        return convertToDTO(savedClub);
+        budgetLedgerService.openLedgers(List.of(savedClub.getId()));
+        if (clubDTO.getBudget() != null) {
+            budgetLedgerService.setBalances(Map.of(savedClub.getId(), clubDTO.getBudget()), BudgetEntryType.OPENING);
+        }
+        return render(savedClub.getId());
     }
 
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.CLUB_LIST, key = "'all'")
     public List<ClubDTO> getAllClubs() {
-        return clubRepository.findAll().stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        // Unmodifiable, since the same list instance is handed to every caller while cached
+        return List.copyOf(clubRepository.findAllDTOs());
     }
 
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.CLUBS, key = "#id")
     public ClubDTO getClubById(Long id) {
-        Club club = clubRepository.findById(id)
+        return clubRepository.findDTOById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Club not found with id: " + id));
+    }
+
+    @Transactional(readOnly = true)
+    public Long getClubVersion(Long id) {
+        return clubRepository.findVersionById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Club not found with id: " + id));
-        return convertToDTO(club);
+    }
+
+    // Answered from the running totals; the existence check only runs for a club they have never seen
+    @Transactional(readOnly = true)
+    public ClubFinancialsDTO getClubFinancials(Long id) {
+        return clubFinancialAggregates.club(id).orElseGet(() -> {
+            if (!clubRepository.existsById(id)) {
+                throw new ResourceNotFoundException("Club not found with id: " + id);
+            }
+            return new ClubFinancialsDTO(id, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, 0, 0, 0);
+        });
+    }
+
+    public ClubFinancialsDTO getLeagueFinancials() {
+        return clubFinancialAggregates.league();
+    }
+
+    @Transactional(readOnly = true)
+    public String getClubsWatermark() {
+        return clubRepository.findWatermark();
     }
 
     @Transactional
+    @Caching(
+            put = @CachePut(cacheNames = CacheConfig.CLUBS, key = "#id"),
+            evict = @CacheEvict(cacheNames = CacheConfig.CLUB_LIST, allEntries = true)
+    )
     public ClubDTO updateClub(Long id, ClubDTO clubDTO) {
         Club club = clubRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Club not found with id: " + id));
         club.setName(clubDTO.getName());
-        club.setBudget(clubDTO.getBudget());
-        Club updatedClub = clubRepository.save(club);
-        return convertToDTO(updatedClub);
+        clubRepository.save(club);
+        // A null budget leaves it unchanged; otherwise the difference is booked as an adjustment
+        if (clubDTO.getBudget() != null) {
+            budgetLedgerService.setBalances(Map.of(id, clubDTO.getBudget()), BudgetEntryType.ADJUSTMENT);
+        }
+        return render(id);
     }
 
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.CLUBS, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.CLUB_LIST, allEntries = true)
+    })
     public void deleteClub(Long id) {
         if (!clubRepository.existsById(id)) {
             throw new EntityNotFoundException("Club not found with id: " + id);
         }
+        budgetLedgerService.deleteLedger(id);
         clubRepository.deleteById(id);
+        clubFinancialAggregates.clubDeleted(id);
     }
 
-    private ClubDTO convertToDTO(Club club) {
-        return new ClubDTO(
-                club.getId(),
-                club.getName(),
-                club.getBudget()
-        );
+    // Re-read after a write: the query flushes it and computes the budget and version from the
+    // database, so the returned (and cached) DTO reflects the new ledger entry and row version
+    private ClubDTO render(Long id) {
+        return clubRepository.findDTOById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Club not found with id: " + id));
     }
 }
@@ -0,0 +1,477 @@
+package com.transfersystem.service;
+
+import com.transfersystem.model.BudgetEntryType;
+import com.transfersystem.model.TransferEventType;
+import com.transfersystem.model.TransferStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fills an empty database with a synthetic league at startup: {@code seed.clubs} clubs,
+ * {@code seed.players} players and {@code seed.transfers} transfers, plus what the application
+ * would have recorded along the way. That is the transfer event log, budget ledger entries for
+ * every completed transfer, a budget snapshot per club, and each player's market-value history.
+ * Every derived view therefore starts out consistent with the tables.
+ *
+ * <p>The data is shaped like a real league. A few rich clubs and a long tail of small ones.
+ * Market values are log-normal, from 200k to about 200M. Transfer counts vary between players.
+ * Better players move to richer clubs, and fees follow the player's value. Each player's current
+ * club is where their last completed transfer took them. Most transfers are completed, some were
+ * canceled or expired, and about one player in twenty has an offer still open.
+ *
+ * <p>Each player and their transfers come from a random generator seeded with
+ * {@code seed.random-seed} and the player's index. Players are written in slices of
+ * {@code seed.batch-size}, on {@code seed.parallelism} threads, each slice in one transaction of
+ * JDBC batch inserts. Ids are assigned from the indexes rather than the sequences, and the
+ * sequences are moved past them at the end. The same settings therefore always give the same rows,
+ * however the slices are scheduled.
+ *
+ * <p>A database that already has clubs is left alone, so the generator only runs on a fresh
+ * schema. Timestamps are relative to the day it runs.
+ */
+@Service
+public class DataGenerator implements CommandLineRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(DataGenerator.class);
+
+    private static final int HISTORY_DAYS = 15 * 365;
+    private static final double FREE_AGENT_SHARE = 0.1; // of the players who never moved
+    private static final double OPEN_OFFER_SHARE = 0.05;
+    private static final double FREE_TRANSFER_SHARE = 0.1;
+    private static final int EVENT_IDS_PER_TRANSFER = 8;
+    private static final String ACTOR = "seed";
+    // Id blocks Hibernate takes from each sequence (allocationSize on the entities)
+    private static final int SEQUENCE_ALLOCATION = 50;
+
+    private static final TransferStatus[] OPEN_STATUSES = {
+            TransferStatus.DRAFT, TransferStatus.SUBMITTED, TransferStatus.NEGOTIATION, TransferStatus.APPROVED
+    };
+    private static final String[] CITIES = {
+            "Madrid", "Barcelona", "Manchester", "Liverpool", "München", "Milano", "Torino", "Paris", "Lyon",
+            "Marseille", "Porto", "Lisboa", "Amsterdam", "Rotterdam", "Eindhoven", "Dortmund", "Leipzig", "Sevilla",
+            "València", "Bilbao", "Napoli", "Roma", "Glasgow", "Brugge", "København", "Zürich", "Wien", "Praha",
+            "Kraków", "Beograd", "Zagreb", "İstanbul", "Athína", "Bucureşti", "Kyiv", "Malmö", "Bergen", "Göteborg",
+            "Nantes", "Bordeaux", "Genova", "Bologna", "Firenze", "Málaga", "Vigo", "Gijón", "Braga", "Sheffield",
+            "Leeds", "Newcastle", "Bremen", "Köln", "Stuttgart", "Hamburg", "Lens", "Lille", "Nice", "Basel"
+    };
+    private static final String[] CLUB_PATTERNS = {
+            "FC %s", "%s United", "Real %s", "Atlético %s", "%s City", "Sporting %s", "%s Rovers",
+            "Racing %s", "Dynamo %s", "%s Athletic"
+    };
+    private static final String[] FIRST_NAMES = {
+            "Vinícius", "Rodrygo", "Jude", "Kylian", "Erling", "Martin", "Bukayo", "Florian", "Jamal", "Pedri",
+            "Gavi", "Rafael", "Bruno", "Bernardo", "João", "Rúben", "Luka", "Toni", "Joshua", "Kevin",
+            "Mohamed", "Virgil", "Alisson", "Marc-André", "Thibaut", "Ousmane", "Antoine", "Aurélien", "Eduardo",
+            "Dani", "Lamine", "Harry", "Leroy", "Marcus", "Rasmus", "Luis", "Darwin", "Federico", "Khvicha", "Son"
+    };
+    private static final String[] SYLLABLES = {
+            "ma", "ri", "son", "ez", "ov", "ić", "ber", "gaard", "lo", "ta", "ne", "kö", "ut", "sa", "dro", "ñe",
+            "ka", "vić", "al", "den", "hø", "ling", "zi", "ra"
+    };
+
+    private static final String INSERT_CLUB = "INSERT INTO club (id, name, version) VALUES (?, ?, 0)";
+    private static final String INSERT_PLAYER =
+            "INSERT INTO player (id, name, current_market_value, current_club_id, version) VALUES (?, ?, ?, ?, ?)";
+    private static final String INSERT_TRANSFER = "INSERT INTO transfer (id, player_id, from_club_id, to_club_id, "
+            + "status, initiation_timestamp, version, agreed_fee, offer_expiry_date) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_EVENT = "INSERT INTO transfer_event "
+            + "(id, transfer_id, transfer_version, type, from_status, occurred_at, actor, payload) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_LEDGER_ENTRY = "INSERT INTO budget_ledger_entry "
+            + "(id, club_id, amount, type, transfer_id, created_at) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_SNAPSHOT = "INSERT INTO budget_snapshot "
+            + "(club_id, balance, entry_count, last_entry_at, last_entry_id, taken_at) VALUES (?, 0, 0, ?, ?, ?)";
+    // Folds the club's whole ledger, up to its last entry in creation order
+    private static final String UPDATE_SNAPSHOT = "UPDATE budget_snapshot s SET balance = ?, "
+            + "entry_count = (SELECT COUNT(*) FROM budget_ledger_entry e WHERE e.club_id = s.club_id), "
+            + "last_entry_at = (SELECT MAX(e.created_at) FROM budget_ledger_entry e WHERE e.club_id = s.club_id), "
+            + "last_entry_id = (SELECT MAX(e.id) FROM budget_ledger_entry e WHERE e.club_id = s.club_id AND e.created_at = "
+            + "(SELECT MAX(l.created_at) FROM budget_ledger_entry l WHERE l.club_id = s.club_id)) "
+            + "WHERE s.club_id = ?";
+    // Later than any entry, so that the placeholder snapshots claim every entry as folded
+    private static final LocalDateTime FOLDED_THROUGH_EVERYTHING = LocalDateTime.of(9999, 12, 31, 0, 0);
+    private static final String INSERT_CHUNK = "INSERT INTO market_value_chunk "
+            + "(id, player_id, first_timestamp, last_timestamp, point_count, data, version) VALUES (?, ?, ?, ?, ?, ?, 0)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int clubs;
+    private final int players;
+    private final long transfers;
+    private final long randomSeed;
+    private final int batchSize;
+    private final int parallelism;
+    private final int chunkPoints;
+
+    public DataGenerator(DataSource dataSource, PlatformTransactionManager transactionManager,
+                         @Value("${seed.enabled:true}") boolean enabled,
+                         @Value("${seed.clubs:20}") int clubs,
+                         @Value("${seed.players:500}") int players,
+                         @Value("${seed.transfers:2000}") long transfers,
+                         @Value("${seed.random-seed:42}") long randomSeed,
+                         @Value("${seed.batch-size:1000}") int batchSize,
+                         @Value("${seed.parallelism:0}") int parallelism,
+                         @Value("${market-values.chunk-points:256}") int chunkPoints) {
+        if (clubs < 0 || players < 0 || transfers < 0 || batchSize < 1) {
+            throw new IllegalArgumentException("seed.clubs, seed.players and seed.transfers must not be negative, "
+                    + "and seed.batch-size must be at least 1");
+        }
+        if (transfers > 0 && (clubs < 2 || players < 1)) {
+            throw new IllegalArgumentException("Generating transfers needs at least two clubs and one player");
+        }
+        if (players > 0 && clubs < 1) {
+            throw new IllegalArgumentException("Generating players needs at least one club");
+        }
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.clubs = clubs;
+        this.players = players;
+        this.transfers = transfers;
+        this.randomSeed = randomSeed;
+        this.batchSize = batchSize;
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.chunkPoints = chunkPoints;
+    }
+
+    @Override
+    public void run(String... args) {
+        if (!enabled) {
+            logger.info("Data generation disabled (seed.enabled=false)");
+            return;
+        }
+        Long existingClubs = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM club", Long.class);
+        if (existingClubs != null && existingClubs > 0) {
+            logger.info("Database already holds {} clubs; skipping data generation", existingClubs);
+            return;
+        }
+        generate(LocalDate.now().atStartOfDay());
+    }
+
+    /** Writes the whole dataset, with every timestamp before {@code asOf} apart from open offers' deadlines. */
+    void generate(LocalDateTime asOf) {
+        long start = System.nanoTime();
+        logger.info("Generating {} clubs, {} players and {} transfers (seed {}, {} threads, batches of {})",
+                clubs, players, transfers, randomSeed, parallelism, batchSize);
+
+        long[] budgetTargets = new long[clubs];
+        List<Object[]> clubRows = new ArrayList<>(clubs);
+        List<Object[]> placeholders = new ArrayList<>(clubs);
+        for (int club = 0; club < clubs; club++) {
+            clubRows.add(new Object[]{club + 1L, clubName(club)});
+            placeholders.add(new Object[]{club + 1L, FOLDED_THROUGH_EVERYTHING, Long.MAX_VALUE, asOf});
+            // A few rich clubs and a long tail: 800M for the first, tens of millions from about the 20th
+            budgetTargets[club] = roundTo(500_000_000L + (long) (80_000_000_000L * Math.pow(club + 1, -0.9)), 10_000_000L);
+        }
+        // The slices commit ledger entries out of id order, which BudgetLedgerCompactor must not fold
+        // while they are being written. Until the real snapshots replace them, these claim every
+        // entry as already folded, so the compactor leaves the clubs alone.
+        transactionTemplate.executeWithoutResult(status -> {
+            batchUpdate(INSERT_CLUB, clubRows);
+            batchUpdate(INSERT_SNAPSHOT, placeholders);
+        });
+
+        // Net fees of each club, filled in by the slices
+        AtomicLongArray netFeeCents = new AtomicLongArray(clubs);
+        long[] transferOffsets = transferOffsets();
+        AtomicInteger playersWritten = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+        try {
+            List<Future<?>> slices = new ArrayList<>();
+            for (int from = 0; from < players; from += batchSize) {
+                int first = from;
+                int end = Math.min(from + batchSize, players);
+                slices.add(executor.submit(() -> {
+                    Slice slice = new Slice();
+                    for (int player = first; player < end; player++) {
+                        generatePlayer(player, transferOffsets[player], (int) (transferOffsets[player + 1] - transferOffsets[player]),
+                                asOf, slice, netFeeCents);
+                    }
+                    transactionTemplate.executeWithoutResult(status -> slice.insert());
+                    logProgress(playersWritten.addAndGet(end - first), end - first);
+                }));
+            }
+            for (Future<?> slice : slices) {
+                slice.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while generating data", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Data generation failed; start again from an empty database", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Openings are chosen so that, after every fee, each club holds its target budget
+        LocalDateTime opened = asOf.minusDays(HISTORY_DAYS + 1);
+        List<Object[]> openings = new ArrayList<>(clubs);
+        List<Object[]> snapshots = new ArrayList<>(clubs);
+        for (int club = 0; club < clubs; club++) {
+            long clubId = club + 1L;
+            openings.add(new Object[]{clubId, clubId, euros(budgetTargets[club] - netFeeCents.get(club)),
+                    BudgetEntryType.OPENING.name(), null, opened});
+            snapshots.add(new Object[]{euros(budgetTargets[club]), clubId});
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            batchUpdate(INSERT_LEDGER_ENTRY, openings);
+            batchUpdate(UPDATE_SNAPSHOT, snapshots);
+            restartSequence("club_seq", clubs);
+            restartSequence("player_seq", players);
+            restartSequence("budget_ledger_entry_seq", clubs + 2 * transfers);
+            restartSequence("transfer_event_seq", EVENT_IDS_PER_TRANSFER * transfers);
+            restartSequence("market_value_chunk_seq", players);
+        });
+
+        long millis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+        logger.info("Generated {} clubs, {} players and {} transfers in {} ms ({} transfers/s)",
+                clubs, players, transfers, millis, transfers * 1000 / millis);
+    }
+
+    // Spreads the transfers over the players in proportion to random weights, so counts vary but add up exactly
+    private long[] transferOffsets() {
+        SplittableRandom random = new SplittableRandom(randomSeed);
+        double[] cumulative = new double[players + 1];
+        for (int player = 0; player < players; player++) {
+            cumulative[player + 1] = cumulative[player] - Math.log(1 - random.nextDouble());
+        }
+        long[] offsets = new long[players + 1];
+        for (int player = 1; player <= players; player++) {
+            offsets[player] = Math.round(transfers * (cumulative[player] / cumulative[players]));
+        }
+        offsets[players] = transfers;
+        return offsets;
+    }
+
+    private void generatePlayer(int index, long firstTransfer, int transferCount, LocalDateTime asOf, Slice slice,
+                                AtomicLongArray netFeeCents) {
+        SplittableRandom random = new SplittableRandom(randomSeed * 0x9E3779B97F4A7C15L + index);
+        long playerId = index + 1L;
+        String name = playerName(random);
+        // Most players are modest; quality 1 is a world star
+        double quality = Math.pow(random.nextDouble(), 3);
+        long valueCents = marketValueCents(quality, random);
+        int club = random.nextInt(clubs);
+        boolean freeAgent = transferCount == 0 && random.nextDouble() < FREE_AGENT_SHARE;
+
+        // Days before asOf each transfer starts, most recent first; at least two, so it has finished by asOf
+        int[] daysAgo = new int[transferCount];
+        for (int i = 0; i < transferCount; i++) {
+            daysAgo[i] = 2 + random.nextInt(HISTORY_DAYS - 1);
+        }
+        Arrays.sort(daysAgo);
+        long version = 0;
+        List<long[]> history = new ArrayList<>();
+        addPoint(history, asOf.minusDays(HISTORY_DAYS + 1), marketValueCents(quality * 0.5, random));
+        for (int i = 0; i < transferCount; i++) {
+            long transferIndex = firstTransfer + i;
+            UUID transferId = new UUID((random.nextLong() & ~0xF000L) | 0x4000L,
+                    (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L);
+            int toClub = destination(club, quality, random);
+            long valueThenCents = Math.max(5_000_000L,
+                    roundTo((long) (valueCents * Math.exp(0.3 * random.nextGaussian())), 5_000_000L));
+            long feeCents = random.nextDouble() < FREE_TRANSFER_SHARE
+                    ? 0
+                    : roundTo((long) (valueThenCents * (0.6 + 0.8 * random.nextDouble())), 10_000_000L);
+
+            TransferStatus status;
+            LocalDateTime initiated;
+            LocalDateTime offerExpiry;
+            if (i == transferCount - 1 && random.nextDouble() < OPEN_OFFER_SHARE) {
+                status = OPEN_STATUSES[random.nextInt(OPEN_STATUSES.length)];
+                // Within the last week, and after the player's earlier transfers
+                initiated = asOf.minusDays(Math.min(daysAgo[0], 2 + random.nextInt(6))).plusSeconds(random.nextInt(86_400));
+                offerExpiry = asOf.plusDays(1 + random.nextInt(14));
+            } else {
+                double outcome = random.nextDouble();
+                status = outcome < 0.10 ? TransferStatus.CANCELED
+                        : outcome < 0.15 ? TransferStatus.EXPIRED
+                        : TransferStatus.COMPLETED;
+                initiated = asOf.minusDays(daysAgo[transferCount - 1 - i]).plusSeconds(random.nextInt(86_400));
+                // An expired offer's deadline has passed by asOf
+                offerExpiry = status == TransferStatus.EXPIRED ? initiated.plusDays(1) : initiated.plusDays(14);
+            }
+
+            TransferEventType[] events = lifecycle(status);
+            slice.transfers.add(new Object[]{transferId, playerId, club + 1L, toClub + 1L, status.name(), initiated,
+                    (long) events.length - 1, euros(feeCents), offerExpiry});
+            TransferStatus fromStatus = null;
+            for (int step = 0; step < events.length; step++) {
+                TransferEventType type = events[step];
+                LocalDateTime occurredAt = type == TransferEventType.EXPIRED ? offerExpiry : initiated.plusHours(6L * step);
+                // Step n leaves the transfer at version n, which is the version inserted above for the last step
+                slice.events.add(new Object[]{transferIndex * EVENT_IDS_PER_TRANSFER + step + 1, transferId, (long) step, type.name(),
+                        fromStatus == null ? null : fromStatus.name(), occurredAt, ACTOR,
+                        payload(type, playerId, club + 1L, toClub + 1L, feeCents, offerExpiry)});
+                fromStatus = type.getResultingStatus();
+            }
+
+            if (status == TransferStatus.COMPLETED) {
+                LocalDateTime completed = initiated.plusHours(6L * (events.length - 1));
+                // The buyer pays and the seller receives, as TransferController books a completion
+                long paidId = clubs + 2 * transferIndex + 1;
+                slice.ledgerEntries.add(new Object[]{paidId, toClub + 1L, euros(-feeCents),
+                        BudgetEntryType.TRANSFER_OUT.name(), transferId, completed});
+                slice.ledgerEntries.add(new Object[]{paidId + 1, club + 1L, euros(feeCents),
+                        BudgetEntryType.TRANSFER_IN.name(), transferId, completed});
+                netFeeCents.addAndGet(toClub, -feeCents);
+                netFeeCents.addAndGet(club, feeCents);
+                addPoint(history, completed, valueThenCents);
+                club = toClub;
+                version++;
+            }
+        }
+        addPoint(history, asOf, valueCents);
+
+        slice.players.add(new Object[]{playerId, name, euros(valueCents), freeAgent ? null : club + 1L, version});
+        // One chunk per player, keeping the latest points if a long career would overflow it
+        MarketValueChunkCodec.Writer writer = new MarketValueChunkCodec.Writer();
+        for (long[] point : history.subList(Math.max(0, history.size() - chunkPoints), history.size())) {
+            if (!writer.append(point[0], point[1])) {
+                throw new IllegalStateException("Market-value history of player " + playerId + " does not fit one chunk");
+            }
+        }
+        slice.chunks.add(new Object[]{playerId, playerId, writer.firstTimestamp(), writer.lastTimestamp(),
+                writer.count(), writer.toByteArray()});
+    }
+
+    // Chunks need increasing timestamps, but a completion can end after the next transfer started
+    // on the same or the following day; such a point moves to one second after the previous one
+    private static void addPoint(List<long[]> history, LocalDateTime at, long cents) {
+        long timestamp = at.toEpochSecond(ZoneOffset.UTC);
+        if (!history.isEmpty()) {
+            timestamp = Math.max(timestamp, history.get(history.size() - 1)[0] + 1);
+        }
+        history.add(new long[]{timestamp, cents});
+    }
+
+    // Better players end up at richer (lower-indexed) clubs more often; never the club they are leaving
+    private int destination(int fromClub, double quality, SplittableRandom random) {
+        int club = (int) (clubs * Math.pow(random.nextDouble(), 1 + 3 * quality));
+        return club != fromClub ? club : (club + 1 + random.nextInt(clubs - 1)) % clubs;
+    }
+
+    // Log-normal around 200k for quality 0 up to 200M for quality 1, in steps of 50k
+    private static long marketValueCents(double quality, SplittableRandom random) {
+        double euros = 200_000 * Math.exp(quality * Math.log(1000) + 0.3 * random.nextGaussian());
+        return Math.max(5_000_000L, roundTo((long) (euros * 100), 5_000_000L));
+    }
+
+    private static TransferEventType[] lifecycle(TransferStatus status) {
+        return switch (status) {
+            case DRAFT -> new TransferEventType[]{TransferEventType.CREATED};
+            case SUBMITTED -> new TransferEventType[]{TransferEventType.CREATED, TransferEventType.SUBMITTED};
+            case NEGOTIATION -> new TransferEventType[]{TransferEventType.CREATED, TransferEventType.SUBMITTED,
+                    TransferEventType.NEGOTIATION_STARTED};
+            case APPROVED -> new TransferEventType[]{TransferEventType.CREATED, TransferEventType.SUBMITTED,
+                    TransferEventType.NEGOTIATION_STARTED, TransferEventType.APPROVED};
+            case COMPLETED -> new TransferEventType[]{TransferEventType.CREATED, TransferEventType.SUBMITTED,
+                    TransferEventType.NEGOTIATION_STARTED, TransferEventType.APPROVED, TransferEventType.COMPLETED};
+            case CANCELED -> new TransferEventType[]{TransferEventType.CREATED, TransferEventType.CANCELED};
+            case EXPIRED -> new TransferEventType[]{TransferEventType.CREATED, TransferEventType.SUBMITTED,
+                    TransferEventType.EXPIRED};
+        };
+    }
+
+    // The payloads TransferEventLog writes for the same transitions
+    private static String payload(TransferEventType type, long playerId, long fromClubId, long toClubId,
+                                  long feeCents, LocalDateTime offerExpiry) {
+        return switch (type) {
+            case CREATED -> "{\"playerId\":" + playerId + ",\"fromClubId\":" + fromClubId + ",\"toClubId\":" + toClubId
+                    + ",\"agreedFee\":" + euros(feeCents).toPlainString() + ",\"offerExpiryDate\":\"" + offerExpiry + "\"}";
+            case SUBMITTED -> "{\"offerExpiryDate\":\"" + offerExpiry + "\"}";
+            case COMPLETED -> "{\"agreedFee\":" + euros(feeCents).toPlainString() + "}";
+            default -> null;
+        };
+    }
+
+    private String clubName(int club) {
+        int combinations = CITIES.length * CLUB_PATTERNS.length;
+        String name = String.format(CLUB_PATTERNS[club / CITIES.length % CLUB_PATTERNS.length], CITIES[club % CITIES.length]);
+        return club < combinations ? name : name + " " + (club / combinations + 1);
+    }
+
+    private static String playerName(SplittableRandom random) {
+        StringBuilder surname = new StringBuilder();
+        int syllables = 2 + random.nextInt(3);
+        for (int s = 0; s < syllables; s++) {
+            surname.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+        }
+        surname.setCharAt(0, Character.toUpperCase(surname.charAt(0)));
+        return FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " " + surname;
+    }
+
+    private void logProgress(int written, int sliceSize) {
+        // Roughly every tenth of the players
+        int step = Math.max(players / 10, 1);
+        if (written / step != (written - sliceSize) / step || written == players) {
+            logger.info("Generated {} of {} players with their transfers", written, players);
+        }
+    }
+
+    // Past the generated ids, including the block Hibernate may take below the value it reads
+    private void restartSequence(String sequence, long maxId) {
+        jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + (maxId + SEQUENCE_ALLOCATION));
+    }
+
+    private void batchUpdate(String sql, List<Object[]> rows) {
+        jdbcTemplate.batchUpdate(sql, rows, batchSize, DataGenerator::setParameters);
+    }
+
+    private static void setParameters(PreparedStatement statement, Object[] row) throws SQLException {
+        for (int i = 0; i < row.length; i++) {
+            statement.setObject(i + 1, row[i]);
+        }
+    }
+
+    private static long roundTo(long value, long step) {
+        return Math.round((double) value / step) * step;
+    }
+
+    private static BigDecimal euros(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    // The rows of one slice of players, inserted together in parent-before-child order
+    private class Slice {
+
+        final List<Object[]> players = new ArrayList<>();
+        final List<Object[]> transfers = new ArrayList<>();
+        final List<Object[]> events = new ArrayList<>();
+        final List<Object[]> ledgerEntries = new ArrayList<>();
+        final List<Object[]> chunks = new ArrayList<>();
+
+        void insert() {
+            batchUpdate(INSERT_PLAYER, players);
+            batchUpdate(INSERT_TRANSFER, transfers);
+            batchUpdate(INSERT_EVENT, events);
+            batchUpdate(INSERT_LEDGER_ENTRY, ledgerEntries);
+            batchUpdate(INSERT_CHUNK, chunks);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.transfersystem.service;
+
+import com.transfersystem.config.CacheConfig;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+/**
+ * Programmatic eviction for writes that bypass ClubService/PlayerService, such as the budget
+ * and player moves applied by transfer completion. Evictions are deferred to commit by the
+ * transaction-aware CacheManager configured in CacheConfig.
+ */
+@Component
+public class EntityCacheInvalidator {
+
+    private final CacheManager cacheManager;
+
+    public EntityCacheInvalidator(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    public void evictClub(Long clubId) {
+        evict(CacheConfig.CLUBS, clubId);
+        evictClubList();
+    }
+
+    public void evictClubList() {
+        Cache clubList = cacheManager.getCache(CacheConfig.CLUB_LIST);
+        if (clubList != null) {
+            clubList.clear();
+        }
+    }
+
+    public void evictPlayer(Long playerId) {
+        evict(CacheConfig.PLAYERS, playerId);
+    }
+
+    private void evict(String cacheName, Object key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null && key != null) {
+            cache.evict(key);
+        }
+    }
+}
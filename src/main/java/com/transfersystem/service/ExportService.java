@@ -0,0 +1,90 @@
+package com.transfersystem.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.transfersystem.dto.ClubDTO;
+import com.transfersystem.dto.PlayerDTO;
+import com.transfersystem.dto.TransferView;
+import com.transfersystem.repository.ClubRepository;
+import com.transfersystem.repository.PlayerRepository;
+import com.transfersystem.repository.TransferRepository;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.stream.Stream;
+
+/**
+ * Writes whole tables as newline-delimited JSON, one row per line, straight from a repository
+ * Stream. Rows are DTO projections rather than entities, so nothing accumulates in the
+ * persistence context and memory stays flat regardless of table size.
+ */
+@Service
+public class ExportService {
+
+    public static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    // Flush periodically so clients see progress on long exports
+    private static final int FLUSH_EVERY_ROWS = 1000;
+
+    private final PlayerRepository playerRepository;
+    private final ClubRepository clubRepository;
+    private final TransferRepository transferRepository;
+    private final ObjectWriter writer;
+
+    public ExportService(PlayerRepository playerRepository,
+                         ClubRepository clubRepository,
+                         TransferRepository transferRepository,
+                         ObjectMapper objectMapper) {
+        this.playerRepository = playerRepository;
+        this.clubRepository = clubRepository;
+        this.transferRepository = transferRepository;
+        this.writer = objectMapper.writer();
+    }
+
+    @Transactional(readOnly = true)
+    public void exportPlayers(OutputStream out) throws IOException {
+        try (Stream<PlayerDTO> rows = playerRepository.streamAllForExport()) {
+            writeLines(rows, out);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void exportClubs(OutputStream out) throws IOException {
+        try (Stream<ClubDTO> rows = clubRepository.streamAllForExport()) {
+            writeLines(rows, out);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void exportTransfers(OutputStream out) throws IOException {
+        try (Stream<TransferView> rows = transferRepository.streamAllForExport()) {
+            writeLines(rows, out);
+        }
+    }
+
+    private void writeLines(Stream<?> rows, OutputStream out) throws IOException {
+        BufferedOutputStream buffered = new BufferedOutputStream(out);
+        int[] written = {0};
+        try {
+            rows.forEachOrdered(row -> {
+                try {
+                    buffered.write(writer.writeValueAsBytes(row));
+                    buffered.write('\n');
+                    if (++written[0] % FLUSH_EVERY_ROWS == 0) {
+                        buffered.flush();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        buffered.flush();
+    }
+}
@@ -0,0 +1,236 @@
+package com.transfersystem.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+
+/**
+ * Bit-level encoding of the points in one MarketValueChunk, after Gorilla's time-series format.
+ * The first point is written in full, as two 64-bit words. Every later point costs:
+ *
+ * <ul>
+ *   <li>its timestamp as the change in the gap to the previous point (delta of delta), zigzag
+ *       encoded: {@code 0} when the gap is unchanged, else {@code 10}, {@code 110}, {@code 1110}
+ *       or {@code 1111} followed by 7, 9, 12 or 32 bits;</li>
+ *   <li>its value in cents as the difference to the previous value: {@code 0} when unchanged,
+ *       else {@code 1}, the bit length of the zigzag encoded difference less one in 6 bits, and
+ *       that many bits.</li>
+ * </ul>
+ *
+ * <p>A daily series whose value moves every few weeks comes to well under a byte per point.
+ */
+final class MarketValueChunkCodec {
+
+    // Values are stored in cents, as a long
+    static final int SCALE = 2;
+
+    private MarketValueChunkCodec() {
+    }
+
+    static long toCents(BigDecimal value) {
+        BigDecimal cents = value.setScale(SCALE, RoundingMode.HALF_UP);
+        if (cents.unscaledValue().bitLength() > 63) {
+            throw new IllegalArgumentException("Market value out of range for the history: " + value);
+        }
+        return cents.unscaledValue().longValue();
+    }
+
+    static BigDecimal fromCents(long cents) {
+        return BigDecimal.valueOf(cents, SCALE);
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /** Appends points to a chunk, in timestamp order. */
+    static final class Writer {
+
+        private byte[] buffer = new byte[64];
+        private int bitLength;
+        private int count;
+        private long firstTimestamp;
+        private long lastTimestamp;
+        private long lastDelta;
+        private long lastValue;
+
+        /** A writer that carries on after the {@code count} points already in {@code data}. */
+        static Writer resume(byte[] data, int count) {
+            Reader reader = new Reader(data, count);
+            Writer writer = new Writer();
+            while (reader.next()) {
+                if (writer.count++ == 0) {
+                    writer.firstTimestamp = reader.timestamp();
+                }
+            }
+            writer.buffer = Arrays.copyOf(data, Math.max(data.length * 2, 64));
+            // The encoder leaves the unused bits of the last byte clear, so appending can OR into it
+            writer.bitLength = reader.position;
+            writer.lastTimestamp = reader.timestamp;
+            writer.lastDelta = reader.delta;
+            writer.lastValue = reader.value;
+            return writer;
+        }
+
+        /**
+         * Adds a point no earlier than the last one. Returns false, writing nothing, when the
+         * change in the gap to the previous point is too large to encode; the point then has to
+         * start a new chunk.
+         */
+        boolean append(long timestamp, long cents) {
+            if (count == 0) {
+                writeBits(timestamp, 64);
+                writeBits(cents, 64);
+                firstTimestamp = timestamp;
+                lastTimestamp = timestamp;
+                lastValue = cents;
+                count = 1;
+                return true;
+            }
+            long delta = timestamp - lastTimestamp;
+            long deltaOfDelta = zigzag(delta - lastDelta);
+            if (delta < 0 || deltaOfDelta >>> 32 != 0) {
+                return false;
+            }
+            if (deltaOfDelta == 0) {
+                writeBits(0, 1);
+            } else if (deltaOfDelta < 1 << 7) {
+                writeBits(0b10, 2);
+                writeBits(deltaOfDelta, 7);
+            } else if (deltaOfDelta < 1 << 9) {
+                writeBits(0b110, 3);
+                writeBits(deltaOfDelta, 9);
+            } else if (deltaOfDelta < 1 << 12) {
+                writeBits(0b1110, 4);
+                writeBits(deltaOfDelta, 12);
+            } else {
+                writeBits(0b1111, 4);
+                writeBits(deltaOfDelta, 32);
+            }
+            // Wraps for differences beyond a long, and unwraps the same way when decoded
+            long change = zigzag(cents - lastValue);
+            if (change == 0) {
+                writeBits(0, 1);
+            } else {
+                int length = 64 - Long.numberOfLeadingZeros(change);
+                writeBits(1, 1);
+                writeBits(length - 1, 6);
+                writeBits(change, length);
+            }
+            lastTimestamp = timestamp;
+            lastDelta = delta;
+            lastValue = cents;
+            count++;
+            return true;
+        }
+
+        int count() {
+            return count;
+        }
+
+        long firstTimestamp() {
+            return firstTimestamp;
+        }
+
+        long lastTimestamp() {
+            return lastTimestamp;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, (bitLength + 7) >>> 3);
+        }
+
+        private void writeBits(long value, int bits) {
+            int needed = (bitLength + bits + 7) >>> 3;
+            if (needed > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, needed));
+            }
+            while (bits > 0) {
+                int bitInByte = bitLength & 7;
+                int take = Math.min(8 - bitInByte, bits);
+                int chunk = (int) (value >>> (bits - take)) & ((1 << take) - 1);
+                buffer[bitLength >>> 3] |= (byte) (chunk << (8 - bitInByte - take));
+                bitLength += take;
+                bits -= take;
+            }
+        }
+    }
+
+    /** Decodes a chunk's points, oldest first. */
+    static final class Reader {
+
+        private final byte[] data;
+        private final int count;
+        private int read;
+        private int position;
+        private long timestamp;
+        private long delta;
+        private long value;
+
+        Reader(byte[] data, int count) {
+            this.data = data;
+            this.count = count;
+        }
+
+        /** Moves to the next point; false once every point has been read. */
+        boolean next() {
+            if (read == count) {
+                return false;
+            }
+            if (read++ == 0) {
+                timestamp = readBits(64);
+                value = readBits(64);
+                return true;
+            }
+            int ones = 0;
+            while (ones < 4 && readBit() == 1) {
+                ones++;
+            }
+            switch (ones) {
+                case 0 -> { }
+                case 1 -> delta += unzigzag(readBits(7));
+                case 2 -> delta += unzigzag(readBits(9));
+                case 3 -> delta += unzigzag(readBits(12));
+                default -> delta += unzigzag(readBits(32));
+            }
+            timestamp += delta;
+            if (readBit() == 1) {
+                int length = (int) readBits(6) + 1;
+                value += unzigzag(readBits(length));
+            }
+            return true;
+        }
+
+        /** Epoch seconds of the current point. */
+        long timestamp() {
+            return timestamp;
+        }
+
+        long cents() {
+            return value;
+        }
+
+        private int readBit() {
+            int bit = (data[position >>> 3] >>> (7 - (position & 7))) & 1;
+            position++;
+            return bit;
+        }
+
+        private long readBits(int bits) {
+            long result = 0;
+            while (bits > 0) {
+                int bitInByte = position & 7;
+                int take = Math.min(8 - bitInByte, bits);
+                int chunk = ((data[position >>> 3] & 0xFF) >>> (8 - bitInByte - take)) & ((1 << take) - 1);
+                result = (result << take) | chunk;
+                position += take;
+                bits -= take;
+            }
+            return result;
+        }
+    }
+}
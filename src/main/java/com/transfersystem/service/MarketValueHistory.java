@@ -0,0 +1,259 @@
+package com.transfersystem.service;
+
+import com.transfersystem.dto.MarketValueBucket;
+import com.transfersystem.dto.MarketValuePoint;
+import com.transfersystem.exception.ResourceNotFoundException;
+import com.transfersystem.model.MarketValueChunk;
+import com.transfersystem.repository.MarketValueChunkRepository;
+import com.transfersystem.repository.PlayerRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Every market value a player has had, kept as a time series rather than only the current value
+ * on Player. PlayerService and BulkImportService record a point whenever they change a value, and
+ * older history can be appended through POST /api/v1/players/{id}/market-values.
+ *
+ * <p>Points are stored in fixed-capacity chunks (MarketValueChunk), compressed with
+ * MarketValueChunkCodec. A range query decodes only the chunks overlapping the range, found from
+ * their first and last timestamps, and an as-of query decodes a single chunk. A new point rewrites
+ * the player's latest chunk, which is why chunks are kept small.
+ *
+ * <p>Writers lock the players' rows before reading their latest chunks, so concurrent appends to one
+ * player take turns instead of both extending, or both starting, what each saw as the latest chunk.
+ */
+@Service
+public class MarketValueHistory {
+
+    // A full chunk of this many points always fits MarketValueChunk.MAX_DATA_LENGTH
+    static final int MAX_CHUNK_POINTS = 512;
+
+    private final MarketValueChunkRepository chunkRepository;
+    private final PlayerRepository playerRepository;
+    private final int chunkPoints;
+    private final int maxPoints;
+
+    public MarketValueHistory(MarketValueChunkRepository chunkRepository, PlayerRepository playerRepository,
+                              @Value("${market-values.chunk-points:256}") int chunkPoints,
+                              @Value("${market-values.max-points:10000}") int maxPoints) {
+        if (chunkPoints < 2 || chunkPoints > MAX_CHUNK_POINTS) {
+            throw new IllegalArgumentException("market-values.chunk-points must be between 2 and "
+                    + MAX_CHUNK_POINTS + ". Configured: " + chunkPoints);
+        }
+        this.chunkRepository = chunkRepository;
+        this.playerRepository = playerRepository;
+        this.chunkPoints = chunkPoints;
+        this.maxPoints = maxPoints;
+    }
+
+    /**
+     * Records each player's new value at {@code at}, in the caller's transaction. A player whose
+     * last point is later than {@code at} gets the point at that time instead, so a clock step
+     * never reorders the history.
+     */
+    @Transactional
+    public void record(Map<Long, BigDecimal> values, Instant at) {
+        if (values.isEmpty()) {
+            return;
+        }
+        playerRepository.lockByIds(values.keySet());
+        Map<Long, MarketValueChunk> latest = latestChunks(values.keySet());
+        List<MarketValueChunk> written = new ArrayList<>();
+        values.forEach((playerId, value) -> {
+            MarketValueChunk chunk = latest.get(playerId);
+            long timestamp = chunk == null ? at.getEpochSecond() : Math.max(at.getEpochSecond(), chunk.getLastTimestamp());
+            written.addAll(append(playerId, chunk, List.of(new MarketValuePoint(Instant.ofEpochSecond(timestamp), value))));
+        });
+        chunkRepository.saveAll(written);
+    }
+
+    /**
+     * Appends points to the player's history, oldest first. None may be earlier than the last
+     * point already recorded.
+     */
+    @Transactional
+    public void append(Long playerId, List<MarketValuePoint> points) {
+        if (playerRepository.lockByIds(List.of(playerId)).isEmpty()) {
+            throw new ResourceNotFoundException("Player not found with id: " + playerId);
+        }
+        if (points.isEmpty()) {
+            return;
+        }
+        MarketValueChunk latest = latestChunks(List.of(playerId)).get(playerId);
+        long previous = latest == null ? Long.MIN_VALUE : latest.getLastTimestamp();
+        for (MarketValuePoint point : points) {
+            if (point.getTimestamp() == null || point.getValue() == null) {
+                throw new IllegalArgumentException("Market value points need a timestamp and a value.");
+            }
+            if (point.getTimestamp().getEpochSecond() < previous) {
+                throw new IllegalArgumentException("Market value points must be in time order and not before the "
+                        + "last recorded point; " + point.getTimestamp() + " is out of order.");
+            }
+            previous = point.getTimestamp().getEpochSecond();
+        }
+        chunkRepository.saveAll(append(playerId, latest, points));
+    }
+
+    /** The player's points from {@code from} to {@code to}, both included, oldest first. */
+    @Transactional(readOnly = true)
+    public List<MarketValuePoint> range(Long playerId, Instant from, Instant to) {
+        return pointsBetween(chunkRepository.findOverlapping(playerId, from.getEpochSecond(), to.getEpochSecond()),
+                from.getEpochSecond(), to.getEpochSecond(), maxPoints);
+    }
+
+    /**
+     * The lowest, highest and last value in each {@code width}-long bucket from {@code from} to
+     * {@code to}, oldest first; the first and last bucket may reach outside the range.
+     */
+    @Transactional(readOnly = true)
+    public List<MarketValueBucket> downsample(Long playerId, Instant from, Instant to, Duration width) {
+        if (width.getSeconds() < 1) {
+            throw new IllegalArgumentException("Bucket width must be at least one second. Requested: " + width);
+        }
+        return buckets(chunkRepository.findOverlapping(playerId, from.getEpochSecond(), to.getEpochSecond()),
+                from.getEpochSecond(), to.getEpochSecond(), width.getSeconds(), maxPoints);
+    }
+
+    /** The player's value at {@code at}: the last point recorded no later than it. */
+    @Transactional(readOnly = true)
+    public Optional<MarketValuePoint> asOf(Long playerId, Instant at) {
+        return chunkRepository.findFirstByPlayerIdAndFirstTimestampLessThanEqualOrderByFirstTimestampDescIdDesc(
+                        playerId, at.getEpochSecond())
+                .map(chunk -> lastAtOrBefore(chunk, at.getEpochSecond()));
+    }
+
+    /** Removes the player's history, in the caller's transaction. */
+    @Transactional
+    public void deleteHistory(Long playerId) {
+        chunkRepository.deleteByPlayerId(playerId);
+    }
+
+    // Chunks tie only if they all hold one timestamp. Either is then a valid place for the next
+    // point, and the one with fewer points is the likelier to have room.
+    private Map<Long, MarketValueChunk> latestChunks(Collection<Long> playerIds) {
+        return chunkRepository.findLatestByPlayerIds(playerIds).stream()
+                .collect(Collectors.toMap(MarketValueChunk::getPlayerId, Function.identity(),
+                        (a, b) -> a.getPointCount() <= b.getPointCount() ? a : b));
+    }
+
+    // Adds the points to the open chunk, starting new chunks as each fills; returns every chunk written
+    private List<MarketValueChunk> append(Long playerId, MarketValueChunk latest, List<MarketValuePoint> points) {
+        List<MarketValueChunk> written = new ArrayList<>();
+        MarketValueChunk chunk = latest;
+        MarketValueChunkCodec.Writer writer = latest != null && latest.getPointCount() < chunkPoints
+                ? MarketValueChunkCodec.Writer.resume(latest.getData(), latest.getPointCount())
+                : null;
+        for (MarketValuePoint point : points) {
+            long timestamp = point.getTimestamp().getEpochSecond();
+            long cents = MarketValueChunkCodec.toCents(point.getValue());
+            if (writer == null || writer.count() == chunkPoints || !writer.append(timestamp, cents)) {
+                if (writer != null) {
+                    written.add(store(chunk, writer));
+                }
+                chunk = new MarketValueChunk(playerId);
+                writer = new MarketValueChunkCodec.Writer();
+                writer.append(timestamp, cents);
+            }
+        }
+        written.add(store(chunk, writer));
+        return written;
+    }
+
+    private static MarketValueChunk store(MarketValueChunk chunk, MarketValueChunkCodec.Writer writer) {
+        chunk.setPoints(writer.toByteArray(), writer.count(), writer.firstTimestamp(), writer.lastTimestamp());
+        return chunk;
+    }
+
+    // The query logic below works on chunks already loaded, so MarketValueHistoryBenchmark can time it alone
+
+    static List<MarketValuePoint> pointsBetween(List<MarketValueChunk> chunks, long from, long to, int maxPoints) {
+        List<MarketValuePoint> points = new ArrayList<>();
+        for (MarketValueChunk chunk : chunks) {
+            MarketValueChunkCodec.Reader reader = new MarketValueChunkCodec.Reader(chunk.getData(), chunk.getPointCount());
+            while (reader.next() && reader.timestamp() <= to) {
+                if (reader.timestamp() >= from) {
+                    if (points.size() == maxPoints) {
+                        throw new IllegalArgumentException("More than " + maxPoints + " market values in range; "
+                                + "narrow it or downsample it into buckets.");
+                    }
+                    points.add(point(reader.timestamp(), reader.cents()));
+                }
+            }
+        }
+        return points;
+    }
+
+    static List<MarketValueBucket> buckets(List<MarketValueChunk> chunks, long from, long to, long width, int maxBuckets) {
+        List<MarketValueBucket> buckets = new ArrayList<>();
+        long start = 0;
+        long min = 0;
+        long max = 0;
+        long last = 0;
+        boolean open = false;
+        for (MarketValueChunk chunk : chunks) {
+            MarketValueChunkCodec.Reader reader = new MarketValueChunkCodec.Reader(chunk.getData(), chunk.getPointCount());
+            while (reader.next() && reader.timestamp() <= to) {
+                if (reader.timestamp() < from) {
+                    continue;
+                }
+                long bucketStart = Math.floorDiv(reader.timestamp(), width) * width;
+                long cents = reader.cents();
+                if (open && bucketStart == start) {
+                    min = Math.min(min, cents);
+                    max = Math.max(max, cents);
+                } else {
+                    if (open) {
+                        buckets.add(bucket(start, min, max, last));
+                    }
+                    if (buckets.size() == maxBuckets) {
+                        throw new IllegalArgumentException("More than " + maxBuckets + " buckets in range; "
+                                + "narrow it or widen the buckets.");
+                    }
+                    start = bucketStart;
+                    min = cents;
+                    max = cents;
+                    open = true;
+                }
+                last = cents;
+            }
+        }
+        if (open) {
+            buckets.add(bucket(start, min, max, last));
+        }
+        return buckets;
+    }
+
+    // The chunk starts no later than at, so it holds at least one such point
+    static MarketValuePoint lastAtOrBefore(MarketValueChunk chunk, long at) {
+        MarketValueChunkCodec.Reader reader = new MarketValueChunkCodec.Reader(chunk.getData(), chunk.getPointCount());
+        reader.next();
+        long timestamp = reader.timestamp();
+        long cents = reader.cents();
+        while (reader.next() && reader.timestamp() <= at) {
+            timestamp = reader.timestamp();
+            cents = reader.cents();
+        }
+        return point(timestamp, cents);
+    }
+
+    private static MarketValuePoint point(long timestamp, long cents) {
+        return new MarketValuePoint(Instant.ofEpochSecond(timestamp), MarketValueChunkCodec.fromCents(cents));
+    }
+
+    private static MarketValueBucket bucket(long start, long min, long max, long last) {
+        return new MarketValueBucket(Instant.ofEpochSecond(start), MarketValueChunkCodec.fromCents(min),
+                MarketValueChunkCodec.fromCents(max), MarketValueChunkCodec.fromCents(last));
+    }
+}
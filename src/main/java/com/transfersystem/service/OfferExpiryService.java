@@ -0,0 +1,143 @@
+package com.transfersystem.service;
+
+import com.transfersystem.dto.OfferDeadline;
+import com.transfersystem.model.Transfer;
+import com.transfersystem.model.TransferEventType;
+import com.transfersystem.repository.TransferRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.stream.Stream;
+
+/**
+ * Expires open offers (SUBMITTED, NEGOTIATION) whose offerExpiryDate has passed.
+ *
+ * <p>Deadlines live in an in-memory priority queue instead of being found by scanning the table:
+ * TransferWorkflowEngine adds one when an offer is submitted, and the queue is rebuilt from
+ * idx_transfer_status_offer_expiry on startup. The sweeper only pops entries that are due and
+ * expires them with one conditional UPDATE per batch. Entries are never removed when an offer
+ * is approved or canceled early; the UPDATE re-checks status and deadline and skips them. That
+ * also makes it safe for several instances to sweep the same table.
+ *
+ * <p>Each batch first locks the offers that are still due, so exactly those get an EXPIRED event
+ * in the same transaction as the UPDATE.
+ */
+@Service
+public class OfferExpiryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OfferExpiryService.class);
+
+    private final TransferRepository transferRepository;
+    private final TransferEventLog transferEventLog;
+    private final TransactionTemplate transactionTemplate;
+    private final PriorityBlockingQueue<OfferDeadline> deadlines = new PriorityBlockingQueue<>();
+    private final Duration defaultTtl;
+    private final int batchSize;
+    private final Counter expiredOffers;
+
+    public OfferExpiryService(TransferRepository transferRepository,
+                              TransferEventLog transferEventLog,
+                              PlatformTransactionManager transactionManager,
+                              MeterRegistry meterRegistry,
+                              @Value("${transfers.offer.default-ttl:14d}") Duration defaultTtl,
+                              @Value("${transfers.offer.sweep-batch-size:500}") int batchSize) {
+        this.transferRepository = transferRepository;
+        this.transferEventLog = transferEventLog;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.defaultTtl = defaultTtl;
+        this.batchSize = batchSize;
+        this.expiredOffers = Counter.builder("transfer.offers.expired")
+                .description("Offers moved to EXPIRED by the sweeper")
+                .register(meterRegistry);
+        Gauge.builder("transfer.offers.deadlines", deadlines, PriorityBlockingQueue::size)
+                .description("Entries in the offer deadline queue, including stale ones not yet popped")
+                .register(meterRegistry);
+    }
+
+    public LocalDateTime defaultExpiry(LocalDateTime submittedAt) {
+        return submittedAt.plus(defaultTtl);
+    }
+
+    public void schedule(UUID transferId, LocalDateTime offerExpiryDate) {
+        deadlines.add(new OfferDeadline(transferId, offerExpiryDate));
+    }
+
+    int pendingDeadlines() {
+        return deadlines.size();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        int before = deadlines.size();
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<OfferDeadline> open = transferRepository.streamOpenOfferDeadlines()) {
+                open.forEach(deadlines::add);
+            }
+        });
+        logger.info("Offer deadline queue rebuilt with {} open offers", deadlines.size() - before);
+    }
+
+    @Scheduled(fixedDelayString = "${transfers.offer.sweep-interval-ms:1000}")
+    public void sweep() {
+        sweep(LocalDateTime.now());
+    }
+
+    /** Expires everything due at {@code now}, batch by batch; returns the number of offers expired. */
+    int sweep(LocalDateTime now) {
+        int expired = 0;
+        List<OfferDeadline> batch = new ArrayList<>(batchSize);
+        while (true) {
+            batch.clear();
+            // Only this thread removes entries, so a due head stays due until it is polled
+            OfferDeadline head;
+            while (batch.size() < batchSize && (head = deadlines.peek()) != null && !head.getOfferExpiryDate().isAfter(now)) {
+                batch.add(deadlines.poll());
+            }
+            if (batch.isEmpty()) {
+                break;
+            }
+            List<UUID> ids = batch.stream().map(OfferDeadline::getTransferId).toList();
+            try {
+                int updated = transactionTemplate.execute(status -> expireBatch(ids, now));
+                expiredOffers.increment(updated);
+                expired += updated;
+            } catch (RuntimeException e) {
+                // Keep the deadlines so the next sweep retries them
+                deadlines.addAll(batch);
+                logger.error("Expiring {} offers failed; will retry on the next sweep: {}", batch.size(), e.getMessage(), e);
+                break;
+            }
+        }
+        if (expired > 0) {
+            logger.info("Expired {} offers", expired);
+        }
+        return expired;
+    }
+
+    private int expireBatch(List<UUID> ids, LocalDateTime now) {
+        List<Transfer> due = transferRepository.findExpirableForUpdate(ids, now);
+        if (due.isEmpty()) {
+            return 0;
+        }
+        int updated = transferRepository.expireOffers(due.stream().map(Transfer::getId).toList(), now);
+        // The rows are locked, so the UPDATE cannot have skipped any; the entities still hold the old status
+        due.forEach(transfer -> transferEventLog.record(transfer, TransferEventType.EXPIRED, transfer.getStatus()));
+        return updated;
+    }
+}
@@ -0,0 +1,105 @@
+package com.transfersystem.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Runs a read-modify-write unit of work in its own transaction and retries it when a @Version
+ * check fails at flush or commit. Backoff is exponential with full jitter so that colliding
+ * writers spread out instead of retrying in lockstep. Attempts, conflicts and exhausted retries
+ * are counted per operation (optimistic.lock.*) so the conflict rate can be monitored.
+ */
+@Component
+public class OptimisticRetryExecutor {
+
+    private static final Logger logger = LoggerFactory.getLogger(OptimisticRetryExecutor.class);
+
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final int maxAttempts;
+    private final long initialBackoffMillis;
+    private final long maxBackoffMillis;
+    // Registered once per operation instead of looked up in the registry on every attempt
+    private final Map<String, Counters> counters = new ConcurrentHashMap<>();
+
+    public OptimisticRetryExecutor(PlatformTransactionManager transactionManager,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${transfers.completion.retry.max-attempts:5}") int maxAttempts,
+                                   @Value("${transfers.completion.retry.initial-backoff-ms:10}") long initialBackoffMillis,
+                                   @Value("${transfers.completion.retry.max-backoff-ms:200}") long maxBackoffMillis) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("maxAttempts must be at least 1. Configured: " + maxAttempts);
+        }
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffMillis = initialBackoffMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+    }
+
+    public <T> T execute(String operation, Supplier<T> work) {
+        // Retrying inside an outer transaction is pointless: it is already marked rollback-only
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("OptimisticRetryExecutor must be called outside of a transaction.");
+        }
+        Counters operationCounters = counters.computeIfAbsent(operation, name -> new Counters(meterRegistry, name));
+        for (int attempt = 1; ; attempt++) {
+            operationCounters.attempts.increment();
+            try {
+                return transactionTemplate.execute(status -> work.get());
+            } catch (OptimisticLockingFailureException e) {
+                operationCounters.conflicts.increment();
+                if (attempt >= maxAttempts) {
+                    operationCounters.exhausted.increment();
+                    logger.warn("Optimistic lock conflict on {} not resolved after {} attempts", operation, attempt);
+                    throw e;
+                }
+                logger.debug("Optimistic lock conflict on {} (attempt {}), retrying", operation, attempt);
+                backOff(attempt, e);
+            }
+        }
+    }
+
+    private void backOff(int attempt, OptimisticLockingFailureException conflict) {
+        long ceiling = Math.min(maxBackoffMillis, initialBackoffMillis << Math.min(attempt - 1, 20));
+        long sleepMillis = ThreadLocalRandom.current().nextLong(ceiling + 1);
+        try {
+            Thread.sleep(sleepMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw conflict;
+        }
+    }
+
+    private static final class Counters {
+
+        private final Counter attempts;
+        private final Counter conflicts;
+        private final Counter exhausted;
+
+        Counters(MeterRegistry meterRegistry, String operation) {
+            this.attempts = counter(meterRegistry, "optimistic.lock.attempts", operation);
+            this.conflicts = counter(meterRegistry, "optimistic.lock.conflicts", operation);
+            this.exhausted = counter(meterRegistry, "optimistic.lock.exhausted", operation);
+        }
+
+        private static Counter counter(MeterRegistry meterRegistry, String name, String operation) {
+            return Counter.builder(name)
+                    .tag("operation", operation)
+                    .register(meterRegistry);
+        }
+    }
+}
@@ -0,0 +1,504 @@
+package com.transfersystem.service;
+
+import com.transfersystem.dto.PlayerDTO;
+import com.transfersystem.dto.PlayerSearchHit;
+import com.transfersystem.repository.PlayerRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+
+/**
+ * In-memory name index behind GET /api/v1/players/search.
+ *
+ * <p>Names are split into words and folded to lower-case ASCII ("Vinícius" and "Vinicius" are the
+ * same word). A sorted map from word to players answers prefix lookups with one range scan.
+ * Typos are tolerated by also scanning the words that share the query word's first letter for
+ * ones within one edit (two from eight letters on) of a prefix. Every query word must match. Exact
+ * words rank above prefixes and prefixes above typos, then shorter names first.
+ *
+ * <p>Candidates are drawn from the longest query word, one match tier at a time, and the other
+ * words are checked against each candidate's own words. Each word's players are kept in rank
+ * order, so a one-word search stops reading a word's players at the first one that cannot make
+ * the result. Later tiers are skipped once they cannot either.
+ *
+ * <p>The index is loaded once the application is ready. PlayerService and BulkImportService keep
+ * it in step afterwards, and their changes are applied when their transaction commits. Writes are
+ * serialized and replace the posting arrays they touch, so searches never take a lock. The initial
+ * load instead sorts each word's players once.
+ */
+@Service
+public class PlayerSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(PlayerSearchIndex.class);
+
+    // Match costs per query word, summed over the query; lower ranks first
+    private static final int EXACT = 0;
+    private static final int PREFIX = 1;
+    private static final int TYPO = 3;
+    // Query words shorter than this only match as prefixes, or nearly everything would match
+    private static final int MIN_TYPO_LENGTH = 4;
+    private static final int TWO_TYPOS_LENGTH = 8;
+    private static final IndexedPlayer[] NO_PLAYERS = new IndexedPlayer[0];
+    // Among equal match costs: shorter names first, then alphabetical
+    private static final Comparator<IndexedPlayer> RANK = Comparator.comparingInt((IndexedPlayer player) -> player.name().length())
+            .thenComparing(IndexedPlayer::name)
+            .thenComparingLong(IndexedPlayer::id);
+    private static final Comparator<Candidate> BEST_FIRST = Comparator.comparingInt(Candidate::cost)
+            .thenComparing(Candidate::player, RANK);
+
+    private final PlayerRepository playerRepository;
+    private final Timer searchTimer;
+    private final Object writeLock = new Object();
+    private final Map<Long, IndexedPlayer> players = new ConcurrentHashMap<>();
+    // Word -> players whose name contains it, in RANK order; arrays are never modified once published
+    private final ConcurrentSkipListMap<String, IndexedPlayer[]> postings = new ConcurrentSkipListMap<>();
+
+    public PlayerSearchIndex(PlayerRepository playerRepository, MeterRegistry meterRegistry) {
+        this.playerRepository = playerRepository;
+        this.searchTimer = Timer.builder("player.search")
+                .description("Player name searches answered from the in-memory index")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        long start = System.nanoTime();
+        List<PlayerDTO> loaded;
+        try (Stream<PlayerDTO> all = playerRepository.streamAllForExport()) {
+            loaded = all.toList();
+        }
+        synchronized (writeLock) {
+            // Each word's players are collected and sorted once, rather than inserted one by one
+            Map<String, List<IndexedPlayer>> added = new HashMap<>();
+            for (PlayerDTO loadedPlayer : loaded) {
+                if (players.containsKey(loadedPlayer.getId())) {
+                    // Already indexed, e.g. by a save that committed while streaming
+                    apply(loadedPlayer.getId(), loadedPlayer.getName(), loadedPlayer.getVersion());
+                    continue;
+                }
+                IndexedPlayer player = indexed(loadedPlayer.getId(), loadedPlayer.getName(), loadedPlayer.getVersion());
+                players.put(player.id(), player);
+                player.words().forEach(word -> added.computeIfAbsent(word, key -> new ArrayList<>()).add(player));
+            }
+            added.forEach((word, wordPlayers) -> {
+                IndexedPlayer[] posting = postings.getOrDefault(word, NO_PLAYERS);
+                IndexedPlayer[] merged = Arrays.copyOf(posting, posting.length + wordPlayers.size());
+                for (int i = 0; i < wordPlayers.size(); i++) {
+                    merged[posting.length + i] = wordPlayers.get(i);
+                }
+                Arrays.sort(merged, RANK);
+                postings.put(word, merged);
+            });
+        }
+        logger.info("Player search index loaded with {} players and {} words in {} ms",
+                players.size(), postings.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Indexes {@code name} for the player, once the current transaction commits. An update older
+     * than the {@code version} already indexed is ignored, so commits finishing out of order
+     * cannot bring back an old name.
+     */
+    public void put(Long id, String name, Long version) {
+        afterCommit(() -> apply(id, name, version));
+    }
+
+    /** Removes the player, once the current transaction commits. */
+    public void remove(Long id) {
+        afterCommit(() -> unindex(id));
+    }
+
+    /** Up to {@code limit} players matching every word of {@code query}, best match first. */
+    public List<PlayerSearchHit> search(String query, int limit) {
+        return searchTimer.record(() -> rank(query, limit));
+    }
+
+    int size() {
+        return players.size();
+    }
+
+    private List<PlayerSearchHit> rank(String query, int limit) {
+        List<String> words = words(query);
+        if (words.isEmpty()) {
+            return List.of();
+        }
+        // Candidates come from the longest word, usually the most selective, and are checked against the rest
+        String driver = words.stream().max(Comparator.comparingInt(String::length)).orElseThrow();
+        List<String> rest = new ArrayList<>(words);
+        rest.remove(driver);
+
+        PriorityQueue<Candidate> top = new PriorityQueue<>(limit + 1, BEST_FIRST.reversed());
+        collect(top, limit, postings.get(driver), EXACT, rest);
+        if (!isSettled(top, limit, PREFIX)) {
+            for (IndexedPlayer[] posting : postings.subMap(driver, false, driver + Character.MAX_VALUE, false).values()) {
+                collect(top, limit, posting, PREFIX, rest);
+            }
+        }
+        if (driver.length() >= MIN_TYPO_LENGTH && !isSettled(top, limit, TYPO)) {
+            int maxEdits = maxEdits(driver);
+            List<List<IndexedPlayer[]>> byEdits = typoPostings(driver, maxEdits);
+            for (int edits = 1; edits <= maxEdits && !isSettled(top, limit, TYPO + edits - 1); edits++) {
+                for (IndexedPlayer[] posting : byEdits.get(edits - 1)) {
+                    collect(top, limit, posting, TYPO + edits - 1, rest);
+                }
+            }
+        }
+
+        List<Candidate> ranked = new ArrayList<>(top);
+        ranked.sort(BEST_FIRST);
+        return ranked.stream()
+                .map(candidate -> new PlayerSearchHit(candidate.player().id(), candidate.player().name()))
+                .toList();
+    }
+
+    /**
+     * Players of the words that start with the same letter as {@code word} and are within
+     * {@code maxEdits} edits of being a prefix match, grouped by the number of edits (1 first).
+     *
+     * <p>Words are visited in sorted order with one row of the edit-distance table per letter of
+     * the word, so a word only computes the rows below the prefix it shares with the word before
+     * it. When every entry of a row exceeds {@code maxEdits}, no word continuing that prefix can
+     * match and the whole range is skipped with one seek.
+     */
+    private List<List<IndexedPlayer[]>> typoPostings(String word, int maxEdits) {
+        List<List<IndexedPlayer[]>> byEdits = new ArrayList<>();
+        for (int edits = 0; edits < maxEdits; edits++) {
+            byEdits.add(new ArrayList<>());
+        }
+        int m = word.length();
+        // Past this depth the last column only grows, so the best prefix has been seen
+        int maxDepth = m + maxEdits;
+        int[][] rows = new int[maxDepth + 1][m + 1];
+        // bestAt[j]: fewest edits from `word` to any prefix of the current key up to length j
+        int[] bestAt = new int[maxDepth + 1];
+        for (int i = 0; i <= m; i++) {
+            rows[0][i] = i;
+        }
+        bestAt[0] = m;
+
+        ConcurrentNavigableMap<String, IndexedPlayer[]> candidates = sameInitial(word);
+        String previous = "";
+        int validDepth = 0;
+        Map.Entry<String, IndexedPlayer[]> entry = candidates.firstEntry();
+        while (entry != null) {
+            String key = entry.getKey();
+            int depth = Math.min(key.length(), maxDepth);
+            int j = Math.min(commonPrefixLength(previous, key), validDepth) + 1;
+            boolean dead = false;
+            for (; j <= depth; j++) {
+                char c = key.charAt(j - 1);
+                int[] row = rows[j];
+                int[] above = rows[j - 1];
+                row[0] = j;
+                int rowMin = j;
+                for (int i = 1; i <= m; i++) {
+                    char w = word.charAt(i - 1);
+                    int edits = Math.min(Math.min(above[i] + 1, row[i - 1] + 1), above[i - 1] + (w == c ? 0 : 1));
+                    if (i > 1 && j > 1 && w == key.charAt(j - 2) && word.charAt(i - 2) == c) {
+                        edits = Math.min(edits, rows[j - 2][i - 2] + 1);
+                    }
+                    row[i] = edits;
+                    rowMin = Math.min(rowMin, edits);
+                }
+                bestAt[j] = Math.min(bestAt[j - 1], row[m]);
+                if (rowMin > maxEdits) {
+                    // Longer prefixes cannot get closer; either one already matched or none ever will
+                    dead = bestAt[j] > maxEdits;
+                    break;
+                }
+            }
+            previous = key;
+            validDepth = Math.min(j, depth);
+            if (dead) {
+                entry = candidates.higherEntry(key.substring(0, j) + Character.MAX_VALUE);
+                continue;
+            }
+            int edits = bestAt[validDepth];
+            if (edits >= 1 && edits <= maxEdits) {
+                byEdits.get(edits - 1).add(entry.getValue());
+            }
+            entry = candidates.higherEntry(key);
+        }
+        return byEdits;
+    }
+
+    private static int commonPrefixLength(String a, String b) {
+        int length = Math.min(a.length(), b.length());
+        int i = 0;
+        while (i < length && a.charAt(i) == b.charAt(i)) {
+            i++;
+        }
+        return i;
+    }
+
+    // Nothing costing `cost` or more can enter a full result any more
+    private static boolean isSettled(PriorityQueue<Candidate> top, int limit, int cost) {
+        return top.size() == limit && top.peek().cost() < cost;
+    }
+
+    // Offers the players of one posting, all matching the driver word at `cost`, to the heap of the best `limit`
+    private static void collect(PriorityQueue<Candidate> top, int limit, IndexedPlayer[] posting, int cost, List<String> rest) {
+        if (posting == null) {
+            return;
+        }
+        for (IndexedPlayer player : posting) {
+            if (top.size() == limit && BEST_FIRST.compare(new Candidate(player, cost), top.peek()) >= 0) {
+                // The rest of the words only add to the cost, and postings are in rank order,
+                // so neither this player nor any after it can make the cut
+                break;
+            }
+            Candidate candidate = new Candidate(player, cost);
+            if (!rest.isEmpty()) {
+                int restCost = restCost(player, rest);
+                if (restCost < 0) {
+                    continue;
+                }
+                candidate = new Candidate(player, cost + restCost);
+                if (top.size() == limit && BEST_FIRST.compare(candidate, top.peek()) >= 0) {
+                    continue;
+                }
+            }
+            if (top.stream().anyMatch(kept -> kept.player().id() == player.id())) {
+                // Also reached through another of its words
+                continue;
+            }
+            top.add(candidate);
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+    }
+
+    // Summed cost of matching every word in `rest` against the player's name, or -1 if one does not match
+    private static int restCost(IndexedPlayer player, List<String> rest) {
+        int total = 0;
+        for (String word : rest) {
+            int best = Integer.MAX_VALUE;
+            for (String candidate : player.words()) {
+                if (candidate.startsWith(word)) {
+                    best = Math.min(best, candidate.length() == word.length() ? EXACT : PREFIX);
+                } else if (word.length() >= MIN_TYPO_LENGTH && candidate.charAt(0) == word.charAt(0)) {
+                    int maxEdits = maxEdits(word);
+                    int edits = typoDistance(word, candidate, maxEdits);
+                    if (edits <= maxEdits) {
+                        best = Math.min(best, TYPO + edits - 1);
+                    }
+                }
+            }
+            if (best == Integer.MAX_VALUE) {
+                return -1;
+            }
+            total += best;
+        }
+        return total;
+    }
+
+    private static int maxEdits(String word) {
+        return word.length() >= TWO_TYPOS_LENGTH ? 2 : 1;
+    }
+
+    // Edits from `word` to a prefix of `candidate`; above maxEdits when it is too far or already a prefix match
+    private static int typoDistance(String word, String candidate, int maxEdits) {
+        if (candidate.length() + maxEdits < word.length() || candidate.startsWith(word)) {
+            return maxEdits + 1;
+        }
+        return prefixDistance(word, candidate, maxEdits);
+    }
+
+    private ConcurrentNavigableMap<String, IndexedPlayer[]> sameInitial(String word) {
+        char first = word.charAt(0);
+        return postings.subMap(String.valueOf(first), true, String.valueOf((char) (first + 1)), false);
+    }
+
+    /**
+     * Fewest insertions, deletions, substitutions or swaps of adjacent letters that turn
+     * {@code word} into some prefix of {@code candidate}, or {@code maxEdits + 1} when it takes
+     * more than {@code maxEdits}.
+     */
+    static int prefixDistance(String word, String candidate, int maxEdits) {
+        int m = word.length();
+        int n = Math.min(candidate.length(), m + maxEdits);
+        int[] beforePrevious = new int[n + 1];
+        int[] previous = new int[n + 1];
+        int[] current = new int[n + 1];
+        for (int j = 0; j <= n; j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= m; i++) {
+            char w = word.charAt(i - 1);
+            current[0] = i;
+            int rowMin = i;
+            for (int j = 1; j <= n; j++) {
+                char c = candidate.charAt(j - 1);
+                int edits = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + (w == c ? 0 : 1));
+                if (i > 1 && j > 1 && w == candidate.charAt(j - 2) && word.charAt(i - 2) == c) {
+                    edits = Math.min(edits, beforePrevious[j - 2] + 1);
+                }
+                current[j] = edits;
+                rowMin = Math.min(rowMin, edits);
+            }
+            if (rowMin > maxEdits) {
+                return maxEdits + 1;
+            }
+            int[] recycled = beforePrevious;
+            beforePrevious = previous;
+            previous = current;
+            current = recycled;
+        }
+        int best = maxEdits + 1;
+        for (int j = 0; j <= n; j++) {
+            best = Math.min(best, previous[j]);
+        }
+        return best;
+    }
+
+    /** Lower-case ASCII words of {@code text}: accents are dropped and other characters split words. */
+    static List<String> words(String text) {
+        if (text == null) {
+            return List.of();
+        }
+        String decomposed = Normalizer.normalize(text.toLowerCase(Locale.ROOT), Normalizer.Form.NFD);
+        Set<String> words = new LinkedHashSet<>();
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            String folded = fold(c);
+            if (folded != null) {
+                word.append(folded);
+            } else if (Character.isLetterOrDigit(c)) {
+                word.append(c);
+            } else if (c == '\'' || c == '’') {
+                // O'Shea is one word
+                continue;
+            } else if (word.length() > 0) {
+                words.add(word.toString());
+                word.setLength(0);
+            }
+        }
+        if (word.length() > 0) {
+            words.add(word.toString());
+        }
+        return new ArrayList<>(words);
+    }
+
+    // Letters that have no decomposition into a base letter and an accent
+    private static String fold(char c) {
+        return switch (c) {
+            case 'ø' -> "o";
+            case 'ł' -> "l";
+            case 'đ', 'ð' -> "d";
+            case 'ı' -> "i";
+            case 'ß' -> "ss";
+            case 'æ' -> "ae";
+            case 'œ' -> "oe";
+            case 'þ' -> "th";
+            default -> null;
+        };
+    }
+
+    private void apply(Long id, String name, Long version) {
+        long versionValue = version == null ? 0 : version;
+        synchronized (writeLock) {
+            IndexedPlayer existing = players.get(id);
+            if (existing != null && existing.version() > versionValue) {
+                return;
+            }
+            // The rank order of postings depends on the name, so a renamed player is re-inserted everywhere
+            if (existing != null) {
+                existing.words().forEach(word -> removeFrom(word, existing));
+            }
+            IndexedPlayer player = indexed(id, name, version);
+            player.words().forEach(word -> addTo(word, player));
+            players.put(id, player);
+        }
+    }
+
+    private static IndexedPlayer indexed(Long id, String name, Long version) {
+        return new IndexedPlayer(id, name, version == null ? 0 : version, words(name));
+    }
+
+    private void unindex(Long id) {
+        synchronized (writeLock) {
+            IndexedPlayer existing = players.remove(id);
+            if (existing != null) {
+                existing.words().forEach(word -> removeFrom(word, existing));
+            }
+        }
+    }
+
+    private void addTo(String word, IndexedPlayer player) {
+        IndexedPlayer[] posting = postings.getOrDefault(word, NO_PLAYERS);
+        int at = Arrays.binarySearch(posting, player, RANK);
+        if (at >= 0) {
+            return;
+        }
+        int insertAt = -at - 1;
+        IndexedPlayer[] updated = new IndexedPlayer[posting.length + 1];
+        System.arraycopy(posting, 0, updated, 0, insertAt);
+        updated[insertAt] = player;
+        System.arraycopy(posting, insertAt, updated, insertAt + 1, posting.length - insertAt);
+        postings.put(word, updated);
+    }
+
+    private void removeFrom(String word, IndexedPlayer player) {
+        IndexedPlayer[] posting = postings.get(word);
+        int at = posting == null ? -1 : Arrays.binarySearch(posting, player, RANK);
+        if (at < 0) {
+            return;
+        }
+        if (posting.length == 1) {
+            postings.remove(word);
+            return;
+        }
+        IndexedPlayer[] updated = new IndexedPlayer[posting.length - 1];
+        System.arraycopy(posting, 0, updated, 0, at);
+        System.arraycopy(posting, at + 1, updated, at, posting.length - at - 1);
+        postings.put(word, updated);
+    }
+
+    private static void afterCommit(Runnable change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                change.run();
+            }
+        });
+    }
+
+    private record IndexedPlayer(long id, String name, long version, List<String> words) {
+    }
+
+    private record Candidate(IndexedPlayer player, int cost) {
+    }
+}
@@ -1,31 +1,53 @@
 package com.transfersystem.service;
 
+import com.transfersystem.config.CacheConfig;
+import com.transfersystem.dto.PlayerCursor;
 import com.transfersystem.dto.PlayerDTO;
+import com.transfersystem.dto.PlayerSearchHit;
 import com.transfersystem.model.Club;
 import com.transfersystem.model.Player;
 import com.transfersystem.repository.ClubRepository;
 import com.transfersystem.repository.PlayerRepository;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
 public class PlayerService {
 
+    // Market values are NUMERIC(38, 2), so these lie beyond every stored value and stand in for an open range end
+    private static final BigDecimal LOWEST_VALUE = new BigDecimal("-1E36");
+    private static final BigDecimal HIGHEST_VALUE = new BigDecimal("1E36");
+
     private final PlayerRepository playerRepository;
     private final ClubRepository clubRepository; // Needed to fetch Club for Player
+    private final PlayerSearchIndex playerSearchIndex;
+    private final ClubFinancialAggregates clubFinancialAggregates;
+    private final MarketValueHistory marketValueHistory;
 
     @Autowired
-    public PlayerService(PlayerRepository playerRepository, ClubRepository clubRepository) {
+    public PlayerService(PlayerRepository playerRepository, ClubRepository clubRepository, PlayerSearchIndex playerSearchIndex,
+                         ClubFinancialAggregates clubFinancialAggregates, MarketValueHistory marketValueHistory) {
         this.playerRepository = playerRepository;
         this.clubRepository = clubRepository;
+        this.playerSearchIndex = playerSearchIndex;
+        this.clubFinancialAggregates = clubFinancialAggregates;
+        this.marketValueHistory = marketValueHistory;
     }
 
     @Transactional
+    @CachePut(cacheNames = CacheConfig.PLAYERS, key = "#result.id")
     public PlayerDTO createPlayer(PlayerDTO playerDTO) {
         Player player = new Player();
         player.setName(playerDTO.getName());
@@ -36,6 +58,11 @@ public class PlayerService {
             player.setCurrentClub(club);
         }
         Player savedPlayer = playerRepository.save(player);
+        if (savedPlayer.getCurrentMarketValue() != null) {
+            marketValueHistory.record(Map.of(savedPlayer.getId(), savedPlayer.getCurrentMarketValue()), Instant.now());
+        }
+        playerSearchIndex.put(savedPlayer.getId(), savedPlayer.getName(), savedPlayer.getVersion());
+        clubFinancialAggregates.playerSaved(savedPlayer);
         return convertToDTO(savedPlayer);
     }
 
@@ -46,17 +73,71 @@ public class PlayerService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Up to {@code limit} players with a market value in [{@code minValue}, {@code maxValue}],
+     * optionally only those of one club, ordered by value and then id and starting after
+     * {@code after} (or at the start of the range when it is null). Either bound may be null for
+     * an open end; players without a market value are never included.
+     */
+    @Transactional(readOnly = true)
+    public List<PlayerDTO> getPlayersByMarketValue(Long clubId, BigDecimal minValue, BigDecimal maxValue,
+                                                   boolean descending, PlayerCursor after, int limit) {
+        PageRequest page = PageRequest.of(0, limit);
+        if (descending) {
+            BigDecimal value = maxValue != null ? maxValue : HIGHEST_VALUE;
+            Long id = Long.MAX_VALUE;
+            // A cursor before the top of the range (the usual case) replaces it
+            if (after != null && after.getMarketValue().compareTo(value) <= 0) {
+                value = after.getMarketValue();
+                id = after.getId();
+            }
+            BigDecimal bound = minValue != null ? minValue : LOWEST_VALUE;
+            return clubId == null
+                    ? playerRepository.findValuePageDescending(value, id, bound, page)
+                    : playerRepository.findClubValuePageDescending(clubId, value, id, bound, page);
+        }
+        BigDecimal value = minValue != null ? minValue : LOWEST_VALUE;
+        Long id = Long.MIN_VALUE;
+        if (after != null && after.getMarketValue().compareTo(value) >= 0) {
+            value = after.getMarketValue();
+            id = after.getId();
+        }
+        BigDecimal bound = maxValue != null ? maxValue : HIGHEST_VALUE;
+        return clubId == null
+                ? playerRepository.findValuePageAscending(value, id, bound, page)
+                : playerRepository.findClubValuePageAscending(clubId, value, id, bound, page);
+    }
+
+    // Answered from the in-memory index; no transaction or query involved
+    public List<PlayerSearchHit> searchPlayers(String query, int limit) {
+        return playerSearchIndex.search(query, limit);
+    }
+
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.PLAYERS, key = "#id")
     public PlayerDTO getPlayerById(Long id) {
         Player player = playerRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Player not found with id: " + id));
         return convertToDTO(player);
     }
 
+    @Transactional(readOnly = true)
+    public Long getPlayerVersion(Long id) {
+        return playerRepository.findVersionById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Player not found with id: " + id));
+    }
+
+    @Transactional(readOnly = true)
+    public String getPlayersWatermark() {
+        return playerRepository.findWatermark();
+    }
+
     @Transactional
+    @CachePut(cacheNames = CacheConfig.PLAYERS, key = "#id")
     public PlayerDTO updatePlayer(Long id, PlayerDTO playerDTO) {
         Player player = playerRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Player not found with id: " + id));
+        BigDecimal previousValue = player.getCurrentMarketValue();
         player.setName(playerDTO.getName());
         player.setCurrentMarketValue(playerDTO.getCurrentMarketValue());
         if (playerDTO.getCurrentClubId() != null) {
@@ -67,10 +148,18 @@ public class PlayerService {
             player.setCurrentClub(null); // Allow unsetting the club
         }
         Player updatedPlayer = playerRepository.save(player);
+        // Flush so the returned (and cached) DTO carries the incremented version
+        playerRepository.flush();
+        if (isNewValue(previousValue, updatedPlayer.getCurrentMarketValue())) {
+            marketValueHistory.record(Map.of(updatedPlayer.getId(), updatedPlayer.getCurrentMarketValue()), Instant.now());
+        }
+        playerSearchIndex.put(updatedPlayer.getId(), updatedPlayer.getName(), updatedPlayer.getVersion());
+        clubFinancialAggregates.playerSaved(updatedPlayer);
         return convertToDTO(updatedPlayer);
     }
 
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.PLAYERS, key = "#id")
     public void deletePlayer(Long id) {
         if (!playerRepository.existsById(id)) {
             throw new EntityNotFoundException("Player not found with id: " + id);
@@ -78,14 +167,23 @@ public class PlayerService {
         // Consider implications: what if this player is in an active transfer?
         // For now, simple delete. Enhancements could prevent deletion if active transfers exist.
         playerRepository.deleteById(id);
+        marketValueHistory.deleteHistory(id);
+        playerSearchIndex.remove(id);
+        clubFinancialAggregates.playerDeleted(id);
+    }
+
+    // A value worth a point in the history: set, and different from the one recorded before (a rescale is no change)
+    static boolean isNewValue(BigDecimal previous, BigDecimal current) {
+        return current != null && (previous == null || previous.compareTo(current) != 0);
     }
 
-    private PlayerDTO convertToDTO(Player player) {
+    PlayerDTO convertToDTO(Player player) {
         return new PlayerDTO(
                 player.getId(),
                 player.getName(),
                 player.getCurrentMarketValue(),
-                player.getCurrentClub() != null ? player.getCurrentClub().getId() : null
+                player.getCurrentClub() != null ? player.getCurrentClub().getId() : null,
+                player.getVersion()
         );
     }
 
@@ -0,0 +1,168 @@
+package com.transfersystem.service;
+
+import com.transfersystem.dto.BatchItemResultDTO;
+import com.transfersystem.dto.BatchItemResultDTO.Outcome;
+import com.transfersystem.dto.BatchTransitionItem;
+import com.transfersystem.dto.BatchTransitionResultDTO;
+import com.transfersystem.model.Transfer;
+import com.transfersystem.model.TransferAction;
+import com.transfersystem.repository.TransferRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Applies status-only workflow actions to many transfers in one transaction. All targets are
+ * loaded with a single query, each transition goes through TransferWorkflowEngine, and the
+ * resulting UPDATEs are flushed together so Hibernate sends them as one JDBC batch.
+ *
+ * <p>In {@link Mode#BEST_EFFORT} the valid items are applied and the others reported. In
+ * {@link Mode#ALL_OR_NOTHING} a single rejected item rolls the whole batch back. Either way a
+ * concurrent update to one of the transfers fails the flush and nothing is applied.
+ */
+@Service
+public class TransferBatchService {
+
+    public enum Mode {
+        ALL_OR_NOTHING,
+        BEST_EFFORT;
+
+        // Accepts "all_or_nothing", "ALL-OR-NOTHING", "best-effort", ...
+        public static Mode parse(String mode) {
+            for (Mode candidate : values()) {
+                if (candidate.name().equalsIgnoreCase(mode.replace('-', '_'))) {
+                    return candidate;
+                }
+            }
+            throw new IllegalArgumentException("Unknown batch mode '" + mode + "'. Expected ALL_OR_NOTHING or BEST_EFFORT.");
+        }
+    }
+
+    private static final String ACTIONS = Arrays.stream(TransferAction.values())
+            .map(action -> action.name().toLowerCase())
+            .collect(Collectors.joining(", "));
+
+    private final TransferRepository transferRepository;
+    private final TransferWorkflowEngine transferWorkflowEngine;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxItems;
+
+    public TransferBatchService(TransferRepository transferRepository,
+                                TransferWorkflowEngine transferWorkflowEngine,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${transfers.batch.max-items:500}") int maxItems) {
+        this.transferRepository = transferRepository;
+        this.transferWorkflowEngine = transferWorkflowEngine;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxItems = maxItems;
+    }
+
+    public BatchTransitionResultDTO apply(List<BatchTransitionItem> items, Mode mode) {
+        checkSize(items);
+        BatchItemResultDTO[] results = new BatchItemResultDTO[items.size()];
+
+        // Reject malformed items before touching the database
+        Map<Integer, TransferAction> valid = new HashMap<>();
+        Set<UUID> seen = new HashSet<>();
+        for (int i = 0; i < items.size(); i++) {
+            BatchTransitionItem item = items.get(i);
+            if (item == null) {
+                results[i] = rejected(i, null, "Item must not be null");
+            } else if (item.getTransferId() == null) {
+                results[i] = rejected(i, item, "transferId is required");
+            } else if (TransferAction.of(item.getAction()) == null) {
+                results[i] = rejected(i, item, "Unknown action '" + item.getAction() + "'. Expected one of: " + ACTIONS);
+            } else if (!seen.add(item.getTransferId())) {
+                results[i] = rejected(i, item, "Transfer " + item.getTransferId() + " appears more than once in the batch");
+            } else {
+                valid.put(i, TransferAction.of(item.getAction()));
+            }
+        }
+
+        if (mode == Mode.ALL_OR_NOTHING && valid.size() < items.size()) {
+            valid.keySet().forEach(i -> results[i] = notApplied(i, items.get(i)));
+        } else if (!valid.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> applyValid(items, valid, mode, results, status));
+        }
+        return new BatchTransitionResultDTO(mode.name(), Arrays.asList(results));
+    }
+
+    private void applyValid(List<BatchTransitionItem> items, Map<Integer, TransferAction> valid, Mode mode,
+                            BatchItemResultDTO[] results, TransactionStatus status) {
+        // One SELECT ... WHERE id IN (...); player and clubs stay lazy because results only need status and version
+        List<UUID> ids = valid.keySet().stream().map(i -> items.get(i).getTransferId()).toList();
+        Map<UUID, Transfer> transfers = transferRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Transfer::getId, Function.identity()));
+
+        List<Integer> pending = new ArrayList<>(valid.size());
+        boolean anyRejected = false;
+        for (int i = 0; i < items.size(); i++) {
+            TransferAction action = valid.get(i);
+            if (action == null) {
+                continue;
+            }
+            BatchTransitionItem item = items.get(i);
+            Transfer transfer = transfers.get(item.getTransferId());
+            if (transfer == null) {
+                results[i] = rejected(i, item, "Transfer not found with ID: " + item.getTransferId());
+                anyRejected = true;
+                continue;
+            }
+            try {
+                transferWorkflowEngine.apply(action, transfer);
+                pending.add(i);
+            } catch (IllegalStateException | IllegalArgumentException e) {
+                results[i] = new BatchItemResultDTO(i, item.getTransferId(), item.getAction(), Outcome.REJECTED,
+                        transfer.getStatus(), transfer.getVersion(), e.getMessage());
+                anyRejected = true;
+            }
+        }
+
+        if (mode == Mode.ALL_OR_NOTHING && anyRejected) {
+            // Nothing has been flushed yet, so rolling back discards every in-memory transition
+            status.setRollbackOnly();
+            pending.forEach(i -> results[i] = notApplied(i, items.get(i)));
+            return;
+        }
+
+        // All pending UPDATEs go out here as one batch and bump the versions reported below
+        transferRepository.flush();
+        for (Integer i : pending) {
+            Transfer transfer = transfers.get(items.get(i).getTransferId());
+            results[i] = new BatchItemResultDTO(i, transfer.getId(), items.get(i).getAction(), Outcome.APPLIED,
+                    transfer.getStatus(), transfer.getVersion(), null);
+        }
+    }
+
+    private static BatchItemResultDTO rejected(int index, BatchTransitionItem item, String message) {
+        return new BatchItemResultDTO(index, item == null ? null : item.getTransferId(),
+                item == null ? null : item.getAction(), Outcome.REJECTED, null, null, message);
+    }
+
+    private static BatchItemResultDTO notApplied(int index, BatchTransitionItem item) {
+        return new BatchItemResultDTO(index, item.getTransferId(), item.getAction(), Outcome.NOT_APPLIED, null, null,
+                "Not applied because another item in the batch was rejected");
+    }
+
+    private void checkSize(List<?> items) {
+        if (items == null || items.isEmpty()) {
+            throw new IllegalArgumentException("Batch request must contain at least one item.");
+        }
+        if (items.size() > maxItems) {
+            throw new IllegalArgumentException("Batch request contains " + items.size() + " items; the maximum is " + maxItems + ".");
+        }
+    }
+}
@@ -0,0 +1,379 @@
+package com.transfersystem.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.transfersystem.dto.TransferEventView;
+import com.transfersystem.exception.QueueFullException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Pushes committed transfer status changes to Server-Sent Events subscribers.
+ *
+ * <p>Every TransferEvent is appended, once its transaction has committed, to one in-memory ring
+ * holding the last {@code transfers.stream.replay-buffer} changes, numbered in commit order.
+ * Subscribers get no copy of their own: each keeps a cursor into the ring, so memory does not grow
+ * with the number of subscribers. A fan-out thread wakes on new changes and hands every subscriber
+ * that is behind to a small pool of dispatch threads, which write its pending changes to its
+ * SseEmitter. The emitters are asynchronous requests, so a waiting subscriber holds a connection
+ * but no thread.
+ *
+ * <p>A subscriber more than {@code transfers.stream.max-lag} changes behind is a slow consumer and
+ * is disconnected. EventSource clients reconnect by themselves and send the id of the last change
+ * they received as {@code Last-Event-ID}; the stream resumes right after it while that change is
+ * still within the lag limit. Otherwise, for instance after a restart, the stream begins with a
+ * {@value #RESET_EVENT} event and the client should re-fetch whatever it shows.
+ */
+@Service
+public class TransferChangeStream implements SmartLifecycle {
+
+    public static final String CHANGE_EVENT = "transfer";
+    public static final String RESET_EVENT = "reset";
+
+    private static final Logger logger = LoggerFactory.getLogger(TransferChangeStream.class);
+
+    private final ObjectMapper objectMapper;
+    private final int maxLag;
+    private final int maxSubscribers;
+    private final int dispatchThreads;
+    private final Duration timeout;
+    private final long heartbeatNanos;
+    // Change ids are only meaningful within one run of the application
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicReferenceArray<Change> ring;
+    private final Object publishLock = new Object();
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Counter publishedChanges;
+    private final Counter droppedSubscribers;
+    // Sequence number of the newest change; 0 before the first one
+    private volatile long head;
+    private volatile Thread fanOut;
+    private volatile ExecutorService dispatchers;
+
+    public TransferChangeStream(ObjectMapper objectMapper,
+                                MeterRegistry meterRegistry,
+                                @Value("${transfers.stream.replay-buffer:10000}") int replayBuffer,
+                                @Value("${transfers.stream.max-lag:1000}") int maxLag,
+                                @Value("${transfers.stream.max-subscribers:10000}") int maxSubscribers,
+                                @Value("${transfers.stream.dispatch-threads:2}") int dispatchThreads,
+                                @Value("${transfers.stream.heartbeat:15s}") Duration heartbeat,
+                                @Value("${transfers.stream.timeout:30m}") Duration timeout) {
+        if (maxLag < 1 || maxLag > replayBuffer) {
+            throw new IllegalArgumentException("maxLag must be between 1 and replayBuffer (" + replayBuffer + "). Configured: " + maxLag);
+        }
+        if (dispatchThreads < 1) {
+            throw new IllegalArgumentException("dispatchThreads must be at least 1. Configured: " + dispatchThreads);
+        }
+        this.objectMapper = objectMapper;
+        this.maxLag = maxLag;
+        this.maxSubscribers = maxSubscribers;
+        this.dispatchThreads = dispatchThreads;
+        this.timeout = timeout;
+        this.heartbeatNanos = heartbeat.toNanos();
+        this.ring = new AtomicReferenceArray<>(replayBuffer);
+        Gauge.builder("transfer.stream.subscribers", subscribers, Set::size)
+                .description("Open GET /api/v1/transfers/stream connections")
+                .register(meterRegistry);
+        this.publishedChanges = Counter.builder("transfer.stream.changes")
+                .description("Committed transfer changes published to the stream")
+                .register(meterRegistry);
+        this.droppedSubscribers = Counter.builder("transfer.stream.dropped")
+                .description("Subscribers disconnected for falling more than max-lag changes behind")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Opens a stream of the changes committed from now on, or from just after {@code lastEventId}
+     * when that change can still be replayed. With a {@code transferId} only that transfer's
+     * changes are sent.
+     *
+     * @throws QueueFullException when {@code transfers.stream.max-subscribers} streams are open
+     */
+    public SseEmitter subscribe(String lastEventId, UUID transferId) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        subscribe(lastEventId, transferId, emitter);
+        return emitter;
+    }
+
+    // Takes the emitter from the caller so tests can capture what is sent
+    void subscribe(String lastEventId, UUID transferId, SseEmitter emitter) {
+        if (fanOut == null) {
+            throw new QueueFullException("The transfer stream is not running.");
+        }
+        if (subscribers.size() >= maxSubscribers) {
+            throw new QueueFullException("Too many transfer stream subscribers (" + maxSubscribers + "). Please retry later.");
+        }
+        Subscriber subscriber = new Subscriber(emitter, transferId);
+        long newest = head;
+        long resumeAfter = resumePoint(lastEventId, newest);
+        try {
+            // Sent before the subscriber is registered, so these always come first. They also
+            // commit the response, letting the client know it is connected before any change.
+            emitter.send(SseEmitter.event().comment("connected"));
+            if (resumeAfter < 0 && lastEventId != null) {
+                emitter.send(SseEmitter.event().name(RESET_EVENT).data("{}"));
+            }
+        } catch (IOException e) {
+            emitter.completeWithError(e);
+            return;
+        }
+        subscriber.cursor = resumeAfter < 0 ? newest : resumeAfter;
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onError(error -> remove(subscriber));
+        emitter.onTimeout(() -> {
+            // The client reconnects with its Last-Event-ID
+            remove(subscriber);
+            subscriber.finish();
+        });
+        subscribers.add(subscriber);
+        if (subscriber.cursor < newest) {
+            schedule(subscriber);
+        }
+    }
+
+    /** Appends a change once the transaction that recorded it has committed. */
+    @TransactionalEventListener
+    public void onCommitted(TransferEventView event) {
+        String data = toJson(event);
+        synchronized (publishLock) {
+            long seq = head + 1;
+            ring.set(slot(seq), new Change(seq, epoch + "-" + seq, event.getTransferId(), data));
+            head = seq;
+        }
+        publishedChanges.increment();
+        Thread current = fanOut;
+        if (current != null) {
+            LockSupport.unpark(current);
+        }
+    }
+
+    // Sequence number to resume after, or -1 when the stream has to start over
+    private long resumePoint(String lastEventId, long newest) {
+        if (lastEventId == null) {
+            return -1;
+        }
+        int dash = lastEventId.lastIndexOf('-');
+        if (dash < 0 || !lastEventId.substring(0, dash).equals(epoch)) {
+            return -1;
+        }
+        long seq;
+        try {
+            seq = Long.parseLong(lastEventId.substring(dash + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+        return seq >= 0 && seq <= newest && newest - seq <= maxLag ? seq : -1;
+    }
+
+    private String toJson(TransferEventView event) {
+        Map<String, Object> change = new LinkedHashMap<>();
+        change.put("transferId", event.getTransferId());
+        change.put("type", event.getType());
+        change.put("status", event.getType().getResultingStatus());
+        change.put("fromStatus", event.getFromStatus());
+        change.put("occurredAt", event.getOccurredAt());
+        try {
+            return objectMapper.writeValueAsString(change);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize a change of transfer " + event.getTransferId(), e);
+        }
+    }
+
+    private int slot(long seq) {
+        return (int) (seq % ring.length());
+    }
+
+    private void fanOut() {
+        long nextHeartbeat = System.nanoTime() + heartbeatNanos;
+        while (!Thread.currentThread().isInterrupted()) {
+            // Woken by each publish; changes committed meanwhile are handled in the same pass
+            LockSupport.parkNanos(Math.max(nextHeartbeat - System.nanoTime(), 0));
+            boolean heartbeat = System.nanoTime() - nextHeartbeat >= 0;
+            if (heartbeat) {
+                nextHeartbeat = System.nanoTime() + heartbeatNanos;
+            }
+            long newest = head;
+            for (Subscriber subscriber : subscribers) {
+                if (newest - subscriber.cursor > maxLag) {
+                    drop(subscriber);
+                } else if (subscriber.cursor < newest || heartbeat) {
+                    subscriber.heartbeatDue |= heartbeat;
+                    schedule(subscriber);
+                }
+            }
+        }
+    }
+
+    private void schedule(Subscriber subscriber) {
+        ExecutorService current = dispatchers;
+        if (current != null && subscriber.scheduled.compareAndSet(false, true)) {
+            try {
+                current.execute(() -> dispatch(subscriber));
+            } catch (RejectedExecutionException e) {
+                // Stopping
+                subscriber.scheduled.set(false);
+            }
+        }
+    }
+
+    // Runs on a dispatch thread; subscriber.scheduled keeps it to one thread per subscriber
+    private void dispatch(Subscriber subscriber) {
+        try {
+            if (!subscriber.closed) {
+                write(subscriber);
+            }
+        } catch (IOException | IllegalStateException e) {
+            // The client went away or the emitter already completed
+            remove(subscriber);
+        } finally {
+            subscriber.scheduled.set(false);
+        }
+        if (subscriber.closed) {
+            subscriber.finish();
+        } else if (subscriber.cursor < head) {
+            // Published after the last read of head
+            schedule(subscriber);
+        }
+    }
+
+    private void write(Subscriber subscriber) throws IOException {
+        long newest = head;
+        while (subscriber.cursor < newest && !subscriber.closed) {
+            long seq = subscriber.cursor + 1;
+            Change change = ring.get(slot(seq));
+            if (change == null || change.seq != seq) {
+                // Overwritten before this subscriber got to it
+                drop(subscriber);
+                return;
+            }
+            if (subscriber.transferId == null || subscriber.transferId.equals(change.transferId)) {
+                subscriber.emitter.send(SseEmitter.event().id(change.id).name(CHANGE_EVENT).data(change.data));
+                subscriber.heartbeatDue = false;
+            }
+            subscriber.cursor = seq;
+        }
+        if (subscriber.heartbeatDue) {
+            // Keeps proxies from closing an idle connection, and finds clients that are gone
+            subscriber.heartbeatDue = false;
+            subscriber.emitter.send(SseEmitter.event().comment(""));
+        }
+    }
+
+    // Completing waits for any write in progress, so it is left to a dispatch thread
+    private void drop(Subscriber subscriber) {
+        if (remove(subscriber)) {
+            droppedSubscribers.increment();
+            logger.info("Disconnected a transfer stream subscriber more than {} changes behind", maxLag);
+        }
+        schedule(subscriber);
+    }
+
+    private boolean remove(Subscriber subscriber) {
+        subscriber.closed = true;
+        return subscribers.remove(subscriber);
+    }
+
+    @Override
+    public void start() {
+        dispatchers = Executors.newFixedThreadPool(dispatchThreads, new DispatchThreadFactory());
+        Thread thread = new Thread(this::fanOut, "transfer-stream-fan-out");
+        thread.setDaemon(true);
+        thread.start();
+        fanOut = thread;
+        logger.info("Transfer change stream started with {} dispatch threads", dispatchThreads);
+    }
+
+    @Override
+    public void stop() {
+        Thread thread = fanOut;
+        ExecutorService current = dispatchers;
+        fanOut = null;
+        dispatchers = null;
+        if (thread == null) {
+            return;
+        }
+        thread.interrupt();
+        for (Subscriber subscriber : subscribers) {
+            remove(subscriber);
+            subscriber.finish();
+        }
+        current.shutdownNow();
+        try {
+            current.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return fanOut != null;
+    }
+
+    private record Change(long seq, String id, UUID transferId, String data) {
+    }
+
+    private static final class Subscriber {
+
+        final SseEmitter emitter;
+        final UUID transferId;
+        final AtomicBoolean scheduled = new AtomicBoolean();
+        final AtomicBoolean finished = new AtomicBoolean();
+        // Sequence number of the last change written; advanced by the one dispatch thread holding scheduled
+        volatile long cursor;
+        volatile boolean heartbeatDue;
+        volatile boolean closed;
+
+        Subscriber(SseEmitter emitter, UUID transferId) {
+            this.emitter = emitter;
+            this.transferId = transferId;
+        }
+
+        void finish() {
+            if (finished.compareAndSet(false, true)) {
+                try {
+                    emitter.complete();
+                } catch (RuntimeException e) {
+                    // Already completed by the container
+                }
+            }
+        }
+    }
+
+    private static final class DispatchThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable task) {
+            Thread thread = new Thread(task, "transfer-stream-dispatch-" + count.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,284 @@
+package com.transfersystem.service;
+
+import com.transfersystem.dto.CompletionStatusDTO;
+import com.transfersystem.dto.CompletionStatusDTO.State;
+import com.transfersystem.dto.TransferView;
+import com.transfersystem.exception.InsufficientBudgetException;
+import com.transfersystem.exception.QueueFullException;
+import com.transfersystem.exception.ResourceNotFoundException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Applies transfer completions in the background, one writer per club lane, so that completions
+ * hitting the same club run one after another instead of queueing on its budget lock.
+ *
+ * <p>Every club maps to one of a fixed number of lanes, each drained by its own thread in FIFO
+ * order. A transfer whose two clubs fall on different lanes is queued on both; it runs when the
+ * second of them reaches it, and the first lane waits until it has finished. Tickets are appended
+ * to all their lanes under one lock, so every lane sees them in the same global order. A ticket
+ * therefore only ever waits for older tickets: there is no cycle, so no deadlock, and completions
+ * touching a club are applied in exactly the order they were accepted. Throughput grows with the
+ * number of distinct lanes in use.
+ *
+ * <p>Tickets live in memory only. Completions still queued when the application stops are
+ * dropped and their transfers stay APPROVED, so the client can submit them again. Finished
+ * tickets can be polled for {@code transfers.completion.async.retention}.
+ */
+@Service
+public class TransferCompletionQueue implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransferCompletionQueue.class);
+
+    private final int laneCount;
+    private final int maxQueued;
+    private final Duration retention;
+    private final Object enqueueLock = new Object();
+    private final Map<UUID, Ticket> tickets = new ConcurrentHashMap<>();
+    // Guarded by enqueueLock; finish order, so the oldest tickets are purged first
+    private final Queue<Ticket> finished = new ArrayDeque<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final Timer queueWait;
+    private final Counter completedCompletions;
+    private final Counter failedCompletions;
+    private volatile List<BlockingQueue<Ticket>> lanes;
+    private volatile Thread[] workers;
+
+    public TransferCompletionQueue(MeterRegistry meterRegistry,
+                                   @Value("${transfers.completion.async.lanes:8}") int laneCount,
+                                   @Value("${transfers.completion.async.max-queued:10000}") int maxQueued,
+                                   @Value("${transfers.completion.async.retention:1h}") Duration retention) {
+        if (laneCount < 1) {
+            throw new IllegalArgumentException("laneCount must be at least 1. Configured: " + laneCount);
+        }
+        this.laneCount = laneCount;
+        this.maxQueued = maxQueued;
+        this.retention = retention;
+        Gauge.builder("transfer.completion.queue.depth", queued, AtomicInteger::get)
+                .description("Asynchronous completions accepted but not finished yet")
+                .register(meterRegistry);
+        this.queueWait = Timer.builder("transfer.completion.queue.wait")
+                .description("Time an asynchronous completion waited for its club lanes")
+                .register(meterRegistry);
+        this.completedCompletions = completionCounter(meterRegistry, "completed");
+        this.failedCompletions = completionCounter(meterRegistry, "failed");
+    }
+
+    private static Counter completionCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("transfer.completion.async")
+                .description("Asynchronous completions by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queues {@code completion} on the lanes of both clubs. If the transfer already has a
+     * completion queued or running, that one is returned instead of queuing a second.
+     *
+     * @throws QueueFullException when {@code transfers.completion.async.max-queued} completions are pending
+     */
+    public CompletionStatusDTO enqueue(UUID transferId, Long fromClubId, Long toClubId, Supplier<TransferView> completion) {
+        List<BlockingQueue<Ticket>> currentLanes = lanes;
+        if (currentLanes == null) {
+            throw new QueueFullException("The completion queue is not running.");
+        }
+        synchronized (enqueueLock) {
+            purgeFinished();
+            Ticket existing = tickets.get(transferId);
+            if (existing != null && existing.finishedAt == null) {
+                return existing.snapshot();
+            }
+            if (queued.get() >= maxQueued) {
+                throw new QueueFullException("The completion queue is full (" + maxQueued + " pending). Please retry later.");
+            }
+            int fromLane = laneOf(fromClubId);
+            int toLane = laneOf(toClubId);
+            Ticket ticket = new Ticket(transferId, completion, fromLane == toLane ? 1 : 2);
+            tickets.put(transferId, ticket);
+            queued.incrementAndGet();
+            currentLanes.get(fromLane).add(ticket);
+            if (toLane != fromLane) {
+                currentLanes.get(toLane).add(ticket);
+            }
+            return ticket.snapshot();
+        }
+    }
+
+    public Optional<CompletionStatusDTO> status(UUID transferId) {
+        return Optional.ofNullable(tickets.get(transferId)).map(Ticket::snapshot);
+    }
+
+    int laneOf(Long clubId) {
+        return Math.floorMod(Long.hashCode(clubId), laneCount);
+    }
+
+    @Override
+    public void start() {
+        List<BlockingQueue<Ticket>> newLanes = new ArrayList<>(laneCount);
+        Thread[] newWorkers = new Thread[laneCount];
+        for (int i = 0; i < laneCount; i++) {
+            BlockingQueue<Ticket> lane = new LinkedBlockingQueue<>();
+            newLanes.add(lane);
+            newWorkers[i] = new Thread(() -> drain(lane), "completion-lane-" + i);
+            newWorkers[i].setDaemon(true);
+            newWorkers[i].start();
+        }
+        workers = newWorkers;
+        lanes = List.copyOf(newLanes);
+        logger.info("Asynchronous completion queue started with {} club lanes", laneCount);
+    }
+
+    @Override
+    public void stop() {
+        Thread[] current = workers;
+        lanes = null;
+        workers = null;
+        if (current == null) {
+            return;
+        }
+        for (Thread worker : current) {
+            worker.interrupt();
+        }
+        for (Thread worker : current) {
+            try {
+                worker.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        if (queued.get() > 0) {
+            logger.warn("Completion queue stopped with {} completions not applied", queued.get());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return workers != null;
+    }
+
+    private void drain(BlockingQueue<Ticket> lane) {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                Ticket ticket = lane.take();
+                if (ticket.arrivedLanes.incrementAndGet() < ticket.laneCount) {
+                    // The other club's lane will run it; hold this lane so nothing newer overtakes it here
+                    ticket.done.await();
+                } else {
+                    run(ticket);
+                }
+            }
+        } catch (InterruptedException e) {
+            // Stopping
+        }
+    }
+
+    private void run(Ticket ticket) {
+        ticket.startedAt = LocalDateTime.now();
+        ticket.state = State.RUNNING;
+        queueWait.record(System.nanoTime() - ticket.queuedNanos, TimeUnit.NANOSECONDS);
+        try {
+            ticket.result = ticket.completion.get();
+            ticket.finishedAt = LocalDateTime.now();
+            ticket.state = State.COMPLETED;
+            completedCompletions.increment();
+        } catch (RuntimeException e) {
+            ticket.errorStatus = errorStatus(e);
+            ticket.error = ticket.errorStatus == 500 ? "An unexpected error occurred. Please contact support." : e.getMessage();
+            ticket.finishedAt = LocalDateTime.now();
+            ticket.state = State.FAILED;
+            failedCompletions.increment();
+            if (ticket.errorStatus == 500) {
+                logger.error("Asynchronous completion of transfer {} failed: {}", ticket.transferId, e.getMessage(), e);
+            } else {
+                logger.info("Asynchronous completion of transfer {} rejected: {}", ticket.transferId, e.getMessage());
+            }
+        } finally {
+            queued.decrementAndGet();
+            synchronized (enqueueLock) {
+                finished.add(ticket);
+            }
+            ticket.done.countDown();
+        }
+    }
+
+    // Same mapping GlobalExceptionHandler applies to the synchronous endpoint
+    private static int errorStatus(RuntimeException e) {
+        if (e instanceof ResourceNotFoundException) {
+            return 404;
+        }
+        if (e instanceof InsufficientBudgetException) {
+            return 402;
+        }
+        if (e instanceof IllegalArgumentException) {
+            return 400;
+        }
+        if (e instanceof IllegalStateException || e instanceof OptimisticLockingFailureException) {
+            return 409;
+        }
+        return 500;
+    }
+
+    private void purgeFinished() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+        Ticket oldest;
+        while ((oldest = finished.peek()) != null && oldest.finishedAt.isBefore(cutoff)) {
+            finished.poll();
+            tickets.remove(oldest.transferId, oldest);
+        }
+    }
+
+    private static final class Ticket {
+
+        final UUID transferId;
+        final Supplier<TransferView> completion;
+        final int laneCount;
+        final AtomicInteger arrivedLanes = new AtomicInteger();
+        final CountDownLatch done = new CountDownLatch(1);
+        final long queuedNanos = System.nanoTime();
+        final LocalDateTime queuedAt = LocalDateTime.now();
+        // Written by the lane thread, state last, so a reader that sees a final state sees its details
+        volatile State state = State.QUEUED;
+        volatile LocalDateTime startedAt;
+        volatile LocalDateTime finishedAt;
+        volatile TransferView result;
+        volatile Integer errorStatus;
+        volatile String error;
+
+        Ticket(UUID transferId, Supplier<TransferView> completion, int laneCount) {
+            this.transferId = transferId;
+            this.completion = completion;
+            this.laneCount = laneCount;
+        }
+
+        CompletionStatusDTO snapshot() {
+            State current = state;
+            return new CompletionStatusDTO(transferId, current, queuedAt, startedAt, finishedAt, result, errorStatus, error);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.transfersystem.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.transfersystem.dto.TransferEventView;
+import com.transfersystem.model.Transfer;
+import com.transfersystem.model.TransferEvent;
+import com.transfersystem.model.TransferEventType;
+import com.transfersystem.model.TransferStatus;
+import com.transfersystem.repository.TransferEventRepository;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Appends a TransferEvent for every status transition. Events are persisted in the caller's
+ * transaction, next to the status change itself, so a transition and its event commit or roll
+ * back together; with a pooled sequence the insert joins the same JDBC flush.
+ *
+ * <p>The actor is the {@value #ACTOR_HEADER} request header when present, {@code api} for other
+ * requests and {@code system} for scheduled work, unless the caller set one with {@link #actingAs}.
+ *
+ * <p>Each recorded event is also published as a TransferEventView application event, for
+ * listeners such as TransferChangeStream that act once the transaction has committed.
+ */
+@Service
+public class TransferEventLog {
+
+    public static final String ACTOR_HEADER = "X-Actor";
+
+    private static final int MAX_ACTOR_LENGTH = 64;
+    private static final ObjectMapper PAYLOAD_MAPPER = new ObjectMapper();
+
+    private final TransferEventRepository transferEventRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ThreadLocal<String> actorOverride = new ThreadLocal<>();
+
+    public TransferEventLog(TransferEventRepository transferEventRepository, ApplicationEventPublisher eventPublisher) {
+        this.transferEventRepository = transferEventRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Records that {@code transfer} just moved from {@code fromStatus} (null for a new transfer)
+     * by {@code type}. The payload is taken from the transfer as it is now.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public TransferEvent record(Transfer transfer, TransferEventType type, TransferStatus fromStatus) {
+        // Callers record a transition before its UPDATE is flushed (or, for OfferExpiryService,
+        // after a bulk UPDATE the entity does not see), so the entity still holds the version it
+        // was read with and the transition brings it to the next one
+        long transferVersion = fromStatus == null ? 0 : transfer.getVersion() + 1;
+        TransferEvent event = transferEventRepository.save(new TransferEvent(transfer.getId(), transferVersion, type,
+                fromStatus, LocalDateTime.now(), currentActor(), payloadOf(transfer, type)));
+        eventPublisher.publishEvent(new TransferEventView(event.getId(), event.getTransferId(),
+                event.getTransferVersion(), event.getType(), event.getFromStatus(), event.getOccurredAt(),
+                event.getActor(), event.getPayload()));
+        return event;
+    }
+
+    @Transactional(readOnly = true)
+    public List<TransferEventView> history(UUID transferId) {
+        return transferEventRepository.findViewsByTransferId(transferId);
+    }
+
+    /** The actor events recorded by this thread are attributed to right now. */
+    public String currentActor() {
+        String override = actorOverride.get();
+        if (override != null) {
+            return override;
+        }
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes servletAttributes)) {
+            return "system";
+        }
+        HttpServletRequest request = servletAttributes.getRequest();
+        String header = request.getHeader(ACTOR_HEADER);
+        if (header == null || header.isBlank()) {
+            return "api";
+        }
+        String actor = header.strip();
+        return actor.length() > MAX_ACTOR_LENGTH ? actor.substring(0, MAX_ACTOR_LENGTH) : actor;
+    }
+
+    /**
+     * Runs {@code work} with its events attributed to {@code actor}; for work accepted on a request
+     * thread and carried out on another, such as asynchronous completions.
+     */
+    public <T> T actingAs(String actor, Supplier<T> work) {
+        String previous = actorOverride.get();
+        actorOverride.set(actor);
+        try {
+            return work.get();
+        } finally {
+            if (previous == null) {
+                actorOverride.remove();
+            } else {
+                actorOverride.set(previous);
+            }
+        }
+    }
+
+    // Only what the transition fixed, so replay can rebuild the transfer without reading the table
+    private static String payloadOf(Transfer transfer, TransferEventType type) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        switch (type) {
+            case CREATED -> {
+                // getId() on the lazy references set at initiation does not load them
+                payload.put("playerId", transfer.getPlayer() == null ? null : transfer.getPlayer().getId());
+                payload.put("fromClubId", transfer.getFromClub() == null ? null : transfer.getFromClub().getId());
+                payload.put("toClubId", transfer.getToClub() == null ? null : transfer.getToClub().getId());
+                payload.put("agreedFee", transfer.getAgreedFee());
+                putIfPresent(payload, "offerExpiryDate", transfer.getOfferExpiryDate());
+            }
+            case SUBMITTED -> putIfPresent(payload, "offerExpiryDate", transfer.getOfferExpiryDate());
+            case COMPLETED -> payload.put("agreedFee", transfer.getAgreedFee());
+            default -> {
+                return null;
+            }
+        }
+        try {
+            return PAYLOAD_MAPPER.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize the payload of a " + type + " event", e);
+        }
+    }
+
+    private static void putIfPresent(Map<String, Object> payload, String key, Object value) {
+        if (value != null) {
+            // ISO-8601 text; the plain mapper has no java.time support
+            payload.put(key, value.toString());
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package com.transfersystem.service;
+
+import com.transfersystem.dto.ReplayedTransfer;
+import com.transfersystem.dto.TransferEventView;
+import com.transfersystem.repository.TransferEventRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Rebuilds read models from the transfer event log.
+ *
+ * <p>The log is read in keyset chunks of {@code transfers.events.replay.chunk-size} events in
+ * (transfer id, transfer version) order, each an index range scan in its own short read-only
+ * transaction, so memory use does not grow with the log. The reading thread splits every chunk by transfer id across
+ * {@code transfers.events.replay.parallelism} partitions. Each partition is folded by its own thread
+ * from a bounded queue, so reading the next chunk overlaps with folding the last one, and a slow
+ * partition holds the reader back instead of buffering the log. A transfer always maps to the same
+ * partition and its events keep their transfer version order there.
+ *
+ * <p>Events committed while a replay runs are included only if their transfer has not been read
+ * yet, so rebuild from a quiet log when the result must be exact.
+ */
+@Service
+public class TransferEventReplayer {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransferEventReplayer.class);
+
+    // Chunks buffered per partition before the reader blocks
+    private static final int QUEUE_DEPTH = 4;
+    private static final List<TransferEventView> END = List.of();
+
+    private final TransferEventRepository transferEventRepository;
+    private final int chunkSize;
+    private final int parallelism;
+
+    public TransferEventReplayer(TransferEventRepository transferEventRepository,
+                                 @Value("${transfers.events.replay.chunk-size:10000}") int chunkSize,
+                                 @Value("${transfers.events.replay.parallelism:0}") int parallelism) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize must be at least 1. Configured: " + chunkSize);
+        }
+        this.transferEventRepository = transferEventRepository;
+        this.chunkSize = chunkSize;
+        // 0 means one partition per available processor
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+    }
+
+    /** Current status and agreed fee of every transfer that has events, by transfer id. */
+    public Map<UUID, ReplayedTransfer> replayState() {
+        return replay(new TransferStateProjection());
+    }
+
+    public <P> P replay(TransferProjection<P> projection) {
+        long start = System.nanoTime();
+        LogChunks chunks = new LogChunks();
+        P result = replay(chunks, projection, parallelism);
+        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        logger.info("Replayed {} transfer events on {} partitions in {} ms", chunks.events, parallelism, millis);
+        return result;
+    }
+
+    /**
+     * Folds {@code chunks} into {@code projection} on {@code parallelism} partitions. The chunks
+     * are consumed on the calling thread; package-private so the replay benchmark can feed it a log
+     * held in memory.
+     */
+    static <P> P replay(Iterator<List<TransferEventView>> chunks, TransferProjection<P> projection, int parallelism) {
+        if (parallelism == 1) {
+            P partition = projection.newPartition();
+            while (chunks.hasNext()) {
+                for (TransferEventView event : chunks.next()) {
+                    projection.apply(partition, event);
+                }
+            }
+            return partition;
+        }
+
+        List<Partition<P>> partitions = new ArrayList<>(parallelism);
+        AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        for (int i = 0; i < parallelism; i++) {
+            Partition<P> partition = new Partition<>(projection, failure);
+            partition.worker = new Thread(partition::fold, "event-replay-" + i);
+            partition.worker.setDaemon(true);
+            partition.worker.start();
+            partitions.add(partition);
+        }
+        try {
+            while (failure.get() == null && chunks.hasNext()) {
+                List<TransferEventView> chunk = chunks.next();
+                List<List<TransferEventView>> parts = new ArrayList<>(parallelism);
+                for (int i = 0; i < parallelism; i++) {
+                    parts.add(new ArrayList<>(chunk.size() / parallelism + 16));
+                }
+                for (TransferEventView event : chunk) {
+                    parts.get(Math.floorMod(event.getTransferId().hashCode(), parallelism)).add(event);
+                }
+                for (int i = 0; i < parallelism; i++) {
+                    if (!parts.get(i).isEmpty()) {
+                        partitions.get(i).queue.put(parts.get(i));
+                    }
+                }
+            }
+            for (Partition<P> partition : partitions) {
+                partition.queue.put(END);
+            }
+            for (Partition<P> partition : partitions) {
+                partition.worker.join();
+            }
+        } catch (InterruptedException e) {
+            partitions.forEach(partition -> partition.worker.interrupt());
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Replay interrupted", e);
+        } catch (RuntimeException e) {
+            // Reading the log failed; the workers are daemons blocked on their queues and are abandoned
+            partitions.forEach(partition -> partition.worker.interrupt());
+            throw e;
+        }
+        if (failure.get() != null) {
+            throw failure.get();
+        }
+
+        P result = partitions.get(0).result;
+        for (int i = 1; i < parallelism; i++) {
+            result = projection.merge(result, partitions.get(i).result);
+        }
+        return result;
+    }
+
+    private static final class Partition<P> {
+
+        final BlockingQueue<List<TransferEventView>> queue = new ArrayBlockingQueue<>(QUEUE_DEPTH);
+        final TransferProjection<P> projection;
+        final AtomicReference<RuntimeException> failure;
+        Thread worker;
+        // Written by the worker before it ends; read after join()
+        P result;
+
+        Partition(TransferProjection<P> projection, AtomicReference<RuntimeException> failure) {
+            this.projection = projection;
+            this.failure = failure;
+        }
+
+        void fold() {
+            P partition = projection.newPartition();
+            try {
+                List<TransferEventView> chunk;
+                while ((chunk = queue.take()) != END) {
+                    if (failure.get() != null) {
+                        // Another partition failed; keep draining so the reader is not blocked
+                        continue;
+                    }
+                    try {
+                        for (TransferEventView event : chunk) {
+                            projection.apply(partition, event);
+                        }
+                    } catch (RuntimeException e) {
+                        failure.compareAndSet(null, e);
+                    }
+                }
+                result = partition;
+            } catch (InterruptedException e) {
+                // Replay abandoned
+            }
+        }
+    }
+
+    // Keyset pagination over the log in (transfer id, transfer version) order
+    private final class LogChunks implements Iterator<List<TransferEventView>> {
+
+        private TransferEventView last;
+        private List<TransferEventView> next;
+        private boolean exhausted;
+        private long events;
+
+        @Override
+        public boolean hasNext() {
+            if (next == null && !exhausted) {
+                next = last == null
+                        ? transferEventRepository.findFirstChunk(PageRequest.of(0, chunkSize))
+                        : transferEventRepository.findChunkAfter(last.getTransferId(), last.getTransferVersion(),
+                                PageRequest.of(0, chunkSize));
+                if (next.isEmpty()) {
+                    exhausted = true;
+                    next = null;
+                } else {
+                    last = next.get(next.size() - 1);
+                    events += next.size();
+                }
+            }
+            return next != null;
+        }
+
+        @Override
+        public List<TransferEventView> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            List<TransferEventView> chunk = next;
+            next = null;
+            return chunk;
+        }
+    }
+}
@@ -1,38 +1,200 @@
 package com.transfersystem.service;
 
 import com.transfersystem.dto.ContractClauseDto;
+import com.transfersystem.model.ClauseType;
 import com.transfersystem.model.Club;
 import com.transfersystem.model.Player;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Computes the transfer fee: the player's market value plus one contribution per contract clause.
+ * Every contribution is rounded to cents (HALF_EVEN) on its own before being summed.
+ *
+ * <p>Quotes whose inputs fit in {@code long} minor units (cents, and ten-thousandths of a percent)
+ * are computed with integer arithmetic; anything else, including overflow, falls back to the
+ * BigDecimal path. Both paths return the same value at scale 2. Quotes are timed as
+ * {@code transfer.fee.calculation}, tagged with the path that produced them.
+ */
 @Service
 public class TransferFeeCalculator {
 
+    static final int MONEY_SCALE = 2;
+    static final int PERCENT_SCALE = 4;
+    static final RoundingMode ROUNDING = RoundingMode.HALF_EVEN;
+    // Products small enough for the long fast path are never rounded at this precision
+    static final MathContext FEE_CONTEXT = MathContext.DECIMAL128;
+
     private static final BigDecimal DEFAULT_BASE_FEE = new BigDecimal("1000000");
+    private static final long NOT_REPRESENTABLE = Long.MIN_VALUE;
+    // baseFee (cents) * percentage (1e-4 %) / 100 % -> cents
+    private static final long PERCENT_OF_CENTS_DIVISOR = 100L * 10_000L;
+    private static final long[] POWERS_OF_TEN = {1L, 10L, 100L, 1_000L, 10_000L};
+
+    private static final ClauseEvaluator FIXED_AMOUNT = new ClauseEvaluator() {
+        @Override
+        public BigDecimal evaluate(BigDecimal baseFee, ContractClauseDto clause) {
+            BigDecimal amount = clause.getAmount();
+            return amount == null ? null : amount.setScale(MONEY_SCALE, ROUNDING);
+        }
+
+        @Override
+        public long evaluateMinor(long baseFeeMinor, ContractClauseDto clause) {
+            BigDecimal amount = clause.getAmount();
+            return amount == null ? 0L : toMinorUnits(amount, MONEY_SCALE);
+        }
+    };
+
+    // Percentage of the base fee; a clause without a percentage still counts its amount
+    private static final ClauseEvaluator PERCENT_OF_BASE = new ClauseEvaluator() {
+        @Override
+        public BigDecimal evaluate(BigDecimal baseFee, ContractClauseDto clause) {
+            BigDecimal percentage = clause.getPercentage();
+            if (percentage == null) {
+                return FIXED_AMOUNT.evaluate(baseFee, clause);
+            }
+            return baseFee.multiply(percentage, FEE_CONTEXT).movePointLeft(2).setScale(MONEY_SCALE, ROUNDING);
+        }
+
+        @Override
+        public long evaluateMinor(long baseFeeMinor, ContractClauseDto clause) {
+            BigDecimal percentage = clause.getPercentage();
+            if (percentage == null) {
+                return FIXED_AMOUNT.evaluateMinor(baseFeeMinor, clause);
+            }
+            long percentageMinor = toMinorUnits(percentage, PERCENT_SCALE);
+            if (percentageMinor == NOT_REPRESENTABLE) {
+                return NOT_REPRESENTABLE;
+            }
+            return divideHalfEven(Math.multiplyExact(baseFeeMinor, percentageMinor), PERCENT_OF_CENTS_DIVISOR);
+        }
+    };
+
+    private static final Map<ClauseType, ClauseEvaluator> EVALUATORS = new EnumMap<>(ClauseType.class);
+
+    static {
+        for (ClauseType type : ClauseType.values()) {
+            EVALUATORS.put(type, FIXED_AMOUNT);
+        }
+        EVALUATORS.put(ClauseType.SELL_ON, PERCENT_OF_BASE);
+    }
+
+    private final Timer minorPathTimer;
+    private final Timer exactPathTimer;
+
+    public TransferFeeCalculator(MeterRegistry meterRegistry) {
+        this.minorPathTimer = pathTimer(meterRegistry, "minor");
+        this.exactPathTimer = pathTimer(meterRegistry, "exact");
+    }
+
+    private static Timer pathTimer(MeterRegistry meterRegistry, String path) {
+        return Timer.builder("transfer.fee.calculation")
+                .description("Transfer fee quotes; path=exact means the long fast path could not be used")
+                .tag("path", path)
+                .register(meterRegistry);
+    }
 
     public BigDecimal calculate(Player player, Club buyer, List<ContractClauseDto> clauses) {
-        BigDecimal totalFee = BigDecimal.ZERO;
+        return calculate(player.getCurrentMarketValue(), clauses);
+    }
 
-        BigDecimal baseFee = player.getCurrentMarketValue();
-        if (baseFee == null) {
-            baseFee = DEFAULT_BASE_FEE;
+    // Only the player's market value feeds the fee, so callers that already projected it
+    // (e.g. initiateTransfer) do not need to load the entities.
+    public BigDecimal calculate(BigDecimal marketValue, List<ContractClauseDto> clauses) {
+        long start = System.nanoTime();
+        BigDecimal baseFee = marketValue == null ? DEFAULT_BASE_FEE : marketValue;
+        try {
+            long totalMinor = calculateMinor(baseFee, clauses);
+            if (totalMinor != NOT_REPRESENTABLE) {
+                BigDecimal fee = BigDecimal.valueOf(totalMinor, MONEY_SCALE);
+                minorPathTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                return fee;
+            }
+        } catch (ArithmeticException overflow) {
+            // Fall through to the BigDecimal path
         }
-        totalFee = totalFee.add(baseFee); // Add base fee to total initially
+        BigDecimal fee = calculateExact(baseFee, clauses);
+        exactPathTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return fee;
+    }
 
-        if (clauses != null && !clauses.isEmpty()) {
-            for (ContractClauseDto clauseDto : clauses) {
-                if ("SELL_ON".equalsIgnoreCase(clauseDto.getType()) && clauseDto.getPercentage() != null) {
-                    BigDecimal sellOnFee = baseFee.multiply(clauseDto.getPercentage()).divide(new BigDecimal("100"));
-                    totalFee = totalFee.add(sellOnFee);
-                } else if (clauseDto.getAmount() != null) {
-                    totalFee = totalFee.add(clauseDto.getAmount());
+    BigDecimal calculateExact(BigDecimal baseFee, List<ContractClauseDto> clauses) {
+        BigDecimal totalFee = baseFee.setScale(MONEY_SCALE, ROUNDING);
+        if (clauses != null) {
+            for (ContractClauseDto clause : clauses) {
+                BigDecimal contribution = EVALUATORS.get(ClauseType.of(clause.getType())).evaluate(baseFee, clause);
+                if (contribution != null) {
+                    totalFee = totalFee.add(contribution);
                 }
             }
         }
-
         return totalFee;
     }
+
+    /**
+     * Total fee in cents, or NOT_REPRESENTABLE when an input has more decimals than the minor
+     * units carry. Throws ArithmeticException on long overflow.
+     */
+    long calculateMinor(BigDecimal baseFee, List<ContractClauseDto> clauses) {
+        long baseFeeMinor = toMinorUnits(baseFee, MONEY_SCALE);
+        if (baseFeeMinor == NOT_REPRESENTABLE) {
+            return NOT_REPRESENTABLE;
+        }
+        long totalMinor = baseFeeMinor;
+        if (clauses != null) {
+            for (ContractClauseDto clause : clauses) {
+                long contribution = EVALUATORS.get(ClauseType.of(clause.getType())).evaluateMinor(baseFeeMinor, clause);
+                if (contribution == NOT_REPRESENTABLE) {
+                    return NOT_REPRESENTABLE;
+                }
+                totalMinor = Math.addExact(totalMinor, contribution);
+            }
+        }
+        return totalMinor;
+    }
+
+    private static long toMinorUnits(BigDecimal value, int scale) {
+        int valueScale = value.scale();
+        if (valueScale > scale) {
+            // Rounding here would make the fast path disagree with the exact one
+            return NOT_REPRESENTABLE;
+        }
+        if (valueScale <= 0) {
+            // Integral values (the usual case for fees) convert without allocating
+            return Math.multiplyExact(value.longValueExact(), POWERS_OF_TEN[scale]);
+        }
+        long unscaled = value.movePointRight(valueScale).longValueExact();
+        return Math.multiplyExact(unscaled, POWERS_OF_TEN[scale - valueScale]);
+    }
+
+    private static long divideHalfEven(long dividend, long divisor) {
+        long quotient = dividend / divisor;
+        long remainder = dividend % divisor;
+        if (remainder == 0) {
+            return quotient;
+        }
+        long twiceRemainder = Math.abs(remainder) * 2;
+        if (twiceRemainder > divisor || (twiceRemainder == divisor && (quotient & 1) != 0)) {
+            quotient += Long.signum(dividend);
+        }
+        return quotient;
+    }
+
+    private interface ClauseEvaluator {
+
+        // Contribution rounded to MONEY_SCALE, or null when the clause adds nothing
+        BigDecimal evaluate(BigDecimal baseFee, ContractClauseDto clause);
+
+        // Contribution in cents, or NOT_REPRESENTABLE
+        long evaluateMinor(long baseFeeMinor, ContractClauseDto clause);
+    }
 }
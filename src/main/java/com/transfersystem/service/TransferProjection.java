@@ -0,0 +1,23 @@
+package com.transfersystem.service;
+
+import com.transfersystem.dto.TransferEventView;
+
+/**
+ * A read model rebuilt from the transfer event log by TransferEventReplayer.
+ *
+ * <p>The replayer splits transfers across partitions and folds each partition on its own thread:
+ * every event of a given transfer goes to the same partition, in transfer version order, so {@link #apply}
+ * can keep per-transfer state without synchronization. Partitions are combined with
+ * {@link #merge} once the log is exhausted.
+ *
+ * @param <P> the partial read model of one partition; also the final result
+ */
+public interface TransferProjection<P> {
+
+    P newPartition();
+
+    void apply(P partition, TransferEventView event);
+
+    /** Folds {@code other} into {@code into} and returns the result. */
+    P merge(P into, P other);
+}
@@ -0,0 +1,66 @@
+package com.transfersystem.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.transfersystem.dto.ReplayedTransfer;
+import com.transfersystem.dto.TransferEventView;
+import com.transfersystem.model.TransferEventType;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Rebuilds every transfer's current status and agreed fee from the event log. Partitions hold
+ * disjoint transfers, so merging them is a plain putAll.
+ */
+public class TransferStateProjection implements TransferProjection<Map<UUID, ReplayedTransfer>> {
+
+    private static final JsonFactory PAYLOAD_FACTORY = new JsonFactory();
+
+    @Override
+    public Map<UUID, ReplayedTransfer> newPartition() {
+        return new HashMap<>();
+    }
+
+    @Override
+    public void apply(Map<UUID, ReplayedTransfer> partition, TransferEventView event) {
+        ReplayedTransfer transfer = partition.computeIfAbsent(event.getTransferId(), ReplayedTransfer::new);
+        transfer.setStatus(event.getType().getResultingStatus());
+        transfer.setLastEventAt(event.getOccurredAt());
+        transfer.incrementEventCount();
+        // The fee is fixed at creation; no later event changes it, so only that payload is read
+        if (event.getType() == TransferEventType.CREATED && event.getPayload() != null) {
+            transfer.setAgreedFee(agreedFee(event));
+        }
+    }
+
+    @Override
+    public Map<UUID, ReplayedTransfer> merge(Map<UUID, ReplayedTransfer> into, Map<UUID, ReplayedTransfer> other) {
+        into.putAll(other);
+        return into;
+    }
+
+    // Streams the tokens instead of building a tree: this runs once per transfer in a full replay.
+    // The number is read from its text, so the fee keeps its scale.
+    private static BigDecimal agreedFee(TransferEventView event) {
+        try (JsonParser parser = PAYLOAD_FACTORY.createParser(event.getPayload())) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                JsonToken value = parser.nextToken();
+                if ("agreedFee".equals(parser.currentName())) {
+                    return value == JsonToken.VALUE_NULL ? null : parser.getDecimalValue();
+                }
+                parser.skipChildren();
+            }
+            return null;
+        } catch (IOException e) {
+            throw new IllegalStateException("Unreadable payload in transfer event " + event.getId(), e);
+        }
+    }
+}
@@ -1,28 +1,74 @@
 package com.transfersystem.service;
 
 import com.transfersystem.model.Transfer;
+import com.transfersystem.model.TransferAction;
+import com.transfersystem.model.TransferEventType;
 import com.transfersystem.model.TransferStatus;
 import com.transfersystem.repository.TransferRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
 @Service
 public class TransferWorkflowEngine {
 
-    // TODO: Implement offer expiry. This would typically involve:
-    // 1. Adding an 'offerExpiryDate' field to the Transfer entity.
-    // 2. A scheduled task (e.g., using Spring's @Scheduled) that periodically queries for Transfers
-    //    where 'status' is SUBMITTED or NEGOTIATION and 'offerExpiryDate' has passed.
-    // 3. For expired offers, the status could be automatically transitioned to a new 'EXPIRED' status
-    //    or back to 'DRAFT', potentially notifying relevant parties.
-    // This is a significant feature enhancement beyond simple TODO resolution.
+    static final String TRANSITION_TIMER = "transfer.workflow.transition";
 
     private final TransferRepository transferRepository;
+    private final OfferExpiryService offerExpiryService;
+    private final TransferEventLog transferEventLog;
+    private final TransitionTimers submitTimers;
+    private final TransitionTimers negotiateTimers;
+    private final TransitionTimers approveTimers;
+    private final TransitionTimers completeTimers;
+    private final TransitionTimers cancelTimers;
 
-    public TransferWorkflowEngine(TransferRepository transferRepository) {
+    public TransferWorkflowEngine(TransferRepository transferRepository, OfferExpiryService offerExpiryService,
+                                  TransferEventLog transferEventLog, MeterRegistry meterRegistry) {
         this.transferRepository = transferRepository;
+        this.offerExpiryService = offerExpiryService;
+        this.transferEventLog = transferEventLog;
+        this.submitTimers = new TransitionTimers(meterRegistry, "submit");
+        this.negotiateTimers = new TransitionTimers(meterRegistry, "negotiate");
+        this.approveTimers = new TransitionTimers(meterRegistry, "approve");
+        this.completeTimers = new TransitionTimers(meterRegistry, "complete");
+        this.cancelTimers = new TransitionTimers(meterRegistry, "cancel");
     }
 
     public Transfer submitTransfer(Transfer transfer) {
+        return submitTimers.record(() -> doSubmitTransfer(transfer));
+    }
+
+    public Transfer moveToNegotiation(Transfer transfer) {
+        return negotiateTimers.record(() -> doMoveToNegotiation(transfer));
+    }
+
+    public Transfer approveTransfer(Transfer transfer) {
+        return approveTimers.record(() -> doApproveTransfer(transfer));
+    }
+
+    public Transfer completeTransfer(Transfer transfer) {
+        return completeTimers.record(() -> doCompleteTransfer(transfer));
+    }
+
+    public Transfer cancelTransfer(Transfer transfer) {
+        return cancelTimers.record(() -> doCancelTransfer(transfer));
+    }
+
+    public Transfer apply(TransferAction action, Transfer transfer) {
+        return switch (action) {
+            case SUBMIT -> submitTransfer(transfer);
+            case NEGOTIATE -> moveToNegotiation(transfer);
+            case APPROVE -> approveTransfer(transfer);
+            case CANCEL -> cancelTransfer(transfer);
+        };
+    }
+
+    private Transfer doSubmitTransfer(Transfer transfer) {
         if (transfer == null) {
             throw new IllegalArgumentException("Transfer object cannot be null.");
         }
@@ -30,32 +76,40 @@ public class TransferWorkflowEngine {
             throw new IllegalStateException("Transfer must be in DRAFT status to be submitted. Current status: " + transfer.getStatus());
         }
         transfer.setStatus(TransferStatus.SUBMITTED);
-        return transferRepository.save(transfer);
+        if (transfer.getOfferExpiryDate() == null) {
+            transfer.setOfferExpiryDate(offerExpiryService.defaultExpiry(LocalDateTime.now()));
+        }
+        Transfer saved = save(transfer, TransferEventType.SUBMITTED, TransferStatus.DRAFT);
+        // A queue entry for a submit that later rolls back is harmless: the sweeper's UPDATE skips it
+        offerExpiryService.schedule(saved.getId(), saved.getOfferExpiryDate());
+        return saved;
     }
 
-    public Transfer moveToNegotiation(Transfer transfer) {
+    private Transfer doMoveToNegotiation(Transfer transfer) {
         if (transfer == null) {
             throw new IllegalArgumentException("Transfer object cannot be null.");
         }
         if (transfer.getStatus() != TransferStatus.SUBMITTED) {
             throw new IllegalStateException("Transfer must be in SUBMITTED status to move to negotiation. Current status: " + transfer.getStatus());
         }
+        checkOfferOpen(transfer);
         transfer.setStatus(TransferStatus.NEGOTIATION);
-        return transferRepository.save(transfer);
+        return save(transfer, TransferEventType.NEGOTIATION_STARTED, TransferStatus.SUBMITTED);
     }
 
-    public Transfer approveTransfer(Transfer transfer) {
+    private Transfer doApproveTransfer(Transfer transfer) {
         if (transfer == null) {
             throw new IllegalArgumentException("Transfer object cannot be null.");
         }
         if (transfer.getStatus() != TransferStatus.NEGOTIATION) {
             throw new IllegalStateException("Transfer must be in NEGOTIATION status to be approved. Current status: " + transfer.getStatus());
         }
+        checkOfferOpen(transfer);
         transfer.setStatus(TransferStatus.APPROVED);
-        return transferRepository.save(transfer);
+        return save(transfer, TransferEventType.APPROVED, TransferStatus.NEGOTIATION);
     }
 
-    public Transfer completeTransfer(Transfer transfer) {
+    private Transfer doCompleteTransfer(Transfer transfer) {
         if (transfer == null) {
             throw new IllegalArgumentException("Transfer object cannot be null.");
         }
@@ -63,24 +117,78 @@ public class TransferWorkflowEngine {
             throw new IllegalStateException("Transfer must be in APPROVED status to be completed. Current status: " + transfer.getStatus());
         }
         transfer.setStatus(TransferStatus.COMPLETED);
-        return transferRepository.save(transfer);
+        return save(transfer, TransferEventType.COMPLETED, TransferStatus.APPROVED);
     }
 
-    public Transfer cancelTransfer(Transfer transfer) {
+    private Transfer doCancelTransfer(Transfer transfer) {
         if (transfer == null) {
             throw new IllegalArgumentException("Transfer object cannot be null.");
         }
         // Allow cancellation from most non-final states.
         // Consider if CANCELED is a valid state to transition from (e.g. if already canceled).
-        if (transfer.getStatus() == TransferStatus.COMPLETED || transfer.getStatus() == TransferStatus.CANCELED) {
+        if (transfer.getStatus() == TransferStatus.COMPLETED || transfer.getStatus() == TransferStatus.CANCELED
+                || transfer.getStatus() == TransferStatus.EXPIRED) {
             throw new IllegalStateException("Transfer cannot be canceled if it's already " + transfer.getStatus());
         }
+        TransferStatus fromStatus = transfer.getStatus();
         transfer.setStatus(TransferStatus.CANCELED);
-        // TODO: If ContractClauses are persisted and linked to this transfer, ensure they are deleted upon cancellation.
-        // NOTE: As per current PRD (v1), ContractClauseDto is used for request/response and not directly persisted
-        // as a list of entities within the Transfer object. If this changes in future versions where ContractClauses
-        // become JPA entities linked to a Transfer, then logic to handle their lifecycle (e.g., deletion on
-        // transfer cancellation) would be needed here.
-        return transferRepository.save(transfer);
+        // Clauses are an element collection of the transfer, so they stay with the canceled record
+        return save(transfer, TransferEventType.CANCELED, fromStatus);
+    }
+
+    // The status change and its event are written in the caller's transaction, so they commit together
+    private Transfer save(Transfer transfer, TransferEventType type, TransferStatus fromStatus) {
+        Transfer saved = transferRepository.save(transfer);
+        transferEventLog.record(saved, type, fromStatus);
+        return saved;
+    }
+
+    // The sweeper may not have reached an offer yet, so a passed deadline is enforced here too
+    private static void checkOfferOpen(Transfer transfer) {
+        if (transfer.getOfferExpiryDate() != null && !transfer.getOfferExpiryDate().isAfter(LocalDateTime.now())) {
+            throw new IllegalStateException("Offer expired at " + transfer.getOfferExpiryDate());
+        }
+    }
+
+    /**
+     * One timer per outcome of a transition, tagged {@code action} and {@code outcome}. They are
+     * resolved once here so the hot path does not look meters up by name and tags.
+     * {@code rejected} means the transfer was not in a state that allows the action;
+     * {@code error} covers everything else, such as a failed save.
+     */
+    private static final class TransitionTimers {
+
+        private final Timer success;
+        private final Timer rejected;
+        private final Timer error;
+
+        TransitionTimers(MeterRegistry meterRegistry, String action) {
+            this.success = timer(meterRegistry, action, "success");
+            this.rejected = timer(meterRegistry, action, "rejected");
+            this.error = timer(meterRegistry, action, "error");
+        }
+
+        private static Timer timer(MeterRegistry meterRegistry, String action, String outcome) {
+            return Timer.builder(TRANSITION_TIMER)
+                    .description("Transfer workflow status transitions, including the save")
+                    .tag("action", action)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry);
+        }
+
+        Transfer record(Supplier<Transfer> transition) {
+            long start = System.nanoTime();
+            Timer outcome = error;
+            try {
+                Transfer result = transition.get();
+                outcome = success;
+                return result;
+            } catch (IllegalStateException | IllegalArgumentException e) {
+                outcome = rejected;
+                throw e;
+            } finally {
+                outcome.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
     }
 }
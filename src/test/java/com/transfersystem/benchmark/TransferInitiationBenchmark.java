@@ -0,0 +1,158 @@
+package com.transfersystem.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.transfersystem.dto.InitiateTransferRequest;
+import com.transfersystem.model.BudgetEntryType;
+import com.transfersystem.model.BudgetLedgerEntry;
+import com.transfersystem.model.Club;
+import com.transfersystem.model.Player;
+import com.transfersystem.repository.BudgetLedgerRepository;
+import com.transfersystem.repository.ClubRepository;
+import com.transfersystem.repository.PlayerRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.h2.tools.Server;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * End-to-end latency of POST /api/v1/transfers (MockMvc through the full stack). The database is
+ * H2 reached over a loopback TCP connection, so every statement pays a real socket round trip as it
+ * would against a networked database. Not part of the default test run; invoke explicitly:
+ *
+ * <pre>mvn test -Dtest=TransferInitiationBenchmark</pre>
+ *
+ * Prints p50/p99/max and the number of JDBC statements issued per request.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        // Schema generation is only defaulted on for embedded URLs
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        // Otherwise Hibernate logs a metrics block for every session, which dominates the timings
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+@AutoConfigureMockMvc
+class TransferInitiationBenchmark {
+
+    private static final int PLAYERS = 200;
+    private static final int WARMUP_REQUESTS = 10_000;
+    private static final int MEASURED_REQUESTS = 10_000;
+
+    private static Server h2Server;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ClubRepository clubRepository;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private BudgetLedgerRepository budgetLedgerRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final List<byte[]> requestBodies = new ArrayList<>();
+
+    @DynamicPropertySource
+    static void tcpDatasource(DynamicPropertyRegistry registry) throws SQLException {
+        h2Server = Server.createTcpServer("-tcpPort", "0", "-ifNotExists").start();
+        registry.add("spring.datasource.url",
+                () -> "jdbc:h2:tcp://localhost:" + h2Server.getPort() + "/mem:benchmark;DB_CLOSE_DELAY=-1");
+    }
+
+    @AfterAll
+    static void stopServer() {
+        h2Server.stop();
+    }
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Club seller = new Club();
+        seller.setName("Benchmark Seller");
+        seller = clubRepository.save(seller);
+        budgetLedgerRepository.save(new BudgetLedgerEntry(seller, new BigDecimal("1000000"), BudgetEntryType.OPENING, null));
+
+        Club buyer = new Club();
+        buyer.setName("Benchmark Buyer");
+        buyer = clubRepository.save(buyer);
+        budgetLedgerRepository.save(new BudgetLedgerEntry(buyer, new BigDecimal("1000000000000"), BudgetEntryType.OPENING, null));
+
+        List<Player> players = new ArrayList<>();
+        for (int i = 0; i < PLAYERS; i++) {
+            Player player = new Player();
+            player.setName("Benchmark Player " + i);
+            player.setCurrentMarketValue(new BigDecimal("1000000"));
+            player.setCurrentClub(seller);
+            players.add(player);
+        }
+        // New transfers start in DRAFT, which is not an active status, so players can be reused
+        for (Player player : playerRepository.saveAll(players)) {
+            InitiateTransferRequest request = new InitiateTransferRequest();
+            request.setPlayerId(player.getId());
+            request.setFromClubId(seller.getId());
+            request.setToClubId(buyer.getId());
+            request.setClauses(List.of());
+            requestBodies.add(objectMapper.writeValueAsBytes(request));
+        }
+    }
+
+    @Test
+    void initiateTransferLatency() throws Exception {
+        for (int i = 0; i < WARMUP_REQUESTS; i++) {
+            initiate(i);
+        }
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        long[] latencies = new long[MEASURED_REQUESTS];
+        for (int i = 0; i < MEASURED_REQUESTS; i++) {
+            long start = System.nanoTime();
+            initiate(i);
+            latencies[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(latencies);
+
+        System.out.printf("initiateTransfer: n=%d p50=%.1fus p99=%.1fus max=%.1fus statements/request=%.2f%n",
+                MEASURED_REQUESTS,
+                percentile(latencies, 0.50) / 1_000.0,
+                percentile(latencies, 0.99) / 1_000.0,
+                latencies[latencies.length - 1] / 1_000.0,
+                (double) statistics.getPrepareStatementCount() / MEASURED_REQUESTS);
+    }
+
+    private void initiate(int i) throws Exception {
+        mockMvc.perform(post("/api/v1/transfers")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestBodies.get(i % requestBodies.size())))
+                .andExpect(status().isCreated());
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1)];
+    }
+}
@@ -0,0 +1,34 @@
+package com.transfersystem.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class VirtualThreadPinningMonitorTest {
+
+    @Test
+    void classify_attributesPinningToInnermostKnownComponent() {
+        List<String> driverUnderPool = List.of(
+                "java.lang.Object.wait:-1",
+                "org.h2.engine.SessionLocal.lock:410",
+                "com.zaxxer.hikari.pool.ProxyConnection.commit:378",
+                "com.transfersystem.controller.TransferController.initiateTransfer:120");
+        assertEquals("jdbc_driver", VirtualThreadPinningMonitor.classify(driverUnderPool));
+        assertEquals("connection_pool", VirtualThreadPinningMonitor.classify(driverUnderPool.subList(2, 4)));
+        assertEquals("application", VirtualThreadPinningMonitor.classify(driverUnderPool.subList(3, 4)));
+        assertEquals("other", VirtualThreadPinningMonitor.classify(List.of("java.lang.Object.wait:-1")));
+    }
+
+    @Test
+    void firstApplicationFrame_findsCallerInOurCode() {
+        List<String> frames = List.of(
+                "com.zaxxer.hikari.pool.HikariPool.getConnection:181",
+                "com.transfersystem.service.OptimisticRetryExecutor.execute:58");
+        assertEquals("com.transfersystem.service.OptimisticRetryExecutor.execute:58",
+                VirtualThreadPinningMonitor.firstApplicationFrame(frames));
+        assertEquals("(no application frame)",
+                VirtualThreadPinningMonitor.firstApplicationFrame(frames.subList(0, 1)));
+    }
+}
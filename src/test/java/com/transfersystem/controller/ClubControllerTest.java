@@ -2,26 +2,40 @@ package com.transfersystem.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.transfersystem.dto.ClubDTO;
+import com.transfersystem.dto.ClubFinancialsDTO;
+import com.transfersystem.exception.ResourceNotFoundException;
+import com.transfersystem.service.BulkImportService;
 import com.transfersystem.service.ClubService;
+import com.transfersystem.service.ExportService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(ClubController.class)
+@Import(SimpleMeterRegistry.class)
 class ClubControllerTest {
 
     @Autowired
@@ -30,6 +44,12 @@ class ClubControllerTest {
     @MockBean
     private ClubService clubService;
 
+    @MockBean
+    private ExportService exportService;
+
+    @MockBean
+    private BulkImportService bulkImportService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -63,6 +83,93 @@ class ClubControllerTest {
                 .andExpect(jsonPath("$[0].name").value(clubDTO.getName()));
     }
 
+    @Test
+    void exportClubs_shouldStreamNdjson() throws Exception {
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(0);
+            out.write("{\"id\":1}\n{\"id\":2}\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(exportService).exportClubs(any(OutputStream.class));
+
+        MvcResult result = mockMvc.perform(get("/api/v1/clubs/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(ExportService.NDJSON))
+                .andExpect(content().string("{\"id\":1}\n{\"id\":2}\n"));
+    }
+
+    @Test
+    void getAllClubs_whenWatermarkUnchanged_shouldReturnNotModified() throws Exception {
+        when(clubService.getClubsWatermark()).thenReturn("1:1:0");
+        String etag = mockMvc.perform(get("/api/v1/clubs"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/v1/clubs").header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag));
+
+        verify(clubService, times(1)).getAllClubs();
+    }
+
+    @Test
+    void getClubById_withCurrentETag_shouldReturnNotModifiedWithoutLoadingClub() throws Exception {
+        when(clubService.getClubVersion(1L)).thenReturn(3L);
+
+        mockMvc.perform(get("/api/v1/clubs/1").header("If-None-Match", "\"3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"3\""));
+
+        verify(clubService, never()).getClubById(any());
+    }
+
+    @Test
+    void getClubById_withStaleETag_shouldReturnClubAndCurrentETag() throws Exception {
+        clubDTO.setVersion(4L);
+        when(clubService.getClubVersion(1L)).thenReturn(4L);
+        when(clubService.getClubById(1L)).thenReturn(clubDTO);
+
+        mockMvc.perform(get("/api/v1/clubs/1").header("If-None-Match", "\"3\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"4\""))
+                .andExpect(jsonPath("$.version").value(4));
+    }
+
+    @Test
+    void getClubFinancials_shouldReturnTotalsWithNetSpend() throws Exception {
+        when(clubService.getClubFinancials(1L)).thenReturn(new ClubFinancialsDTO(1L,
+                new BigDecimal("50000000"), new BigDecimal("20000000"), new BigDecimal("300000000"), 25, 3, 2));
+
+        mockMvc.perform(get("/api/v1/clubs/1/financials"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.clubId").value(1))
+                .andExpect(jsonPath("$.netSpend").value(30000000))
+                .andExpect(jsonPath("$.squadSize").value(25));
+    }
+
+    @Test
+    void getClubFinancials_whenClubNotFound_shouldReturnNotFound() throws Exception {
+        when(clubService.getClubFinancials(9L)).thenThrow(new ResourceNotFoundException("Club not found with id: 9"));
+
+        mockMvc.perform(get("/api/v1/clubs/9/financials"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void getLeagueFinancials_shouldReturnLeagueTotalsWithoutClubId() throws Exception {
+        when(clubService.getLeagueFinancials()).thenReturn(new ClubFinancialsDTO(null,
+                new BigDecimal("70000000"), new BigDecimal("70000000"), new BigDecimal("900000000"), 80, 5, 5));
+
+        mockMvc.perform(get("/api/v1/clubs/financials"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.clubId").doesNotExist())
+                .andExpect(jsonPath("$.netSpend").value(0))
+                .andExpect(jsonPath("$.transfersIn").value(5));
+    }
+
     @Test
     void getClubById() throws Exception {
         when(clubService.getClubById(1L)).thenReturn(clubDTO);
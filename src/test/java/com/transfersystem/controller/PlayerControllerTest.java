@@ -1,27 +1,49 @@
 package com.transfersystem.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.transfersystem.dto.BulkResultDTO;
+import com.transfersystem.dto.BulkRowErrorDTO;
+import com.transfersystem.dto.MarketValueBucket;
+import com.transfersystem.dto.MarketValuePoint;
+import com.transfersystem.dto.PlayerCursor;
 import com.transfersystem.dto.PlayerDTO;
+import com.transfersystem.dto.PlayerSearchHit;
+import com.transfersystem.service.ExportService;
+import com.transfersystem.service.MarketValueHistory;
+import com.transfersystem.service.BulkImportService;
 import com.transfersystem.service.PlayerService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(PlayerController.class)
+@Import(SimpleMeterRegistry.class)
 class PlayerControllerTest {
 
     @Autowired
@@ -30,6 +52,15 @@ class PlayerControllerTest {
     @MockBean
     private PlayerService playerService;
 
+    @MockBean
+    private ExportService exportService;
+
+    @MockBean
+    private BulkImportService bulkImportService;
+
+    @MockBean
+    private MarketValueHistory marketValueHistory;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -55,6 +86,54 @@ class PlayerControllerTest {
                 .andExpect(jsonPath("$.name").value(playerDTO.getName()));
     }
 
+    @Test
+    void bulkUpsertPlayers_withRejectedRows_shouldReturnMultiStatus() throws Exception {
+        BulkResultDTO<PlayerDTO> result = new BulkResultDTO<>();
+        result.getSaved().add(playerDTO);
+        result.getErrors().add(new BulkRowErrorDTO(1, "Player name is required"));
+        when(bulkImportService.upsertPlayers(any())).thenReturn(result);
+
+        mockMvc.perform(post("/api/v1/players/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(playerDTO, new PlayerDTO()))))
+                .andExpect(status().isMultiStatus())
+                .andExpect(jsonPath("$.savedCount").value(1))
+                .andExpect(jsonPath("$.errors[0].index").value(1))
+                .andExpect(jsonPath("$.errors[0].message").value("Player name is required"));
+    }
+
+    @Test
+    void bulkUpsertPlayers_whenAllRowsSaved_shouldReturnOk() throws Exception {
+        BulkResultDTO<PlayerDTO> result = new BulkResultDTO<>();
+        result.getSaved().add(playerDTO);
+        when(bulkImportService.upsertPlayers(any())).thenReturn(result);
+
+        mockMvc.perform(post("/api/v1/players/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(playerDTO))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.saved[0].name").value(playerDTO.getName()))
+                .andExpect(jsonPath("$.errorCount").value(0));
+    }
+
+    @Test
+    void searchPlayers_shouldCapTheLimitAndReturnHitsInOrder() throws Exception {
+        when(playerService.searchPlayers("vini", 50)).thenReturn(List.of(
+                new PlayerSearchHit(5L, "Vini"), new PlayerSearchHit(1L, "Vinícius Júnior")));
+
+        mockMvc.perform(get("/api/v1/players/search").param("q", "vini").param("limit", "500"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(5))
+                .andExpect(jsonPath("$[1].name").value("Vinícius Júnior"));
+    }
+
+    @Test
+    void searchPlayers_withNonPositiveLimit_shouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/v1/players/search").param("q", "vini").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(playerService);
+    }
+
     @Test
     void getAllPlayers() throws Exception {
         when(playerService.getAllPlayers()).thenReturn(Collections.singletonList(playerDTO));
@@ -64,6 +143,61 @@ class PlayerControllerTest {
                 .andExpect(jsonPath("$[0].name").value(playerDTO.getName()));
     }
 
+    @Test
+    void getAllPlayers_withFilters_shouldReturnValuePageAndNextCursor() throws Exception {
+        PlayerDTO second = new PlayerDTO(2L, "Second", new BigDecimal("400000"), 10L);
+        PlayerDTO third = new PlayerDTO(3L, "Third", new BigDecimal("300000"), 10L);
+        when(playerService.getPlayersByMarketValue(eq(10L), eq(new BigDecimal("100000")), isNull(), eq(true), isNull(), eq(3)))
+                .thenReturn(List.of(playerDTO, second, third));
+
+        mockMvc.perform(get("/api/v1/players").param("clubId", "10").param("minValue", "100000").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[1].id").value(2))
+                .andExpect(header().string(TransferController.NEXT_CURSOR_HEADER,
+                        new PlayerCursor(new BigDecimal("400000"), 2L).encode()));
+    }
+
+    @Test
+    void getAllPlayers_withFilters_shouldDeriveETagFromPageRows() throws Exception {
+        when(playerService.getPlayersByMarketValue(eq(10L), isNull(), isNull(), eq(true), isNull(), eq(51)))
+                .thenReturn(List.of(new PlayerDTO(1L, "Test Player", new BigDecimal("500000"), 10L, 3L)));
+        String etag = mockMvc.perform(get("/api/v1/players").param("clubId", "10"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/v1/players").param("clubId", "10").header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        when(playerService.getPlayersByMarketValue(eq(10L), isNull(), isNull(), eq(true), isNull(), eq(51)))
+                .thenReturn(List.of(new PlayerDTO(1L, "Renamed Player", new BigDecimal("500000"), 10L, 4L)));
+        mockMvc.perform(get("/api/v1/players").param("clubId", "10").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("Renamed Player"));
+        verify(playerService, never()).getPlayersWatermark();
+    }
+
+    @Test
+    void getAllPlayers_withCursorAndAscendingSort_shouldContinueAfterCursor() throws Exception {
+        String cursor = new PlayerCursor(new BigDecimal("250000.50"), 7L).encode();
+        when(playerService.getPlayersByMarketValue(isNull(), isNull(), isNull(), eq(false), any(PlayerCursor.class), eq(51)))
+                .thenReturn(List.of(playerDTO));
+
+        mockMvc.perform(get("/api/v1/players").param("sort", "currentMarketValue,asc").param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(1))
+                .andExpect(header().doesNotExist(TransferController.NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    void getAllPlayers_withUnsupportedSortOrMalformedCursor_shouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/v1/players").param("sort", "name,asc"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v1/players").param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(playerService);
+    }
+
     @Test
     void getPlayerById() throws Exception {
         when(playerService.getPlayerById(1L)).thenReturn(playerDTO);
@@ -85,6 +219,47 @@ class PlayerControllerTest {
                 .andExpect(jsonPath("$.name").value("Updated Player"));
     }
 
+    @Test
+    void getMarketValues_withoutBounds_shouldQueryTheWholeHistory() throws Exception {
+        when(marketValueHistory.range(1L, Instant.MIN, Instant.MAX)).thenReturn(List.of(
+                new MarketValuePoint(Instant.parse("2024-07-01T00:00:00Z"), new BigDecimal("500000.00"))));
+
+        mockMvc.perform(get("/api/v1/players/1/market-values"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].timestamp").value("2024-07-01T00:00:00Z"))
+                .andExpect(jsonPath("$[0].value").value(500000.00));
+    }
+
+    @Test
+    void getMarketValueBuckets_shouldParseAnIsoWidth() throws Exception {
+        Instant from = Instant.parse("2024-01-01T00:00:00Z");
+        when(marketValueHistory.downsample(1L, from, Instant.MAX, Duration.ofDays(7))).thenReturn(List.of(
+                new MarketValueBucket(from, BigDecimal.ONE, BigDecimal.TEN, new BigDecimal("5"))));
+
+        mockMvc.perform(get("/api/v1/players/1/market-values/buckets").param("width", "P7D").param("from", from.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].max").value(10))
+                .andExpect(jsonPath("$[0].last").value(5));
+    }
+
+    @Test
+    void getMarketValueAsOf_beforeTheFirstPoint_shouldReturnNotFound() throws Exception {
+        when(marketValueHistory.asOf(eq(1L), any(Instant.class))).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/v1/players/1/market-values/as-of").param("at", "2020-01-01T00:00:00Z"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void appendMarketValues_outOfOrder_shouldReturnBadRequest() throws Exception {
+        doThrow(new IllegalArgumentException("out of order")).when(marketValueHistory).append(eq(1L), anyList());
+
+        mockMvc.perform(post("/api/v1/players/1/market-values")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"timestamp\":\"2024-07-01T00:00:00Z\",\"value\":1}]"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void deletePlayer() throws Exception {
         doNothing().when(playerService).deletePlayer(1L);
@@ -1,36 +1,74 @@
 package com.transfersystem.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.transfersystem.dto.BatchItemResultDTO;
+import com.transfersystem.dto.BatchTransitionItem;
+import com.transfersystem.dto.BatchTransitionResultDTO;
+import com.transfersystem.dto.CompletionStatusDTO;
+import com.transfersystem.dto.ContractClauseDto;
+import com.transfersystem.dto.InitiateTransferRequest;
+import com.transfersystem.dto.TransferCursor;
+import com.transfersystem.dto.TransferEventView;
+import com.transfersystem.dto.TransferPrecheck;
+import com.transfersystem.dto.TransferView;
+import com.transfersystem.exception.InsufficientBudgetException;
+import com.transfersystem.exception.QueueFullException;
 import com.transfersystem.exception.ResourceNotFoundException;
+import com.transfersystem.model.BudgetEntryType;
 import com.transfersystem.model.Club;
 import com.transfersystem.model.Player;
 import com.transfersystem.model.Transfer;
+import com.transfersystem.model.TransferEventType;
 import com.transfersystem.model.TransferStatus;
 import com.transfersystem.repository.ClubRepository;
 import com.transfersystem.repository.PlayerRepository;
 import com.transfersystem.repository.TransferRepository;
+import com.transfersystem.service.BudgetLedgerService;
+import com.transfersystem.service.ClubFinancialAggregates;
+import com.transfersystem.service.EntityCacheInvalidator;
+import com.transfersystem.service.ExportService;
+import com.transfersystem.service.OptimisticRetryExecutor;
+import com.transfersystem.service.TransferBatchService;
+import com.transfersystem.service.TransferChangeStream;
+import com.transfersystem.service.TransferCompletionQueue;
+import com.transfersystem.service.TransferEventLog;
 import com.transfersystem.service.TransferFeeCalculator;
 import com.transfersystem.service.TransferWorkflowEngine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.List;
 import java.util.Random; // Added for Long ID generation
+import java.util.function.Supplier;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(TransferController.class)
+@Import(SimpleMeterRegistry.class)
 public class TransferControllerTest {
 
     @Autowired
@@ -39,6 +77,9 @@ public class TransferControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private SimpleMeterRegistry meterRegistry;
+
     @MockBean
     private TransferRepository transferRepository;
 
@@ -54,6 +95,33 @@ public class TransferControllerTest {
     @MockBean
     private TransferFeeCalculator transferFeeCalculator;
 
+    @MockBean
+    private ExportService exportService;
+
+    @MockBean
+    private EntityCacheInvalidator entityCacheInvalidator;
+
+    @MockBean
+    private OptimisticRetryExecutor optimisticRetryExecutor;
+
+    @MockBean
+    private TransferBatchService transferBatchService;
+
+    @MockBean
+    private TransferCompletionQueue transferCompletionQueue;
+
+    @MockBean
+    private BudgetLedgerService budgetLedgerService;
+
+    @MockBean
+    private TransferEventLog transferEventLog;
+
+    @MockBean
+    private TransferChangeStream transferChangeStream;
+
+    @MockBean
+    private ClubFinancialAggregates clubFinancialAggregates;
+
     private Transfer sampleTransfer;
     private Player samplePlayer;
     private Club fromClub;
@@ -90,12 +158,10 @@ public class TransferControllerTest {
         fromClub.setId(fromClubId);
         samplePlayer.setCurrentClub(fromClub); // Corrected: Set Club object
         fromClub.setName("From Club");
-        fromClub.setBudget(new BigDecimal("1000000"));
 
         toClub = new Club();
         toClub.setId(toClubId);
         toClub.setName("To Club");
-        toClub.setBudget(new BigDecimal("2000000"));
 
         sampleTransfer = new Transfer();
         sampleTransfer.setId(transferId);
@@ -103,23 +169,302 @@ public class TransferControllerTest {
         sampleTransfer.setFromClub(fromClub);     // Corrected: Set Club object
         sampleTransfer.setToClub(toClub);         // Corrected: Set Club object
         sampleTransfer.setStatus(TransferStatus.DRAFT); // Default status
+
+        // Run the unit of work once, as the real executor does when there is no conflict
+        when(optimisticRetryExecutor.execute(anyString(), any())).thenAnswer(invocation -> {
+            Supplier<?> work = invocation.getArgument(1);
+            return work.get();
+        });
+    }
+
+    // --- Test GetAllTransfers (keyset pagination) ---
+    @Test
+    void getAllTransfers_whenMoreRowsThanPageSize_shouldReturnPageAndNextCursor() throws Exception {
+        Transfer second = new Transfer();
+        second.setId(UUID.randomUUID());
+        second.setStatus(TransferStatus.SUBMITTED);
+        second.setInitiationTimestamp(LocalDateTime.of(2024, 1, 1, 12, 0));
+        sampleTransfer.setInitiationTimestamp(LocalDateTime.of(2024, 1, 2, 12, 0));
+        Transfer third = new Transfer();
+        third.setId(UUID.randomUUID());
+        third.setStatus(TransferStatus.DRAFT);
+        third.setInitiationTimestamp(LocalDateTime.of(2023, 12, 31, 12, 0));
+
+        when(transferRepository.findFirstPage(PageRequest.of(0, 3)))
+                .thenReturn(List.of(TransferView.from(sampleTransfer), TransferView.from(second), TransferView.from(third)));
+
+        String expectedCursor = new TransferCursor(second.getInitiationTimestamp(), second.getId()).encode();
+        mockMvc.perform(get("/api/v1/transfers").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].id").value(transferId.toString()))
+                .andExpect(jsonPath("$[0].player.name").value("Test Player"))
+                .andExpect(jsonPath("$[0].toClub.name").value("To Club"))
+                .andExpect(jsonPath("$[0].clauses").doesNotExist())
+                .andExpect(header().string(TransferController.NEXT_CURSOR_HEADER, expectedCursor));
+    }
+
+    @Test
+    void getAllTransfers_afterClubRename_shouldReturnOkForThePreviousETag() throws Exception {
+        setVersions(2L, 0L, 0L, 0L);
+        when(transferRepository.findFirstPage(PageRequest.of(0, 11))).thenReturn(List.of(TransferView.from(sampleTransfer)));
+        String etag = mockMvc.perform(get("/api/v1/transfers").param("size", "10"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/v1/transfers").param("size", "10").header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        toClub.setName("Renamed Club");
+        toClub.setVersion(1L);
+        when(transferRepository.findFirstPage(PageRequest.of(0, 11))).thenReturn(List.of(TransferView.from(sampleTransfer)));
+        mockMvc.perform(get("/api/v1/transfers").param("size", "10").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].toClub.name").value("Renamed Club"));
+    }
+
+    @Test
+    void getAllTransfers_withCursor_shouldQueryAfterCursorPosition() throws Exception {
+        LocalDateTime timestamp = LocalDateTime.of(2024, 1, 2, 12, 0);
+        UUID lastSeenId = UUID.randomUUID();
+        String cursor = new TransferCursor(timestamp, lastSeenId).encode();
+        when(transferRepository.findPageAfter(timestamp, lastSeenId, PageRequest.of(0, 11)))
+                .thenReturn(List.of(TransferView.from(sampleTransfer)));
+
+        mockMvc.perform(get("/api/v1/transfers").param("cursor", cursor).param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(header().doesNotExist(TransferController.NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    void getAllTransfers_whenSizeExceedsCap_shouldClampToMaxPageSize() throws Exception {
+        when(transferRepository.findFirstPage(any())).thenReturn(List.of());
+
+        mockMvc.perform(get("/api/v1/transfers").param("size", "100000"))
+                .andExpect(status().isNoContent());
+
+        verify(transferRepository).findFirstPage(PageRequest.of(0, 201));
+    }
+
+    @Test
+    void getAllTransfers_withMalformedCursor_shouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/v1/transfers").param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+
+    // --- Test InitiateTransfer ---
+    private InitiateTransferRequest initiateRequest() {
+        InitiateTransferRequest request = new InitiateTransferRequest();
+        request.setPlayerId(playerId);
+        request.setFromClubId(fromClubId);
+        request.setToClubId(toClubId);
+        request.setClauses(List.of(new ContractClauseDto("SELL_ON", new BigDecimal("10"), null)));
+        return request;
+    }
+
+    private TransferPrecheck precheck(Long fromId, Long toId, long activeTransfers) {
+        return new TransferPrecheck(playerId, "Test Player", new BigDecimal("500000"),
+                fromId, fromId == null ? null : "From Club",
+                toId, toId == null ? null : "To Club", new BigDecimal("2000000"), activeTransfers);
+    }
+
+    @Test
+    void initiateTransfer_whenValid_shouldCreateDraftFromSingleLookup() throws Exception {
+        when(transferRepository.findPrecheck(playerId, fromClubId, toClubId))
+                .thenReturn(Optional.of(precheck(fromClubId, toClubId, 0)));
+        when(transferFeeCalculator.calculate(eq(new BigDecimal("500000")), any())).thenReturn(new BigDecimal("550000"));
+        when(playerRepository.getReferenceById(playerId)).thenReturn(samplePlayer);
+        when(clubRepository.getReferenceById(fromClubId)).thenReturn(fromClub);
+        when(clubRepository.getReferenceById(toClubId)).thenReturn(toClub);
+        ArgumentCaptor<Transfer> saved = ArgumentCaptor.forClass(Transfer.class);
+        when(transferRepository.saveAndFlush(saved.capture())).thenAnswer(invocation -> {
+            Transfer transfer = invocation.getArgument(0);
+            transfer.setId(transferId);
+            return transfer;
+        });
+
+        mockMvc.perform(post("/api/v1/transfers")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(initiateRequest())))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").value(transferId.toString()))
+                .andExpect(jsonPath("$.status").value("DRAFT"))
+                .andExpect(jsonPath("$.player.name").value("Test Player"))
+                .andExpect(jsonPath("$.toClub.name").value("To Club"))
+                .andExpect(jsonPath("$.agreedFee").value(550000));
+
+        // Clauses and the agreed fee are stored with the transfer
+        assertEquals(new BigDecimal("550000"), saved.getValue().getAgreedFee());
+        assertEquals(1, saved.getValue().getClauses().size());
+        assertEquals("SELL_ON", saved.getValue().getClauses().get(0).getType());
+        verify(playerRepository, never()).findById(any());
+        verify(clubRepository, never()).findById(any());
+        verify(transferEventLog).record(saved.getValue(), TransferEventType.CREATED, null);
+    }
+
+    @Test
+    void initiateTransfer_whenPlayerNotFound_shouldReturnNotFound() throws Exception {
+        when(transferRepository.findPrecheck(any(), any(), any())).thenReturn(Optional.empty());
+
+        mockMvc.perform(post("/api/v1/transfers")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(initiateRequest())))
+                .andExpect(status().isNotFound());
+        verify(transferRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void initiateTransfer_whenToClubNotFound_shouldReturnNotFound() throws Exception {
+        when(transferRepository.findPrecheck(any(), any(), any()))
+                .thenReturn(Optional.of(precheck(fromClubId, null, 0)));
+
+        mockMvc.perform(post("/api/v1/transfers")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(initiateRequest())))
+                .andExpect(status().isNotFound());
+        verify(transferRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void initiateTransfer_withPastOfferExpiryDate_shouldReturnBadRequest() throws Exception {
+        InitiateTransferRequest request = initiateRequest();
+        request.setOfferExpiryDate(LocalDateTime.now().minusDays(1));
+
+        mockMvc.perform(post("/api/v1/transfers")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+        verify(transferRepository, never()).findPrecheck(any(), any(), any());
+    }
+
+    @Test
+    void initiateTransfer_withPercentageTheClauseColumnCannotHold_shouldReturnBadRequest() throws Exception {
+        for (String percentage : List.of("100000", "12.34567")) {
+            InitiateTransferRequest request = initiateRequest();
+            request.setClauses(List.of(new ContractClauseDto("SELL_ON", new BigDecimal(percentage), null)));
+
+            mockMvc.perform(post("/api/v1/transfers")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isBadRequest());
+        }
+        verify(transferRepository, never()).findPrecheck(any(), any(), any());
+    }
+
+    @Test
+    void initiateTransfer_whenPlayerAlreadyInActiveTransfer_shouldReturnConflict() throws Exception {
+        when(transferRepository.findPrecheck(any(), any(), any()))
+                .thenReturn(Optional.of(precheck(fromClubId, toClubId, 1)));
+
+        mockMvc.perform(post("/api/v1/transfers")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(initiateRequest())))
+                .andExpect(status().isConflict());
+        verify(transferRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void initiateTransfer_whenBudgetTooSmall_shouldReturnPaymentRequired() throws Exception {
+        when(transferRepository.findPrecheck(any(), any(), any()))
+                .thenReturn(Optional.of(precheck(fromClubId, toClubId, 0)));
+        when(transferFeeCalculator.calculate(any(BigDecimal.class), any())).thenReturn(new BigDecimal("3000000"));
+        double budgetErrorsBefore = meterRegistry.get("api.errors").tag("error", "insufficient_budget").counter().count();
+
+        mockMvc.perform(post("/api/v1/transfers")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(initiateRequest())))
+                .andExpect(status().isPaymentRequired());
+        verify(transferRepository, never()).saveAndFlush(any());
+        assertEquals(budgetErrorsBefore + 1,
+                meterRegistry.get("api.errors").tags("error", "insufficient_budget", "status", "402").counter().count());
+    }
+
+    // --- Test BatchTransition ---
+    @Test
+    void batchTransition_bestEffortWithRejectedItem_shouldReturnMultiStatus() throws Exception {
+        UUID other = UUID.randomUUID();
+        List<BatchTransitionItem> items = List.of(new BatchTransitionItem(transferId, "approve"), new BatchTransitionItem(other, "approve"));
+        when(transferBatchService.apply(anyList(), eq(TransferBatchService.Mode.BEST_EFFORT))).thenReturn(new BatchTransitionResultDTO("BEST_EFFORT", List.of(
+                new BatchItemResultDTO(0, transferId, "approve", BatchItemResultDTO.Outcome.APPLIED, TransferStatus.APPROVED, 1L, null),
+                new BatchItemResultDTO(1, other, "approve", BatchItemResultDTO.Outcome.REJECTED, null, null, "Transfer not found with ID: " + other))));
+
+        mockMvc.perform(patch("/api/v1/transfers/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(items)))
+                .andExpect(status().isMultiStatus())
+                .andExpect(jsonPath("$.appliedCount").value(1))
+                .andExpect(jsonPath("$.results[0].status").value("APPROVED"))
+                .andExpect(jsonPath("$.results[1].outcome").value("REJECTED"));
+    }
+
+    @Test
+    void batchTransition_allOrNothingWithRejectedItem_shouldReturnConflict() throws Exception {
+        when(transferBatchService.apply(anyList(), eq(TransferBatchService.Mode.ALL_OR_NOTHING))).thenReturn(new BatchTransitionResultDTO("ALL_OR_NOTHING", List.of(
+                new BatchItemResultDTO(0, transferId, "submit", BatchItemResultDTO.Outcome.REJECTED, TransferStatus.APPROVED, 3L, "Transfer must be in DRAFT status"))));
+
+        mockMvc.perform(patch("/api/v1/transfers/batch").param("mode", "all-or-nothing")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(new BatchTransitionItem(transferId, "submit")))))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.rejectedCount").value(1));
+    }
+
+    @Test
+    void batchTransition_withUnknownMode_shouldReturnBadRequest() throws Exception {
+        mockMvc.perform(patch("/api/v1/transfers/batch").param("mode", "sometimes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(new BatchTransitionItem(transferId, "submit")))))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(transferBatchService);
     }
 
     // --- Test GetTransferDetails ---
     @Test
     void getTransferById_whenTransferExists_shouldReturnTransferAndOk() throws Exception {
-        when(transferRepository.findById(transferId)).thenReturn(Optional.of(sampleTransfer));
+        when(transferRepository.findViewById(transferId)).thenReturn(Optional.of(TransferView.from(sampleTransfer)));
+        when(transferRepository.findClausesById(transferId)).thenReturn(List.of(
+                new ContractClauseDto("SELL_ON", new BigDecimal("15.00"), null),
+                new ContractClauseDto("SIGNING_BONUS", null, new BigDecimal("50000.00"))));
 
         mockMvc.perform(get("/api/v1/transfers/{transferId}", transferId))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id").value(transferId.toString())) // Transfer ID is UUID
                 .andExpect(jsonPath("$.player.id").value(playerId)) // Player ID is Long
-                .andExpect(jsonPath("$.status").value(sampleTransfer.getStatus().toString()));
+                .andExpect(jsonPath("$.status").value(sampleTransfer.getStatus().toString()))
+                .andExpect(jsonPath("$.fromClub.name").value("From Club"))
+                .andExpect(jsonPath("$.clauses[0].type").value("SELL_ON"))
+                .andExpect(jsonPath("$.clauses[1].amount").value(50000.00));
+        verify(transferRepository, never()).findById(any());
+    }
+
+    @Test
+    void getTransferById_withCurrentETag_shouldReturnNotModifiedWithoutProjection() throws Exception {
+        when(transferRepository.findRevisionById(transferId)).thenReturn(Optional.of("2.0.0.0"));
+
+        mockMvc.perform(get("/api/v1/transfers/{transferId}", transferId).header("If-None-Match", "W/\"2.0.0.0\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"2.0.0.0\""));
+
+        verify(transferRepository, never()).findViewById(any());
+    }
+
+    @Test
+    void getTransferById_afterClubRename_shouldReturnOkForThePreviousETag() throws Exception {
+        setVersions(2L, 0L, 1L, 0L);
+        fromClub.setName("Renamed Club");
+        when(transferRepository.findRevisionById(transferId)).thenReturn(Optional.of("2.0.1.0"));
+        when(transferRepository.findViewById(transferId)).thenReturn(Optional.of(TransferView.from(sampleTransfer)));
+
+        mockMvc.perform(get("/api/v1/transfers/{transferId}", transferId).header("If-None-Match", "\"2.0.0.0\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"2.0.1.0\""))
+                .andExpect(jsonPath("$.fromClub.name").value("Renamed Club"));
     }
 
     @Test
     void getTransferById_whenTransferNotFound_shouldReturnNotFound() throws Exception {
-        when(transferRepository.findById(transferId)).thenReturn(Optional.empty());
+        when(transferRepository.findViewById(transferId)).thenReturn(Optional.empty());
 
         mockMvc.perform(get("/api/v1/transfers/{transferId}", transferId))
                 .andExpect(status().isNotFound());
@@ -274,7 +619,8 @@ public class TransferControllerTest {
     @Test
     void completeTransfer_whenTransferApproved_shouldCompleteAndUpdateEntitiesAndOk() throws Exception {
         sampleTransfer.setStatus(TransferStatus.APPROVED);
-        BigDecimal calculatedFee = new BigDecimal("50000");
+        BigDecimal agreedFee = new BigDecimal("50000");
+        sampleTransfer.setAgreedFee(agreedFee);
 
         when(transferRepository.findById(transferId)).thenReturn(Optional.of(sampleTransfer));
         when(transferWorkflowEngine.completeTransfer(any(Transfer.class))).thenAnswer(invocation -> {
@@ -286,11 +632,6 @@ public class TransferControllerTest {
         when(playerRepository.findById(playerId)).thenReturn(Optional.of(samplePlayer));
         when(clubRepository.findById(toClubId)).thenReturn(Optional.of(toClub));
         when(clubRepository.findById(fromClubId)).thenReturn(Optional.of(fromClub));
-        when(transferFeeCalculator.calculate(samplePlayer, toClub, List.of())).thenReturn(calculatedFee);
-
-        // Initial budgets
-        BigDecimal initialToClubBudget = toClub.getBudget();
-        BigDecimal initialFromClubBudget = fromClub.getBudget();
 
         mockMvc.perform(patch("/api/v1/transfers/{transferId}/complete", transferId))
                 .andExpect(status().isOk())
@@ -301,19 +642,141 @@ public class TransferControllerTest {
         // Controller gets player/clubs from transfer object, so no findById verification here for those.
         // The when() mocks for findById in setUp or test are for the initial fetch of the Transfer object
         // and its related entities if needed by the transaction/JPA.
-        verify(transferFeeCalculator).calculate(samplePlayer, toClub, List.of());
+        // The fee agreed at initiation is moved as-is; nothing is recalculated
+        verifyNoInteractions(transferFeeCalculator);
 
         // Verify player's club updated
         // We don't verify method calls on the real 'samplePlayer' object directly with Mockito.
         // The important part is that playerRepository.save is called with the (presumably modified) player.
         verify(playerRepository).save(samplePlayer);
+        verify(clubFinancialAggregates).transferCompleted(sampleTransfer);
+        verify(clubFinancialAggregates).playerSaved(samplePlayer);
+
+        // The buyer is debited first, which checks its budget, then the seller is credited;
+        // the club rows themselves are not written
+        InOrder ledger = inOrder(budgetLedgerService);
+        ledger.verify(budgetLedgerService).debit(toClubId, agreedFee, BudgetEntryType.TRANSFER_OUT, transferId);
+        ledger.verify(budgetLedgerService).append(fromClubId, agreedFee, BudgetEntryType.TRANSFER_IN, transferId);
+        verify(clubRepository, never()).save(any());
+
+        // Cached reads of the player and both clubs must not survive the completion
+        verify(entityCacheInvalidator).evictPlayer(playerId);
+        verify(entityCacheInvalidator).evictClub(toClubId);
+        verify(entityCacheInvalidator).evictClub(fromClubId);
+    }
+
+    @Test
+    void completeTransfer_whenBudgetNoLongerCoversAgreedFee_shouldReturnPaymentRequired() throws Exception {
+        sampleTransfer.setStatus(TransferStatus.APPROVED);
+        sampleTransfer.setAgreedFee(new BigDecimal("5000000"));
+        when(transferRepository.findById(transferId)).thenReturn(Optional.of(sampleTransfer));
+        when(budgetLedgerService.debit(toClubId, new BigDecimal("5000000"), BudgetEntryType.TRANSFER_OUT, transferId))
+                .thenThrow(new InsufficientBudgetException("Club (ID: " + toClubId + ") does not have sufficient budget."));
+
+        mockMvc.perform(patch("/api/v1/transfers/{transferId}/complete", transferId))
+                .andExpect(status().isPaymentRequired());
+
+        verify(budgetLedgerService, never()).append(any(), any(), any(), any());
+    }
+
+    @Test
+    void completeTransfer_whenConcurrentUpdateWinsEveryRetry_shouldReturnConflict() throws Exception {
+        doThrow(new ObjectOptimisticLockingFailureException(Club.class, fromClubId))
+                .when(optimisticRetryExecutor).execute(anyString(), any());
 
-        // Verify club budgets updated
-        // We don't verify setBudget on real Club objects directly with Mockito.
-        // The calls to clubRepository.save(toClub) and clubRepository.save(fromClub) are the key interactions to verify.
-        // The state of toClub and fromClub (e.g. their budgets) would have been modified by the controller's logic before saving.
-        verify(clubRepository).save(toClub);
-        verify(clubRepository).save(fromClub);
+        mockMvc.perform(patch("/api/v1/transfers/{transferId}/complete", transferId))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void completeTransferAsync_whenApproved_shouldQueueOnBothClubsAndReturnAccepted() throws Exception {
+        sampleTransfer.setStatus(TransferStatus.APPROVED);
+        when(transferRepository.findViewById(transferId)).thenReturn(Optional.of(TransferView.from(sampleTransfer)));
+        when(transferCompletionQueue.enqueue(eq(transferId), eq(fromClubId), eq(toClubId), any()))
+                .thenReturn(new CompletionStatusDTO(transferId, CompletionStatusDTO.State.QUEUED,
+                        LocalDateTime.now(), null, null, null, null, null));
+
+        mockMvc.perform(patch("/api/v1/transfers/{transferId}/complete", transferId).param("async", "true"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "http://localhost/api/v1/transfers/" + transferId + "/completion"))
+                .andExpect(jsonPath("$.state").value("QUEUED"));
+
+        // Nothing is applied on the request thread
+        verify(transferWorkflowEngine, never()).completeTransfer(any());
+        verify(optimisticRetryExecutor, never()).execute(anyString(), any());
+    }
+
+    @Test
+    void completeTransferAsync_whenNotApproved_shouldReturnConflictWithoutQueuing() throws Exception {
+        sampleTransfer.setStatus(TransferStatus.NEGOTIATION);
+        when(transferRepository.findViewById(transferId)).thenReturn(Optional.of(TransferView.from(sampleTransfer)));
+
+        mockMvc.perform(patch("/api/v1/transfers/{transferId}/complete", transferId).param("async", "true"))
+                .andExpect(status().isConflict());
+        verifyNoInteractions(transferCompletionQueue);
+    }
+
+    @Test
+    void getCompletionStatus_whenNothingQueued_shouldReturnNotFound() throws Exception {
+        when(transferCompletionQueue.status(transferId)).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/v1/transfers/{transferId}/completion", transferId))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void getTransferEvents_shouldReturnTheTransitionsOldestFirstWithPayloadAsJson() throws Exception {
+        LocalDateTime at = LocalDateTime.of(2024, 6, 1, 12, 0);
+        when(transferEventLog.history(transferId)).thenReturn(List.of(
+                new TransferEventView(1L, transferId, 0, TransferEventType.CREATED, null, at, "scout", "{\"agreedFee\":550000}"),
+                new TransferEventView(2L, transferId, 1, TransferEventType.SUBMITTED, TransferStatus.DRAFT, at.plusHours(1), "api", null)));
+
+        mockMvc.perform(get("/api/v1/transfers/{transferId}/events", transferId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].type").value("CREATED"))
+                .andExpect(jsonPath("$[0].actor").value("scout"))
+                .andExpect(jsonPath("$[0].payload.agreedFee").value(550000))
+                .andExpect(jsonPath("$[1].type").value("SUBMITTED"))
+                .andExpect(jsonPath("$[1].transferVersion").value(1))
+                .andExpect(jsonPath("$[1].fromStatus").value("DRAFT"));
+    }
+
+    @Test
+    void getTransferEvents_whenTransferNotFound_shouldReturnNotFound() throws Exception {
+        when(transferEventLog.history(transferId)).thenReturn(List.of());
+        when(transferRepository.existsById(transferId)).thenReturn(false);
+
+        mockMvc.perform(get("/api/v1/transfers/{transferId}/events", transferId))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void streamTransferChanges_shouldPassLastEventIdAndFilterToTheStream() throws Exception {
+        SseEmitter emitter = new SseEmitter();
+        when(transferChangeStream.subscribe("abc-7", transferId)).thenReturn(emitter);
+
+        MvcResult result = mockMvc.perform(get("/api/v1/transfers/stream")
+                        .param("transferId", transferId.toString())
+                        .header("Last-Event-ID", "abc-7")
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        emitter.send(SseEmitter.event().id("abc-8").name(TransferChangeStream.CHANGE_EVENT).data("{}"));
+        emitter.complete();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(content().string("id:abc-8\nevent:transfer\ndata:{}\n\n"));
+    }
+
+    @Test
+    void streamTransferChanges_whenTooManySubscribers_shouldReturnServiceUnavailable() throws Exception {
+        when(transferChangeStream.subscribe(null, null)).thenThrow(new QueueFullException("Too many transfer stream subscribers"));
+
+        mockMvc.perform(get("/api/v1/transfers/stream"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"));
     }
 
     @Test
@@ -389,4 +852,11 @@ public class TransferControllerTest {
         mockMvc.perform(patch("/api/v1/transfers/{transferId}/complete", transferId))
                 .andExpect(status().isConflict());
     }
+
+    private void setVersions(Long transferVersion, Long playerVersion, Long fromClubVersion, Long toClubVersion) {
+        sampleTransfer.setVersion(transferVersion);
+        samplePlayer.setVersion(playerVersion);
+        fromClub.setVersion(fromClubVersion);
+        toClub.setVersion(toClubVersion);
+    }
 }
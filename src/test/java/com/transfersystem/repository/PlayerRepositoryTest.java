@@ -0,0 +1,101 @@
+package com.transfersystem.repository;
+
+import com.transfersystem.dto.PlayerDTO;
+import com.transfersystem.model.Club;
+import com.transfersystem.model.Player;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class PlayerRepositoryTest {
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private ClubRepository clubRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Club club;
+    private final List<Long> ids = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        club = new Club();
+        club.setName("Club");
+        club = clubRepository.save(club);
+        Club otherClub = new Club();
+        otherClub.setName("Other Club");
+        otherClub = clubRepository.save(otherClub);
+
+        // Ties on value are broken by id; the player without a value is never listed
+        String[] values = {"300", "100", "200", "200", "200", null, "50", "400"};
+        for (int i = 0; i < values.length; i++) {
+            Player player = new Player();
+            player.setName("Player " + i);
+            player.setCurrentMarketValue(values[i] == null ? null : new BigDecimal(values[i]));
+            player.setCurrentClub(i == 7 ? otherClub : club);
+            ids.add(playerRepository.save(player).getId());
+        }
+        playerRepository.flush();
+    }
+
+    @Test
+    void valuePages_shouldWalkTheRangeInKeysetOrderWithoutGapsOrDuplicates() {
+        List<Long> ascending = new ArrayList<>();
+        List<PlayerDTO> page = playerRepository.findValuePageAscending(new BigDecimal("100"), Long.MIN_VALUE,
+                new BigDecimal("300"), PageRequest.of(0, 2));
+        while (!page.isEmpty()) {
+            page.forEach(player -> ascending.add(player.getId()));
+            PlayerDTO last = page.get(page.size() - 1);
+            page = playerRepository.findValuePageAscending(last.getCurrentMarketValue(), last.getId(),
+                    new BigDecimal("300"), PageRequest.of(0, 2));
+        }
+
+        List<Long> descending = new ArrayList<>();
+        page = playerRepository.findClubValuePageDescending(club.getId(), new BigDecimal("1E36"), Long.MAX_VALUE,
+                new BigDecimal("-1E36"), PageRequest.of(0, 2));
+        while (!page.isEmpty()) {
+            page.forEach(player -> descending.add(player.getId()));
+            PlayerDTO last = page.get(page.size() - 1);
+            page = playerRepository.findClubValuePageDescending(club.getId(), last.getCurrentMarketValue(), last.getId(),
+                    new BigDecimal("-1E36"), PageRequest.of(0, 2));
+        }
+
+        assertEquals(List.of(ids.get(1), ids.get(2), ids.get(3), ids.get(4), ids.get(0)), ascending);
+        assertEquals(List.of(ids.get(0), ids.get(4), ids.get(3), ids.get(2), ids.get(1), ids.get(6)), descending);
+    }
+
+    @Test
+    void valuePages_shouldBeReadFromAnIndexAlreadyInPageOrder() {
+        // The WHERE and ORDER BY clauses of the four page queries, as Hibernate renders them
+        String[] clauses = {
+                "WHERE current_market_value >= 5 AND (current_market_value > 5 OR id > 3) AND current_market_value <= 9 " +
+                        "ORDER BY current_market_value, id",
+                "WHERE current_market_value <= 9 AND (current_market_value < 9 OR id < 3) AND current_market_value >= 5 " +
+                        "ORDER BY current_market_value DESC, id DESC",
+                "WHERE current_club_id = 1 AND current_market_value >= 5 AND (current_market_value > 5 OR id > 3) " +
+                        "AND current_market_value <= 9 ORDER BY current_club_id, current_market_value, id",
+                "WHERE current_club_id = 1 AND current_market_value <= 9 AND (current_market_value < 9 OR id < 3) " +
+                        "AND current_market_value >= 5 ORDER BY current_club_id, current_market_value DESC, id DESC"
+        };
+        for (String clause : clauses) {
+            String plan = entityManager.getEntityManager()
+                    .createNativeQuery("EXPLAIN SELECT id FROM player " + clause + " FETCH FIRST 11 ROWS ONLY")
+                    .getSingleResult().toString();
+            assertTrue(plan.contains("index sorted"), plan);
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package com.transfersystem.repository;
+
+import com.transfersystem.dto.ContractClauseDto;
+import com.transfersystem.dto.TransferPrecheck;
+import com.transfersystem.dto.TransferView;
+import com.transfersystem.model.BudgetEntryType;
+import com.transfersystem.model.BudgetLedgerEntry;
+import com.transfersystem.model.Club;
+import com.transfersystem.model.ContractClause;
+import com.transfersystem.model.Player;
+import com.transfersystem.model.Transfer;
+import com.transfersystem.model.TransferStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class TransferRepositoryTest {
+
+    @Autowired
+    private TransferRepository transferRepository;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private ClubRepository clubRepository;
+
+    @Autowired
+    private BudgetLedgerRepository budgetLedgerRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Player player;
+    private Club fromClub;
+    private Club toClub;
+
+    @BeforeEach
+    void setUp() {
+        fromClub = new Club();
+        fromClub.setName("From Club");
+        fromClub = clubRepository.save(fromClub);
+        entityManager.persist(new BudgetLedgerEntry(fromClub, new BigDecimal("1000000"), BudgetEntryType.OPENING, null));
+
+        toClub = new Club();
+        toClub.setName("To Club");
+        toClub = clubRepository.save(toClub);
+        entityManager.persist(new BudgetLedgerEntry(toClub, new BigDecimal("2000000"), BudgetEntryType.OPENING, null));
+
+        player = new Player();
+        player.setName("Test Player");
+        player.setCurrentClub(fromClub);
+        player = playerRepository.save(player);
+    }
+
+    @Test
+    void keysetPages_shouldWalkAllTransfersNewestFirstWithoutGapsOrDuplicates() {
+        for (int i = 0; i < 7; i++) {
+            Transfer transfer = new Transfer();
+            transfer.setPlayer(player);
+            transfer.setFromClub(fromClub);
+            transfer.setToClub(toClub);
+            transfer.setStatus(TransferStatus.DRAFT);
+            transferRepository.save(transfer);
+        }
+        transferRepository.flush();
+
+        List<TransferView> expected = transferRepository.findFirstPage(PageRequest.of(0, 100));
+        List<TransferView> walked = new ArrayList<>(transferRepository.findFirstPage(PageRequest.of(0, 3)));
+        List<TransferView> page = walked;
+        while (page.size() == 3) {
+            TransferView last = page.get(page.size() - 1);
+            page = transferRepository.findPageAfter(last.getInitiationTimestamp(), last.getId(), PageRequest.of(0, 3));
+            walked.addAll(page);
+        }
+
+        assertEquals(7, expected.size());
+        assertEquals(expected.stream().map(TransferView::getId).toList(), walked.stream().map(TransferView::getId).toList());
+        for (int i = 1; i < walked.size(); i++) {
+            assertFalse(walked.get(i).getInitiationTimestamp().isAfter(walked.get(i - 1).getInitiationTimestamp()));
+        }
+    }
+
+    @Test
+    void findViewById_shouldProjectPlayerAndClubNames() {
+        Transfer transfer = new Transfer();
+        transfer.setPlayer(player);
+        transfer.setFromClub(fromClub);
+        transfer.setToClub(toClub);
+        transfer.setStatus(TransferStatus.SUBMITTED);
+        transfer = transferRepository.saveAndFlush(transfer);
+
+        TransferView view = transferRepository.findViewById(transfer.getId()).orElseThrow();
+
+        assertEquals(TransferStatus.SUBMITTED, view.getStatus());
+        assertEquals(player.getId(), view.getPlayer().getId());
+        assertEquals("Test Player", view.getPlayer().getName());
+        assertEquals("From Club", view.getFromClub().getName());
+        assertEquals("To Club", view.getToClub().getName());
+        assertNotNull(view.getInitiationTimestamp());
+        assertEquals(0L, view.getVersion());
+    }
+
+    @Test
+    void revision_shouldChangeWhenTransferIsUpdatedOrAClubIsRenamed() {
+        Transfer transfer = new Transfer();
+        transfer.setPlayer(player);
+        transfer.setFromClub(fromClub);
+        transfer.setToClub(toClub);
+        transfer.setStatus(TransferStatus.DRAFT);
+        transfer = transferRepository.saveAndFlush(transfer);
+        String initial = transferRepository.findRevisionById(transfer.getId()).orElseThrow();
+
+        transfer.setStatus(TransferStatus.SUBMITTED);
+        transferRepository.saveAndFlush(transfer);
+        String afterUpdate = transferRepository.findRevisionById(transfer.getId()).orElseThrow();
+
+        toClub.setName("Renamed Club");
+        clubRepository.saveAndFlush(toClub);
+        String afterRename = transferRepository.findRevisionById(transfer.getId()).orElseThrow();
+
+        assertEquals(1L, transferRepository.findVersionById(transfer.getId()).orElseThrow());
+        assertNotEquals(initial, afterUpdate);
+        assertNotEquals(afterUpdate, afterRename);
+        assertEquals(afterRename, transferRepository.findViewById(transfer.getId()).orElseThrow().getRevision());
+    }
+
+    @Test
+    void clubWatermark_shouldChangeOnInsertUpdateAndDelete() {
+        String initial = clubRepository.findWatermark();
+
+        Club club = new Club();
+        club.setName("Another Club");
+        club = clubRepository.saveAndFlush(club);
+        String afterInsert = clubRepository.findWatermark();
+
+        club.setName("Renamed Club");
+        clubRepository.saveAndFlush(club);
+        String afterUpdate = clubRepository.findWatermark();
+
+        Long versionBeforeBudgetChange = clubRepository.findVersionById(club.getId()).orElseThrow();
+        entityManager.persistAndFlush(new BudgetLedgerEntry(club, BigDecimal.TEN, BudgetEntryType.ADJUSTMENT, null));
+        String afterBudgetChange = clubRepository.findWatermark();
+        Long versionAfterBudgetChange = clubRepository.findVersionById(club.getId()).orElseThrow();
+
+        budgetLedgerRepository.deleteByClubId(club.getId());
+        clubRepository.delete(club);
+        clubRepository.flush();
+        String afterDelete = clubRepository.findWatermark();
+
+        assertNotEquals(initial, afterInsert);
+        assertNotEquals(afterInsert, afterUpdate);
+        assertNotEquals(afterUpdate, afterBudgetChange);
+        assertNotEquals(versionBeforeBudgetChange, versionAfterBudgetChange);
+        assertNotEquals(afterBudgetChange, afterDelete);
+        assertEquals(Optional.of(0L), playerRepository.findVersionById(player.getId()));
+    }
+
+    @Test
+    void findPrecheck_shouldReturnPlayerClubsAndActiveTransferFlagInOneRow() {
+        player.setCurrentMarketValue(new BigDecimal("750000"));
+        playerRepository.saveAndFlush(player);
+
+        TransferPrecheck precheck = transferRepository
+                .findPrecheck(player.getId(), fromClub.getId(), toClub.getId()).orElseThrow();
+
+        assertEquals("Test Player", precheck.getPlayerName());
+        assertEquals(0, new BigDecimal("750000").compareTo(precheck.getPlayerMarketValue()));
+        assertEquals("From Club", precheck.getFromClubName());
+        assertEquals(toClub.getId(), precheck.getToClubId());
+        assertEquals(0, new BigDecimal("2000000").compareTo(precheck.getToClubBudget()));
+        assertFalse(precheck.hasActiveTransfer());
+
+        Transfer transfer = new Transfer();
+        transfer.setPlayer(player);
+        transfer.setFromClub(fromClub);
+        transfer.setToClub(toClub);
+        transfer.setStatus(TransferStatus.NEGOTIATION);
+        transferRepository.saveAndFlush(transfer);
+
+        assertTrue(transferRepository
+                .findPrecheck(player.getId(), fromClub.getId(), toClub.getId()).orElseThrow()
+                .hasActiveTransfer());
+    }
+
+    @Test
+    void findPrecheck_shouldSignalMissingPlayerAndClubs() {
+        assertTrue(transferRepository.findPrecheck(-1L, fromClub.getId(), toClub.getId()).isEmpty());
+
+        TransferPrecheck missingClubs = transferRepository
+                .findPrecheck(player.getId(), -1L, -2L).orElseThrow();
+        assertNull(missingClubs.getFromClubId());
+        assertNull(missingClubs.getToClubId());
+    }
+
+    @Test
+    void agreedFeeAndClauses_shouldBeStoredWithTransferAndProjected() {
+        Transfer transfer = new Transfer();
+        transfer.setPlayer(player);
+        transfer.setFromClub(fromClub);
+        transfer.setToClub(toClub);
+        transfer.setStatus(TransferStatus.DRAFT);
+        transfer.setAgreedFee(new BigDecimal("1250000.50"));
+        transfer.getClauses().add(new ContractClause("SELL_ON", new BigDecimal("12.5"), null));
+        transfer.getClauses().add(new ContractClause("BONUS", null, new BigDecimal("250000")));
+        transfer = transferRepository.saveAndFlush(transfer);
+        entityManager.clear();
+
+        Transfer reloaded = transferRepository.findById(transfer.getId()).orElseThrow();
+        assertEquals(0, new BigDecimal("1250000.50").compareTo(reloaded.getAgreedFee()));
+        assertEquals(2, reloaded.getClauses().size());
+        assertEquals("SELL_ON", reloaded.getClauses().get(0).getType());
+        assertEquals(0, new BigDecimal("12.5").compareTo(reloaded.getClauses().get(0).getPercentage()));
+        assertEquals(0, new BigDecimal("250000").compareTo(reloaded.getClauses().get(1).getAmount()));
+
+        TransferView view = transferRepository.findViewById(transfer.getId()).orElseThrow();
+        assertEquals(0, new BigDecimal("1250000.50").compareTo(view.getAgreedFee()));
+        assertNull(view.getClauses());
+
+        List<ContractClauseDto> clauses = transferRepository.findClausesById(transfer.getId());
+        assertEquals(List.of("SELL_ON", "BONUS"), clauses.stream().map(ContractClauseDto::getType).toList());
+        assertEquals(0, new BigDecimal("12.5").compareTo(clauses.get(0).getPercentage()));
+        assertEquals(0, new BigDecimal("250000").compareTo(clauses.get(1).getAmount()));
+    }
+}
@@ -0,0 +1,228 @@
+package com.transfersystem.service;
+
+import com.transfersystem.exception.InsufficientBudgetException;
+import com.transfersystem.model.BudgetEntryType;
+import com.transfersystem.model.BudgetLedgerEntry;
+import com.transfersystem.model.BudgetSnapshot;
+import com.transfersystem.model.Club;
+import com.transfersystem.repository.BudgetLedgerRepository;
+import com.transfersystem.repository.BudgetSnapshotRepository;
+import com.transfersystem.repository.ClubRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import({BudgetLedgerService.class, BudgetLedgerCompactor.class, SimpleMeterRegistry.class})
+// Ledger writes and compaction commit their own transactions, so the test itself must not run inside one
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BudgetLedgerServiceTest {
+
+    @Autowired
+    private BudgetLedgerService budgetLedgerService;
+
+    @Autowired
+    private BudgetLedgerCompactor budgetLedgerCompactor;
+
+    @Autowired
+    private BudgetLedgerRepository budgetLedgerRepository;
+
+    @Autowired
+    private BudgetSnapshotRepository budgetSnapshotRepository;
+
+    @Autowired
+    private ClubRepository clubRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private Club club;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        club = new Club();
+        club.setName("Ledger Club");
+        club = clubRepository.save(club);
+    }
+
+    @AfterEach
+    void tearDown() {
+        budgetSnapshotRepository.deleteAll();
+        budgetLedgerRepository.deleteAll();
+        clubRepository.deleteAll();
+    }
+
+    @Test
+    void setBalancesAndAppend_shouldDeriveTheBudgetFromTheLedger() {
+        assertEquals(0, BigDecimal.ZERO.compareTo(budgetLedgerService.balance(club.getId())));
+        UUID transferId = UUID.randomUUID();
+
+        transactionTemplate.executeWithoutResult(status ->
+                budgetLedgerService.setBalances(Map.of(club.getId(), new BigDecimal("1000")), BudgetEntryType.OPENING));
+        transactionTemplate.executeWithoutResult(status ->
+                budgetLedgerService.append(club.getId(), new BigDecimal("-250"), BudgetEntryType.TRANSFER_OUT, transferId));
+        transactionTemplate.executeWithoutResult(status ->
+                budgetLedgerService.setBalances(Map.of(club.getId(), new BigDecimal("750")), BudgetEntryType.ADJUSTMENT));
+
+        assertEquals(0, new BigDecimal("750").compareTo(budgetLedgerService.balance(club.getId())));
+        List<BudgetLedgerEntry> entries = budgetLedgerRepository.findByClub_IdOrderById(club.getId());
+        // Setting the balance it already has appends nothing
+        assertEquals(List.of(BudgetEntryType.OPENING, BudgetEntryType.TRANSFER_OUT),
+                entries.stream().map(BudgetLedgerEntry::getType).toList());
+        assertEquals(transferId, entries.get(1).getTransferId());
+    }
+
+    @Test
+    void compactClubs_shouldFoldEntriesIntoTheSnapshotWithoutChangingTheBudget() {
+        for (int i = 1; i <= 5; i++) {
+            BigDecimal amount = BigDecimal.valueOf(i * 100L);
+            transactionTemplate.executeWithoutResult(status ->
+                    budgetLedgerService.append(club.getId(), amount, BudgetEntryType.ADJUSTMENT, null));
+        }
+
+        assertEquals(0, budgetLedgerCompactor.compactClubs(6, LocalDateTime.now()));
+        assertEquals(5, budgetLedgerCompactor.compactClubs(5, LocalDateTime.now()));
+
+        BudgetSnapshot snapshot = budgetSnapshotRepository.findById(club.getId()).orElseThrow();
+        List<BudgetLedgerEntry> entries = budgetLedgerRepository.findByClub_IdOrderById(club.getId());
+        assertEquals(entries.get(4).getId(), snapshot.getLastEntryId());
+        assertEquals(5, snapshot.getEntryCount());
+        assertEquals(0, new BigDecimal("1500").compareTo(snapshot.getBalance()));
+        assertEquals(0, new BigDecimal("1500").compareTo(budgetLedgerService.balance(club.getId())));
+
+        // Entries after the snapshot are still counted, and only they are folded next time
+        transactionTemplate.executeWithoutResult(status ->
+                budgetLedgerService.append(club.getId(), new BigDecimal("-500"), BudgetEntryType.TRANSFER_OUT, null));
+        assertEquals(0, new BigDecimal("1000").compareTo(budgetLedgerService.balance(club.getId())));
+        assertEquals(1, budgetLedgerCompactor.compactClubs(1, LocalDateTime.now()));
+        assertEquals(0, new BigDecimal("1000").compareTo(budgetLedgerService.balance(club.getId())));
+    }
+
+    @Test
+    void compactClubs_shouldOnlyFoldEntriesCreatedBeforeTheWatermark() {
+        BudgetLedgerEntry first = transactionTemplate.execute(status ->
+                budgetLedgerService.append(club.getId(), new BigDecimal("100"), BudgetEntryType.ADJUSTMENT, null));
+        BudgetLedgerEntry second = transactionTemplate.execute(status ->
+                budgetLedgerService.append(club.getId(), new BigDecimal("200"), BudgetEntryType.ADJUSTMENT, null));
+
+        // An entry created at the watermark may still belong to an open transaction
+        assertEquals(1, budgetLedgerCompactor.compactClubs(1, second.getCreatedAt()));
+
+        BudgetSnapshot snapshot = budgetSnapshotRepository.findById(club.getId()).orElseThrow();
+        assertEquals(first.getId(), snapshot.getLastEntryId());
+        assertEquals(0, new BigDecimal("100").compareTo(snapshot.getBalance()));
+        assertEquals(0, new BigDecimal("300").compareTo(budgetLedgerService.balance(club.getId())));
+        assertEquals(1, budgetLedgerCompactor.compactClubs(1, LocalDateTime.now()));
+        assertEquals(0, new BigDecimal("300").compareTo(budgetLedgerService.balance(club.getId())));
+    }
+
+    @Test
+    void append_concurrentlyWithCompaction_shouldLoseNoEntry() throws Exception {
+        int writers = 4;
+        int appendsPerWriter = 50;
+        ExecutorService executor = Executors.newFixedThreadPool(writers + 1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int w = 0; w < writers; w++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < appendsPerWriter; i++) {
+                        transactionTemplate.executeWithoutResult(status ->
+                                budgetLedgerService.append(club.getId(), BigDecimal.ONE, BudgetEntryType.ADJUSTMENT, null));
+                    }
+                }));
+            }
+            AtomicBoolean writing = new AtomicBoolean(true);
+            Future<?> compactor = executor.submit(() -> {
+                // Folds while the writers append, up to a watermark far older than any of their transactions
+                while (writing.get()) {
+                    budgetLedgerCompactor.compactClubs(1, LocalDateTime.now().minusNanos(250_000_000));
+                    Thread.sleep(20);
+                }
+                return null;
+            });
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            writing.set(false);
+            compactor.get();
+        } finally {
+            executor.shutdown();
+        }
+        budgetLedgerCompactor.compactClubs(1, LocalDateTime.now());
+
+        BigDecimal expected = BigDecimal.valueOf((long) writers * appendsPerWriter);
+        assertEquals(0, expected.compareTo(budgetLedgerService.balance(club.getId())));
+        assertEquals(0, expected.compareTo(budgetSnapshotRepository.findById(club.getId()).orElseThrow().getBalance()));
+    }
+
+    @Test
+    void debit_whenBudgetDoesNotCoverIt_shouldThrowAndBookNothing() {
+        transactionTemplate.executeWithoutResult(status ->
+                budgetLedgerService.setBalances(Map.of(club.getId(), new BigDecimal("1000")), BudgetEntryType.OPENING));
+
+        assertThrows(InsufficientBudgetException.class, () -> transactionTemplate.executeWithoutResult(status ->
+                budgetLedgerService.debit(club.getId(), new BigDecimal("1000.01"), BudgetEntryType.TRANSFER_OUT, null)));
+        transactionTemplate.executeWithoutResult(status ->
+                budgetLedgerService.debit(club.getId(), new BigDecimal("1000"), BudgetEntryType.TRANSFER_OUT, null));
+
+        assertEquals(0, BigDecimal.ZERO.compareTo(budgetLedgerService.balance(club.getId())));
+        assertEquals(2, budgetLedgerRepository.findByClub_IdOrderById(club.getId()).size());
+    }
+
+    @Test
+    void debit_concurrently_shouldNeverOverdraw() throws Exception {
+        transactionTemplate.executeWithoutResult(status ->
+                budgetLedgerService.setBalances(Map.of(club.getId(), new BigDecimal("1000")), BudgetEntryType.OPENING));
+        int debits = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(debits);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Boolean>> futures = new ArrayList<>();
+            for (int i = 0; i < debits; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        transactionTemplate.executeWithoutResult(status ->
+                                budgetLedgerService.debit(club.getId(), new BigDecimal("300"), BudgetEntryType.TRANSFER_OUT, null));
+                        return true;
+                    } catch (InsufficientBudgetException e) {
+                        return false;
+                    }
+                }));
+            }
+            start.countDown();
+            int succeeded = 0;
+            for (Future<Boolean> future : futures) {
+                succeeded += future.get() ? 1 : 0;
+            }
+            assertEquals(3, succeeded);
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(0, new BigDecimal("100").compareTo(budgetLedgerService.balance(club.getId())));
+    }
+}
@@ -0,0 +1,145 @@
+package com.transfersystem.service;
+
+import com.transfersystem.config.CacheConfig;
+import com.transfersystem.dto.BulkResultDTO;
+import com.transfersystem.dto.ClubDTO;
+import com.transfersystem.dto.ClubFinancialsDTO;
+import com.transfersystem.dto.PlayerDTO;
+import com.transfersystem.dto.PlayerSearchHit;
+import com.transfersystem.model.BudgetEntryType;
+import com.transfersystem.model.Club;
+import com.transfersystem.repository.BudgetLedgerRepository;
+import com.transfersystem.repository.ClubRepository;
+import com.transfersystem.repository.MarketValueChunkRepository;
+import com.transfersystem.repository.PlayerRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import({BulkImportService.class, BudgetLedgerService.class, EntityCacheInvalidator.class, PlayerSearchIndex.class,
+        ClubFinancialAggregates.class, MarketValueHistory.class, SimpleMeterRegistry.class, CacheConfig.class})
+@TestPropertySource(properties = {"bulk.chunk-size=3", "bulk.max-rows=20"})
+// Each chunk commits in its own transaction, so the test itself must not run inside one
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BulkImportServiceTest {
+
+    @Autowired
+    private BulkImportService bulkImportService;
+
+    @Autowired
+    private ClubRepository clubRepository;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private BudgetLedgerRepository budgetLedgerRepository;
+
+    @Autowired
+    private PlayerSearchIndex playerSearchIndex;
+
+    @Autowired
+    private ClubFinancialAggregates clubFinancialAggregates;
+
+    @Autowired
+    private MarketValueHistory marketValueHistory;
+
+    @Autowired
+    private MarketValueChunkRepository marketValueChunkRepository;
+
+    @AfterEach
+    void tearDown() {
+        playerRepository.deleteAll();
+        marketValueChunkRepository.deleteAll();
+        budgetLedgerRepository.deleteAll();
+        clubRepository.deleteAll();
+    }
+
+    @Test
+    void upsertClubs_shouldCreateValidRowsAcrossChunksAndReportInvalidOnes() {
+        List<ClubDTO> rows = new ArrayList<>();
+        IntStream.range(0, 7).forEach(i -> rows.add(new ClubDTO(null, "Club " + i, new BigDecimal("100"))));
+        rows.add(2, new ClubDTO(null, " ", null));
+        rows.add(null);
+
+        BulkResultDTO<ClubDTO> result = bulkImportService.upsertClubs(rows);
+
+        assertEquals(7, result.getSavedCount());
+        assertEquals(2, result.getErrorCount());
+        assertEquals(List.of(2, 8), result.getErrors().stream().map(e -> e.getIndex()).sorted().toList());
+        assertTrue(result.getSaved().stream().allMatch(dto -> dto.getId() != null && dto.getVersion() != null));
+        assertTrue(result.getSaved().stream().allMatch(dto -> new BigDecimal("100").compareTo(dto.getBudget()) == 0));
+        assertEquals(7, clubRepository.count());
+        assertEquals(7, budgetLedgerRepository.count());
+    }
+
+    @Test
+    void upsertClubs_withExistingId_shouldUpdateAndReportUnknownIds() {
+        Club club = new Club();
+        club.setName("Old Name");
+        club = clubRepository.save(club);
+        Long versionBefore = clubRepository.findVersionById(club.getId()).orElseThrow();
+
+        BulkResultDTO<ClubDTO> result = bulkImportService.upsertClubs(Arrays.asList(
+                new ClubDTO(club.getId(), "New Name", BigDecimal.TEN),
+                new ClubDTO(999_999L, "Ghost", null)));
+
+        assertEquals(1, result.getSavedCount());
+        assertTrue(result.getSaved().get(0).getVersion() > versionBefore);
+        assertEquals(0, BigDecimal.TEN.compareTo(result.getSaved().get(0).getBudget()));
+        assertEquals(1, result.getErrors().get(0).getIndex());
+        assertEquals("New Name", clubRepository.findById(club.getId()).orElseThrow().getName());
+        assertEquals(BudgetEntryType.ADJUSTMENT, budgetLedgerRepository.findByClub_IdOrderById(club.getId()).get(0).getType());
+    }
+
+    @Test
+    void upsertPlayers_shouldRejectRowsReferencingUnknownClubs() {
+        Club club = new Club();
+        club.setName("Home Club");
+        club = clubRepository.save(club);
+
+        BulkResultDTO<PlayerDTO> result = bulkImportService.upsertPlayers(List.of(
+                new PlayerDTO(null, "Player A", BigDecimal.ONE, club.getId()),
+                new PlayerDTO(null, "Player B", BigDecimal.ONE, 424_242L),
+                new PlayerDTO(null, "Player C", null, null)));
+
+        assertEquals(2, result.getSavedCount());
+        assertEquals(club.getId(), result.getSaved().get(0).getCurrentClubId());
+        assertEquals(1, result.getErrors().get(0).getIndex());
+        assertEquals(2, playerRepository.count());
+        // Committed rows are searchable, the rejected one is not
+        assertEquals(List.of("Player A"), playerSearchIndex.search("player a", 10).stream().map(PlayerSearchHit::getName).toList());
+        assertEquals(List.of(), playerSearchIndex.search("player b", 10));
+        ClubFinancialsDTO financials = clubFinancialAggregates.club(club.getId()).orElseThrow();
+        assertEquals(1, financials.getSquadSize());
+        assertEquals(0, BigDecimal.ONE.compareTo(financials.getSquadValue()));
+        // Only a player with a value starts a history
+        Long playerA = result.getSaved().get(0).getId();
+        assertEquals(0, BigDecimal.ONE.compareTo(marketValueHistory.asOf(playerA, Instant.now()).orElseThrow().getValue()));
+        assertTrue(marketValueHistory.asOf(result.getSaved().get(1).getId(), Instant.now()).isEmpty());
+    }
+
+    @Test
+    void upsertPlayers_whenTooManyRows_shouldThrow() {
+        List<PlayerDTO> rows = new ArrayList<>();
+        IntStream.range(0, 21).forEach(i -> rows.add(new PlayerDTO(null, "Player " + i, null, null)));
+
+        assertThrows(IllegalArgumentException.class, () -> bulkImportService.upsertPlayers(rows));
+    }
+}
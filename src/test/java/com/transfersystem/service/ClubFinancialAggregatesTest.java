@@ -0,0 +1,203 @@
+package com.transfersystem.service;
+
+import com.transfersystem.dto.ClubFinancialsDTO;
+import com.transfersystem.dto.CompletedTransferFee;
+import com.transfersystem.dto.PlayerDTO;
+import com.transfersystem.model.Club;
+import com.transfersystem.model.Player;
+import com.transfersystem.model.Transfer;
+import com.transfersystem.repository.PlayerRepository;
+import com.transfersystem.repository.TransferRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ClubFinancialAggregatesTest {
+
+    @Mock
+    private TransferRepository transferRepository;
+
+    @Mock
+    private PlayerRepository playerRepository;
+
+    private ClubFinancialAggregates aggregates;
+    private Club home;
+    private Club away;
+
+    @BeforeEach
+    void setUp() {
+        aggregates = new ClubFinancialAggregates(transferRepository, playerRepository);
+        home = club(1L);
+        away = club(2L);
+    }
+
+    @Test
+    void rebuild_shouldSumFeesAndSquadsInOnePassOverEach() {
+        when(transferRepository.streamCompletedFees()).thenReturn(Stream.of(
+                new CompletedTransferFee(1L, 2L, new BigDecimal("10")),
+                new CompletedTransferFee(2L, 1L, new BigDecimal("4"))));
+        when(playerRepository.streamAllForExport()).thenReturn(Stream.of(
+                new PlayerDTO(10L, "A", new BigDecimal("5"), 2L, 0L),
+                new PlayerDTO(11L, "B", new BigDecimal("3"), 1L, 0L),
+                new PlayerDTO(12L, "Free Agent", new BigDecimal("7"), null, 0L),
+                new PlayerDTO(13L, "Unvalued", null, 1L, 0L)));
+
+        aggregates.rebuild();
+
+        assertTotals(aggregates.club(2L).orElseThrow(), "10", "4", "5", 1, 1, 1);
+        assertTotals(aggregates.club(1L).orElseThrow(), "4", "10", "3", 2, 1, 1);
+        assertEquals(0, new BigDecimal("6").compareTo(aggregates.club(1L).orElseThrow().getNetSpend().negate()));
+        assertTotals(aggregates.league(), "14", "14", "8", 3, 2, 2);
+        assertNull(aggregates.league().getClubId());
+        assertTrue(aggregates.club(3L).isEmpty());
+    }
+
+    @Test
+    void changes_shouldLeaveTheSameTotalsAsARebuild() {
+        Player player = player(10L, away, "5", 0L);
+        aggregates.playerSaved(player);
+        aggregates.playerSaved(player(11L, home, "3", 0L));
+
+        // The player moves from away to home for 4, and is revalued on arrival
+        aggregates.transferCompleted(transfer(away, home, "4"));
+        aggregates.playerSaved(player(10L, home, "6", 1L));
+        // A save that committed earlier but reports late changes nothing
+        aggregates.playerSaved(player(10L, away, "5", 0L));
+        aggregates.playerSaved(player(11L, home, "2", 1L));
+        aggregates.playerDeleted(11L);
+
+        assertTotals(aggregates.club(1L).orElseThrow(), "4", "0", "6", 1, 1, 0);
+        assertTotals(aggregates.club(2L).orElseThrow(), "0", "4", "0", 0, 0, 1);
+        ClubFinancialsDTO league = aggregates.league();
+
+        when(transferRepository.streamCompletedFees()).thenReturn(Stream.of(
+                new CompletedTransferFee(2L, 1L, new BigDecimal("4"))));
+        when(playerRepository.streamAllForExport()).thenReturn(Stream.of(
+                new PlayerDTO(10L, "A", new BigDecimal("6"), 1L, 1L)));
+        aggregates.rebuild();
+
+        assertTotals(aggregates.league(), league.getTotalSpent().toPlainString(), league.getTotalReceived().toPlainString(),
+                league.getSquadValue().toPlainString(), league.getSquadSize(), league.getTransfersIn(), league.getTransfersOut());
+        assertTotals(aggregates.club(1L).orElseThrow(), "4", "0", "6", 1, 1, 0);
+    }
+
+    @Test
+    void changes_insideTransaction_shouldOnlyApplyOnCommit_withTheCommittedVersion() {
+        Player player = player(10L, home, "5", 0L);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            aggregates.transferCompleted(transfer(away, home, "8"));
+            aggregates.playerSaved(player);
+            assertTrue(aggregates.club(1L).isEmpty());
+
+            // Written by the flush at commit, after playerSaved was called
+            player.setVersion(1L);
+            commit();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertTotals(aggregates.club(1L).orElseThrow(), "8", "0", "5", 1, 1, 0);
+
+        aggregates.playerSaved(player(10L, away, "5", 0L));
+        assertEquals(1, aggregates.club(1L).orElseThrow().getSquadSize());
+    }
+
+    @Test
+    void rebuild_shouldCountChangesCommittedWhileItStreamsExactlyOnce() {
+        Transfer streamedLate = transfer(away, home, "10");
+        Transfer notStreamed = transfer(home, away, "3");
+        Player moved = player(10L, home, "5", 1L);
+        // Both completions report while the fees are streamed, but only the first is in the snapshot
+        when(transferRepository.streamCompletedFees()).thenReturn(Stream.of(
+                new CompletedTransferFee(2L, 1L, new BigDecimal("10"))).peek(fee -> {
+                    aggregates.transferCompleted(streamedLate);
+                    aggregates.transferCompleted(notStreamed);
+                    aggregates.playerSaved(moved);
+                }));
+        when(playerRepository.streamAllForExport()).thenReturn(Stream.of(
+                new PlayerDTO(10L, "A", new BigDecimal("5"), 2L, 0L)));
+        when(transferRepository.findCompletedIds(Set.of(streamedLate.getId(), notStreamed.getId())))
+                .thenReturn(List.of(streamedLate.getId()));
+
+        aggregates.rebuild();
+
+        assertTotals(aggregates.club(1L).orElseThrow(), "10", "3", "5", 1, 1, 1);
+        assertTotals(aggregates.club(2L).orElseThrow(), "3", "10", "0", 0, 1, 1);
+    }
+
+    @Test
+    void rebuild_shouldSkipAnInFlightCompletionItAlreadyStreamed() {
+        Transfer completed = transfer(away, home, "8");
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            aggregates.transferCompleted(completed);
+
+            // The transaction commits before the snapshot is taken, but reports after the rebuild
+            when(transferRepository.streamCompletedFees()).thenReturn(Stream.of(
+                    new CompletedTransferFee(2L, 1L, new BigDecimal("8"))));
+            when(playerRepository.streamAllForExport()).thenReturn(Stream.empty());
+            when(transferRepository.findCompletedIds(Set.of(completed.getId()))).thenReturn(List.of(completed.getId()));
+            aggregates.rebuild();
+            commit();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertTotals(aggregates.club(1L).orElseThrow(), "8", "0", "0", 0, 1, 0);
+    }
+
+    // What the transaction manager calls on the registered synchronizations at commit
+    private static void commit() {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+    }
+
+    private static void assertTotals(ClubFinancialsDTO totals, String spent, String received, String squadValue,
+                                     long squadSize, long transfersIn, long transfersOut) {
+        assertEquals(0, new BigDecimal(spent).compareTo(totals.getTotalSpent()), "spent");
+        assertEquals(0, new BigDecimal(received).compareTo(totals.getTotalReceived()), "received");
+        assertEquals(0, new BigDecimal(squadValue).compareTo(totals.getSquadValue()), "squad value");
+        assertEquals(squadSize, totals.getSquadSize(), "squad size");
+        assertEquals(transfersIn, totals.getTransfersIn(), "transfers in");
+        assertEquals(transfersOut, totals.getTransfersOut(), "transfers out");
+    }
+
+    private static Club club(Long id) {
+        Club club = new Club();
+        club.setId(id);
+        return club;
+    }
+
+    private static Player player(Long id, Club club, String value, Long version) {
+        Player player = new Player();
+        player.setId(id);
+        player.setCurrentClub(club);
+        player.setCurrentMarketValue(new BigDecimal(value));
+        player.setVersion(version);
+        return player;
+    }
+
+    private static Transfer transfer(Club from, Club to, String fee) {
+        Transfer transfer = new Transfer();
+        transfer.setId(UUID.randomUUID());
+        transfer.setFromClub(from);
+        transfer.setToClub(to);
+        transfer.setAgreedFee(new BigDecimal(fee));
+        return transfer;
+    }
+}
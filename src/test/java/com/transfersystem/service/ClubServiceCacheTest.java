@@ -0,0 +1,125 @@
+package com.transfersystem.service;
+
+import com.transfersystem.config.CacheConfig;
+import com.transfersystem.dto.ClubDTO;
+import com.transfersystem.model.Club;
+import com.transfersystem.repository.ClubRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@SpringJUnitConfig({CacheConfig.class, ClubService.class, EntityCacheInvalidator.class})
+class ClubServiceCacheTest {
+
+    @Autowired
+    private ClubService clubService;
+
+    @Autowired
+    private EntityCacheInvalidator entityCacheInvalidator;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @MockBean
+    private ClubRepository clubRepository;
+
+    @MockBean
+    private BudgetLedgerService budgetLedgerService;
+
+    @MockBean
+    private ClubFinancialAggregates clubFinancialAggregates;
+
+    private Club club;
+
+    private ClubDTO clubDTO;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        club = new Club();
+        club.setId(1L);
+        club.setName("Test Club");
+        clubDTO = new ClubDTO(1L, "Test Club", new BigDecimal("5"), 1L);
+    }
+
+    @Test
+    void getClubById_shouldHitDatabaseOnlyOnce() {
+        when(clubRepository.findDTOById(1L)).thenReturn(Optional.of(clubDTO));
+
+        clubService.getClubById(1L);
+        ClubDTO second = clubService.getClubById(1L);
+
+        assertEquals("Test Club", second.getName());
+        verify(clubRepository, times(1)).findDTOById(1L);
+    }
+
+    @Test
+    void updateClub_shouldRefreshCachedClubAndDropCachedList() {
+        ClubDTO renamed = new ClubDTO(1L, "Renamed Club", new BigDecimal("5"), 2L);
+        when(clubRepository.findById(1L)).thenReturn(Optional.of(club));
+        when(clubRepository.findDTOById(1L)).thenReturn(Optional.of(clubDTO), Optional.of(renamed));
+        when(clubRepository.findAllDTOs()).thenReturn(List.of(clubDTO), List.of(renamed));
+        when(clubRepository.save(any(Club.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        clubService.getClubById(1L);
+        clubService.getAllClubs();
+
+        clubService.updateClub(1L, new ClubDTO(1L, "Renamed Club", new BigDecimal("5")));
+
+        assertEquals("Renamed Club", clubService.getClubById(1L).getName());
+        assertEquals("Renamed Club", clubService.getAllClubs().get(0).getName());
+        // One read before the update plus the update's own re-read; the read after came from the cache
+        verify(clubRepository, times(2)).findDTOById(1L);
+        verify(clubRepository, times(2)).findAllDTOs();
+    }
+
+    @Test
+    void deleteClub_shouldEvictCachedClub() {
+        when(clubRepository.findDTOById(1L)).thenReturn(Optional.of(clubDTO));
+        when(clubRepository.existsById(1L)).thenReturn(true);
+        clubService.getClubById(1L);
+
+        clubService.deleteClub(1L);
+        clubService.getClubById(1L);
+
+        verify(clubRepository, times(2)).findDTOById(1L);
+    }
+
+    @Test
+    void evictClub_shouldForceReloadOfClubAndList() {
+        when(clubRepository.findDTOById(1L)).thenReturn(Optional.of(clubDTO));
+        when(clubRepository.findAllDTOs()).thenReturn(List.of(clubDTO));
+        clubService.getClubById(1L);
+        clubService.getAllClubs();
+
+        entityCacheInvalidator.evictClub(1L);
+        clubService.getClubById(1L);
+        clubService.getAllClubs();
+
+        verify(clubRepository, times(2)).findDTOById(1L);
+        verify(clubRepository, times(2)).findAllDTOs();
+    }
+
+    @Test
+    void cacheStatistics_shouldRecordHitsAndMisses() {
+        when(clubRepository.findDTOById(1L)).thenReturn(Optional.of(clubDTO));
+
+        clubService.getClubById(1L);
+        clubService.getClubById(1L);
+
+        com.github.benmanes.caffeine.cache.Cache<?, ?> nativeCache =
+                (com.github.benmanes.caffeine.cache.Cache<?, ?>) cacheManager.getCache(CacheConfig.CLUBS).getNativeCache();
+        assertTrue(nativeCache.stats().hitCount() >= 1);
+        assertTrue(nativeCache.stats().missCount() >= 1);
+    }
+}
@@ -1,6 +1,9 @@
 package com.transfersystem.service;
 
 import com.transfersystem.dto.ClubDTO;
+import com.transfersystem.dto.ClubFinancialsDTO;
+import com.transfersystem.exception.ResourceNotFoundException;
+import com.transfersystem.model.BudgetEntryType;
 import com.transfersystem.model.Club;
 import com.transfersystem.repository.ClubRepository;
 import jakarta.persistence.EntityNotFoundException;
@@ -14,6 +17,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.math.BigDecimal;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -26,6 +30,12 @@ class ClubServiceTest {
     @Mock
     private ClubRepository clubRepository;
 
+    @Mock
+    private BudgetLedgerService budgetLedgerService;
+
+    @Mock
+    private ClubFinancialAggregates clubFinancialAggregates;
+
     @InjectMocks
     private ClubService clubService;
 
@@ -37,7 +47,6 @@ class ClubServiceTest {
         club = new Club();
         club.setId(1L);
         club.setName("Test Club");
-        club.setBudget(new BigDecimal("1000000"));
 
         clubDTO = new ClubDTO();
         clubDTO.setId(1L);
@@ -48,57 +57,75 @@ class ClubServiceTest {
     @Test
     void createClub() {
         when(clubRepository.save(any(Club.class))).thenReturn(club);
+        when(clubRepository.findDTOById(1L)).thenReturn(Optional.of(new ClubDTO(1L, "Test Club", clubDTO.getBudget(), 1L)));
 
         ClubDTO result = clubService.createClub(clubDTO);
 
         assertNotNull(result);
         assertEquals(club.getName(), result.getName()); // Name from saved entity
+        assertEquals(clubDTO.getBudget(), result.getBudget());
         verify(clubRepository, times(1)).save(any(Club.class));
+        verify(budgetLedgerService).openLedgers(List.of(1L));
+        verify(budgetLedgerService).setBalances(Map.of(1L, clubDTO.getBudget()), BudgetEntryType.OPENING);
     }
 
     @Test
     void getAllClubs() {
-        when(clubRepository.findAll()).thenReturn(Collections.singletonList(club));
+        when(clubRepository.findAllDTOs()).thenReturn(Collections.singletonList(new ClubDTO(1L, "Test Club", clubDTO.getBudget(), 1L)));
 
         List<ClubDTO> results = clubService.getAllClubs();
 
         assertNotNull(results);
         assertEquals(1, results.size());
         assertEquals(club.getName(), results.get(0).getName());
-        verify(clubRepository, times(1)).findAll();
+        verify(clubRepository, times(1)).findAllDTOs();
     }
 
     @Test
     void getClubById_found() {
-        when(clubRepository.findById(1L)).thenReturn(Optional.of(club));
+        when(clubRepository.findDTOById(1L)).thenReturn(Optional.of(new ClubDTO(1L, "Test Club", clubDTO.getBudget(), 1L)));
 
         ClubDTO result = clubService.getClubById(1L);
 
         assertNotNull(result);
         assertEquals(club.getName(), result.getName());
-        verify(clubRepository, times(1)).findById(1L);
+        verify(clubRepository, times(1)).findDTOById(1L);
     }
 
     @Test
     void getClubById_notFound() {
-        when(clubRepository.findById(1L)).thenReturn(Optional.empty());
+        when(clubRepository.findDTOById(1L)).thenReturn(Optional.empty());
 
         assertThrows(EntityNotFoundException.class, () -> clubService.getClubById(1L));
-        verify(clubRepository, times(1)).findById(1L);
+        verify(clubRepository, times(1)).findDTOById(1L);
     }
 
     @Test
     void updateClub_found() {
         when(clubRepository.findById(1L)).thenReturn(Optional.of(club));
         when(clubRepository.save(any(Club.class))).thenReturn(club); // mock save for updated entity
+        when(clubRepository.findDTOById(1L)).thenReturn(Optional.of(new ClubDTO(1L, "Test Club DTO", clubDTO.getBudget(), 2L)));
 
         ClubDTO result = clubService.updateClub(1L, clubDTO);
 
         assertNotNull(result);
         assertEquals(clubDTO.getName(), club.getName()); // Verify club entity was updated
-        assertEquals(clubDTO.getBudget(), club.getBudget());
+        assertEquals(clubDTO.getBudget(), result.getBudget());
         verify(clubRepository, times(1)).findById(1L);
         verify(clubRepository, times(1)).save(club);
+        verify(budgetLedgerService).setBalances(Map.of(1L, clubDTO.getBudget()), BudgetEntryType.ADJUSTMENT);
+    }
+
+    @Test
+    void updateClub_withoutBudget_leavesTheLedgerAlone() {
+        clubDTO.setBudget(null);
+        when(clubRepository.findById(1L)).thenReturn(Optional.of(club));
+        when(clubRepository.findDTOById(1L)).thenReturn(Optional.of(new ClubDTO(1L, "Test Club DTO", new BigDecimal("1000000"), 2L)));
+
+        ClubDTO result = clubService.updateClub(1L, clubDTO);
+
+        assertEquals(new BigDecimal("1000000"), result.getBudget());
+        verifyNoInteractions(budgetLedgerService);
     }
 
     @Test
@@ -118,7 +145,22 @@ class ClubServiceTest {
         clubService.deleteClub(1L);
 
         verify(clubRepository, times(1)).existsById(1L);
+        verify(budgetLedgerService).deleteLedger(1L);
         verify(clubRepository, times(1)).deleteById(1L);
+        verify(clubFinancialAggregates).clubDeleted(1L);
+    }
+
+    @Test
+    void getClubFinancials_shouldServeRunningTotalsAndZerosOnlyForExistingClubs() {
+        ClubFinancialsDTO totals = new ClubFinancialsDTO(1L, BigDecimal.TEN, BigDecimal.ONE, BigDecimal.TEN, 1, 1, 1);
+        when(clubFinancialAggregates.club(1L)).thenReturn(Optional.of(totals));
+        when(clubFinancialAggregates.club(2L)).thenReturn(Optional.empty());
+        when(clubRepository.existsById(2L)).thenReturn(true);
+
+        assertSame(totals, clubService.getClubFinancials(1L));
+        assertEquals(0, BigDecimal.ZERO.compareTo(clubService.getClubFinancials(2L).getNetSpend()));
+        assertThrows(ResourceNotFoundException.class, () -> clubService.getClubFinancials(3L));
+        verify(clubRepository, never()).existsById(1L);
     }
 
     @Test
@@ -0,0 +1,177 @@
+package com.transfersystem.service;
+
+import com.transfersystem.dto.ClubDTO;
+import com.transfersystem.dto.ReplayedTransfer;
+import com.transfersystem.model.Club;
+import com.transfersystem.model.MarketValueChunk;
+import com.transfersystem.model.Player;
+import com.transfersystem.repository.BudgetLedgerRepository;
+import com.transfersystem.repository.BudgetSnapshotRepository;
+import com.transfersystem.repository.ClubRepository;
+import com.transfersystem.repository.MarketValueChunkRepository;
+import com.transfersystem.repository.PlayerRepository;
+import com.transfersystem.repository.TransferEventRepository;
+import com.transfersystem.repository.TransferRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import({DataGenerator.class, TransferEventReplayer.class, MarketValueHistory.class})
+// Generated on demand rather than at startup, in small uneven slices on several threads
+@TestPropertySource(properties = {"seed.enabled=false", "seed.clubs=12", "seed.players=90", "seed.transfers=700",
+        "seed.batch-size=7", "seed.parallelism=3"})
+// Slices commit in their own transactions, so the test itself must not run inside one
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class DataGeneratorTest {
+
+    private static final LocalDateTime AS_OF = LocalDateTime.of(2025, 6, 1, 0, 0);
+
+    @Autowired
+    private DataGenerator dataGenerator;
+
+    @Autowired
+    private TransferEventReplayer transferEventReplayer;
+
+    @Autowired
+    private MarketValueHistory marketValueHistory;
+
+    @Autowired
+    private ClubRepository clubRepository;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private TransferRepository transferRepository;
+
+    @Autowired
+    private TransferEventRepository transferEventRepository;
+
+    @Autowired
+    private BudgetLedgerRepository budgetLedgerRepository;
+
+    @Autowired
+    private BudgetSnapshotRepository budgetSnapshotRepository;
+
+    @Autowired
+    private MarketValueChunkRepository marketValueChunkRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        marketValueChunkRepository.deleteAll();
+        transferEventRepository.deleteAll();
+        budgetSnapshotRepository.deleteAll();
+        budgetLedgerRepository.deleteAll();
+        transferRepository.deleteAllInBatch();
+        playerRepository.deleteAll();
+        clubRepository.deleteAll();
+    }
+
+    @Test
+    void generate_shouldWriteTheConfiguredSizesWithConsistentHistory() {
+        dataGenerator.generate(AS_OF);
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+
+        assertEquals(12, clubRepository.count());
+        assertEquals(90, playerRepository.count());
+        assertEquals(700, transferRepository.count());
+
+        // Each player is at the club their last completed transfer took them to
+        List<Map<String, Object>> mismatches = jdbc.queryForList("SELECT p.id FROM player p JOIN transfer t ON t.player_id = p.id "
+                + "WHERE t.status = 'COMPLETED' AND t.initiation_timestamp = (SELECT MAX(l.initiation_timestamp) FROM transfer l "
+                + "WHERE l.player_id = p.id AND l.status = 'COMPLETED') AND p.current_club_id <> t.to_club_id");
+        assertEquals(List.of(), mismatches);
+        Long playersWithTwoOpenOffers = jdbc.queryForObject("SELECT COUNT(*) FROM (SELECT player_id FROM transfer "
+                + "WHERE status IN ('DRAFT', 'SUBMITTED', 'NEGOTIATION', 'APPROVED') GROUP BY player_id HAVING COUNT(*) > 1)", Long.class);
+        assertEquals(0, playersWithTwoOpenOffers);
+
+        // Replaying the event log gives every transfer its status
+        Map<UUID, ReplayedTransfer> replayed = transferEventReplayer.replayState();
+        Map<UUID, String> statuses = jdbc.queryForList("SELECT id, status FROM transfer").stream()
+                .collect(Collectors.toMap(row -> (UUID) row.get("ID"), row -> row.get("STATUS").toString()));
+        assertEquals(700, replayed.size());
+        replayed.forEach((id, transfer) -> assertEquals(statuses.get(id), transfer.getStatus().name()));
+
+        // Budgets: the snapshot covers the whole ledger and equals opening plus fees
+        for (ClubDTO club : clubRepository.findAllDTOs()) {
+            BigDecimal ledger = jdbc.queryForObject("SELECT SUM(amount) FROM budget_ledger_entry WHERE club_id = ?",
+                    BigDecimal.class, club.getId());
+            assertEquals(0, ledger.compareTo(club.getBudget()), club.getName());
+            assertTrue(club.getBudget().signum() > 0, club.getName());
+        }
+        assertEquals(List.of(), budgetLedgerRepository.findClubsToCompact(1, AS_OF.plusDays(1)));
+
+        // Every player's history ends at the current value, and its points are strictly in time order
+        for (MarketValueChunk chunk : marketValueChunkRepository.findAll()) {
+            MarketValueChunkCodec.Reader reader = new MarketValueChunkCodec.Reader(chunk.getData(), chunk.getPointCount());
+            long previous = Long.MIN_VALUE;
+            while (reader.next()) {
+                assertTrue(reader.timestamp() > previous, "player " + chunk.getPlayerId());
+                previous = reader.timestamp();
+            }
+            assertEquals(chunk.getLastTimestamp(), previous);
+        }
+        Instant asOf = AS_OF.toInstant(ZoneOffset.UTC);
+        for (Player player : playerRepository.findAll()) {
+            assertEquals(0, player.getCurrentMarketValue().compareTo(
+                    marketValueHistory.asOf(player.getId(), asOf).orElseThrow().getValue()));
+        }
+
+        // Entities saved afterwards get ids past the generated ones
+        Club club = new Club();
+        club.setName("New Club");
+        assertTrue(clubRepository.save(club).getId() > 12);
+        Player player = new Player();
+        player.setName("New Player");
+        assertTrue(playerRepository.save(player).getId() > 90);
+    }
+
+    @Test
+    void generate_shouldWriteTheSameRowsWhateverTheSlicingAndThreads() {
+        dataGenerator.generate(AS_OF);
+        String first = dump();
+        tearDown();
+
+        new DataGenerator(dataSource, transactionManager, false, 12, 90, 700, 42, 50, 1, 256).generate(AS_OF);
+
+        assertEquals(first, dump());
+    }
+
+    private String dump() {
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        return jdbc.queryForList("SELECT * FROM club ORDER BY id").toString()
+                + jdbc.queryForList("SELECT * FROM player ORDER BY id")
+                + jdbc.queryForList("SELECT * FROM transfer ORDER BY id")
+                + jdbc.queryForList("SELECT * FROM transfer_event ORDER BY id")
+                + jdbc.queryForList("SELECT * FROM budget_ledger_entry ORDER BY id")
+                + jdbc.queryForList("SELECT * FROM budget_snapshot ORDER BY club_id")
+                + jdbc.queryForList("SELECT id, player_id, first_timestamp, last_timestamp, point_count, "
+                + "RAWTOHEX(data) FROM market_value_chunk ORDER BY id");
+    }
+}
@@ -0,0 +1,71 @@
+package com.transfersystem.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.transfersystem.dto.ClubDTO;
+import com.transfersystem.dto.PlayerDTO;
+import com.transfersystem.repository.ClubRepository;
+import com.transfersystem.repository.PlayerRepository;
+import com.transfersystem.repository.TransferRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ExportServiceTest {
+
+    @Mock
+    private PlayerRepository playerRepository;
+
+    @Mock
+    private ClubRepository clubRepository;
+
+    @Mock
+    private TransferRepository transferRepository;
+
+    private ExportService exportService;
+
+    @BeforeEach
+    void setUp() {
+        exportService = new ExportService(playerRepository, clubRepository, transferRepository, new ObjectMapper());
+    }
+
+    @Test
+    void exportClubs_shouldWriteOneJsonObjectPerLine() throws Exception {
+        when(clubRepository.streamAllForExport()).thenReturn(Stream.of(
+                new ClubDTO(1L, "Club A", new BigDecimal("100")),
+                new ClubDTO(2L, "Club B", null)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService.exportClubs(out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("{\"id\":1,\"name\":\"Club A\",\"budget\":100,\"version\":null}", lines[0]);
+        assertEquals("{\"id\":2,\"name\":\"Club B\",\"budget\":null,\"version\":null}", lines[1]);
+    }
+
+    @Test
+    void exportPlayers_shouldCloseRepositoryStream() throws Exception {
+        AtomicBoolean closed = new AtomicBoolean(false);
+        when(playerRepository.streamAllForExport()).thenReturn(
+                Stream.of(new PlayerDTO(1L, "Player", new BigDecimal("5"), 3L, 4L)).onClose(() -> closed.set(true)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService.exportPlayers(out);
+
+        assertEquals("{\"id\":1,\"name\":\"Player\",\"currentMarketValue\":5,\"currentClubId\":3,\"version\":4}\n",
+                out.toString(StandardCharsets.UTF_8));
+        assertTrue(closed.get());
+    }
+}
@@ -0,0 +1,75 @@
+package com.transfersystem.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MarketValueChunkCodecTest {
+
+    @Test
+    void points_shouldDecodeAsWritten_includingAfterResumingTheChunk() {
+        Random random = new Random(7);
+        List<long[]> points = new ArrayList<>();
+        long timestamp = 1_700_000_000L;
+        long cents = 5_000_000_000L;
+        for (int i = 0; i < 200; i++) {
+            // Regular gaps with the odd irregular one, values mostly unchanged and sometimes jumping far
+            timestamp += i % 17 == 0 ? random.nextInt(10_000_000) : 86_400;
+            cents += i % 5 == 0 ? random.nextLong() / 4 : 0;
+            points.add(new long[]{timestamp, cents});
+        }
+
+        MarketValueChunkCodec.Writer writer = new MarketValueChunkCodec.Writer();
+        for (long[] point : points.subList(0, 120)) {
+            assertTrue(writer.append(point[0], point[1]));
+        }
+        writer = MarketValueChunkCodec.Writer.resume(writer.toByteArray(), writer.count());
+        for (long[] point : points.subList(120, points.size())) {
+            assertTrue(writer.append(point[0], point[1]));
+        }
+        assertEquals(points.get(0)[0], writer.firstTimestamp());
+        assertEquals(timestamp, writer.lastTimestamp());
+
+        MarketValueChunkCodec.Reader reader = new MarketValueChunkCodec.Reader(writer.toByteArray(), writer.count());
+        for (long[] point : points) {
+            assertTrue(reader.next());
+            assertEquals(point[0], reader.timestamp());
+            assertEquals(point[1], reader.cents());
+        }
+        assertFalse(reader.next());
+    }
+
+    @Test
+    void dailyPoints_withRareChanges_shouldTakeUnderAByteEach() {
+        MarketValueChunkCodec.Writer writer = new MarketValueChunkCodec.Writer();
+        for (int day = 0; day < 256; day++) {
+            writer.append(1_700_000_000L + day * 86_400L, 4_000_000_000L + (day / 30) * 50_000_000L);
+        }
+
+        assertTrue(writer.toByteArray().length < 256, "bytes: " + writer.toByteArray().length);
+    }
+
+    @Test
+    void append_whenTheGapChangesBeyond32Bits_shouldRefuseThePoint() {
+        MarketValueChunkCodec.Writer writer = new MarketValueChunkCodec.Writer();
+        writer.append(0, 1);
+        writer.append(1, 1);
+        byte[] before = writer.toByteArray();
+
+        assertFalse(writer.append(1L << 40, 1));
+        assertArrayEquals(before, writer.toByteArray());
+        assertEquals(2, writer.count());
+    }
+
+    @Test
+    void cents_shouldRoundToTheCentAndRejectValuesBeyondALong() {
+        assertEquals(123_457, MarketValueChunkCodec.toCents(new BigDecimal("1234.565")));
+        assertEquals(new BigDecimal("1234.57"), MarketValueChunkCodec.fromCents(123_457));
+        assertThrows(IllegalArgumentException.class, () -> MarketValueChunkCodec.toCents(new BigDecimal("1E20")));
+    }
+}
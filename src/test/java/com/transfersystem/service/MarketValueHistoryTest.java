@@ -0,0 +1,144 @@
+package com.transfersystem.service;
+
+import com.transfersystem.dto.MarketValueBucket;
+import com.transfersystem.dto.MarketValuePoint;
+import com.transfersystem.exception.ResourceNotFoundException;
+import com.transfersystem.model.MarketValueChunk;
+import com.transfersystem.model.Player;
+import com.transfersystem.repository.MarketValueChunkRepository;
+import com.transfersystem.repository.PlayerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import(MarketValueHistory.class)
+// Small chunks, so a few weeks of points span several
+@TestPropertySource(properties = {"market-values.chunk-points=4", "market-values.max-points=20"})
+class MarketValueHistoryTest {
+
+    private static final Instant DAY0 = Instant.parse("2024-01-01T00:00:00Z");
+
+    @Autowired
+    private MarketValueHistory marketValueHistory;
+
+    @Autowired
+    private MarketValueChunkRepository chunkRepository;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    private Long playerId;
+
+    @BeforeEach
+    void setUp() {
+        Player player = new Player();
+        player.setName("Player");
+        playerId = playerRepository.save(player).getId();
+    }
+
+    @Test
+    void append_shouldFillChunksInTurn_andQueriesShouldReadThemBack() {
+        // Days 0..9: the value rises by 100 every day
+        List<MarketValuePoint> points = new ArrayList<>();
+        for (int day = 0; day < 10; day++) {
+            points.add(point(day, 1000 + 100 * day));
+        }
+        marketValueHistory.append(playerId, points.subList(0, 6));
+        marketValueHistory.append(playerId, points.subList(6, 10));
+
+        List<MarketValueChunk> chunks = chunkRepository.findOverlapping(playerId, Long.MIN_VALUE, Long.MAX_VALUE);
+        assertEquals(List.of(4, 4, 2), chunks.stream().map(MarketValueChunk::getPointCount).toList());
+
+        List<MarketValuePoint> range = marketValueHistory.range(playerId, day(3), day(7));
+        assertEquals(List.of(day(3), day(4), day(5), day(6), day(7)), range.stream().map(MarketValuePoint::getTimestamp).toList());
+        assertEquals(new BigDecimal("1300.00"), range.get(0).getValue());
+
+        assertEquals(new BigDecimal("1500.00"), marketValueHistory.asOf(playerId, day(5).plusSeconds(3600)).orElseThrow().getValue());
+        assertEquals(new BigDecimal("1900.00"), marketValueHistory.asOf(playerId, day(400)).orElseThrow().getValue());
+        assertTrue(marketValueHistory.asOf(playerId, day(0).minusSeconds(1)).isEmpty());
+
+        // Three-day buckets from the epoch; 2024-01-01 is day 19723 since it, so day 2 starts a bucket
+        List<MarketValueBucket> buckets = marketValueHistory.downsample(playerId, day(1), day(8), Duration.ofDays(3));
+        assertEquals(List.of(day(-1), day(2), day(5), day(8)), buckets.stream().map(MarketValueBucket::getStart).toList());
+        MarketValueBucket second = buckets.get(1);
+        assertEquals(new BigDecimal("1200.00"), second.getMin());
+        assertEquals(new BigDecimal("1400.00"), second.getMax());
+        assertEquals(new BigDecimal("1400.00"), second.getLast());
+        assertEquals(new BigDecimal("1800.00"), buckets.get(3).getLast());
+    }
+
+    @Test
+    void record_shouldNeverPlaceAPointBeforeTheLastOne() {
+        marketValueHistory.append(playerId, List.of(point(0, 10), point(5, 20)));
+
+        marketValueHistory.record(Map.of(playerId, new BigDecimal("30")), day(2));
+
+        List<MarketValuePoint> range = marketValueHistory.range(playerId, Instant.MIN, Instant.MAX);
+        assertEquals(day(5), range.get(2).getTimestamp());
+        assertEquals(new BigDecimal("30.00"), marketValueHistory.asOf(playerId, day(5)).orElseThrow().getValue());
+    }
+
+    @Test
+    void append_shouldExtendTheChunkWithTheLatestTimestampsWhateverItsId() {
+        // As when another instance, drawing from a lower block of ids, started the newer chunk
+        chunkRepository.save(chunk(point(4, 40)));
+        chunkRepository.save(chunk(point(0, 0), point(1, 10), point(2, 20), point(3, 30)));
+        chunkRepository.flush();
+
+        marketValueHistory.append(playerId, List.of(point(5, 50)));
+
+        List<MarketValueChunk> chunks = chunkRepository.findOverlapping(playerId, Long.MIN_VALUE, Long.MAX_VALUE);
+        assertEquals(List.of(4, 2), chunks.stream().map(MarketValueChunk::getPointCount).toList());
+        assertEquals(new BigDecimal("50.00"), marketValueHistory.asOf(playerId, day(5)).orElseThrow().getValue());
+    }
+
+    @Test
+    void invalidAppendsAndOversizedRanges_shouldBeRejected() {
+        marketValueHistory.append(playerId, List.of(point(5, 10)));
+
+        assertThrows(IllegalArgumentException.class, () -> marketValueHistory.append(playerId, List.of(point(4, 10))));
+        assertThrows(ResourceNotFoundException.class, () -> marketValueHistory.append(-1L, List.of(point(6, 10))));
+
+        List<MarketValuePoint> points = new ArrayList<>();
+        for (int day = 6; day < 30; day++) {
+            points.add(point(day, day));
+        }
+        marketValueHistory.append(playerId, points);
+        assertThrows(IllegalArgumentException.class, () -> marketValueHistory.range(playerId, Instant.MIN, Instant.MAX));
+        assertEquals(4, marketValueHistory.downsample(playerId, Instant.MIN, Instant.MAX, Duration.ofDays(7)).size());
+
+        marketValueHistory.deleteHistory(playerId);
+        assertTrue(marketValueHistory.asOf(playerId, day(100)).isEmpty());
+    }
+
+    private MarketValueChunk chunk(MarketValuePoint... points) {
+        MarketValueChunkCodec.Writer writer = new MarketValueChunkCodec.Writer();
+        for (MarketValuePoint point : points) {
+            writer.append(point.getTimestamp().getEpochSecond(), MarketValueChunkCodec.toCents(point.getValue()));
+        }
+        MarketValueChunk chunk = new MarketValueChunk(playerId);
+        chunk.setPoints(writer.toByteArray(), writer.count(), writer.firstTimestamp(), writer.lastTimestamp());
+        return chunk;
+    }
+
+    private static Instant day(int day) {
+        return DAY0.plus(Duration.ofDays(day));
+    }
+
+    private static MarketValuePoint point(int day, long value) {
+        return new MarketValuePoint(day(day), BigDecimal.valueOf(value));
+    }
+}
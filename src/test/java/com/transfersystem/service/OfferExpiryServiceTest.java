@@ -0,0 +1,149 @@
+package com.transfersystem.service;
+
+import com.transfersystem.dto.TransferEventView;
+import com.transfersystem.model.Club;
+import com.transfersystem.model.Player;
+import com.transfersystem.model.Transfer;
+import com.transfersystem.model.TransferEventType;
+import com.transfersystem.model.TransferStatus;
+import com.transfersystem.repository.ClubRepository;
+import com.transfersystem.repository.PlayerRepository;
+import com.transfersystem.repository.TransferEventRepository;
+import com.transfersystem.repository.TransferRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import({OfferExpiryService.class, TransferEventLog.class, SimpleMeterRegistry.class})
+@TestPropertySource(properties = "transfers.offer.sweep-batch-size=2")
+// The sweeper commits its own transactions, so the test itself must not run inside one
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OfferExpiryServiceTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 6, 1, 12, 0);
+
+    @Autowired
+    private OfferExpiryService offerExpiryService;
+
+    @Autowired
+    private TransferRepository transferRepository;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private ClubRepository clubRepository;
+
+    @Autowired
+    private TransferEventLog transferEventLog;
+
+    @Autowired
+    private TransferEventRepository transferEventRepository;
+
+    @Autowired
+    private SimpleMeterRegistry meterRegistry;
+
+    private Club fromClub;
+    private Club toClub;
+
+    @BeforeEach
+    void setUp() {
+        fromClub = new Club();
+        fromClub.setName("From Club");
+        fromClub = clubRepository.save(fromClub);
+        toClub = new Club();
+        toClub.setName("To Club");
+        toClub = clubRepository.save(toClub);
+    }
+
+    @AfterEach
+    void tearDown() {
+        transferEventRepository.deleteAll();
+        transferRepository.deleteAll();
+        playerRepository.deleteAll();
+        clubRepository.deleteAll();
+        // The service outlives the test; drain what this test queued so the next one starts empty
+        offerExpiryService.sweep(NOW.plusYears(100));
+    }
+
+    @Test
+    void rebuild_queuesOnlyOpenOffersWithADeadline() {
+        transfer(TransferStatus.SUBMITTED, NOW.minusHours(1));
+        transfer(TransferStatus.NEGOTIATION, NOW.plusDays(1));
+        transfer(TransferStatus.APPROVED, NOW.minusHours(1));
+        transfer(TransferStatus.DRAFT, null);
+
+        offerExpiryService.rebuild();
+
+        assertEquals(2, offerExpiryService.pendingDeadlines());
+    }
+
+    @Test
+    void sweep_expiresDueOffersInBatchesAndSkipsStaleEntries() {
+        UUID dueSubmitted = transfer(TransferStatus.SUBMITTED, NOW.minusHours(2));
+        UUID dueNegotiation = transfer(TransferStatus.NEGOTIATION, NOW.minusMinutes(5));
+        UUID dueAtNow = transfer(TransferStatus.SUBMITTED, NOW);
+        UUID notDue = transfer(TransferStatus.SUBMITTED, NOW.plusMinutes(1));
+        offerExpiryService.rebuild();
+        // Approved after it was queued: the entry is stale and must not expire the transfer
+        UUID approved = transfer(TransferStatus.APPROVED, NOW.minusHours(1));
+        offerExpiryService.schedule(approved, NOW.minusHours(1));
+
+        int expired = offerExpiryService.sweep(NOW);
+
+        assertEquals(3, expired);
+        assertEquals(TransferStatus.EXPIRED, status(dueSubmitted));
+        assertEquals(TransferStatus.EXPIRED, status(dueNegotiation));
+        assertEquals(TransferStatus.EXPIRED, status(dueAtNow));
+        assertEquals(1L, transferRepository.findVersionById(dueSubmitted).orElseThrow());
+        assertEquals(TransferStatus.SUBMITTED, status(notDue));
+        assertEquals(TransferStatus.APPROVED, status(approved));
+        assertEquals(1, offerExpiryService.pendingDeadlines());
+        assertEquals(3.0, meterRegistry.get("transfer.offers.expired").counter().count());
+        List<TransferEventView> events = transferEventLog.history(dueNegotiation);
+        assertEquals(1, events.size());
+        assertEquals(TransferEventType.EXPIRED, events.get(0).getType());
+        assertEquals(TransferStatus.NEGOTIATION, events.get(0).getFromStatus());
+        assertEquals("system", events.get(0).getActor());
+        assertEquals(transferRepository.findVersionById(dueNegotiation).orElseThrow(), events.get(0).getTransferVersion());
+        assertEquals(List.of(), transferEventLog.history(approved));
+
+        assertEquals(0, offerExpiryService.sweep(NOW));
+        assertEquals(1, offerExpiryService.sweep(NOW.plusMinutes(1)));
+        assertEquals(TransferStatus.EXPIRED, status(notDue));
+    }
+
+    private UUID transfer(TransferStatus status, LocalDateTime offerExpiryDate) {
+        Player player = new Player();
+        player.setName("Player " + UUID.randomUUID());
+        player.setCurrentClub(fromClub);
+        player = playerRepository.save(player);
+        Transfer transfer = new Transfer();
+        transfer.setPlayer(player);
+        transfer.setFromClub(fromClub);
+        transfer.setToClub(toClub);
+        transfer.setStatus(status);
+        transfer.setAgreedFee(BigDecimal.TEN);
+        transfer.setOfferExpiryDate(offerExpiryDate);
+        return transferRepository.save(transfer).getId();
+    }
+
+    private TransferStatus status(UUID id) {
+        return transferRepository.findById(id).orElseThrow().getStatus();
+    }
+}
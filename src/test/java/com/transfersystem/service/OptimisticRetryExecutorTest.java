@@ -0,0 +1,81 @@
+package com.transfersystem.service;
+
+import com.transfersystem.model.Club;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OptimisticRetryExecutorTest {
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private OptimisticRetryExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        meterRegistry = new SimpleMeterRegistry();
+        executor = new OptimisticRetryExecutor(transactionManager, meterRegistry, 3, 1, 2);
+    }
+
+    @Test
+    void execute_whenConflictThenSuccess_shouldRetryInNewTransaction() {
+        AtomicInteger calls = new AtomicInteger();
+
+        String result = executor.execute("test", () -> {
+            if (calls.incrementAndGet() < 3) {
+                throw new ObjectOptimisticLockingFailureException(Club.class, 1L);
+            }
+            return "done";
+        });
+
+        assertEquals("done", result);
+        assertEquals(3, calls.get());
+        verify(transactionManager, times(3)).getTransaction(any());
+        verify(transactionManager, times(2)).rollback(any());
+        assertEquals(3.0, meterRegistry.counter("optimistic.lock.attempts", "operation", "test").count());
+        assertEquals(2.0, meterRegistry.counter("optimistic.lock.conflicts", "operation", "test").count());
+        assertEquals(0.0, meterRegistry.counter("optimistic.lock.exhausted", "operation", "test").count());
+    }
+
+    @Test
+    void execute_whenConflictPersists_shouldGiveUpAfterMaxAttempts() {
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> executor.execute("test", () -> {
+            calls.incrementAndGet();
+            throw new ObjectOptimisticLockingFailureException(Club.class, 1L);
+        }));
+
+        assertEquals(3, calls.get());
+        assertEquals(1.0, meterRegistry.counter("optimistic.lock.exhausted", "operation", "test").count());
+    }
+
+    @Test
+    void execute_whenOtherExceptionThrown_shouldNotRetry() {
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThrows(IllegalStateException.class, () -> executor.execute("test", () -> {
+            calls.incrementAndGet();
+            throw new IllegalStateException("Transfer must be in APPROVED status");
+        }));
+
+        assertEquals(1, calls.get());
+        assertEquals(0.0, meterRegistry.counter("optimistic.lock.conflicts", "operation", "test").count());
+    }
+}
@@ -0,0 +1,124 @@
+package com.transfersystem.service;
+
+import com.transfersystem.dto.PlayerDTO;
+import com.transfersystem.dto.PlayerSearchHit;
+import com.transfersystem.repository.PlayerRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PlayerSearchIndexTest {
+
+    private PlayerSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new PlayerSearchIndex(null, new SimpleMeterRegistry());
+        index.put(1L, "Vinícius Júnior", 0L);
+        index.put(2L, "Vincent Kompany", 0L);
+        index.put(3L, "Martin Ødegaard", 0L);
+        index.put(4L, "Kevin De Bruyne", 0L);
+        index.put(5L, "Vini", 0L);
+    }
+
+    @Test
+    void words_shouldFoldAccentsCaseAndLettersWithoutDecomposition() {
+        assertEquals(List.of("vinicius", "junior"), PlayerSearchIndex.words("Vinícius  JÚNIOR"));
+        assertEquals(List.of("martin", "odegaard"), PlayerSearchIndex.words("Martin Ødegaard"));
+        assertEquals(List.of("oshea", "muller"), PlayerSearchIndex.words("O'Shea-Müller"));
+    }
+
+    @Test
+    void search_shouldMatchWordPrefixesIgnoringAccentsAndRankExactWordsFirst() {
+        assertEquals(List.of(5L, 2L, 1L), ids(index.search("vin", 10)));
+        assertEquals(List.of(1L), ids(index.search("vinicius jun", 10)));
+        assertEquals(List.of(3L), ids(index.search("ODEG", 10)));
+        assertEquals("Vinícius Júnior", index.search("Vinícius", 10).get(0).getName());
+        // Every word has to match
+        assertEquals(List.of(), ids(index.search("vinicius kompany", 10)));
+        assertEquals(List.of(), ids(index.search("  ", 10)));
+    }
+
+    @Test
+    void search_shouldTolerateTyposBelowExactAndPrefixMatches() {
+        // Swapped letters
+        assertEquals(List.of(1L), ids(index.search("vinicuis", 10)));
+        // A wrong letter, while the name being typed is still incomplete
+        assertEquals(List.of(3L), ids(index.search("odegr", 10)));
+        // Two edits only for long words
+        assertEquals(List.of(), ids(index.search("kompnyy", 10)));
+        assertEquals(List.of(4L), ids(index.search("bruyen", 10)));
+        // The prefix match first, then the typos by name length
+        assertEquals(List.of(1L, 5L, 2L), ids(index.search("vinic", 10)));
+    }
+
+    @Test
+    void rebuild_shouldRankLikeIncrementalUpdates_andKeepNewerSaves() {
+        PlayerRepository playerRepository = mock(PlayerRepository.class);
+        when(playerRepository.streamAllForExport()).thenReturn(Stream.of(
+                new PlayerDTO(5L, "Vini", null, null, 0L),
+                new PlayerDTO(1L, "Vinícius Júnior", null, null, 0L),
+                new PlayerDTO(2L, "Vincent Kompany", null, null, 0L),
+                new PlayerDTO(4L, "Kevin De Bruyne", null, null, 0L),
+                new PlayerDTO(3L, "Martin Ødegaard", null, null, 0L)));
+        PlayerSearchIndex rebuilt = new PlayerSearchIndex(playerRepository, new SimpleMeterRegistry());
+        // Saved while the players were streamed
+        rebuilt.put(2L, "Vincent Company", 1L);
+
+        rebuilt.rebuild();
+
+        assertEquals(List.of(5L, 2L, 1L), ids(rebuilt.search("vin", 10)));
+        assertEquals(List.of(2L), ids(rebuilt.search("company", 10)));
+        assertEquals(List.of(), ids(rebuilt.search("kompany", 10)));
+        assertEquals(ids(index.search("vinic", 10)), ids(rebuilt.search("vinic", 10)));
+        assertEquals(5, rebuilt.size());
+    }
+
+    @Test
+    void putAndRemove_shouldKeepTheIndexInStepAndIgnoreOlderVersions() {
+        index.put(2L, "Vincent Company", 1L);
+        index.put(2L, "Vincent Kompany", 0L);
+        index.remove(5L);
+
+        assertEquals(List.of(), ids(index.search("kompany", 10)));
+        assertEquals(List.of(2L), ids(index.search("company", 10)));
+        assertEquals(List.of(2L, 1L), ids(index.search("vin", 10)));
+        assertEquals(List.of(2L), ids(index.search("vin", 1)));
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    void put_insideTransaction_shouldOnlyApplyOnCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            index.put(6L, "Florian Wirtz", 0L);
+            assertEquals(List.of(), ids(index.search("wirtz", 10)));
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertEquals(List.of(6L), ids(index.search("wirtz", 10)));
+    }
+
+    @Test
+    void prefixDistance_shouldCountEditsToTheClosestPrefix() {
+        assertEquals(0, PlayerSearchIndex.prefixDistance("vini", "vinicius", 1));
+        assertEquals(1, PlayerSearchIndex.prefixDistance("vinc", "vinicius", 1));
+        assertEquals(1, PlayerSearchIndex.prefixDistance("vinicuis", "vinicius", 2));
+        assertEquals(2, PlayerSearchIndex.prefixDistance("kompnyy", "kompany", 1));
+    }
+
+    private static List<Long> ids(List<PlayerSearchHit> hits) {
+        return hits.stream().map(PlayerSearchHit::getId).toList();
+    }
+}
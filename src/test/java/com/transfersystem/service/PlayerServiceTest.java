@@ -1,5 +1,6 @@
 package com.transfersystem.service;
 
+import com.transfersystem.dto.PlayerCursor;
 import com.transfersystem.dto.PlayerDTO;
 import com.transfersystem.model.Club;
 import com.transfersystem.model.Player;
@@ -12,14 +13,18 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -31,6 +36,15 @@ class PlayerServiceTest {
     @Mock
     private ClubRepository clubRepository;
 
+    @Mock
+    private PlayerSearchIndex playerSearchIndex;
+
+    @Mock
+    private ClubFinancialAggregates clubFinancialAggregates;
+
+    @Mock
+    private MarketValueHistory marketValueHistory;
+
     @InjectMocks
     private PlayerService playerService;
 
@@ -43,7 +57,6 @@ class PlayerServiceTest {
         club = new Club();
         club.setId(10L);
         club.setName("Test Club");
-        club.setBudget(new BigDecimal("1000000"));
 
         player = new Player();
         player.setId(1L);
@@ -74,6 +87,8 @@ class PlayerServiceTest {
         assertEquals(club.getId(), result.getCurrentClubId());
         verify(clubRepository, times(1)).findById(10L);
         verify(playerRepository, times(1)).save(any(Player.class));
+        verify(playerSearchIndex).put(1L, playerDTO.getName(), null);
+        verify(clubFinancialAggregates).playerSaved(any(Player.class));
     }
 
     @Test
@@ -84,6 +99,7 @@ class PlayerServiceTest {
         assertThrows(EntityNotFoundException.class, () -> playerService.createPlayer(playerDTO));
         verify(clubRepository, times(1)).findById(99L);
         verify(playerRepository, never()).save(any(Player.class));
+        verifyNoInteractions(playerSearchIndex, clubFinancialAggregates, marketValueHistory);
     }
 
     @Test
@@ -106,6 +122,22 @@ class PlayerServiceTest {
     }
 
 
+    @Test
+    void getPlayersByMarketValue_shouldStartAtTheRangeEndOrAtTheCursorWithinIt() {
+        BigDecimal min = new BigDecimal("100");
+        BigDecimal max = new BigDecimal("900");
+
+        playerService.getPlayersByMarketValue(null, min, max, false, null, 11);
+        verify(playerRepository).findValuePageAscending(min, Long.MIN_VALUE, max, PageRequest.of(0, 11));
+
+        playerService.getPlayersByMarketValue(10L, min, max, true, new PlayerCursor(new BigDecimal("500"), 7L), 11);
+        verify(playerRepository).findClubValuePageDescending(10L, new BigDecimal("500"), 7L, min, PageRequest.of(0, 11));
+
+        // A cursor outside the range does not widen it
+        playerService.getPlayersByMarketValue(null, min, max, true, new PlayerCursor(new BigDecimal("950"), 7L), 11);
+        verify(playerRepository).findValuePageDescending(max, Long.MAX_VALUE, min, PageRequest.of(0, 11));
+    }
+
     @Test
     void getAllPlayers() {
         when(playerRepository.findAll()).thenReturn(Collections.singletonList(player));
@@ -153,6 +185,20 @@ class PlayerServiceTest {
         verify(playerRepository, times(1)).findById(1L);
         verify(clubRepository, times(1)).findById(10L);
         verify(playerRepository, times(1)).save(player);
+        verify(playerSearchIndex).put(1L, playerDTO.getName(), null);
+        verify(marketValueHistory).record(eq(Map.of(1L, new BigDecimal("600000"))), any(Instant.class));
+    }
+
+    @Test
+    void updatePlayer_withTheSameValueAtAnotherScale_shouldRecordNoPoint() {
+        playerDTO.setCurrentMarketValue(new BigDecimal("500000.00"));
+        when(playerRepository.findById(1L)).thenReturn(Optional.of(player));
+        when(clubRepository.findById(10L)).thenReturn(Optional.of(club));
+        when(playerRepository.save(any(Player.class))).thenReturn(player);
+
+        playerService.updatePlayer(1L, playerDTO);
+
+        verifyNoInteractions(marketValueHistory);
     }
 
     @Test
@@ -204,6 +250,9 @@ class PlayerServiceTest {
 
         verify(playerRepository, times(1)).existsById(1L);
         verify(playerRepository, times(1)).deleteById(1L);
+        verify(playerSearchIndex).remove(1L);
+        verify(clubFinancialAggregates).playerDeleted(1L);
+        verify(marketValueHistory).deleteHistory(1L);
     }
 
     @Test
@@ -213,5 +262,6 @@ class PlayerServiceTest {
         assertThrows(EntityNotFoundException.class, () -> playerService.deletePlayer(1L));
         verify(playerRepository, times(1)).existsById(1L);
         verify(playerRepository, never()).deleteById(1L);
+        verifyNoInteractions(playerSearchIndex, clubFinancialAggregates, marketValueHistory);
     }
 }
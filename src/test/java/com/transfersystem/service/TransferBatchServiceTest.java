@@ -0,0 +1,182 @@
+package com.transfersystem.service;
+
+import com.transfersystem.dto.BatchItemResultDTO;
+import com.transfersystem.dto.BatchItemResultDTO.Outcome;
+import com.transfersystem.dto.BatchTransitionItem;
+import com.transfersystem.dto.BatchTransitionResultDTO;
+import com.transfersystem.model.Club;
+import com.transfersystem.model.Player;
+import com.transfersystem.model.Transfer;
+import com.transfersystem.model.TransferStatus;
+import com.transfersystem.repository.ClubRepository;
+import com.transfersystem.repository.PlayerRepository;
+import com.transfersystem.repository.TransferEventRepository;
+import com.transfersystem.repository.TransferRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import({TransferBatchService.class, TransferWorkflowEngine.class, OfferExpiryService.class, TransferEventLog.class, SimpleMeterRegistry.class})
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+// The service commits its own transaction, so the test itself must not run inside one
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TransferBatchServiceTest {
+
+    @Autowired
+    private TransferBatchService transferBatchService;
+
+    @Autowired
+    private TransferRepository transferRepository;
+
+    @Autowired
+    private TransferEventRepository transferEventRepository;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private ClubRepository clubRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Club fromClub;
+    private Club toClub;
+
+    @BeforeEach
+    void setUp() {
+        fromClub = new Club();
+        fromClub.setName("From Club");
+        fromClub = clubRepository.save(fromClub);
+        toClub = new Club();
+        toClub.setName("To Club");
+        toClub = clubRepository.save(toClub);
+    }
+
+    @AfterEach
+    void tearDown() {
+        transferEventRepository.deleteAll();
+        transferRepository.deleteAll();
+        playerRepository.deleteAll();
+        clubRepository.deleteAll();
+    }
+
+    @Test
+    void bestEffort_appliesValidItemsWithOneSelectAndOneBatchedUpdate() {
+        List<UUID> negotiating = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            negotiating.add(transfer(TransferStatus.NEGOTIATION));
+        }
+        UUID draft = transfer(TransferStatus.DRAFT);
+        List<BatchTransitionItem> items = new ArrayList<>();
+        negotiating.forEach(id -> items.add(new BatchTransitionItem(id, "approve")));
+        items.add(new BatchTransitionItem(draft, "approve"));
+        items.add(new BatchTransitionItem(UUID.randomUUID(), "approve"));
+        items.add(new BatchTransitionItem(draft, "explode"));
+        items.add(new BatchTransitionItem(negotiating.get(0), "cancel"));
+
+        Statistics statistics = statistics();
+        BatchTransitionResultDTO result = transferBatchService.apply(items, TransferBatchService.Mode.BEST_EFFORT);
+
+        assertEquals(5, result.getAppliedCount());
+        assertEquals(4, result.getRejectedCount());
+        List<BatchItemResultDTO> results = result.getResults();
+        assertTrue(results.subList(0, 5).stream().allMatch(r -> r.getOutcome() == Outcome.APPLIED
+                && r.getStatus() == TransferStatus.APPROVED && r.getVersion() == 1L));
+        assertEquals(TransferStatus.DRAFT, results.get(5).getStatus());
+        assertTrue(results.get(6).getMessage().startsWith("Transfer not found"));
+        assertTrue(results.get(7).getMessage().startsWith("Unknown action"));
+        assertTrue(results.get(8).getMessage().contains("more than once"));
+        // SELECT ... WHERE id IN (...), a single UPDATE statement and a single INSERT of the events,
+        // each executed as a JDBC batch; plus at most two sequence fetches if the event id pool is cold
+        assertTrue(statistics.getPrepareStatementCount() <= 5, "statements: " + statistics.getPrepareStatementCount());
+        assertEquals(5, statistics.getEntityUpdateCount());
+        assertEquals(5, statistics.getEntityInsertCount());
+        assertEquals(5, transferEventRepository.count());
+        // Each event carries the version its transition left the transfer at
+        assertTrue(transferEventRepository.findAll().stream().allMatch(event -> event.getTransferVersion() == 1L));
+
+        assertTrue(negotiating.stream().allMatch(id -> status(id) == TransferStatus.APPROVED));
+        assertEquals(TransferStatus.DRAFT, status(draft));
+    }
+
+    @Test
+    void allOrNothing_withRejectedTransition_appliesNothing() {
+        UUID submitted = transfer(TransferStatus.SUBMITTED);
+        UUID completed = transfer(TransferStatus.COMPLETED);
+
+        BatchTransitionResultDTO result = transferBatchService.apply(List.of(
+                new BatchTransitionItem(submitted, "negotiate"),
+                new BatchTransitionItem(completed, "cancel")), TransferBatchService.Mode.ALL_OR_NOTHING);
+
+        assertEquals(Outcome.NOT_APPLIED, result.getResults().get(0).getOutcome());
+        assertEquals(Outcome.REJECTED, result.getResults().get(1).getOutcome());
+        assertEquals(0, result.getAppliedCount());
+        assertEquals(TransferStatus.SUBMITTED, status(submitted));
+        assertEquals(0L, transferRepository.findVersionById(submitted).orElseThrow());
+        // The event of the negotiate transition was rolled back with it
+        assertEquals(0, transferEventRepository.count());
+    }
+
+    @Test
+    void allOrNothing_withMalformedItem_doesNotTouchTheDatabase() {
+        UUID submitted = transfer(TransferStatus.SUBMITTED);
+
+        Statistics statistics = statistics();
+        BatchTransitionResultDTO result = transferBatchService.apply(Arrays.asList(
+                new BatchTransitionItem(submitted, "negotiate"), null), TransferBatchService.Mode.ALL_OR_NOTHING);
+
+        assertEquals(Outcome.NOT_APPLIED, result.getResults().get(0).getOutcome());
+        assertEquals(Outcome.REJECTED, result.getResults().get(1).getOutcome());
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(TransferStatus.SUBMITTED, status(submitted));
+    }
+
+    @Test
+    void apply_withNoItems_shouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> transferBatchService.apply(List.of(), TransferBatchService.Mode.BEST_EFFORT));
+    }
+
+    private UUID transfer(TransferStatus status) {
+        Player player = new Player();
+        player.setName("Player " + UUID.randomUUID());
+        player.setCurrentClub(fromClub);
+        player = playerRepository.save(player);
+        Transfer transfer = new Transfer();
+        transfer.setPlayer(player);
+        transfer.setFromClub(fromClub);
+        transfer.setToClub(toClub);
+        transfer.setStatus(status);
+        transfer.setAgreedFee(BigDecimal.TEN);
+        return transferRepository.save(transfer).getId();
+    }
+
+    private TransferStatus status(UUID id) {
+        return transferRepository.findById(id).orElseThrow().getStatus();
+    }
+
+    private Statistics statistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+}
@@ -0,0 +1,182 @@
+package com.transfersystem.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.transfersystem.dto.TransferEventView;
+import com.transfersystem.exception.QueueFullException;
+import com.transfersystem.model.TransferEventType;
+import com.transfersystem.model.TransferStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransferChangeStreamTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private TransferChangeStream stream;
+
+    @AfterEach
+    void tearDown() {
+        stream.stop();
+    }
+
+    @Test
+    void subscribe_shouldReceiveChangesCommittedAfterwards_filteredByTransfer() throws Exception {
+        stream = start(100, 10, 10);
+        UUID watched = UUID.randomUUID();
+        RecordingEmitter all = new RecordingEmitter();
+        RecordingEmitter one = new RecordingEmitter();
+        stream.onCommitted(change(UUID.randomUUID(), TransferEventType.CREATED, null));
+        stream.subscribe(null, null, all);
+        stream.subscribe(null, watched, one);
+
+        stream.onCommitted(change(watched, TransferEventType.SUBMITTED, TransferStatus.DRAFT));
+        stream.onCommitted(change(UUID.randomUUID(), TransferEventType.CANCELED, TransferStatus.DRAFT));
+
+        awaitUntil(() -> all.changes().size() == 2);
+        awaitUntil(() -> one.changes().size() == 1);
+        assertTrue(all.sent.get(0).startsWith(":connected"));
+        String change = one.changes().get(0);
+        assertTrue(change.contains("event:" + TransferChangeStream.CHANGE_EVENT + "\n"), change);
+        assertTrue(change.contains("\"transferId\":\"" + watched + "\""), change);
+        assertTrue(change.contains("\"status\":\"SUBMITTED\",\"fromStatus\":\"DRAFT\""), change);
+        // Ids follow commit order across all transfers
+        assertEquals(idOf(all.changes().get(0)), idOf(change));
+    }
+
+    @Test
+    void subscribe_withLastEventId_shouldResumeAfterIt_orResetWhenItIsUnknown() throws Exception {
+        stream = start(100, 10, 10);
+        RecordingEmitter first = new RecordingEmitter();
+        stream.subscribe(null, null, first);
+        for (int i = 0; i < 3; i++) {
+            stream.onCommitted(change(UUID.randomUUID(), TransferEventType.CREATED, null));
+        }
+        awaitUntil(() -> first.changes().size() == 3);
+        String lastSeen = idOf(first.changes().get(0));
+
+        RecordingEmitter resumed = new RecordingEmitter();
+        stream.subscribe(lastSeen, null, resumed);
+        awaitUntil(() -> resumed.changes().size() == 2);
+        assertEquals(first.changes().subList(1, 3), resumed.changes());
+        assertFalse(resumed.sent.stream().anyMatch(sent -> sent.contains("event:" + TransferChangeStream.RESET_EVENT)));
+
+        // An id from an earlier run of the application
+        RecordingEmitter restarted = new RecordingEmitter();
+        stream.subscribe("abc-2", null, restarted);
+        stream.onCommitted(change(UUID.randomUUID(), TransferEventType.CREATED, null));
+        awaitUntil(() -> restarted.changes().size() == 1);
+        assertTrue(restarted.sent.get(1).contains("event:" + TransferChangeStream.RESET_EVENT + "\n"));
+    }
+
+    @Test
+    void slowConsumer_shouldBeDisconnectedWithoutHoldingBackOthers() throws Exception {
+        stream = start(100, 5, 10);
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingEmitter slow = new RecordingEmitter() {
+            @Override
+            public void send(SseEventBuilder builder) throws IOException {
+                super.send(builder);
+                if (builder.build().stream().anyMatch(data -> data.getData().toString().startsWith("id:"))) {
+                    // Stuck writing its first change, as with a client that stopped reading
+                    await(release);
+                }
+            }
+        };
+        RecordingEmitter fast = new RecordingEmitter();
+        stream.subscribe(null, null, slow);
+        stream.subscribe(null, null, fast);
+
+        for (int i = 1; i <= 20; i++) {
+            stream.onCommitted(change(UUID.randomUUID(), TransferEventType.CREATED, null));
+            // Keeps up, so it is never more than max-lag behind
+            int expected = i;
+            awaitUntil(() -> fast.changes().size() == expected);
+        }
+
+        awaitUntil(() -> meterRegistry.get("transfer.stream.dropped").counter().count() == 1);
+        release.countDown();
+        awaitUntil(() -> slow.completed);
+        assertFalse(fast.completed);
+        assertEquals(1, meterRegistry.get("transfer.stream.subscribers").gauge().value());
+    }
+
+    @Test
+    void subscribe_beyondMaxSubscribers_shouldThrowQueueFull() {
+        stream = start(100, 10, 1);
+        stream.subscribe(null, null, new RecordingEmitter());
+
+        assertThrows(QueueFullException.class, () -> stream.subscribe(null, null, new RecordingEmitter()));
+    }
+
+    private TransferChangeStream start(int replayBuffer, int maxLag, int maxSubscribers) {
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        TransferChangeStream started = new TransferChangeStream(objectMapper, meterRegistry, replayBuffer, maxLag,
+                maxSubscribers, 2, Duration.ofMinutes(1), Duration.ofMinutes(5));
+        started.start();
+        return started;
+    }
+
+    private static TransferEventView change(UUID transferId, TransferEventType type, TransferStatus fromStatus) {
+        return new TransferEventView(1L, transferId, fromStatus == null ? 0 : 1, type, fromStatus, LocalDateTime.now(), "api", null);
+    }
+
+    private static String idOf(String change) {
+        return change.substring(3, change.indexOf('\n'));
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condition not met within 10s");
+            Thread.sleep(5);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Keeps every message as the text that would go over the wire
+    private static class RecordingEmitter extends SseEmitter {
+
+        final List<String> sent = Collections.synchronizedList(new ArrayList<>());
+        volatile boolean completed;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            sent.add(builder.build().stream().map(data -> data.getData().toString()).collect(Collectors.joining()));
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+
+        List<String> changes() {
+            synchronized (sent) {
+                return sent.stream().filter(message -> message.startsWith("id:")).toList();
+            }
+        }
+    }
+}
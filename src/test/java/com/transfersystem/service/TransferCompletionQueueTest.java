@@ -0,0 +1,140 @@
+package com.transfersystem.service;
+
+import com.transfersystem.dto.CompletionStatusDTO;
+import com.transfersystem.dto.CompletionStatusDTO.State;
+import com.transfersystem.dto.TransferView;
+import com.transfersystem.exception.InsufficientBudgetException;
+import com.transfersystem.exception.QueueFullException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransferCompletionQueueTest {
+
+    private TransferCompletionQueue queue;
+
+    @AfterEach
+    void tearDown() {
+        queue.stop();
+    }
+
+    @Test
+    void enqueue_neverRunsTwoCompletionsForTheSameClubAtOnceAndKeepsAcceptanceOrder() throws Exception {
+        queue = start(4, 1000);
+        int completions = 300;
+        Random random = new Random(42);
+        Map<Long, AtomicBoolean> busy = new ConcurrentHashMap<>();
+        Map<Long, List<Integer>> applied = new ConcurrentHashMap<>();
+        List<String> violations = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch finished = new CountDownLatch(completions);
+
+        for (int i = 0; i < completions; i++) {
+            long from = 1 + random.nextInt(10);
+            long to = from + 1 + random.nextInt(9);
+            int sequence = i;
+            queue.enqueue(UUID.randomUUID(), from, to, () -> {
+                for (long club : new long[]{from, to}) {
+                    if (!busy.computeIfAbsent(club, c -> new AtomicBoolean()).compareAndSet(false, true)) {
+                        violations.add("club " + club + " written concurrently by completion " + sequence);
+                    }
+                    applied.computeIfAbsent(club, c -> Collections.synchronizedList(new ArrayList<>())).add(sequence);
+                }
+                Thread.yield();
+                busy.get(from).set(false);
+                busy.get(to).set(false);
+                finished.countDown();
+                return null;
+            });
+        }
+
+        assertTrue(finished.await(30, TimeUnit.SECONDS), "completions did not drain");
+        assertEquals(List.of(), violations);
+        applied.forEach((club, sequences) -> {
+            List<Integer> sorted = new ArrayList<>(sequences);
+            Collections.sort(sorted);
+            assertEquals(sorted, sequences, "completions for club " + club + " ran out of order");
+        });
+    }
+
+    @Test
+    void enqueue_whileQueued_returnsTheExistingTicket() throws Exception {
+        queue = start(1, 10);
+        CountDownLatch release = new CountDownLatch(1);
+        queue.enqueue(UUID.randomUUID(), 1L, 2L, () -> await(release));
+        UUID transferId = UUID.randomUUID();
+
+        CompletionStatusDTO first = queue.enqueue(transferId, 1L, 2L, TransferView::new);
+        CompletionStatusDTO second = queue.enqueue(transferId, 1L, 2L, () -> fail("queued twice"));
+
+        assertEquals(State.QUEUED, second.getState());
+        assertEquals(first.getQueuedAt(), second.getQueuedAt());
+        release.countDown();
+        assertEquals(State.COMPLETED, awaitFinished(transferId).getState());
+    }
+
+    @Test
+    void enqueue_whenCompletionFails_reportsTheStatusTheSynchronousEndpointWouldReturn() throws Exception {
+        queue = start(2, 10);
+        UUID transferId = UUID.randomUUID();
+
+        queue.enqueue(transferId, 1L, 2L, () -> {
+            throw new InsufficientBudgetException("ToClub (ID: 2) does not have sufficient budget");
+        });
+
+        CompletionStatusDTO status = awaitFinished(transferId);
+        assertEquals(State.FAILED, status.getState());
+        assertEquals(402, status.getErrorStatus());
+        assertTrue(status.getError().contains("sufficient budget"));
+    }
+
+    @Test
+    void enqueue_whenFull_shouldThrowQueueFullException() {
+        queue = start(1, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        queue.enqueue(UUID.randomUUID(), 1L, 2L, () -> await(release));
+
+        assertThrows(QueueFullException.class, () -> queue.enqueue(UUID.randomUUID(), 3L, 4L, TransferView::new));
+        release.countDown();
+    }
+
+    private static TransferCompletionQueue start(int lanes, int maxQueued) {
+        TransferCompletionQueue started = new TransferCompletionQueue(new SimpleMeterRegistry(), lanes, maxQueued, Duration.ofHours(1));
+        started.start();
+        return started;
+    }
+
+    private static TransferView await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return new TransferView();
+    }
+
+    private CompletionStatusDTO awaitFinished(UUID transferId) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (System.nanoTime() < deadline) {
+            CompletionStatusDTO status = queue.status(transferId).orElseThrow();
+            if (status.getState() == State.COMPLETED || status.getState() == State.FAILED) {
+                return status;
+            }
+            Thread.sleep(5);
+        }
+        throw new AssertionError("completion of " + transferId + " did not finish");
+    }
+}
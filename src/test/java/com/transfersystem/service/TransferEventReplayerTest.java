@@ -0,0 +1,155 @@
+package com.transfersystem.service;
+
+import com.transfersystem.dto.ReplayedTransfer;
+import com.transfersystem.dto.TransferEventView;
+import com.transfersystem.model.TransferEvent;
+import com.transfersystem.model.TransferEventType;
+import com.transfersystem.model.TransferStatus;
+import com.transfersystem.repository.TransferEventRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import(TransferEventReplayer.class)
+// Small chunks and several partitions, so a transfer's events span chunks and partitions run concurrently
+@TestPropertySource(properties = {"transfers.events.replay.chunk-size=3", "transfers.events.replay.parallelism=3"})
+class TransferEventReplayerTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2024, 6, 1, 12, 0);
+
+    @Autowired
+    private TransferEventReplayer transferEventReplayer;
+
+    @Autowired
+    private TransferEventRepository transferEventRepository;
+
+    private final Map<UUID, Long> nextVersion = new HashMap<>();
+
+    @Test
+    void replayState_shouldRebuildStatusAndFeeOfEveryTransfer() {
+        UUID completed = UUID.randomUUID();
+        UUID canceled = UUID.randomUUID();
+        UUID draft = UUID.randomUUID();
+        event(completed, TransferEventType.CREATED, null, "{\"agreedFee\":550000.00}");
+        event(canceled, TransferEventType.CREATED, null, "{\"agreedFee\":10}");
+        event(completed, TransferEventType.SUBMITTED, TransferStatus.DRAFT, null);
+        event(draft, TransferEventType.CREATED, null, "{\"agreedFee\":null}");
+        event(completed, TransferEventType.NEGOTIATION_STARTED, TransferStatus.SUBMITTED, null);
+        event(canceled, TransferEventType.CANCELED, TransferStatus.DRAFT, null);
+        event(completed, TransferEventType.APPROVED, TransferStatus.NEGOTIATION, null);
+        event(completed, TransferEventType.COMPLETED, TransferStatus.APPROVED, "{\"agreedFee\":550000.00}");
+
+        Map<UUID, ReplayedTransfer> state = transferEventReplayer.replayState();
+
+        assertEquals(3, state.size());
+        assertEquals(TransferStatus.COMPLETED, state.get(completed).getStatus());
+        assertEquals(new BigDecimal("550000.00"), state.get(completed).getAgreedFee());
+        assertEquals(5, state.get(completed).getEventCount());
+        assertEquals(TransferStatus.CANCELED, state.get(canceled).getStatus());
+        assertEquals(TransferStatus.DRAFT, state.get(draft).getStatus());
+        assertNull(state.get(draft).getAgreedFee());
+    }
+
+    @Test
+    void replay_shouldFeedEachTransfersEventsInTransferVersionOrder() {
+        List<UUID> transfers = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            transfers.add(UUID.randomUUID());
+        }
+        for (int round = 0; round < 4; round++) {
+            for (UUID transferId : transfers) {
+                event(transferId, TransferEventType.values()[round], null, null);
+            }
+        }
+
+        Map<UUID, List<Long>> seen = transferEventReplayer.replay(new TransferProjection<Map<UUID, List<Long>>>() {
+            @Override
+            public Map<UUID, List<Long>> newPartition() {
+                return new HashMap<>();
+            }
+
+            @Override
+            public void apply(Map<UUID, List<Long>> partition, TransferEventView event) {
+                partition.computeIfAbsent(event.getTransferId(), id -> new ArrayList<>()).add(event.getTransferVersion());
+            }
+
+            @Override
+            public Map<UUID, List<Long>> merge(Map<UUID, List<Long>> into, Map<UUID, List<Long>> other) {
+                // A transfer must live in exactly one partition
+                other.keySet().forEach(id -> assertFalse(into.containsKey(id)));
+                into.putAll(other);
+                return into;
+            }
+        });
+
+        assertEquals(transfers.size(), seen.size());
+        seen.values().forEach(versions -> assertEquals(List.of(0L, 1L, 2L, 3L), versions));
+    }
+
+    @Test
+    void historyAndReplay_shouldFollowTransferVersionsRatherThanIds() {
+        // As when another instance, drawing from an older block of ids, logs the earlier transitions
+        UUID transferId = UUID.randomUUID();
+        event(transferId, 2, TransferEventType.CANCELED, TransferStatus.SUBMITTED, null);
+        event(transferId, 1, TransferEventType.SUBMITTED, TransferStatus.DRAFT, null);
+        event(transferId, 0, TransferEventType.CREATED, null, "{\"agreedFee\":10}");
+
+        List<TransferEventView> history = transferEventRepository.findViewsByTransferId(transferId);
+        Map<UUID, ReplayedTransfer> state = transferEventReplayer.replayState();
+
+        assertEquals(List.of(TransferEventType.CREATED, TransferEventType.SUBMITTED, TransferEventType.CANCELED),
+                history.stream().map(TransferEventView::getType).toList());
+        assertTrue(history.get(0).getId() > history.get(2).getId());
+        assertEquals(TransferStatus.CANCELED, state.get(transferId).getStatus());
+        assertEquals(new BigDecimal("10"), state.get(transferId).getAgreedFee());
+    }
+
+    @Test
+    void replay_whenProjectionFails_shouldRethrowAfterStoppingAllPartitions() {
+        List<List<TransferEventView>> log = new ArrayList<>();
+        for (long chunk = 0; chunk < 50; chunk++) {
+            List<TransferEventView> events = new ArrayList<>();
+            for (long i = 0; i < 10; i++) {
+                events.add(new TransferEventView(chunk * 10 + i, UUID.randomUUID(), 0, TransferEventType.CREATED, null, T0, "system", null));
+            }
+            log.add(events);
+        }
+        TransferProjection<Map<UUID, ReplayedTransfer>> failing = new TransferStateProjection() {
+            @Override
+            public void apply(Map<UUID, ReplayedTransfer> partition, TransferEventView event) {
+                if (event.getId() == 137) {
+                    throw new IllegalStateException("bad event " + event.getId());
+                }
+                super.apply(partition, event);
+            }
+        };
+
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> TransferEventReplayer.replay(log.iterator(), failing, 4));
+        assertEquals("bad event 137", e.getMessage());
+    }
+
+    // Gives each transfer's events consecutive transfer versions from 0, in the order they are saved
+    private void event(UUID transferId, TransferEventType type, TransferStatus fromStatus, String payload) {
+        long transferVersion = nextVersion.merge(transferId, 0L, (previous, ignored) -> previous + 1);
+        event(transferId, transferVersion, type, fromStatus, payload);
+    }
+
+    private void event(UUID transferId, long transferVersion, TransferEventType type, TransferStatus fromStatus,
+                       String payload) {
+        transferEventRepository.save(new TransferEvent(transferId, transferVersion, type, fromStatus, T0, "system", payload));
+    }
+}
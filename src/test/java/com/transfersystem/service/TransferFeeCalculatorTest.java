@@ -3,24 +3,29 @@ package com.transfersystem.service;
 import com.transfersystem.dto.ContractClauseDto;
 import com.transfersystem.model.Club;
 import com.transfersystem.model.Player;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class TransferFeeCalculatorTest {
 
+    private SimpleMeterRegistry meterRegistry;
     private TransferFeeCalculator transferFeeCalculator;
     private Player player;
     private Club buyerClub;
 
     @BeforeEach
     void setUp() {
-        transferFeeCalculator = new TransferFeeCalculator();
+        meterRegistry = new SimpleMeterRegistry();
+        transferFeeCalculator = new TransferFeeCalculator(meterRegistry);
         player = new Player();
         player.setId(1L);
         player.setName("Test Player");
@@ -103,4 +108,68 @@ public class TransferFeeCalculatorTest {
         BigDecimal actualFee = transferFeeCalculator.calculate(player, buyerClub, new ArrayList<>());
         assertEquals(0, expectedFee.compareTo(actualFee));
     }
+
+    @Test
+    void calculate_withLowerCaseSellOnType() {
+        player.setCurrentMarketValue(new BigDecimal("10000000"));
+        List<ContractClauseDto> clauses = List.of(new ContractClauseDto("sell_on", new BigDecimal("10"), null));
+        BigDecimal actualFee = transferFeeCalculator.calculate(player, buyerClub, clauses);
+        assertEquals(new BigDecimal("11000000.00"), actualFee);
+    }
+
+    @Test
+    void calculate_roundsEachClauseToCentsHalfEven() {
+        // 33.3333% of 1000.01 = 333.336666... -> 333.34; 12.5% of 0.20 = 0.025 -> 0.02 (half-even)
+        List<ContractClauseDto> clauses = List.of(
+                new ContractClauseDto("SELL_ON", new BigDecimal("33.3333"), null),
+                new ContractClauseDto("SELL_ON", new BigDecimal("12.5"), null));
+        assertEquals(new BigDecimal("1333.35"),
+                transferFeeCalculator.calculate(new BigDecimal("1000.01"), clauses.subList(0, 1)));
+        assertEquals(new BigDecimal("0.22"),
+                transferFeeCalculator.calculate(new BigDecimal("0.20"), clauses.subList(1, 2)));
+    }
+
+    @Test
+    void calculate_withInputsBeyondMinorUnits_usesExactPath() {
+        // Too many decimals for the long path, and a base fee that overflows it
+        List<ContractClauseDto> clauses = List.of(new ContractClauseDto("SELL_ON", new BigDecimal("0.123456"), null));
+        assertEquals(new BigDecimal("1001234.56"), transferFeeCalculator.calculate(new BigDecimal("1000000"), clauses));
+
+        BigDecimal hugeBase = new BigDecimal("100000000000000000000");
+        List<ContractClauseDto> sellOn = List.of(new ContractClauseDto("SELL_ON", new BigDecimal("10"), null));
+        assertEquals(new BigDecimal("110000000000000000000.00"), transferFeeCalculator.calculate(hugeBase, sellOn));
+
+        transferFeeCalculator.calculate(new BigDecimal("1000000"), sellOn);
+        assertEquals(2, meterRegistry.get("transfer.fee.calculation").tag("path", "exact").timer().count());
+        assertEquals(1, meterRegistry.get("transfer.fee.calculation").tag("path", "minor").timer().count());
+    }
+
+    @Test
+    void calculate_fastAndExactPathsAgree() {
+        Random random = new Random(42);
+        String[] types = {"SELL_ON", "sell_on", "GOAL_BONUS", "custom", null};
+        int fastPathQuotes = 0;
+        for (int i = 0; i < 10_000; i++) {
+            BigDecimal baseFee = BigDecimal.valueOf(random.nextInt(1_000_000_000), random.nextInt(3));
+            List<ContractClauseDto> clauses = new ArrayList<>();
+            for (int c = random.nextInt(4); c > 0; c--) {
+                // Up to 100% with up to 5 decimals, so some quotes fall back to the exact path
+                int percentageScale = random.nextInt(6);
+                BigDecimal percentage = random.nextBoolean()
+                        ? BigDecimal.valueOf(random.nextInt(101 * (int) Math.pow(10, percentageScale)), percentageScale) : null;
+                BigDecimal amount = random.nextBoolean()
+                        ? BigDecimal.valueOf(random.nextInt(100_000_000) - 1_000_000, random.nextInt(3)) : null;
+                clauses.add(new ContractClauseDto(types[random.nextInt(types.length)], percentage, amount));
+            }
+
+            BigDecimal exact = transferFeeCalculator.calculateExact(baseFee, clauses);
+            long minor = transferFeeCalculator.calculateMinor(baseFee, clauses);
+            if (minor != Long.MIN_VALUE) {
+                fastPathQuotes++;
+                assertEquals(exact, BigDecimal.valueOf(minor, TransferFeeCalculator.MONEY_SCALE), "base " + baseFee);
+            }
+            assertEquals(exact, transferFeeCalculator.calculate(baseFee, clauses));
+        }
+        assertTrue(fastPathQuotes > 5_000, "fast path taken " + fastPathQuotes + " times");
+    }
 }
@@ -1,20 +1,24 @@
 package com.transfersystem.service;
 
 import com.transfersystem.model.Transfer;
+import com.transfersystem.model.TransferEventType;
 import com.transfersystem.model.TransferStatus;
 import com.transfersystem.repository.TransferRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.LocalDateTime;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -23,13 +27,21 @@ public class TransferWorkflowEngineTest {
     @Mock
     private TransferRepository transferRepository;
 
-    @InjectMocks
+    @Mock
+    private OfferExpiryService offerExpiryService;
+
+    @Mock
+    private TransferEventLog transferEventLog;
+
+    private SimpleMeterRegistry meterRegistry;
     private TransferWorkflowEngine transferWorkflowEngine;
 
     private Transfer transfer;
 
     @BeforeEach
     void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        transferWorkflowEngine = new TransferWorkflowEngine(transferRepository, offerExpiryService, transferEventLog, meterRegistry);
         transfer = new Transfer();
         transfer.setId(UUID.randomUUID());
     }
@@ -43,6 +55,33 @@ public class TransferWorkflowEngineTest {
 
         assertEquals(TransferStatus.SUBMITTED, result.getStatus());
         verify(transferRepository).save(transfer);
+        verify(transferEventLog).record(transfer, TransferEventType.SUBMITTED, TransferStatus.DRAFT);
+    }
+
+    @Test
+    void submitTransfer_withoutExpiry_shouldApplyDefaultTtlAndScheduleDeadline() {
+        LocalDateTime expiry = LocalDateTime.now().plusDays(14);
+        transfer.setStatus(TransferStatus.DRAFT);
+        when(offerExpiryService.defaultExpiry(any(LocalDateTime.class))).thenReturn(expiry);
+        when(transferRepository.save(any(Transfer.class))).thenReturn(transfer);
+
+        transferWorkflowEngine.submitTransfer(transfer);
+
+        assertEquals(expiry, transfer.getOfferExpiryDate());
+        verify(offerExpiryService).schedule(transfer.getId(), expiry);
+    }
+
+    @Test
+    void submitTransfer_withExplicitExpiry_shouldKeepIt() {
+        LocalDateTime expiry = LocalDateTime.now().plusHours(2);
+        transfer.setStatus(TransferStatus.DRAFT);
+        transfer.setOfferExpiryDate(expiry);
+        when(transferRepository.save(any(Transfer.class))).thenReturn(transfer);
+
+        transferWorkflowEngine.submitTransfer(transfer);
+
+        verify(offerExpiryService, never()).defaultExpiry(any());
+        verify(offerExpiryService).schedule(transfer.getId(), expiry);
     }
 
     @Test
@@ -50,6 +89,7 @@ public class TransferWorkflowEngineTest {
         transfer.setStatus(TransferStatus.SUBMITTED);
 
         assertThrows(IllegalStateException.class, () -> transferWorkflowEngine.submitTransfer(transfer));
+        verifyNoInteractions(transferEventLog);
     }
 
     @Test
@@ -61,6 +101,7 @@ public class TransferWorkflowEngineTest {
 
         assertEquals(TransferStatus.NEGOTIATION, result.getStatus());
         verify(transferRepository).save(transfer);
+        verify(transferEventLog).record(transfer, TransferEventType.NEGOTIATION_STARTED, TransferStatus.SUBMITTED);
     }
 
     @Test
@@ -79,6 +120,7 @@ public class TransferWorkflowEngineTest {
 
         assertEquals(TransferStatus.APPROVED, result.getStatus());
         verify(transferRepository).save(transfer);
+        verify(transferEventLog).record(transfer, TransferEventType.APPROVED, TransferStatus.NEGOTIATION);
     }
 
     @Test
@@ -88,6 +130,33 @@ public class TransferWorkflowEngineTest {
         assertThrows(IllegalStateException.class, () -> transferWorkflowEngine.approveTransfer(transfer));
     }
 
+    @Test
+    void approveTransfer_whenOfferHasExpired_shouldThrowEvenBeforeSweeperRuns() {
+        transfer.setStatus(TransferStatus.NEGOTIATION);
+        transfer.setOfferExpiryDate(LocalDateTime.now().minusMinutes(1));
+
+        assertThrows(IllegalStateException.class, () -> transferWorkflowEngine.approveTransfer(transfer));
+        verify(transferRepository, never()).save(any());
+    }
+
+    @Test
+    void cancelTransfer_duringNegotiation_shouldRecordTheStatusItLeft() {
+        transfer.setStatus(TransferStatus.NEGOTIATION);
+        when(transferRepository.save(any(Transfer.class))).thenReturn(transfer);
+
+        transferWorkflowEngine.cancelTransfer(transfer);
+
+        assertEquals(TransferStatus.CANCELED, transfer.getStatus());
+        verify(transferEventLog).record(transfer, TransferEventType.CANCELED, TransferStatus.NEGOTIATION);
+    }
+
+    @Test
+    void cancelTransfer_whenExpired_shouldThrowIllegalStateException() {
+        transfer.setStatus(TransferStatus.EXPIRED);
+
+        assertThrows(IllegalStateException.class, () -> transferWorkflowEngine.cancelTransfer(transfer));
+    }
+
     @Test
     void completeTransfer_whenStatusIsApproved_shouldSetStatusToCompletedAndSave() {
         transfer.setStatus(TransferStatus.APPROVED);
@@ -97,6 +166,7 @@ public class TransferWorkflowEngineTest {
 
         assertEquals(TransferStatus.COMPLETED, result.getStatus());
         verify(transferRepository).save(transfer);
+        verify(transferEventLog).record(transfer, TransferEventType.COMPLETED, TransferStatus.APPROVED);
     }
 
     @Test
@@ -105,4 +175,20 @@ public class TransferWorkflowEngineTest {
 
         assertThrows(IllegalStateException.class, () -> transferWorkflowEngine.completeTransfer(transfer));
     }
+
+    @Test
+    void transitions_areTimedByActionAndOutcome() {
+        transfer.setStatus(TransferStatus.DRAFT);
+        when(transferRepository.save(any(Transfer.class))).thenReturn(transfer);
+
+        transferWorkflowEngine.submitTransfer(transfer);
+        assertThrows(IllegalStateException.class, () -> transferWorkflowEngine.submitTransfer(transfer));
+
+        assertEquals(1, meterRegistry.get(TransferWorkflowEngine.TRANSITION_TIMER)
+                .tags("action", "submit", "outcome", "success").timer().count());
+        assertEquals(1, meterRegistry.get(TransferWorkflowEngine.TRANSITION_TIMER)
+                .tags("action", "submit", "outcome", "rejected").timer().count());
+        assertEquals(0, meterRegistry.get(TransferWorkflowEngine.TRANSITION_TIMER)
+                .tags("action", "submit", "outcome", "error").timer().count());
+    }
 }